@@ -0,0 +1,164 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.event.cause.NamedCause;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares building a {@link Cause} up front for every ticked tile entity
+ * or scheduled block update, the way the cause tracker used to, with
+ * pushing a {@link CauseStack} frame and only building the cause when it is
+ * requested.
+ *
+ * <p>Each operation ticks a batch of sources, some of them with a notifier.
+ * The percentage of sources that capture something, and so need their
+ * cause, is a parameter.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CauseStackBenchmark {
+
+    private static final int BATCH = 1024;
+
+    @Param({"0", "5", "100"})
+    public int capturePercent;
+
+    private final Deque<Cause> causeDeque = new ArrayDeque<>();
+    private final CauseStack causeStack = new CauseStack();
+    private final Object root = new Object();
+    private Object[] sources;
+    private Object[] notifiers;
+    private Object[] schedulerSources;
+    private boolean[] captures;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42L);
+        this.sources = new Object[BATCH];
+        this.notifiers = new Object[BATCH];
+        this.schedulerSources = new Object[BATCH];
+        this.captures = new boolean[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            this.sources[i] = new Object();
+            this.notifiers[i] = random.nextInt(4) == 0 ? new Object() : null;
+            this.schedulerSources[i] = random.nextBoolean() ? new Object() : null;
+            this.captures[i] = random.nextInt(100) < this.capturePercent;
+        }
+        // Ticks always happen below the world's own cause
+        this.causeDeque.addFirst(Cause.of(NamedCause.source(this.root)));
+        this.causeStack.push().source(this.root);
+    }
+
+    @Benchmark
+    public void tileEntityTickEager(Blackhole blackhole) {
+        for (int i = 0; i < BATCH; i++) {
+            final List<NamedCause> namedCauses = new ArrayList<>();
+            namedCauses.add(NamedCause.source(this.sources[i]));
+            if (this.notifiers[i] != null) {
+                namedCauses.add(NamedCause.notifier(this.notifiers[i]));
+            }
+            this.causeDeque.addFirst(Cause.of(namedCauses));
+            if (this.captures[i]) {
+                blackhole.consume(this.causeDeque.peekFirst());
+            }
+            this.causeDeque.removeFirst();
+        }
+    }
+
+    @Benchmark
+    public void tileEntityTickFrames(Blackhole blackhole) {
+        for (int i = 0; i < BATCH; i++) {
+            final CauseStack.Frame frame = this.causeStack.push().source(this.sources[i]);
+            if (this.notifiers[i] != null) {
+                frame.notifier(this.notifiers[i]);
+            }
+            if (this.captures[i]) {
+                blackhole.consume(this.causeStack.peek());
+            }
+            this.causeStack.pop();
+        }
+    }
+
+    @Benchmark
+    public void scheduledUpdateEager(Blackhole blackhole) {
+        for (int i = 0; i < BATCH; i++) {
+            final List<NamedCause> namedCauses = new ArrayList<>();
+            namedCauses.add(NamedCause.source(this.sources[i]));
+            if (this.schedulerSources[i] != null) {
+                namedCauses.add(NamedCause.of("SchedulerSource", this.schedulerSources[i]));
+            }
+            if (this.notifiers[i] != null) {
+                namedCauses.add(NamedCause.notifier(this.notifiers[i]));
+            }
+            this.causeDeque.addFirst(Cause.of(namedCauses));
+            if (this.captures[i]) {
+                blackhole.consume(this.causeDeque.peekFirst());
+            }
+            this.causeDeque.removeFirst();
+        }
+    }
+
+    @Benchmark
+    public void scheduledUpdateFrames(Blackhole blackhole) {
+        for (int i = 0; i < BATCH; i++) {
+            final CauseStack.Frame frame = this.causeStack.push().source(this.sources[i]);
+            if (this.schedulerSources[i] != null) {
+                frame.named("SchedulerSource", this.schedulerSources[i]);
+            }
+            if (this.notifiers[i] != null) {
+                frame.notifier(this.notifiers[i]);
+            }
+            if (this.captures[i]) {
+                blackhole.consume(this.causeStack.peek());
+            }
+            this.causeStack.pop();
+        }
+    }
+
+}
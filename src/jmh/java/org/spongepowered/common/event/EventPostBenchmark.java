@@ -0,0 +1,163 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static org.mockito.Mockito.mock;
+
+import co.aikar.timings.NullTimingHandler;
+import co.aikar.timings.Timing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.EventListener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.common.event.gen.DefineableClassLoader;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares posting an event through a generated {@link EventDispatcher}
+ * with iterating the listener list.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EventPostBenchmark {
+
+    private static final Timing NULL_TIMING = new NullTimingHandler();
+
+    @Param({"0", "1", "10", "50"})
+    public int listeners;
+
+    private final BenchmarkEvent event = new BenchmarkEvent();
+    private List<RegisteredListener<?>> handlers;
+    private EventDispatcher generated;
+    private EventDispatcher simple;
+
+    @Setup
+    public void setup() {
+        final PluginContainer plugin = mock(PluginContainer.class);
+        final EventListener<?>[] types = { new FirstListener(), new SecondListener(), new ThirdListener() };
+        this.handlers = new ArrayList<>();
+        for (int i = 0; i < this.listeners; i++) {
+            this.handlers.add(createListener(plugin, types[i % types.length]));
+        }
+
+        final EventDispatcherFactory factory = new EventDispatcherFactory("org.spongepowered.common.event.dispatcher",
+                new DefineableClassLoader(getClass().getClassLoader()));
+        this.generated = factory.create(this.handlers, listener -> NULL_TIMING);
+        final RegisteredListener<?>[] array = EventDispatcher.toArray(this.handlers);
+        final Object[] listeners = new Object[array.length];
+        final Timing[] timings = new Timing[array.length];
+        for (int i = 0; i < array.length; i++) {
+            listeners[i] = array[i].getListener();
+            timings[i] = NULL_TIMING;
+        }
+        this.simple = new EventDispatcher.Simple(array, listeners, timings);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static RegisteredListener<?> createListener(PluginContainer plugin, EventListener<?> listener) {
+        return new RegisteredListener<>(plugin, BenchmarkEvent.class, Order.DEFAULT, (EventListener<BenchmarkEvent>) listener, false);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Benchmark
+    public int list() {
+        for (RegisteredListener handler : this.handlers) {
+            try {
+                NULL_TIMING.startTimingIfSync();
+                handler.handle(this.event);
+                NULL_TIMING.stopTimingIfSync();
+            } catch (Throwable e) {
+                NULL_TIMING.stopTimingIfSync();
+            }
+        }
+        return this.event.counter;
+    }
+
+    @Benchmark
+    public int simple() {
+        this.simple.dispatch(this.event);
+        return this.event.counter;
+    }
+
+    @Benchmark
+    public int generated() {
+        this.generated.dispatch(this.event);
+        return this.event.counter;
+    }
+
+    public static class BenchmarkEvent implements Event {
+
+        int counter;
+
+        @Override
+        public Cause getCause() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    public static class FirstListener implements EventListener<BenchmarkEvent> {
+
+        @Override
+        public void handle(BenchmarkEvent event) {
+            event.counter++;
+        }
+    }
+
+    public static class SecondListener implements EventListener<BenchmarkEvent> {
+
+        @Override
+        public void handle(BenchmarkEvent event) {
+            event.counter += 2;
+        }
+    }
+
+    public static class ThirdListener implements EventListener<BenchmarkEvent> {
+
+        @Override
+        public void handle(BenchmarkEvent event) {
+            event.counter ^= 1;
+        }
+    }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.Maps;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.plugin.PluginContainer;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost of a scheduler tick with the full scan of the task map
+ * the scheduler used to do against the {@link TaskWheel}.
+ *
+ * <p>All tasks repeat with a random interval in ticks, as typical plugin
+ * tasks do, and do nothing when run. Each benchmark invocation is one
+ * tick.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SchedulerBenchmark {
+
+    @Param({"1000", "20000"})
+    public int tasks;
+
+    @Param({"1200"})
+    public int maxInterval;
+
+    private final Map<UUID, ScheduledTask> taskMap = Maps.newConcurrentMap();
+    private TaskWheel wheel;
+    private long scanCounter;
+    private long wheelCounter;
+    private int executions;
+
+    @Setup
+    public void setup() {
+        final PluginContainer plugin = mock(PluginContainer.class);
+        final Random random = new Random(0);
+        this.wheel = new TaskWheel(1, 0);
+        for (int i = 0; i < this.tasks; i++) {
+            final int interval = 1 + random.nextInt(this.maxInterval);
+            final ScheduledTask scanTask = new ScheduledTask(ScheduledTask.TaskSynchronicity.SYNCHRONOUS, task -> this.executions++, "scan",
+                    random.nextInt(interval), true, interval, true, plugin);
+            scanTask.setTimestamp(0);
+            this.taskMap.put(scanTask.getUniqueId(), scanTask);
+
+            final ScheduledTask wheelTask = new ScheduledTask(ScheduledTask.TaskSynchronicity.SYNCHRONOUS, task -> this.executions++, "wheel",
+                    scanTask.offset, true, interval, true, plugin);
+            wheelTask.setTimestamp(0);
+            this.wheel.add(wheelTask, wheelTask.offset);
+        }
+    }
+
+    @Benchmark
+    public int scan() {
+        final long now = ++this.scanCounter;
+        for (ScheduledTask task : this.taskMap.values()) {
+            final long threshold = task.getState() == ScheduledTask.ScheduledTaskState.WAITING ? task.offset : task.period;
+            if (threshold <= now - task.getTimestamp()) {
+                task.setState(ScheduledTask.ScheduledTaskState.RUNNING);
+                task.setTimestamp(now);
+                task.getConsumer().accept(task);
+            }
+        }
+        return this.executions;
+    }
+
+    @Benchmark
+    public int wheel() {
+        final long now = ++this.wheelCounter;
+        this.wheel.advance(now, task -> {
+            task.setState(ScheduledTask.ScheduledTaskState.RUNNING);
+            task.setTimestamp(now);
+            task.getConsumer().accept(task);
+            this.wheel.add(task, now + task.period);
+        });
+        return this.executions;
+    }
+
+}
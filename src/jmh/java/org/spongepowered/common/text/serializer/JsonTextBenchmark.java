@@ -0,0 +1,113 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.text.serializer;
+
+import net.minecraft.util.IChatComponent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.common.registry.type.text.TextColorRegistryModule;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the streaming JSON text serializer with the vanilla component
+ * serializer.
+ *
+ * <p>The vanilla side only converts between JSON and components, without
+ * the conversion between components and texts that the mixins add on top
+ * of it, so its numbers are a lower bound of the previous implementation.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class JsonTextBenchmark {
+
+    private static final String PLAIN = "\"Welcome to the server!\"";
+    private static final String CHAT = "{\"translate\":\"chat.type.text\",\"with\":[{\"color\":\"gold\",\"extra\":[{\"bold\":true,\"text\":\"Admin\"}],"
+            + "\"text\":\"[\"},\"Hello everyone, the event starts in 5 minutes!\"]}";
+    private static final String HOLOGRAM = "{\"color\":\"yellow\",\"extra\":[{\"color\":\"white\",\"text\":\"Top players: \"},"
+            + "{\"color\":\"green\",\"bold\":true,\"text\":\"Player1 \"},{\"color\":\"gray\",\"text\":\"(1523) \"},"
+            + "{\"color\":\"green\",\"text\":\"Player2 \"},{\"color\":\"gray\",\"text\":\"(1410) \"},"
+            + "{\"color\":\"green\",\"italic\":true,\"text\":\"Player3 \"},{\"color\":\"gray\",\"text\":\"(1388)\"}],\"text\":\"* \"}";
+
+    @Param({"plain", "chat", "hologram"})
+    public String shape;
+
+    private String json;
+    private IChatComponent component;
+    private Text text;
+
+    @Setup
+    public void setup() throws IOException {
+        new TextColorRegistryModule().registerDefaults();
+        switch (this.shape) {
+            case "plain":
+                this.json = PLAIN;
+                break;
+            case "chat":
+                this.json = CHAT;
+                break;
+            default:
+                this.json = HOLOGRAM;
+        }
+        this.component = IChatComponent.Serializer.jsonToComponent(this.json);
+        this.text = JsonTexts.fromJson(this.json);
+    }
+
+    @Benchmark
+    public String serializeVanilla() {
+        return IChatComponent.Serializer.componentToJson(this.component);
+    }
+
+    @Benchmark
+    public String serializeStreaming() {
+        return JsonTexts.toJson(this.text);
+    }
+
+    @Benchmark
+    public IChatComponent deserializeVanilla() {
+        return IChatComponent.Serializer.jsonToComponent(this.json);
+    }
+
+    @Benchmark
+    public Text deserializeStreaming() throws IOException {
+        return JsonTexts.fromJson(this.json);
+    }
+
+}
@@ -0,0 +1,163 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import net.minecraft.util.LongHashMap;
+import net.minecraft.world.ChunkCoordIntPair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.spongepowered.common.interfaces.IMixinCachable;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the chunk map implementations used by ChunkProviderServer.
+ *
+ * <p>The loaded area is made of a number of players spread over the world,
+ * each holding a square of chunks of the given view distance. Lookups are
+ * issued in short bursts around a random player, the way entity ticking,
+ * block updates and lighting query the same few chunks in a row.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ChunkMapBenchmark {
+
+    private static final int LOOKUPS = 4096;
+
+    @Param({"vanilla", "cached", "open"})
+    public String map;
+
+    @Param({"10", "150"})
+    public int players;
+
+    @Param({"10"})
+    public int viewDistance;
+
+    private LongHashMap<FakeChunk> chunks;
+    private long[] lookups;
+    private long[] churn;
+    private int churnIndex;
+
+    @Setup
+    public void setup() {
+        switch (this.map) {
+            case "vanilla":
+                this.chunks = new LongHashMap<>();
+                break;
+            case "cached":
+                this.chunks = new LongCachedHashMap<>();
+                break;
+            default:
+                this.chunks = new LongOpenHashMap<>();
+        }
+        final Random random = new Random(42L);
+        final int[][] centers = new int[this.players][];
+        for (int i = 0; i < this.players; i++) {
+            // Players gather around spawn, with some further out
+            final int spread = random.nextInt(4) == 0 ? 2000 : 200;
+            final int centerX = random.nextInt(spread) - spread / 2;
+            final int centerZ = random.nextInt(spread) - spread / 2;
+            centers[i] = new int[] {centerX, centerZ};
+            for (int x = centerX - this.viewDistance; x <= centerX + this.viewDistance; x++) {
+                for (int z = centerZ - this.viewDistance; z <= centerZ + this.viewDistance; z++) {
+                    final long key = ChunkCoordIntPair.chunkXZ2Int(x, z);
+                    if (this.chunks.getValueByKey(key) == null) {
+                        this.chunks.add(key, new FakeChunk(key));
+                    }
+                }
+            }
+        }
+        this.lookups = new long[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; ) {
+            final int[] center = centers[random.nextInt(this.players)];
+            final int burst = 1 + random.nextInt(16);
+            final int baseX = center[0] + random.nextInt(this.viewDistance * 2 + 1) - this.viewDistance;
+            final int baseZ = center[1] + random.nextInt(this.viewDistance * 2 + 1) - this.viewDistance;
+            for (int j = 0; j < burst && i < LOOKUPS; j++, i++) {
+                this.lookups[i] = ChunkCoordIntPair.chunkXZ2Int(baseX + random.nextInt(3) - 1, baseZ + random.nextInt(3) - 1);
+            }
+        }
+        // Chunks just outside of a view area, loaded and unloaded as players move
+        this.churn = new long[256];
+        for (int i = 0; i < this.churn.length; i++) {
+            final int[] center = centers[random.nextInt(this.players)];
+            this.churn[i] = ChunkCoordIntPair.chunkXZ2Int(center[0] + this.viewDistance + 1, center[1] + random.nextInt(this.viewDistance * 2 + 1)
+                    - this.viewDistance);
+        }
+    }
+
+    @Benchmark
+    public void lookup(Blackhole blackhole) {
+        final LongHashMap<FakeChunk> chunks = this.chunks;
+        for (long key : this.lookups) {
+            blackhole.consume(chunks.getValueByKey(key));
+        }
+    }
+
+    @Benchmark
+    public void loadUnload(Blackhole blackhole) {
+        final long key = this.churn[this.churnIndex++ & (this.churn.length - 1)];
+        final FakeChunk chunk = this.chunks.getValueByKey(key);
+        if (chunk == null) {
+            this.chunks.add(key, new FakeChunk(key));
+        } else {
+            blackhole.consume(this.chunks.remove(key));
+        }
+    }
+
+    private static final class FakeChunk implements IMixinCachable {
+
+        private long key;
+
+        FakeChunk(long key) {
+            this.key = key;
+        }
+
+        @Override
+        public long getCacheKey() {
+            return this.key;
+        }
+
+        @Override
+        public void setCacheKey(long key) {
+            this.key = key;
+        }
+    }
+}
@@ -47,6 +47,8 @@
 import org.spongepowered.api.text.format.TextColors;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.entity.SpongeEntityType;
+import org.spongepowered.common.scheduler.AsyncTaskExecutor;
+import org.spongepowered.common.scheduler.SpongeScheduler;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -173,6 +175,26 @@ static void reportTimings(CommandSource sender) {
             ).build();
         }));
 
+        // Information about the asynchronous task executor
+
+        final AsyncTaskExecutor asyncExecutor = SpongeScheduler.getInstance().getAsyncExecutor();
+        builder.add("asyncscheduler", JSONUtil.objectBuilder()
+                .add("threads", asyncExecutor.getPoolSize())
+                .add("active", asyncExecutor.getActiveThreadCount())
+                .add("parallelism", asyncExecutor.getParallelism())
+                .add("plugins", JSONUtil.mapArrayToObject(asyncExecutor.getLaneStats(), (stats) -> {
+                    return JSONUtil.singleObjectPair(stats.getPluginId(), JSONUtil.objectBuilder()
+                            .add("concurrency", stats.getConcurrency())
+                            .add("queued", stats.getQueued())
+                            .add("submitted", stats.getSubmitted())
+                            .add("completed", stats.getCompleted())
+                            .add("rejected", stats.getRejected())
+                            .add("avgwait", stats.getAverageWaitNanos())
+                            .add("maxwait", stats.getMaxWaitNanos())
+                            .add("avgrun", stats.getAverageRunNanos())
+                            .build());
+                })));
+
         // Information on the users Config
 
         builder.add("config", JSONUtil.objectBuilder()
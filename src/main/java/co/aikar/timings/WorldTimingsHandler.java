@@ -52,6 +52,8 @@ public class WorldTimingsHandler {
     public final Timing tracker2;
     public final Timing doTick;
     public final Timing tickEntities;
+    public final Timing entityActivation;
+    public final Timing tntMerge;
 
     // Chunk Load
     public final Timing syncChunkLoadTimer;
@@ -104,6 +106,8 @@ public WorldTimingsHandler(World world) {
         this.tracker2 = SpongeTimingsFactory.ofSafe(name + "tracker stage 2");
         this.doTick = SpongeTimingsFactory.ofSafe(name + "doTick");
         this.tickEntities = SpongeTimingsFactory.ofSafe(name + "tickEntities");
+        this.entityActivation = SpongeTimingsFactory.ofSafe(name + "entityActivation");
+        this.tntMerge = SpongeTimingsFactory.ofSafe(name + "tntMerge");
 
         this.causeTrackerBlockTimer = SpongeTimingsFactory.ofSafe(name + "causeTracker - BlockCaptures");
         this.causeTrackerBlockBreakTimer = SpongeTimingsFactory.ofSafe(name + "causeTracker - BlockBreakCaptures");
@@ -37,6 +37,7 @@
 import org.spongepowered.api.GameState;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.EventManager;
 import org.spongepowered.api.event.SpongeEventFactoryUtils;
 import org.spongepowered.api.event.game.state.GameStateEvent;
 import org.spongepowered.api.event.game.state.GameStoppedEvent;
@@ -129,6 +130,18 @@ public static boolean postEvent(Event event) {
         return getGame().getEventManager().post(event);
     }
 
+    /**
+     * Gets whether an event of the given type would reach any listener.
+     *
+     * @see SpongeEventManager#hasListeners(Class)
+     * @param eventClass The event type
+     * @return Whether the event has listeners
+     */
+    public static boolean hasListeners(Class<? extends Event> eventClass) {
+        final EventManager eventManager = getGame().getEventManager();
+        return !(eventManager instanceof SpongeEventManager) || ((SpongeEventManager) eventManager).hasListeners(eventClass);
+    }
+
     public static Logger getLogger() {
         return logger;
     }
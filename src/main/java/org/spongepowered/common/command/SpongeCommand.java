@@ -70,6 +70,9 @@
 import org.spongepowered.common.interfaces.IMixinMinecraftServer;
 import org.spongepowered.common.interfaces.world.IMixinWorld;
 import org.spongepowered.common.interfaces.world.IMixinWorldProvider;
+import org.spongepowered.common.interfaces.world.IMixinWorldServer;
+import org.spongepowered.common.scheduler.AsyncTaskExecutor;
+import org.spongepowered.common.scheduler.SpongeScheduler;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.world.DimensionManager;
 import org.spongepowered.common.world.SpongeDimensionType;
@@ -105,6 +108,7 @@ public static CommandSpec getCommand() {
         nonFlagChildren.register(getHeapCommand(), "heap");
         nonFlagChildren.register(getPluginsCommand(), "plugins");
         nonFlagChildren.register(getTimingsCommand(), "timings");
+        nonFlagChildren.register(getSchedulerCommand(), "scheduler");
         flagChildren.register(getChunksCommand(), "chunks");
         flagChildren.register(getConfigCommand(), "config");
         flagChildren.register(getReloadCommand(), "reload"); // TODO: Should these two be subcommands of config, and what is now config be set?
@@ -121,6 +125,7 @@ INDENT, title("save"), LONG_INDENT, "Saves a global, dimension, or world config\
                         INDENT, title("version"), LONG_INDENT, "Prints current Sponge version\n",
                         INDENT, title("audit"), LONG_INDENT, "Audit mixin classes for implementation",
                         INDENT, title("plugins"), LONG_INDENT, "List currently installed plugins",
+                        INDENT, title("scheduler"), LONG_INDENT, "Prints asynchronous task executor statistics per plugin\n",
                         INDENT, title("tps"), LONG_INDENT, "Provides TPS (ticks per second) data for loaded worlds"))
                 .arguments(firstParsing(nonFlagChildren, flags()
                         .flag("-global", "g")
@@ -251,7 +256,8 @@ protected Text getChunksInfo(WorldServer worldserver) {
                                 key("Entities: "), value(worldserver.loadedEntityList.size()), NEWLINE_TEXT,
                                 key("Tile Entities: "), value(worldserver.loadedTileEntityList.size()), NEWLINE_TEXT,
                                 key("Removed Entities:"), value(worldserver.unloadedEntityList.size()), NEWLINE_TEXT,
-                                key("Removed Tile Entities: "), value(worldserver.tileEntitiesToBeRemoved), NEWLINE_TEXT
+                                key("Removed Tile Entities: "), value(worldserver.tileEntitiesToBeRemoved), NEWLINE_TEXT,
+                                key("Merged TNT: "), value(((IMixinWorldServer) worldserver).getMergedTntCount()), NEWLINE_TEXT
                         );
                     }
                 })
@@ -334,6 +340,29 @@ private static CommandSpec getHeapCommand() {
 
     }
 
+    private static CommandSpec getSchedulerCommand() {
+        return CommandSpec.builder()
+                .description(Text.of("Display the statistics of the asynchronous task executor"))
+                .permission("sponge.command.scheduler")
+                .executor((src, args) -> {
+                    AsyncTaskExecutor executor = SpongeScheduler.getInstance().getAsyncExecutor();
+                    Text.Builder builder = Text.builder().append(Text.of(TextColors.GOLD, "Async threads: "),
+                            Text.of(executor.getActiveThreadCount(), " active, ", executor.getPoolSize(), " alive, ",
+                                    executor.getParallelism(), " max"));
+                    for (AsyncTaskExecutor.LaneStats stats : executor.getLaneStats()) {
+                        builder.append(NEWLINE_TEXT, Text.of(TextColors.GRAY, INDENT + stats.getPluginId(), ": "),
+                                Text.of(stats.getRunning(), "/", stats.getConcurrency(), " running, ", stats.getQueued(), " queued, ",
+                                        stats.getCompleted(), " completed, ", stats.getRejected(), " rejected, wait avg ",
+                                        THREE_DECIMAL_DIGITS_FORMATTER.format(stats.getAverageWaitNanos() / 1.0E6), "ms max ",
+                                        THREE_DECIMAL_DIGITS_FORMATTER.format(stats.getMaxWaitNanos() / 1.0E6), "ms, run avg ",
+                                        THREE_DECIMAL_DIGITS_FORMATTER.format(stats.getAverageRunNanos() / 1.0E6), "ms"));
+                    }
+                    src.sendMessage(builder.build());
+                    return CommandResult.success();
+                })
+                .build();
+    }
+
     private static final Text IMPLEMENTATION_NAME = Text.of(TextColors.YELLOW, TextStyles.BOLD,
             Sponge.getPlatform().getImplementation().getName());
 
@@ -0,0 +1,81 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@ConfigSerializable
+public class AsyncListenerCategory extends ConfigCategory {
+
+    @Setting(value = "threads", comment = "The number of threads shared by all plugins to run observe-only listeners off the main thread. (Default: 2)")
+    private int threads = 2;
+
+    @Setting(value = "queue-size", comment = "The maximum number of events waiting for the observe-only listeners of a single plugin. (Default: 1024)")
+    private int queueSize = 1024;
+
+    @Setting(value = "back-pressure", comment = "What to do with events once the queue of a plugin is full. (Default: drop)"
+            + "\ndrop - Discard new events until the queue has room again."
+            + "\nblock - Wait for room in the queue, for at most 'block-timeout', slowing down the posting thread. Once a wait"
+            + " times out events are dropped until the queue is half empty again."
+            + "\nsample - Once the queue is half full only queue one in 'sample-rate' events, discard the rest.")
+    private String backPressure = "drop";
+
+    @Setting(value = "block-timeout", comment = "The maximum time in milliseconds an event waits for room in a full queue when blocking. (Default: 10)")
+    private int blockTimeout = 10;
+
+    @Setting(value = "sample-rate", comment = "The fraction of events queued when sampling, as one in this many. (Default: 10)")
+    private int sampleRate = 10;
+
+    @Setting(value = "plugin-back-pressure", comment = "A mapping from plugin id to the back-pressure used for that plugin instead of the default.")
+    private Map<String, String> pluginBackPressure = new HashMap<>();
+
+    public int getThreads() {
+        return this.threads;
+    }
+
+    public int getQueueSize() {
+        return this.queueSize;
+    }
+
+    public String getBackPressure() {
+        return this.backPressure;
+    }
+
+    public int getBlockTimeout() {
+        return this.blockTimeout;
+    }
+
+    public int getSampleRate() {
+        return this.sampleRate;
+    }
+
+    public Map<String, String> getPluginBackPressure() {
+        return this.pluginBackPressure;
+    }
+}
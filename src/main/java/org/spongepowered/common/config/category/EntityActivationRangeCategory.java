@@ -35,6 +35,9 @@ public class EntityActivationRangeCategory extends ConfigCategory {
 
     @Setting(value = "auto-populate", comment = "If enabled, newly discovered entities will be added to this config with a default value.")
     private boolean autoPopulate = false;
+    @Setting(value = "activation-interval", comment = "The number of ticks between activation range checks. Entities found in range stay "
+            + "\nactive until the next check. Higher values reduce the cost of the checks. (Default: 1)")
+    private int activationInterval = 1;
     @Setting(value = "defaults", comment = "Default activation ranges used for all entities unless overidden.")
     private Map<String, Integer> defaultRanges = new HashMap<>();
     @Setting(value = "mods", comment = "Per-mod overrides. Refer to the minecraft default mod for example.")
@@ -52,6 +55,10 @@ public boolean autoPopulateData() {
         return this.autoPopulate;
     }
 
+    public int getActivationInterval() {
+        return this.activationInterval;
+    }
+
     public Map<String, Integer> getDefaultRanges() {
         return this.defaultRanges;
     }
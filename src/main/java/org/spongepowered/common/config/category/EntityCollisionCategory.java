@@ -37,6 +37,9 @@ public class EntityCollisionCategory extends ConfigCategory {
     private boolean autoPopulate = false;
     @Setting(value = "max-entities-within-aabb", comment = "Max amount of entities any given entity or block can collide with. This improves performance when there are more than 8 entities on top of eachother such as a 1x1 spawn pen. Set to 0 to disable.")
     private int maxEntitiesWithinAABB = 8;
+    @Setting(value = "spatial-grid", comment = "If enabled, entities are kept in a spatial grid which answers entity collision queries without "
+            + "\nscanning whole chunk sections. Helps worlds with many entities packed closely together. Requires a world reload.")
+    private boolean spatialGrid = false;
     @Setting(value = "defaults", comment = "Default max collisions used for all entities/blocks unless overidden.")
     private Map<String, Integer> defaultMaxCollisions = new HashMap<>();
     @Setting(value = "mods", comment = "Per-mod overrides. Refer to the minecraft default mod for example.")
@@ -60,6 +63,10 @@ public Map<String, Integer> getDefaultMaxCollisions() {
         return this.defaultMaxCollisions;
     }
 
+    public boolean useSpatialGrid() {
+        return this.spatialGrid;
+    }
+
     public int getMaxEntitiesWithinAABB() {
         return this.maxEntitiesWithinAABB;
     }
@@ -33,7 +33,22 @@ public class GlobalWorldCategory extends WorldCategory {
     @Setting(value = "auto-player-save-interval", comment = "The auto-save tick interval used when saving global player data. Set to 0 to disable. (Default: 900) Note: 20 ticks is equivalent to 1 second.")
     private int autoPlayerSaveInterval = 900;
 
+    @Setting(value = "chunk-io-threads", comment = "The number of threads shared by all worlds to read and parse chunks from disk ahead of time. (Default: 2)")
+    private int chunkIOThreads = 2;
+
+    @Setting(value = "chunk-io-queue-size", comment = "The maximum number of chunk reads waiting for a chunk I/O thread. Reads past this limit are "
+            + "\nskipped and the chunk is loaded on the main thread instead. (Default: 1024)")
+    private int chunkIOQueueSize = 1024;
+
     public int getAutoPlayerSaveInterval() {
         return this.autoPlayerSaveInterval;
     }
-}
\ No newline at end of file
+
+    public int getChunkIOThreads() {
+        return this.chunkIOThreads;
+    }
+
+    public int getChunkIOQueueSize() {
+        return this.chunkIOQueueSize;
+    }
+}
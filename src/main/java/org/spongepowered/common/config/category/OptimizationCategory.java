@@ -39,6 +39,24 @@ public class OptimizationCategory extends ConfigCategory {
     @Setting(value = "chunk-map-caching", comment = "Caches chunks internally for faster returns when querying at various positions")
     private boolean useCachedChunkMap = true;
 
+    @Setting(value = "open-addressing-chunk-map", comment = "Replaces the loaded chunk map with a primitive open addressing table and a small\n"
+            + "recently accessed chunk cache. Takes precedence over chunk-map-caching when enabled")
+    private boolean useOpenAddressingChunkMap = true;
+
+    @Setting(value = "queued-lighting", comment = "Queues the light checks of changed blocks per chunk and processes them once per tick\n"
+            + "instead of right away. Chunks are always relit before they are sent to players, saved or unloaded")
+    private boolean useQueuedLighting = false;
+
+    @Setting(value = "queued-lighting-budget", comment = "The time in milliseconds a world may spend each tick processing queued light checks")
+    private int queuedLightingBudget = 10;
+
+    @Setting(value = "parallel-explosion-tracing", comment = "Traces the rays of TNT, creeper, fireball and sourceless explosions in parallel\n"
+            + "against the loaded block storage. The affected blocks are the same as with a serial trace")
+    private boolean useParallelExplosionTracing = false;
+
+    @Setting(value = "parallel-explosion-tracing-threads", comment = "The number of threads shared by all worlds to trace explosion rays on. (Default: 2)")
+    private int parallelExplosionTracingThreads = 2;
+
     public boolean useBlockStateLookupPatch() {
         return this.blockStateLookup;
     }
@@ -50,4 +68,28 @@ public boolean useIgnoreUloadedChunkLightingPatch() {
     public boolean isUseCachedChunkMap() {
         return this.useCachedChunkMap;
     }
-}
\ No newline at end of file
+
+    public boolean isUseOpenAddressingChunkMap() {
+        return this.useOpenAddressingChunkMap;
+    }
+
+    public boolean useQueuedLighting() {
+        return this.useQueuedLighting;
+    }
+
+    public int getQueuedLightingBudget() {
+        return this.queuedLightingBudget;
+    }
+
+    public boolean useParallelExplosionTracing() {
+        return this.useParallelExplosionTracing;
+    }
+
+    public int getParallelExplosionTracingThreads() {
+        return this.parallelExplosionTracingThreads;
+    }
+
+    public boolean isUseLegacyCachedChunkMap() {
+        return this.useCachedChunkMap && !this.useOpenAddressingChunkMap;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@ConfigSerializable
+public class SchedulerCategory extends ConfigCategory {
+
+    @Setting(value = "async-threads", comment = "The number of threads running asynchronous tasks. Set to 0 to use twice the number of "
+            + "\nprocessors, with a minimum of 4. (Default: 0)")
+    private int asyncThreads = 0;
+
+    @Setting(value = "plugin-concurrency", comment = "The maximum number of asynchronous tasks of a single plugin running at the same time. "
+            + "\nFurther tasks wait for one of them to finish. (Default: 4)")
+    private int pluginConcurrency = 4;
+
+    @Setting(value = "plugin-concurrency-overrides", comment = "A mapping from plugin id to the maximum number of its asynchronous tasks "
+            + "\nrunning at the same time, used instead of 'plugin-concurrency'.")
+    private Map<String, Integer> pluginConcurrencyOverrides = new HashMap<>();
+
+    @Setting(value = "plugin-queue-size", comment = "The maximum number of asynchronous tasks of a single plugin waiting to run. Tasks past "
+            + "\nthis limit are rejected and logged. (Default: 10000)")
+    private int pluginQueueSize = 10000;
+
+    public int getAsyncThreads() {
+        return this.asyncThreads;
+    }
+
+    public int getPluginConcurrency() {
+        return this.pluginConcurrency;
+    }
+
+    public Map<String, Integer> getPluginConcurrencyOverrides() {
+        return this.pluginConcurrencyOverrides;
+    }
+
+    public int getPluginQueueSize() {
+        return this.pluginQueueSize;
+    }
+}
@@ -94,6 +94,36 @@ public class WorldCategory extends ConfigCategory {
                                                     + "\nareas for more items. Setting to a negative value is not supported!")
     private double itemMergeRadius = 2.5D;
 
+    @Setting(value = "chunk-read-ahead", comment = "If enabled, chunks around joining, teleporting and moving players are read and parsed "
+                                                   + "\nfrom disk on the chunk I/O threads before they are needed, leaving only the"
+                                                   + "\nfinal chunk assembly to the main thread.")
+    private boolean chunkReadAhead = true;
+
+    @Setting(value = "chunk-read-ahead-distance", comment = "The number of chunks in the direction a player is moving that are read ahead"
+                                                            + "\nbeyond the view distance. (Default: 2)")
+    private int chunkReadAheadDistance = 2;
+
+    @Setting(value = "chunk-pregen-threads", comment = "The number of threads generating base terrain noise in parallel during chunk pre-generation."
+                                                       + "\nPopulation and saving always run on the main thread. Only applies to worlds using"
+                                                       + "\nthe default terrain generator. Set to 0 to generate on the main thread. (Default: 0)")
+    private int chunkPreGenThreads = 0;
+
+    @Setting(value = "neighbor-notify-deduplication", comment = "If enabled, a NotifyNeighborBlockEvent is only posted once per tick for a source position and block."
+                                                              + "\nFurther notifications from the same source, cause and notifier in that tick reuse the sides"
+                                                              + "\nallowed by the first event, even if the neighboring blocks changed in between. Neighbors are"
+                                                              + "\nstill updated every time. (Default: false)")
+    private boolean neighborNotifyDeduplication = false;
+
+    @Setting(value = "tnt-merging", comment = "If enabled, primed TNT entities with the same fuse and motion at the same position are merged"
+                                            + "\ninto a single entity that explodes once. The explosion applies the knockback of all merged TNT,"
+                                            + "\nbut breaks blocks and damages entities only once. Stacked TNT breaks more blocks, since each"
+                                            + "\nexplosion reaches further through the blocks broken by the one before, so merging weakens"
+                                            + "\nTNT cannons and tunnel bores.")
+    private boolean tntMerging = false;
+
+    @Setting(value = "tnt-merge-radius", comment = "The distance within which primed TNT is considered to be at the same position. (Default: 0.1)")
+    private double tntMergeRadius = 0.1D;
+
     public WorldCategory() {
         this.portalAgents.put("minecraft:default_nether", "DIM-1");
         this.portalAgents.put("minecraft:default_the_end", "DIM1");
@@ -190,4 +220,28 @@ public int getMaxChunkUnloads() {
     public double getItemMergeRadius() {
         return itemMergeRadius;
     }
-}
\ No newline at end of file
+
+    public boolean isChunkReadAhead() {
+        return this.chunkReadAhead;
+    }
+
+    public int getChunkReadAheadDistance() {
+        return this.chunkReadAheadDistance;
+    }
+
+    public int getChunkPreGenThreads() {
+        return this.chunkPreGenThreads;
+    }
+
+    public boolean useNeighborNotifyDeduplication() {
+        return this.neighborNotifyDeduplication;
+    }
+
+    public boolean isTntMerging() {
+        return this.tntMerging;
+    }
+
+    public double getTntMergeRadius() {
+        return this.tntMergeRadius;
+    }
+}
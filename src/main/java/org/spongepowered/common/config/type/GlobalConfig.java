@@ -30,12 +30,14 @@
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
 import ninja.leaping.configurate.objectmapping.Setting;
+import org.spongepowered.common.config.category.AsyncListenerCategory;
 import org.spongepowered.common.config.category.BungeeCordCategory;
 import org.spongepowered.common.config.category.CommandsCategory;
 import org.spongepowered.common.config.category.ExploitCategory;
 import org.spongepowered.common.config.category.GlobalWorldCategory;
 import org.spongepowered.common.config.category.ModuleCategory;
 import org.spongepowered.common.config.category.OptimizationCategory;
+import org.spongepowered.common.config.category.SchedulerCategory;
 import org.spongepowered.common.config.category.SqlCategory;
 import org.spongepowered.common.util.IpSet;
 
@@ -69,6 +71,12 @@ public class GlobalConfig extends ConfigBase {
     @Setting(value = "optimizations")
     private OptimizationCategory optimizations = new OptimizationCategory();
 
+    @Setting(value = "async-listeners", comment = "Configuration options for event listeners registered as observe-only, which are run off the main thread")
+    private AsyncListenerCategory asyncListeners = new AsyncListenerCategory();
+
+    @Setting(value = "scheduler", comment = "Configuration options for the thread pool running asynchronous tasks")
+    private SchedulerCategory scheduler = new SchedulerCategory();
+
     @Setting
     protected GlobalWorldCategory world = new GlobalWorldCategory();
 
@@ -111,6 +119,14 @@ public OptimizationCategory getOptimizations() {
         return this.optimizations;
     }
 
+    public AsyncListenerCategory getAsyncListeners() {
+        return this.asyncListeners;
+    }
+
+    public SchedulerCategory getScheduler() {
+        return this.scheduler;
+    }
+
     public Predicate<InetAddress> getIpSet(String name) {
         return this.ipSets.containsKey(name) ? Predicates.and(this.ipSets.get(name)) : null;
     }
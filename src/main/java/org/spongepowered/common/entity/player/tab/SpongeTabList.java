@@ -110,8 +110,8 @@ public TabList setHeaderAndFooter(@Nullable Text header, @Nullable Text footer)
     private void refreshClientHeaderFooter() {
         S47PacketPlayerListHeaderFooter packet = new S47PacketPlayerListHeaderFooter();
         // MC-98180 - Sending null as header or footer will cause an exception on the client
-        packet.header = this.header == null ? EMPTY_COMPONENT : SpongeTexts.toComponent(this.header);
-        packet.footer = this.footer == null ? EMPTY_COMPONENT : SpongeTexts.toComponent(this.footer);
+        packet.header = this.header == null ? EMPTY_COMPONENT : SpongeTexts.toSharedComponent(this.header);
+        packet.footer = this.footer == null ? EMPTY_COMPONENT : SpongeTexts.toSharedComponent(this.footer);
         this.player.playerNetServerHandler.sendPacket(packet);
     }
 
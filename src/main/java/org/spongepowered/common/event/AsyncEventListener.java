@@ -0,0 +1,63 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.EventListener;
+
+/**
+ * An observe-only listener, handing events to the queue of its plugin
+ * instead of handling them on the posting thread. The event manager hands
+ * it read-only snapshots of the events.
+ *
+ * @param <T> The type of event
+ */
+final class AsyncEventListener<T extends Event> implements SpongeEventListener<T> {
+
+    private final EventListener<? super T> listener;
+    private final AsyncObserverQueue queue;
+
+    AsyncEventListener(EventListener<? super T> listener, AsyncObserverQueue queue) {
+        this.listener = checkNotNull(listener, "listener");
+        this.queue = checkNotNull(queue, "queue");
+    }
+
+    @Override
+    public Object getHandle() {
+        if (this.listener instanceof SpongeEventListener) {
+            return ((SpongeEventListener<?>) this.listener).getHandle();
+        }
+
+        return this.listener;
+    }
+
+    @Override
+    public void handle(T event) {
+        this.queue.offer(this.listener, event);
+    }
+
+}
@@ -0,0 +1,255 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.EventListener;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.AsyncListenerCategory;
+
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nullable;
+
+/**
+ * Holds the events waiting for the observe-only listeners of a single
+ * plugin.
+ *
+ * <p>Events are only offered once all synchronous listeners are done with
+ * them. The queue is drained in batches on a pool shared by all plugins,
+ * at most one thread at a time per plugin, so the listeners of a plugin
+ * see its events in the order they were posted. What happens once the
+ * queue is full is decided by its {@link BackPressure}. When blocking, a
+ * wait that times out makes the queue drop further events right away until
+ * it has drained to half its capacity, so a stalled plugin costs the
+ * posting thread a single timeout rather than one per event.</p>
+ */
+public final class AsyncObserverQueue implements Runnable {
+
+    private static final int DRAIN_BATCH = 256;
+
+    @Nullable private static ExecutorService executor;
+
+    private final PluginContainer plugin;
+    private final Executor drainExecutor;
+    private final BlockingQueue<Entry> queue;
+    private final BackPressure backPressure;
+    private final int halfCapacity;
+    private final int sampleRate;
+    private final long blockTimeout;
+    private final AtomicInteger sampleCounter = new AtomicInteger();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean overwhelmed;
+
+    AsyncObserverQueue(PluginContainer plugin, Executor drainExecutor, int capacity, BackPressure backPressure, int sampleRate, long blockTimeout) {
+        this.plugin = checkNotNull(plugin, "plugin");
+        this.drainExecutor = checkNotNull(drainExecutor, "drainExecutor");
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.backPressure = checkNotNull(backPressure, "backPressure");
+        this.halfCapacity = Math.max(1, capacity) / 2;
+        this.sampleRate = Math.max(1, sampleRate);
+        this.blockTimeout = Math.max(0, blockTimeout);
+    }
+
+    /**
+     * Creates the queue of a plugin from the global configuration.
+     *
+     * @param plugin The plugin
+     * @return The new queue
+     */
+    static AsyncObserverQueue create(PluginContainer plugin) {
+        final AsyncListenerCategory config = SpongeImpl.getGlobalConfig().getConfig().getAsyncListeners();
+        String backPressure = config.getPluginBackPressure().get(plugin.getId());
+        if (backPressure == null) {
+            backPressure = config.getBackPressure();
+        }
+        return new AsyncObserverQueue(plugin, getExecutor(), config.getQueueSize(), BackPressure.of(backPressure), config.getSampleRate(),
+                config.getBlockTimeout());
+    }
+
+    private static synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            final int threads = Math.max(1, SpongeImpl.getGlobalConfig().getConfig().getAsyncListeners().getThreads());
+            final ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                    new ThreadFactoryBuilder().setNameFormat("Sponge Async Listener #%d").setDaemon(true).build());
+            pool.allowCoreThreadTimeOut(true);
+            executor = pool;
+        }
+        return executor;
+    }
+
+    public PluginContainer getPlugin() {
+        return this.plugin;
+    }
+
+    public BackPressure getBackPressure() {
+        return this.backPressure;
+    }
+
+    /**
+     * Gets the number of events waiting to be passed to the listeners.
+     *
+     * @return The number of queued events
+     */
+    public int size() {
+        return this.queue.size();
+    }
+
+    /**
+     * Gets the number of events discarded by back-pressure so far.
+     *
+     * @return The number of dropped events
+     */
+    public long getDropped() {
+        return this.dropped.get();
+    }
+
+    /**
+     * Queues an event for a listener of this plugin, applying back-pressure
+     * if the queue is full.
+     *
+     * @param listener The listener
+     * @param event The event
+     */
+    void offer(EventListener<?> listener, Event event) {
+        final Entry entry = new Entry(listener, event);
+        boolean queued;
+        switch (this.backPressure) {
+            case BLOCK:
+                if (this.overwhelmed) {
+                    // Don't stall the posting thread on every event while the listeners are this far behind
+                    if (this.queue.size() > this.halfCapacity) {
+                        queued = false;
+                        break;
+                    }
+                    this.overwhelmed = false;
+                }
+                try {
+                    queued = this.queue.offer(entry, this.blockTimeout, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    queued = false;
+                }
+                if (!queued) {
+                    this.overwhelmed = true;
+                }
+                break;
+            case SAMPLE:
+                queued = (this.queue.size() < this.halfCapacity || this.sampleCounter.incrementAndGet() % this.sampleRate == 0)
+                        && this.queue.offer(entry);
+                break;
+            default:
+                queued = this.queue.offer(entry);
+                break;
+        }
+
+        if (queued) {
+            schedule();
+        } else {
+            onDropped();
+        }
+    }
+
+    private void schedule() {
+        if (this.scheduled.compareAndSet(false, true)) {
+            this.drainExecutor.execute(this);
+        }
+    }
+
+    private void onDropped() {
+        final long dropped = this.dropped.incrementAndGet();
+        // Keep the log readable if a plugin is constantly overwhelmed
+        if (dropped == 1 || dropped % 10000 == 0) {
+            SpongeImpl.getLogger().warn("The observe-only listeners of {} can't keep up, {} events were dropped so far ({} back-pressure)",
+                    this.plugin.getId(), dropped, this.backPressure.name().toLowerCase(Locale.ENGLISH));
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Override
+    public void run() {
+        try {
+            for (int i = 0; i < DRAIN_BATCH; i++) {
+                final Entry entry = this.queue.poll();
+                if (entry == null) {
+                    break;
+                }
+                try {
+                    ((EventListener) entry.listener).handle(entry.event);
+                } catch (Throwable t) {
+                    SpongeImpl.getLogger().error("Could not pass {} to {}", entry.event.getClass().getSimpleName(), this.plugin, t);
+                }
+            }
+        } finally {
+            this.scheduled.set(false);
+            // Give other plugins a turn before draining the rest
+            if (!this.queue.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+
+    private static final class Entry {
+
+        final EventListener<?> listener;
+        final Event event;
+
+        Entry(EventListener<?> listener, Event event) {
+            this.listener = listener;
+            this.event = event;
+        }
+    }
+
+    public enum BackPressure {
+        DROP,
+        BLOCK,
+        SAMPLE;
+
+        static BackPressure of(String name) {
+            try {
+                return valueOf(name.toUpperCase(Locale.ENGLISH));
+            } catch (IllegalArgumentException e) {
+                SpongeImpl.getLogger().warn("Unknown async listener back-pressure '{}', using drop instead", name);
+                return DROP;
+            }
+        }
+    }
+
+}
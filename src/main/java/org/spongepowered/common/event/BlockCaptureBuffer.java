@@ -0,0 +1,221 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.BlockPos;
+import org.spongepowered.common.block.SpongeBlockSnapshot;
+import org.spongepowered.common.interfaces.world.IMixinWorld;
+import org.spongepowered.common.world.CaptureType;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import javax.annotation.Nullable;
+
+/**
+ * The block changes captured by a {@link CauseTracker}, in the order they
+ * happened.
+ *
+ * <p>Each change is recorded as its position, original states, update flag,
+ * capture type and the creator and notifier tracked at the time. The
+ * {@link SpongeBlockSnapshot} of a change is only created once it is
+ * requested, except for blocks with tile entities which have to be
+ * snapshotted before the tile entity is changed.</p>
+ */
+public final class BlockCaptureBuffer {
+
+    private static final CaptureType[] CAPTURE_TYPES = CaptureType.values();
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final IMixinWorld world;
+    private long[] positions = new long[INITIAL_CAPACITY];
+    // Block states are shared instances, so storing them costs no more than an id
+    private IBlockState[] states = new IBlockState[INITIAL_CAPACITY];
+    private IBlockState[] extendedStates = new IBlockState[INITIAL_CAPACITY];
+    private int[] updateFlags = new int[INITIAL_CAPACITY];
+    private byte[] captureTypes = new byte[INITIAL_CAPACITY];
+    private UUID[] creators = new UUID[INITIAL_CAPACITY];
+    private UUID[] notifiers = new UUID[INITIAL_CAPACITY];
+    private SpongeBlockSnapshot[] snapshots = new SpongeBlockSnapshot[INITIAL_CAPACITY];
+    private int size;
+
+    public BlockCaptureBuffer(IMixinWorld world) {
+        this.world = world;
+    }
+
+    /**
+     * Records a block change.
+     *
+     * @param pos The position of the block
+     * @param state The original state of the block
+     * @param extendedState The original actual state of the block
+     * @param updateFlag The update flag of the change
+     * @param captureType The type of the change
+     * @param creator The creator of the original block, if any
+     * @param notifier The notifier of the original block, if any
+     * @param snapshot The snapshot of the original block if it had to be
+     *     created right away
+     * @return The index of the change
+     */
+    public int add(BlockPos pos, IBlockState state, IBlockState extendedState, int updateFlag, CaptureType captureType,
+            @Nullable UUID creator, @Nullable UUID notifier, @Nullable SpongeBlockSnapshot snapshot) {
+        if (this.size == this.positions.length) {
+            this.grow();
+        }
+        int index = this.size++;
+        this.positions[index] = pos.toLong();
+        this.states[index] = state;
+        this.extendedStates[index] = extendedState;
+        this.updateFlags[index] = updateFlag;
+        this.captureTypes[index] = (byte) captureType.ordinal();
+        this.creators[index] = creator;
+        this.notifiers[index] = notifier;
+        if (snapshot != null) {
+            snapshot.captureType = captureType;
+        }
+        this.snapshots[index] = snapshot;
+        return index;
+    }
+
+    /**
+     * Removes the change at the given index, if it is still the change
+     * recorded for the given position.
+     *
+     * @param index The index of the change
+     * @param pos The position of the change
+     */
+    public void remove(int index, BlockPos pos) {
+        if (!this.isAt(index, pos)) {
+            return;
+        }
+        int moved = this.size - index - 1;
+        if (moved > 0) {
+            System.arraycopy(this.positions, index + 1, this.positions, index, moved);
+            System.arraycopy(this.states, index + 1, this.states, index, moved);
+            System.arraycopy(this.extendedStates, index + 1, this.extendedStates, index, moved);
+            System.arraycopy(this.updateFlags, index + 1, this.updateFlags, index, moved);
+            System.arraycopy(this.captureTypes, index + 1, this.captureTypes, index, moved);
+            System.arraycopy(this.creators, index + 1, this.creators, index, moved);
+            System.arraycopy(this.notifiers, index + 1, this.notifiers, index, moved);
+            System.arraycopy(this.snapshots, index + 1, this.snapshots, index, moved);
+        }
+        this.size--;
+        this.states[this.size] = null;
+        this.extendedStates[this.size] = null;
+        this.creators[this.size] = null;
+        this.notifiers[this.size] = null;
+        this.snapshots[this.size] = null;
+    }
+
+    /**
+     * Checks whether the change at the given index is recorded for the
+     * given position.
+     *
+     * @param index The index of the change
+     * @param pos The position
+     * @return True if the change exists and is at the position
+     */
+    public boolean isAt(int index, BlockPos pos) {
+        return index >= 0 && index < this.size && this.positions[index] == pos.toLong();
+    }
+
+    /**
+     * Gets the snapshot of the original block of the change at the given
+     * index, creating it if needed.
+     *
+     * @param index The index of the change
+     * @return The snapshot
+     */
+    public SpongeBlockSnapshot get(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+        }
+        SpongeBlockSnapshot snapshot = this.snapshots[index];
+        if (snapshot == null) {
+            snapshot = (SpongeBlockSnapshot) this.world.createSpongeBlockSnapshot(this.states[index], this.extendedStates[index],
+                    BlockPos.fromLong(this.positions[index]), this.updateFlags[index], this.creators[index], this.notifiers[index]);
+            snapshot.captureType = this.getCaptureType(index);
+            this.snapshots[index] = snapshot;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Gets the snapshot of the most recent change, creating it if needed.
+     *
+     * @return The snapshot, or null if there are no changes
+     */
+    @Nullable
+    public SpongeBlockSnapshot getLast() {
+        return this.size == 0 ? null : this.get(this.size - 1);
+    }
+
+    public BlockPos getPosition(int index) {
+        return BlockPos.fromLong(this.positions[index]);
+    }
+
+    public IBlockState getState(int index) {
+        return this.states[index];
+    }
+
+    public int getUpdateFlag(int index) {
+        return this.updateFlags[index];
+    }
+
+    public CaptureType getCaptureType(int index) {
+        return CAPTURE_TYPES[this.captureTypes[index]];
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(this.states, 0, this.size, null);
+        Arrays.fill(this.extendedStates, 0, this.size, null);
+        Arrays.fill(this.creators, 0, this.size, null);
+        Arrays.fill(this.notifiers, 0, this.size, null);
+        Arrays.fill(this.snapshots, 0, this.size, null);
+        this.size = 0;
+    }
+
+    private void grow() {
+        int capacity = this.positions.length << 1;
+        this.positions = Arrays.copyOf(this.positions, capacity);
+        this.states = Arrays.copyOf(this.states, capacity);
+        this.extendedStates = Arrays.copyOf(this.extendedStates, capacity);
+        this.updateFlags = Arrays.copyOf(this.updateFlags, capacity);
+        this.captureTypes = Arrays.copyOf(this.captureTypes, capacity);
+        this.creators = Arrays.copyOf(this.creators, capacity);
+        this.notifiers = Arrays.copyOf(this.notifiers, capacity);
+        this.snapshots = Arrays.copyOf(this.snapshots, capacity);
+    }
+
+}
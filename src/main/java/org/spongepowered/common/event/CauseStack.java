@@ -0,0 +1,216 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.event.cause.NamedCause;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+
+/**
+ * The stack of causes tracked while a world processes ticks, packets and
+ * commands.
+ *
+ * <p>Frames are preallocated and reused, a frame only records the objects
+ * making up a cause. The immutable {@link Cause} is built the first time it
+ * is requested, which for most ticked blocks, tile entities and entities is
+ * never, as nothing they did was captured.</p>
+ */
+public final class CauseStack {
+
+    private static final int INITIAL_DEPTH = 8;
+
+    private Frame[] frames = new Frame[INITIAL_DEPTH];
+    private int depth;
+
+    /**
+     * Pushes an empty frame.
+     *
+     * @return The frame
+     */
+    public Frame push() {
+        if (this.depth == this.frames.length) {
+            this.frames = Arrays.copyOf(this.frames, this.depth << 1);
+        }
+        Frame frame = this.frames[this.depth];
+        if (frame == null) {
+            frame = this.frames[this.depth] = new Frame();
+        }
+        this.depth++;
+        return frame;
+    }
+
+    /**
+     * Pushes a frame for an already built cause.
+     *
+     * @param cause The cause
+     */
+    public void push(Cause cause) {
+        push().base = cause;
+    }
+
+    public void pop() {
+        if (this.depth > 0) {
+            this.frames[--this.depth].clear();
+        }
+    }
+
+    /**
+     * Gets the cause of the top frame, building it if needed.
+     *
+     * @return The cause, or null if the stack is empty
+     */
+    @Nullable
+    public Cause peek() {
+        return this.depth == 0 ? null : this.frames[this.depth - 1].getCause();
+    }
+
+    @Nullable
+    public Frame peekFrame() {
+        return this.depth == 0 ? null : this.frames[this.depth - 1];
+    }
+
+    public boolean isEmpty() {
+        return this.depth == 0;
+    }
+
+    public int size() {
+        return this.depth;
+    }
+
+    public static final class Frame {
+
+        private static final byte SOURCE = 0;
+        private static final byte NOTIFIER = 1;
+        private static final byte OWNER = 2;
+        private static final byte NAMED = 3;
+        private static final byte LAZY_SOURCE = 4;
+        private static final int INITIAL_CAPACITY = 4;
+
+        @Nullable private Cause base;
+        @Nullable private Cause cause;
+        private byte[] kinds = new byte[INITIAL_CAPACITY];
+        private String[] names = new String[INITIAL_CAPACITY];
+        private Object[] values = new Object[INITIAL_CAPACITY];
+        private int size;
+
+        Frame() {
+        }
+
+        public Frame source(Object source) {
+            return add(SOURCE, null, source);
+        }
+
+        /**
+         * Adds a source which is only requested from the supplier when the
+         * cause is built.
+         *
+         * @param source The supplier of the source
+         * @return This frame
+         */
+        public Frame lazySource(Supplier<?> source) {
+            return add(LAZY_SOURCE, null, source);
+        }
+
+        public Frame notifier(Object notifier) {
+            return add(NOTIFIER, null, notifier);
+        }
+
+        public Frame owner(Object owner) {
+            return add(OWNER, null, owner);
+        }
+
+        public Frame named(String name, Object object) {
+            return add(NAMED, name, object);
+        }
+
+        /**
+         * Gets the cause of this frame, building it if needed.
+         *
+         * @return The cause, or null if nothing was added to the frame
+         */
+        @Nullable
+        public Cause getCause() {
+            if (this.cause == null) {
+                if (this.size == 0) {
+                    this.cause = this.base;
+                } else {
+                    final List<NamedCause> namedCauses = new ArrayList<>(this.size);
+                    for (int i = 0; i < this.size; i++) {
+                        namedCauses.add(toNamedCause(i));
+                    }
+                    final Cause cause = Cause.of(namedCauses);
+                    this.cause = this.base == null ? cause : this.base.merge(cause);
+                }
+            }
+            return this.cause;
+        }
+
+        private NamedCause toNamedCause(int index) {
+            final Object value = this.values[index];
+            switch (this.kinds[index]) {
+                case SOURCE:
+                    return NamedCause.source(value);
+                case LAZY_SOURCE:
+                    return NamedCause.source(((Supplier<?>) value).get());
+                case NOTIFIER:
+                    return NamedCause.notifier(value);
+                case OWNER:
+                    return NamedCause.owner(value);
+                default:
+                    return NamedCause.of(this.names[index], value);
+            }
+        }
+
+        private Frame add(byte kind, @Nullable String name, Object value) {
+            if (this.size == this.values.length) {
+                final int capacity = this.size << 1;
+                this.kinds = Arrays.copyOf(this.kinds, capacity);
+                this.names = Arrays.copyOf(this.names, capacity);
+                this.values = Arrays.copyOf(this.values, capacity);
+            }
+            this.kinds[this.size] = kind;
+            this.names[this.size] = name;
+            this.values[this.size] = value;
+            this.size++;
+            this.cause = null;
+            return this;
+        }
+
+        void clear() {
+            Arrays.fill(this.names, 0, this.size, null);
+            Arrays.fill(this.values, 0, this.size, null);
+            this.size = 0;
+            this.base = null;
+            this.cause = null;
+        }
+    }
+
+}
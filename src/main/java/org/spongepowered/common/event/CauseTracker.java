@@ -74,6 +74,7 @@
 import org.spongepowered.api.event.SpongeEventFactory;
 import org.spongepowered.api.event.action.LightningEvent;
 import org.spongepowered.api.event.block.ChangeBlockEvent;
+import org.spongepowered.api.event.block.NotifyNeighborBlockEvent;
 import org.spongepowered.api.event.cause.Cause;
 import org.spongepowered.api.event.cause.NamedCause;
 import org.spongepowered.api.event.cause.entity.damage.source.IndirectEntityDamageSource;
@@ -104,19 +105,22 @@
 import org.spongepowered.common.world.CaptureType;
 import org.spongepowered.common.world.SpongeProxyBlockAccess;
 
-import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Optional;
 import java.util.Random;
+import java.util.UUID;
+import java.util.function.Supplier;
 
 import javax.annotation.Nullable;
 
 public final class CauseTracker {
 
+    // The capture types with an event, in the order their events are handled
+    private static final CaptureType[] EVENT_CAPTURE_TYPES = {CaptureType.BREAK, CaptureType.MODIFY, CaptureType.PLACE, CaptureType.DECAY};
+
     private final net.minecraft.world.World targetWorld;
     private boolean captureSpawnedEntities = false;
     private boolean captureBlockDecay = false;
@@ -128,20 +132,22 @@ public final class CauseTracker {
     private boolean specificCapture = false;
     private List<Entity> capturedSpawnedEntities = new ArrayList<>();
     private List<Entity> capturedSpawnedEntityItems = new ArrayList<>();
-    private List<BlockSnapshot> capturedSpongeBlockSnapshots = new ArrayList<>();
+    private final BlockCaptureBuffer capturedBlocks;
     // used internally to handle specific captures and not conflict with rest
     private List<Entity> capturedSpecificSpawnedEntities = new ArrayList<>();
     private List<Entity> capturedSpecificSpawnedEntityItems = new ArrayList<>();
-    private List<BlockSnapshot> capturedSpecificSpongeBlockSnapshots = new ArrayList<>();
+    private final BlockCaptureBuffer capturedSpecificBlocks;
     private List<Transaction<BlockSnapshot>> invalidTransactions = new ArrayList<>();
+    private final NeighborNotificationCache neighborNotifications = new NeighborNotificationCache();
     @Nullable private User currentNotifier;
-    @Nullable private BlockSnapshot currentTickBlock;
+    @Nullable private Supplier<BlockSnapshot> currentTickBlock;
+    @Nullable private BlockPos currentTickBlockPos;
     @Nullable private Entity currentTickEntity;
     @Nullable private TileEntity currentTickTileEntity;
     @Nullable public IMixinNextTickListEntry currentPendingBlockUpdate;
     private boolean worldSpawnerRunning;
     private boolean chunkSpawnerRunning;
-    private Deque<Cause> causeStack = new ArrayDeque<>();
+    private final CauseStack causeStack = new CauseStack();
     private Packet<?> currentPlayerPacket;
     public final Timing causeTrackerBlockTimer;
     public final Timing causeTrackerBlockBreakTimer;
@@ -150,6 +156,8 @@ public final class CauseTracker {
 
     public CauseTracker(net.minecraft.world.World targetWorld) {
         this.targetWorld = targetWorld;
+        this.capturedBlocks = new BlockCaptureBuffer(this.getMixinWorld());
+        this.capturedSpecificBlocks = new BlockCaptureBuffer(this.getMixinWorld());
         this.causeTrackerBlockTimer = this.getMixinWorld().getTimingsHandler().causeTrackerBlockTimer;
         this.causeTrackerBlockBreakTimer = this.getMixinWorld().getTimingsHandler().causeTrackerBlockBreakTimer;
         this.causeTrackerEntityTimer = this.getMixinWorld().getTimingsHandler().causeTrackerEntityTimer;
@@ -261,12 +269,31 @@ public boolean hasTickingBlock() {
         return this.currentTickBlock != null;
     }
 
+    /**
+     * Gets the snapshot of the ticking block, building it on the first
+     * request if the block was ticked by this tracker.
+     *
+     * @return The snapshot of the ticking block, if any
+     */
     public Optional<BlockSnapshot> getCurrentTickBlock() {
-        return Optional.ofNullable(this.currentTickBlock);
+        return this.currentTickBlock == null ? Optional.empty() : Optional.of(this.currentTickBlock.get());
     }
 
     public void setCurrentTickBlock(@Nullable BlockSnapshot currentTickBlock) {
-        this.currentTickBlock = currentTickBlock;
+        if (currentTickBlock == null) {
+            this.currentTickBlock = null;
+            this.currentTickBlockPos = null;
+        } else {
+            this.currentTickBlock = () -> currentTickBlock;
+            this.currentTickBlockPos = ((SpongeBlockSnapshot) currentTickBlock).getBlockPos();
+        }
+    }
+
+    private void setCurrentTickBlock(IBlockState state, BlockPos pos) {
+        final TickBlock tickBlock = new TickBlock(state, pos);
+        this.currentTickBlock = tickBlock;
+        this.currentTickBlockPos = pos;
+        this.causeStack.push().lazySource(tickBlock);
     }
 
     public boolean hasTickingEntity() {
@@ -293,11 +320,11 @@ public void setCurrentTickTileEntity(TileEntity currentTickTileEntity) {
         this.currentTickTileEntity = currentTickTileEntity;
     }
 
-    public List<BlockSnapshot> getCapturedSpongeBlockSnapshots() {
+    public BlockCaptureBuffer getCapturedBlocks() {
         if (this.specificCapture) {
-            return this.capturedSpecificSpongeBlockSnapshots;
+            return this.capturedSpecificBlocks;
         }
-        return this.capturedSpongeBlockSnapshots;
+        return this.capturedBlocks;
     }
 
     public List<Transaction<BlockSnapshot>> getInvalidTransactions() {
@@ -325,18 +352,15 @@ public void setChunkSpawnerRunning(boolean chunkSpawnerRunning) {
     }
 
     public Cause getCurrentCause() {
-        return this.causeStack.peekFirst();
+        return this.causeStack.peek();
     }
 
     public void addCause(Cause cause) {
-        this.causeStack.addFirst(cause);
+        this.causeStack.push(cause);
     }
 
     public void removeCurrentCause() {
-        Cause currentCause = this.causeStack.peekFirst();
-        if (currentCause != null) {
-            this.causeStack.remove(currentCause);
-        }
+        this.causeStack.pop();
     }
 
     public Packet<?> getCurrentPlayerPacket() {
@@ -349,10 +373,24 @@ public void setCurrentPlayerPacket(@Nullable Packet<?> currentPlayerPacket) {
 
     public void preTrackEntity(Entity entity) {
         this.currentTickEntity = entity;
-        this.addCause(Cause.of(NamedCause.source(entity)));
+        this.causeStack.push().source(entity);
         this.trackEntityCausePreTick((net.minecraft.entity.Entity) entity);
     }
 
+    /**
+     * Adds a named cause to the frame of the given entity if it is the
+     * entity currently ticking.
+     *
+     * @param entity The entity
+     * @param name The name of the cause
+     * @param object The cause
+     */
+    public void addEntityTickCause(Entity entity, String name, Object object) {
+        if (this.currentTickEntity == entity && !this.causeStack.isEmpty()) {
+            this.causeStack.peekFrame().named(name, object);
+        }
+    }
+
     public void postTrackEntity() {
         this.handlePostTickCaptures();
         this.removeCurrentCause();
@@ -363,12 +401,10 @@ public void postTrackEntity() {
     public void preTrackTileEntity(TileEntity tile) {
         this.currentTickTileEntity = tile;
         this.trackBlockPositionCausePreTick(((net.minecraft.tileentity.TileEntity) tile).getPos());
-        List<NamedCause> namedCauses = new ArrayList<>();
-        namedCauses.add(NamedCause.source(this.currentTickTileEntity));
+        final CauseStack.Frame frame = this.causeStack.push().source(this.currentTickTileEntity);
         if (this.currentNotifier != null) {
-            namedCauses.add(NamedCause.notifier(this.currentNotifier));
+            frame.notifier(this.currentNotifier);
         }
-        this.addCause(Cause.of(namedCauses));
     }
 
     public void postTrackTileEntity() {
@@ -379,20 +415,19 @@ public void postTrackTileEntity() {
     }
 
     public void preTrackBlock(IBlockState state, BlockPos pos) {
-        this.currentTickBlock = this.getMixinWorld().createSpongeBlockSnapshot(state, state.getBlock().getActualState(state, this.getMinecraftWorld(), pos), pos, 0);
+        this.setCurrentTickBlock(state, pos);
         this.trackBlockPositionCausePreTick(pos);
-        List<NamedCause> namedCauses = new ArrayList<>();
-        namedCauses.add(NamedCause.source(this.currentTickBlock));
+        final CauseStack.Frame frame = this.causeStack.peekFrame();
         if (this.currentNotifier != null) {
-            namedCauses.add(NamedCause.notifier(this.currentNotifier));
+            frame.notifier(this.currentNotifier);
         }
-        this.addCause(Cause.of(namedCauses));
     }
 
     public void postTrackBlock() {
         this.handlePostTickCaptures();
         this.removeCurrentCause();
         this.currentTickBlock = null;
+        this.currentTickBlockPos = null;
         this.currentNotifier = null;
     }
 
@@ -403,7 +438,7 @@ public void setSpecificCapture(boolean flag) {
     public void handlePostTickCaptures() {
         if (this.getMinecraftWorld().isRemote || this.restoringBlocks || this.causeStack.isEmpty()) {
             return;
-        } else if (this.getCapturedSpawnedEntities().isEmpty() && this.getCapturedSpawnedEntityItems().isEmpty() && this.getCapturedSpongeBlockSnapshots().isEmpty()
+        } else if (this.getCapturedSpawnedEntities().isEmpty() && this.getCapturedSpawnedEntityItems().isEmpty() && this.getCapturedBlocks().isEmpty()
                    && StaticMixinHelper.packetPlayer == null) {
             return; // nothing was captured, return
         }
@@ -447,6 +482,10 @@ public void handleSpawnedEntities() {
         }
 
         this.causeTrackerEntityTimer.startTiming();
+        // Snapshots and events are only built if someone listens to them
+        final boolean fireSingleEvents = SpongeImpl.hasListeners(SpawnEntityEvent.class);
+        final boolean fireEvents = SpongeImpl.hasListeners(this.worldSpawnerRunning ? SpawnEntityEvent.Spawner.class
+                : this.chunkSpawnerRunning ? SpawnEntityEvent.ChunkLoad.class : SpawnEntityEvent.Custom.class);
         Iterator<Entity> iter = capturedEntityList.iterator();
         ImmutableList.Builder<EntitySnapshot> entitySnapshotBuilder = new ImmutableList.Builder<>();
         while (iter.hasNext()) {
@@ -470,8 +509,6 @@ public void handleSpawnedEntities() {
             IMixinEntity spongeEntity = (IMixinEntity) currentEntity;
             SpawnCause spawnCause = spongeEntity.getSpawnCause();
             if (spawnCause != null) {
-                ImmutableList.Builder<EntitySnapshot> entitySingleSnapshotBuilder = new ImmutableList.Builder<>();
-                entitySingleSnapshotBuilder.add(currentEntity.createSnapshot());
                 List<Entity> entityList = new ArrayList<>();
                 entityList.add(currentEntity);
                 List<NamedCause> namedCauses = new ArrayList<>();
@@ -483,13 +520,20 @@ public void handleSpawnedEntities() {
 
                 Cause cause = Cause.of(namedCauses);
                 causeTrackerEntityTimer.stopTiming();
-                SpawnEntityEvent event = SpongeEventFactory.createSpawnEntityEvent(cause, entityList, entitySingleSnapshotBuilder.build(), this.getWorld());
-                handlePostEntityEvent(cause, event);
+                if (fireSingleEvents) {
+                    SpawnEntityEvent event = SpongeEventFactory.createSpawnEntityEvent(cause, entityList,
+                            ImmutableList.of(currentEntity.createSnapshot()), this.getWorld());
+                    handlePostEntityEvent(cause, event);
+                } else {
+                    spawnEntities(cause, entityList);
+                }
                 causeTrackerEntityTimer.startTiming();
                 iter.remove();
                 continue;
             }
-            entitySnapshotBuilder.add(currentEntity.createSnapshot());
+            if (fireEvents) {
+                entitySnapshotBuilder.add(currentEntity.createSnapshot());
+            }
         }
 
         if (capturedEntityList.isEmpty()) {
@@ -505,6 +549,12 @@ public void handleSpawnedEntities() {
             cause = SpongeCommonEventFactory.getEntitySpawnCause((net.minecraft.entity.Entity) capturedEntityList.get(0));
         }
 
+        if (!fireEvents) {
+            this.causeTrackerEntityTimer.stopTiming();
+            spawnEntities(cause, capturedEntityList);
+            return;
+        }
+
         List<EntitySnapshot> entitySnapshots = entitySnapshotBuilder.build();
         if (entitySnapshots.isEmpty()) {
             this.causeTrackerEntityTimer.stopTiming();
@@ -534,6 +584,9 @@ public void handleDroppedItems() {
         }
 
         this.causeTrackerEntityItemTimer.startTiming();
+        // Snapshots and events are only built if someone listens to them
+        final boolean fireSingleEvents = SpongeImpl.hasListeners(DropItemEvent.Destruct.class);
+        final boolean fireEvents = SpongeImpl.hasListeners(DropItemEvent.Dispense.class);
         Iterator<Entity> iter = capturedEntityItemList.iterator();
         ImmutableList.Builder<EntitySnapshot> entitySnapshotBuilder = new ImmutableList.Builder<>();
         while (iter.hasNext()) {
@@ -557,8 +610,6 @@ public void handleDroppedItems() {
             IMixinEntity spongeEntity = (IMixinEntity) currentEntity;
             SpawnCause spawnCause = spongeEntity.getSpawnCause();
             if (spawnCause != null) {
-                ImmutableList.Builder<EntitySnapshot> entityItemSnapshotBuilder = new ImmutableList.Builder<>();
-                entityItemSnapshotBuilder.add(currentEntity.createSnapshot());
                 List<Entity> entityItemList = new ArrayList<>();
                 entityItemList.add(currentEntity);
                 List<NamedCause> namedCauses = new ArrayList<>();
@@ -570,17 +621,24 @@ public void handleDroppedItems() {
 
                 Cause cause = Cause.of(namedCauses);
                 this.causeTrackerEntityItemTimer.stopTiming();
-                DropItemEvent.Destruct event = SpongeEventFactory.createDropItemEventDestruct(cause, entityItemList, entityItemSnapshotBuilder.build(), this.getWorld());
-                if (handlePostEntityEvent(cause, event)) {
-                    if (StaticMixinHelper.packetPlayer != null) {
-                        ((IMixinEntityPlayerMP) StaticMixinHelper.packetPlayer).restorePacketItem();
+                if (fireSingleEvents) {
+                    DropItemEvent.Destruct event = SpongeEventFactory.createDropItemEventDestruct(cause, entityItemList,
+                            ImmutableList.of(currentEntity.createSnapshot()), this.getWorld());
+                    if (handlePostEntityEvent(cause, event)) {
+                        if (StaticMixinHelper.packetPlayer != null) {
+                            ((IMixinEntityPlayerMP) StaticMixinHelper.packetPlayer).restorePacketItem();
+                        }
                     }
+                } else {
+                    spawnEntities(cause, entityItemList);
                 }
                 this.causeTrackerEntityItemTimer.startTiming();
                 iter.remove();
                 continue;
             }
-            entitySnapshotBuilder.add(currentEntity.createSnapshot());
+            if (fireEvents) {
+                entitySnapshotBuilder.add(currentEntity.createSnapshot());
+            }
         }
 
         if (capturedEntityItemList.isEmpty()) {
@@ -589,7 +647,7 @@ public void handleDroppedItems() {
         }
 
         List<EntitySnapshot> entitySnapshots = entitySnapshotBuilder.build();
-        if (entitySnapshots.isEmpty()) {
+        if (fireEvents && entitySnapshots.isEmpty()) {
             this.causeTrackerEntityItemTimer.stopTiming();
             return;
         }
@@ -603,6 +661,10 @@ public void handleDroppedItems() {
         }
 
         this.causeTrackerEntityItemTimer.stopTiming();
+        if (!fireEvents) {
+            spawnEntities(cause, capturedEntityItemList);
+            return;
+        }
         DropItemEvent.Dispense event = SpongeEventFactory.createDropItemEventDispense(cause, capturedEntityItemList, entitySnapshots, this.getWorld());
         if (handlePostEntityEvent(cause, event)) {
             if (StaticMixinHelper.packetPlayer != null) {
@@ -614,36 +676,40 @@ public void handleDroppedItems() {
 
     private boolean handlePostEntityEvent(Cause cause, SpawnEntityEvent event) {
         if (!(SpongeImpl.postEvent(event)) && event.getEntities().size() > 0) {
-            Iterator<Entity> iterator = event.getEntities().iterator();
+            spawnEntities(cause, event.getEntities());
+            return false;
+        }
 
-            while (iterator.hasNext()) {
-                Entity entity = iterator.next();
-                if (entity.isRemoved()) { // Entity removed in an event handler
-                    iterator.remove();
-                    continue;
-                }
+        return true;
+    }
 
-                net.minecraft.entity.Entity nmsEntity = (net.minecraft.entity.Entity) entity;
-                if (nmsEntity instanceof EntityWeatherEffect) {
-                    addWeatherEffect(nmsEntity, cause);
-                } else {
-                    int x = MathHelper.floor_double(nmsEntity.posX / 16.0D);
-                    int z = MathHelper.floor_double(nmsEntity.posZ / 16.0D);
-                    this.getMinecraftWorld().getChunkFromChunkCoords(x, z).addEntity(nmsEntity);
-                    this.getMinecraftWorld().loadedEntityList.add(nmsEntity);
-                    this.getMixinWorld().onSpongeEntityAdded(nmsEntity);
-                    SpongeHooks.logEntitySpawn(cause, nmsEntity);
-                }
+    private void spawnEntities(Cause cause, List<Entity> entities) {
+        Iterator<Entity> iterator = entities.iterator();
+
+        while (iterator.hasNext()) {
+            Entity entity = iterator.next();
+            if (entity.isRemoved()) { // Entity removed in an event handler
                 iterator.remove();
+                continue;
             }
-            return false;
-        }
 
-        return true;
+            net.minecraft.entity.Entity nmsEntity = (net.minecraft.entity.Entity) entity;
+            if (nmsEntity instanceof EntityWeatherEffect) {
+                addWeatherEffect(nmsEntity, cause);
+            } else {
+                int x = MathHelper.floor_double(nmsEntity.posX / 16.0D);
+                int z = MathHelper.floor_double(nmsEntity.posZ / 16.0D);
+                this.getMinecraftWorld().getChunkFromChunkCoords(x, z).addEntity(nmsEntity);
+                this.getMinecraftWorld().loadedEntityList.add(nmsEntity);
+                this.getMixinWorld().onSpongeEntityAdded(nmsEntity);
+                SpongeHooks.logEntitySpawn(cause, nmsEntity);
+            }
+            iterator.remove();
+        }
     }
 
     private boolean addWeatherEffect(net.minecraft.entity.Entity entity, Cause cause) {
-        if (entity instanceof EntityLightningBolt) {
+        if (entity instanceof EntityLightningBolt && SpongeImpl.hasListeners(LightningEvent.Pre.class)) {
             LightningEvent.Pre event = SpongeEventFactory.createLightningEventPre(((IMixinEntityLightningBolt) entity).getCause());
             SpongeImpl.postEvent(event);
             if (!event.isCancelled()) {
@@ -656,8 +722,14 @@ private boolean addWeatherEffect(net.minecraft.entity.Entity entity, Cause cause
     }
 
     // Special handling for single block breaks in order to allow plugins to modify entity captures per block break
-    public void handleBlockBreak(int preEntitySize, int preEntityItemSize, BlockPos pos, IBlockState currentState, BlockSnapshot originalBlockSnapshot) {
+    public void handleBlockBreak(int preEntitySize, int preEntityItemSize, BlockPos pos, IBlockState currentState, int captureIndex) {
         this.causeTrackerBlockBreakTimer.startTiming();
+        // Only create the snapshot of the captured block if something dropped
+        BlockSnapshot originalBlockSnapshot = null;
+        if ((this.capturedSpawnedEntities.size() > preEntitySize || this.capturedSpawnedEntityItems.size() > preEntityItemSize)
+                && this.getCapturedBlocks().isAt(captureIndex, pos)) {
+            originalBlockSnapshot = this.getCapturedBlocks().get(captureIndex);
+        }
         int postEntitySize = this.capturedSpawnedEntities.size();
         int postEntityItemSize = this.capturedSpawnedEntityItems.size();
         // handle captured entities
@@ -703,12 +775,21 @@ public void handleBlockBreak(int preEntitySize, int preEntityItemSize, BlockPos
     }
 
     public boolean handleBlockCaptures() {
-        List<BlockSnapshot> capturedBlockList = this.getCapturedSpongeBlockSnapshots();
-        if (capturedBlockList.size() == 0) {
+        BlockCaptureBuffer capturedBlocks = this.getCapturedBlocks();
+        if (capturedBlocks.isEmpty()) {
             return false;
         }
 
         this.causeTrackerBlockTimer.startTiming();
+        if (!hasChangeBlockListeners()) {
+            // Nothing can modify or cancel the changes, process them without snapshotting every block
+            CapturedBlockChanges changes = new CapturedBlockChanges(capturedBlocks, this.getMinecraftWorld());
+            capturedBlocks.clear();
+            this.handleBlockChangesWithoutEvents(changes);
+            this.causeTrackerBlockTimer.stopTiming();
+            return true;
+        }
+
         Cause cause = this.getCurrentCause();
         EntityPlayerMP player = StaticMixinHelper.packetPlayer;
 
@@ -727,9 +808,8 @@ public boolean handleBlockCaptures() {
         ChangeBlockEvent.Place placeEvent = null;
         List<ChangeBlockEvent> blockEvents = new ArrayList<>();
 
-        Iterator<BlockSnapshot> iterator = capturedBlockList.iterator();
-        while (iterator.hasNext()) {
-            SpongeBlockSnapshot blockSnapshot = (SpongeBlockSnapshot) iterator.next();
+        for (int i = 0; i < capturedBlocks.size(); i++) {
+            SpongeBlockSnapshot blockSnapshot = capturedBlocks.get(i);
             CaptureType captureType = blockSnapshot.captureType;
             BlockPos pos = VecHelper.toBlockPos(blockSnapshot.getPosition());
             IBlockState currentState = this.getMinecraftWorld().getBlockState(pos);
@@ -745,8 +825,8 @@ public boolean handleBlockCaptures() {
                 modifyBuilder.add(transaction);
             }
             multiBuilder.add(transaction);
-            iterator.remove();
         }
+        capturedBlocks.clear();
 
         blockBreakTransactions = breakBuilder.build();
         blockDecayTransactions = decayBuilder.build();
@@ -774,7 +854,9 @@ public boolean handleBlockCaptures() {
             blockEvents.add(changeBlockEvent);
         }
         this.causeTrackerBlockTimer.startTiming();
-        if (blockEvents.size() > 1) {
+        // The post event only matters if someone can cancel it
+        final boolean hasPostListeners = SpongeImpl.hasListeners(ChangeBlockEvent.Post.class);
+        if (blockEvents.size() > 1 && hasPostListeners) {
             if (breakEvent != null) {
                 int count = cause.allOf(ChangeBlockEvent.Break.class).size();
                 String namedCause = "BreakEvent" + (count != 0 ? count : "");
@@ -845,12 +927,6 @@ public boolean handleBlockCaptures() {
                 captureType = CaptureType.PLACE;
             }
 
-            C08PacketPlayerBlockPlacement packet = null;
-
-            if (this.currentPlayerPacket instanceof C08PacketPlayerBlockPlacement) {
-                packet = (C08PacketPlayerBlockPlacement) this.currentPlayerPacket;
-            }
-
             if (blockEvent.isCancelled()) {
                 // Restore original blocks
                 ListIterator<Transaction<BlockSnapshot>>
@@ -874,32 +950,8 @@ public boolean handleBlockCaptures() {
                     if (!transaction.isValid()) {
                         this.invalidTransactions.add(transaction);
                     } else {
-                        if (captureType == CaptureType.BREAK && !(transaction.getOriginal().getState().getType() instanceof BlockLiquid) && cause.first(User.class).isPresent()) {
-                            BlockPos pos = VecHelper.toBlockPos(transaction.getOriginal().getPosition());
-                            for (EntityHanging hanging : SpongeHooks.findHangingEntities(this.getMinecraftWorld(), pos)) {
-                                if (hanging != null) {
-                                    if (hanging instanceof EntityItemFrame) {
-                                        EntityItemFrame itemFrame = (EntityItemFrame) hanging;
-                                        net.minecraft.entity.Entity dropCause = null;
-                                        if (cause.root() instanceof net.minecraft.entity.Entity) {
-                                            dropCause = (net.minecraft.entity.Entity) cause.root();
-                                        }
-
-                                        itemFrame.dropItemOrSelf(dropCause, true);
-                                        itemFrame.setDead();
-                                    }
-                                }
-                            }
-                        }
-
-                        if (captureType == CaptureType.PLACE && player != null && this.currentPlayerPacket instanceof C08PacketPlayerBlockPlacement) {
-                            BlockPos pos = VecHelper.toBlockPos(transaction.getFinal().getPosition());
-                            IMixinChunk spongeChunk = (IMixinChunk) this.getMinecraftWorld().getChunkFromBlockCoords(pos);
-                            spongeChunk.addTrackedBlockPosition((net.minecraft.block.Block) transaction.getFinal().getState().getType(), pos,
-                                (User) player, PlayerTracker.Type.OWNER);
-                            spongeChunk.addTrackedBlockPosition((net.minecraft.block.Block) transaction.getFinal().getState().getType(), pos,
-                                (User) player, PlayerTracker.Type.NOTIFIER);
-                        }
+                        this.handleAcceptedBlockChange(captureType, VecHelper.toBlockPos(transaction.getOriginal().getPosition()),
+                                (IBlockState) transaction.getOriginal().getState(), (IBlockState) transaction.getFinal().getState(), cause, player);
                     }
                 }
 
@@ -913,16 +965,98 @@ public boolean handleBlockCaptures() {
                 }
 
                 this.markAndNotifyBlockPost(blockEvent.getTransactions(), captureType);
-
-                if (captureType == CaptureType.PLACE && player != null && packet != null && packet.getStack() != null) {
-                    player.addStat(StatList.objectUseStats[net.minecraft.item.Item.getIdFromItem(packet.getStack().getItem())], 1);
-                }
+                this.addPlacementStat(captureType, player);
             }
         }
         this.causeTrackerBlockTimer.stopTiming();
         return true;
     }
 
+    private static boolean hasChangeBlockListeners() {
+        return SpongeImpl.hasListeners(ChangeBlockEvent.Break.class) || SpongeImpl.hasListeners(ChangeBlockEvent.Modify.class)
+                || SpongeImpl.hasListeners(ChangeBlockEvent.Place.class) || SpongeImpl.hasListeners(ChangeBlockEvent.Decay.class)
+                || SpongeImpl.hasListeners(ChangeBlockEvent.Post.class);
+    }
+
+    /**
+     * Performs the work {@link #handleBlockCaptures()} does after posting
+     * its events, for changes no listener could have seen.
+     *
+     * @param changes The captured changes
+     */
+    private void handleBlockChangesWithoutEvents(CapturedBlockChanges changes) {
+        Cause cause = this.getCurrentCause();
+        EntityPlayerMP player = StaticMixinHelper.packetPlayer;
+        // The same order the events are handled in
+        for (CaptureType captureType : EVENT_CAPTURE_TYPES) {
+            if (!changes.contains(captureType)) {
+                continue;
+            }
+            for (int i = 0; i < changes.size; i++) {
+                if (changes.captureTypes[i] == captureType) {
+                    this.handleAcceptedBlockChange(captureType, changes.positions[i], changes.originalStates[i], changes.finalStates[i], cause,
+                            player);
+                }
+            }
+            this.markAndNotifyBlockPost(changes, captureType);
+            this.addPlacementStat(captureType, player);
+        }
+    }
+
+    /**
+     * Handles a block change which was not cancelled, before the neighbors
+     * are notified of it. Shared by the changes passed through events and
+     * those nobody listened to.
+     *
+     * @param captureType The capture type of the change
+     * @param pos The position of the block
+     * @param originalState The state before the change
+     * @param finalState The state after the change
+     * @param cause The cause of the change
+     * @param player The player whose packet is processed, if any
+     */
+    private void handleAcceptedBlockChange(CaptureType captureType, BlockPos pos, IBlockState originalState, IBlockState finalState, Cause cause,
+            @Nullable EntityPlayerMP player) {
+        if (captureType == CaptureType.BREAK && !(originalState.getBlock() instanceof BlockLiquid) && cause.first(User.class).isPresent()) {
+            this.dropHangingItemFrames(pos, cause);
+        }
+        if (captureType == CaptureType.PLACE && player != null && this.currentPlayerPacket instanceof C08PacketPlayerBlockPlacement) {
+            this.trackPlacedBlock(finalState.getBlock(), pos, player);
+        }
+    }
+
+    private void addPlacementStat(CaptureType captureType, @Nullable EntityPlayerMP player) {
+        if (captureType == CaptureType.PLACE && player != null && this.currentPlayerPacket instanceof C08PacketPlayerBlockPlacement) {
+            C08PacketPlayerBlockPlacement packet = (C08PacketPlayerBlockPlacement) this.currentPlayerPacket;
+            if (packet.getStack() != null) {
+                player.addStat(StatList.objectUseStats[net.minecraft.item.Item.getIdFromItem(packet.getStack().getItem())], 1);
+            }
+        }
+    }
+
+    private void dropHangingItemFrames(BlockPos pos, Cause cause) {
+        for (EntityHanging hanging : SpongeHooks.findHangingEntities(this.getMinecraftWorld(), pos)) {
+            if (hanging != null) {
+                if (hanging instanceof EntityItemFrame) {
+                    EntityItemFrame itemFrame = (EntityItemFrame) hanging;
+                    net.minecraft.entity.Entity dropCause = null;
+                    if (cause.root() instanceof net.minecraft.entity.Entity) {
+                        dropCause = (net.minecraft.entity.Entity) cause.root();
+                    }
+
+                    itemFrame.dropItemOrSelf(dropCause, true);
+                    itemFrame.setDead();
+                }
+            }
+        }
+    }
+
+    private void trackPlacedBlock(net.minecraft.block.Block block, BlockPos pos, EntityPlayerMP player) {
+        IMixinChunk spongeChunk = (IMixinChunk) this.getMinecraftWorld().getChunkFromBlockCoords(pos);
+        spongeChunk.addTrackedBlockPosition(block, pos, (User) player, PlayerTracker.Type.OWNER);
+        spongeChunk.addTrackedBlockPosition(block, pos, (User) player, PlayerTracker.Type.NOTIFIER);
+    }
+
     private void handlePostPlayerBlockEvent(CaptureType captureType, List<Transaction<BlockSnapshot>> transactions) {
         if (StaticMixinHelper.packetPlayer == null) {
             return;
@@ -1039,8 +1173,8 @@ public boolean processSpawnEntity(Entity entity, Cause spawnCause) {
                     world.playerEntities.add(entityplayer);
                     world.updateAllPlayersSleepingFlag();
                 }
-                if (SpongeImpl.postEvent(SpongeEventFactory.createSpawnEntityEvent(cause, Lists.newArrayList(entity),
-                        Lists.newArrayList(entity.createSnapshot()), getWorld())) && !flag) {
+                if (SpongeImpl.hasListeners(SpawnEntityEvent.class) && SpongeImpl.postEvent(SpongeEventFactory.createSpawnEntityEvent(cause,
+                        Lists.newArrayList(entity), Lists.newArrayList(entity.createSnapshot()), getWorld())) && !flag) {
                     return false;
                 }
                 this.getMinecraftWorld().getChunkFromChunkCoords(i, j).addEntity(entityIn);
@@ -1056,8 +1190,6 @@ public boolean processSpawnEntity(Entity entity, Cause spawnCause) {
             }
 
             org.spongepowered.api.event.entity.SpawnEntityEvent event = null;
-            List<Entity> entitiesToSpawn = Lists.newArrayList(entity);
-            ImmutableList<EntitySnapshot> entitySnapshots = ImmutableList.of(entity.createSnapshot());
             EntityLivingBase entityLiving = null;
             net.minecraft.entity.Entity nonLivingEntity = null;
             if (this.currentTickEntity instanceof EntityLivingBase) {
@@ -1065,12 +1197,32 @@ public boolean processSpawnEntity(Entity entity, Cause spawnCause) {
             } else if (this.currentTickEntity != null) {
                 nonLivingEntity = (net.minecraft.entity.Entity) this.currentTickEntity;
             }
+            Class<? extends SpawnEntityEvent> eventType = SpawnEntityEvent.class;
             if (entityIn instanceof EntityItem) {
                 if ((nonLivingEntity != null && nonLivingEntity.isDead) || entityIn instanceof EntityXPOrb || (entityLiving != null && (entityLiving.getHealth() <= 0 || entityLiving.isDead))) {
-                    event = SpongeEventFactory.createDropItemEventDestruct(cause, entitiesToSpawn, entitySnapshots, this.getWorld());
+                    eventType = DropItemEvent.Destruct.class;
                 } else {
-                    event = SpongeEventFactory.createDropItemEventDispense(cause, entitiesToSpawn, entitySnapshots, this.getWorld());
+                    eventType = DropItemEvent.Dispense.class;
                 }
+            }
+
+            if (!SpongeImpl.hasListeners(eventType)) {
+                // Nobody can cancel or change the spawn, skip the snapshot and the event
+                if (entityIn instanceof EntityWeatherEffect) {
+                    return addWeatherEffect(entityIn, cause);
+                }
+                this.getMinecraftWorld().getChunkFromChunkCoords(i, j).addEntity(entityIn);
+                this.getMinecraftWorld().loadedEntityList.add(entityIn);
+                this.getMixinWorld().onSpongeEntityAdded(entityIn);
+                return true;
+            }
+
+            List<Entity> entitiesToSpawn = Lists.newArrayList(entity);
+            ImmutableList<EntitySnapshot> entitySnapshots = ImmutableList.of(entity.createSnapshot());
+            if (eventType == DropItemEvent.Destruct.class) {
+                event = SpongeEventFactory.createDropItemEventDestruct(cause, entitiesToSpawn, entitySnapshots, this.getWorld());
+            } else if (eventType == DropItemEvent.Dispense.class) {
+                event = SpongeEventFactory.createDropItemEventDispense(cause, entitiesToSpawn, entitySnapshots, this.getWorld());
             } else {
                 event = SpongeEventFactory.createSpawnEntityEvent(cause, entitiesToSpawn, entitySnapshots, this.getWorld());
             }
@@ -1103,29 +1255,27 @@ public void randomTickBlock(Block block, BlockPos pos, IBlockState state, Random
 
     // By this point, currentPending(NextTickListEntry) should always be available
     public void updateTickBlock(Block block, BlockPos pos, IBlockState state, Random rand) {
-        this.currentTickBlock = this.getMixinWorld().createSpongeBlockSnapshot(state, state.getBlock().getActualState(state, this.getMinecraftWorld(), pos), pos, 0);
-        List<NamedCause> namedCauses = new ArrayList<>();
-        namedCauses.add(NamedCause.source(this.currentTickBlock));
+        this.setCurrentTickBlock(state, pos);
+        final CauseStack.Frame frame = this.causeStack.peekFrame();
         if (this.currentPendingBlockUpdate.hasTickingBlock()) {
-            namedCauses.add(NamedCause.of("SchedulerSource", this.currentPendingBlockUpdate.getCurrentTickBlock().get()));
+            frame.named("SchedulerSource", this.currentPendingBlockUpdate.getCurrentTickBlock().get());
             if (this.currentPendingBlockUpdate.hasTickingTileEntity()) {
-                namedCauses.add(NamedCause.of("SchedulerParentSource", this.currentPendingBlockUpdate.getCurrentTickTileEntity().get()));
+                frame.named("SchedulerParentSource", this.currentPendingBlockUpdate.getCurrentTickTileEntity().get());
             }
         } else if (this.currentPendingBlockUpdate.hasTickingTileEntity()) {
-            namedCauses.add(NamedCause.of("SchedulerSource", this.currentPendingBlockUpdate.getCurrentTickTileEntity().get()));
+            frame.named("SchedulerSource", this.currentPendingBlockUpdate.getCurrentTickTileEntity().get());
         }
 
         if (!this.currentPendingBlockUpdate.hasSourceUser()) {
             this.trackBlockPositionCausePreTick(pos);
             if (this.currentNotifier != null) {
-                namedCauses.add(NamedCause.notifier(this.currentNotifier));
+                frame.notifier(this.currentNotifier);
             }
         } else {
             this.currentNotifier = this.currentPendingBlockUpdate.getSourceUser().get();
-            namedCauses.add(NamedCause.notifier(this.currentNotifier));
+            frame.notifier(this.currentNotifier);
         }
 
-        this.addCause(Cause.of(namedCauses));
         boolean captureBlocks = this.isCapturingBlocks();
         this.captureBlocks = true;
         block.updateTick(this.getMinecraftWorld(), pos, state, rand);
@@ -1135,6 +1285,47 @@ public void updateTickBlock(Block block, BlockPos pos, IBlockState state, Random
         this.currentTickTileEntity = null;
     }
 
+    /**
+     * Gets the neighbors of the source position that should be notified,
+     * posting a {@link NotifyNeighborBlockEvent} if anything listens to it.
+     *
+     * <p>When enabled for the world, the event is only posted for the first
+     * notification from a source position and block in a tick, identical
+     * notifications later in the tick with the same parent cause and
+     * notifier reuse its result.</p>
+     *
+     * @param pos The source position
+     * @param sourceBlock The source block
+     * @param sides The bitmask of sides to notify
+     * @return The bitmask of sides allowed by the event
+     */
+    public int getNotifiedNeighborSides(BlockPos pos, Block sourceBlock, int sides) {
+        if (!SpongeImpl.hasListeners(NotifyNeighborBlockEvent.class)) {
+            return sides;
+        }
+
+        final net.minecraft.world.World world = this.getMinecraftWorld();
+        final boolean deduplicate = this.getMixinWorld().getActiveConfig().getConfig().getWorld().useNeighborNotifyDeduplication();
+        final long tick = world.getTotalWorldTime();
+        final long packedPos = pos.toLong();
+        // The event cause is built from these, see SpongeCommonEventFactory#callNotifyNeighborEvent
+        final Cause cause = this.getCurrentCause();
+        final Object notifier = this.currentNotifier != null ? this.currentNotifier : StaticMixinHelper.packetPlayer;
+        if (deduplicate) {
+            final int allowed = this.neighborNotifications.get(tick, packedPos, sourceBlock, sides, cause, notifier);
+            if (allowed != NeighborNotificationCache.NOT_CACHED) {
+                return allowed;
+            }
+        }
+
+        final NotifyNeighborBlockEvent event = SpongeCommonEventFactory.callNotifyNeighborEvent((World) world, pos, sides);
+        final int allowed = event.isCancelled() ? 0 : SpongeCommonEventFactory.getNotifiedSides(event);
+        if (deduplicate) {
+            this.neighborNotifications.put(tick, packedPos, sourceBlock, sides, cause, notifier, allowed);
+        }
+        return allowed;
+    }
+
     public void notifyBlockOfStateChange(BlockPos notifyPos, final Block sourceBlock, BlockPos sourcePos) {
         if (!this.getMinecraftWorld().isRemote) {
             IBlockState iblockstate = this.getMinecraftWorld().getBlockState(notifyPos);
@@ -1146,7 +1337,7 @@ public void notifyBlockOfStateChange(BlockPos notifyPos, final Block sourceBlock
             try {
                 if (!this.tryAndTrackActiveUser(notifyPos, PlayerTracker.Type.NOTIFIER).isPresent()) {
                     if (this.hasTickingBlock()) {
-                        this.trackTargetBlockFromSource(((SpongeBlockSnapshot) this.currentTickBlock).getBlockPos(), sourcePos, iblockstate.getBlock(), notifyPos,
+                        this.trackTargetBlockFromSource(this.currentTickBlockPos, sourcePos, iblockstate.getBlock(), notifyPos,
                                 PlayerTracker.Type.NOTIFIER);
                     }
                 }
@@ -1185,56 +1376,93 @@ public void markAndNotifyBlockPost(List<Transaction<BlockSnapshot>> transactions
                 transaction.getFinal().restore(true, false);
             }
 
-            Cause cause = this.getCurrentCause();
             SpongeBlockSnapshot oldBlockSnapshot = (SpongeBlockSnapshot) transaction.getOriginal();
             SpongeBlockSnapshot newBlockSnapshot = (SpongeBlockSnapshot) transaction.getFinal();
-            SpongeHooks.logBlockAction(cause, this.getMinecraftWorld(), type, transaction);
-            int updateFlag = oldBlockSnapshot.getUpdateFlag();
-            BlockPos pos = VecHelper.toBlockPos(oldBlockSnapshot.getPosition());
-            IBlockState originalState = (IBlockState) oldBlockSnapshot.getState();
-            IBlockState newState = (IBlockState) newBlockSnapshot.getState();
-            BlockSnapshot currentTickingBlock = this.getCurrentTickBlock().orElse(null);
-            // Containers get placed automatically
-            if (originalState.getBlock() != newState.getBlock() && !SpongeImplHooks.blockHasTileEntity(newState.getBlock(), newState)) {
-                this.setCurrentTickBlock(this.getMixinWorld().createSpongeBlockSnapshot(newState,
-                        newState.getBlock().getActualState(newState, proxyBlockAccess, pos), pos, updateFlag));
-                List<NamedCause> namedCauses = new ArrayList<>();
-                namedCauses.add(NamedCause.source(this.currentTickBlock));
-                namedCauses.add(NamedCause.of("ParentSource", cause.root()));
-                if (this.currentNotifier != null) {
-                    namedCauses.add(NamedCause.notifier(this.currentNotifier));
-                } else if (StaticMixinHelper.packetPlayer != null) {
-                    namedCauses.add(NamedCause.owner(StaticMixinHelper.packetPlayer));
-                }
+            this.notifyBlockChange(proxyBlockAccess, type, VecHelper.toBlockPos(oldBlockSnapshot.getPosition()),
+                    (IBlockState) oldBlockSnapshot.getState(), (IBlockState) newBlockSnapshot.getState(), oldBlockSnapshot.getUpdateFlag());
+        }
+    }
 
-                this.addCause(Cause.of(namedCauses));
-                this.causeTrackerBlockTimer.stopTiming();
-                boolean captureBlocks = this.captureBlocks;
-                this.captureBlocks = true;
-                newState.getBlock().onBlockAdded(this.getMinecraftWorld(), pos, newState);
-                // Handle any additional captures during onBlockAdded
-                // This is to ensure new captures do not leak into next tick with wrong cause
-                if (this.getCapturedSpongeBlockSnapshots().size() > 0) {
-                    this.handlePostTickCaptures();
-                }
-                this.captureBlocks = captureBlocks;
-                this.causeTrackerBlockTimer.startTiming();
-                this.removeCurrentCause();
+    /**
+     * Notifies the world of a captured block change that no event listener
+     * could have modified or cancelled, performing the same work as
+     * {@link #markAndNotifyBlockPost(List, CaptureType)} without requiring
+     * snapshots of the changed blocks.
+     *
+     * @param changes The changes
+     * @param type The capture type of the changes to notify
+     */
+    private void markAndNotifyBlockPost(CapturedBlockChanges changes, CaptureType type) {
+        ImmutableList.Builder<BlockPos> poses = ImmutableList.builder();
+        ImmutableList.Builder<IBlockState> finalStates = ImmutableList.builder();
+        for (int i = 0; i < changes.size; i++) {
+            if (changes.captureTypes[i] == type) {
+                poses.add(changes.positions[i]);
+                finalStates.add(changes.finalStates[i]);
+            }
+        }
+        SpongeProxyBlockAccess proxyBlockAccess = new SpongeProxyBlockAccess(this.getMinecraftWorld(), poses.build(), finalStates.build());
+        for (int i = 0; i < changes.size; i++) {
+            if (changes.captureTypes[i] != type) {
+                continue;
+            }
+            this.notifyBlockChange(proxyBlockAccess, type, changes.positions[i], changes.originalStates[i], changes.finalStates[i],
+                    changes.updateFlags[i]);
+        }
+    }
+
+    private void notifyBlockChange(SpongeProxyBlockAccess proxyBlockAccess, CaptureType type, BlockPos pos, IBlockState originalState,
+            IBlockState newState, int updateFlag) {
+        SpongeHooks.logBlockAction(this.getCurrentCause(), this.getMinecraftWorld(), type, (BlockState) originalState, (BlockState) newState);
+        this.notifyBlockPost(proxyBlockAccess, pos, originalState, newState, updateFlag);
+    }
+
+    private void notifyBlockPost(SpongeProxyBlockAccess proxyBlockAccess, BlockPos pos, IBlockState originalState, IBlockState newState,
+            int updateFlag) {
+        Cause cause = this.getCurrentCause();
+        // Restored afterwards without building the snapshot of the ticking block
+        final Supplier<BlockSnapshot> currentTickingBlock = this.currentTickBlock;
+        final BlockPos currentTickingBlockPos = this.currentTickBlockPos;
+        // Containers get placed automatically
+        if (originalState.getBlock() != newState.getBlock() && !SpongeImplHooks.blockHasTileEntity(newState.getBlock(), newState)) {
+            this.setCurrentTickBlock(this.getMixinWorld().createSpongeBlockSnapshot(newState,
+                    newState.getBlock().getActualState(newState, proxyBlockAccess, pos), pos, updateFlag));
+            final CauseStack.Frame frame = this.causeStack.push()
+                    .source(this.getCurrentTickBlock().get())
+                    .named("ParentSource", cause.root());
+            if (this.currentNotifier != null) {
+                frame.notifier(this.currentNotifier);
+            } else if (StaticMixinHelper.packetPlayer != null) {
+                frame.owner(StaticMixinHelper.packetPlayer);
             }
 
-            proxyBlockAccess.proceed();
             this.causeTrackerBlockTimer.stopTiming();
             boolean captureBlocks = this.captureBlocks;
             this.captureBlocks = true;
-            this.getMixinWorld().markAndNotifyNeighbors(pos, null, originalState, newState, updateFlag);
-            // Handle any additional captures during notify
+            newState.getBlock().onBlockAdded(this.getMinecraftWorld(), pos, newState);
+            // Handle any additional captures during onBlockAdded
             // This is to ensure new captures do not leak into next tick with wrong cause
-            if (this.getCapturedSpongeBlockSnapshots().size() > 0) {
+            if (!this.getCapturedBlocks().isEmpty()) {
                 this.handlePostTickCaptures();
             }
             this.captureBlocks = captureBlocks;
-            this.setCurrentTickBlock(currentTickingBlock);
+            this.causeTrackerBlockTimer.startTiming();
+            this.removeCurrentCause();
         }
+
+        proxyBlockAccess.proceed();
+        this.causeTrackerBlockTimer.stopTiming();
+        boolean captureBlocks = this.captureBlocks;
+        this.captureBlocks = true;
+        this.getMixinWorld().markAndNotifyNeighbors(pos, null, originalState, newState, updateFlag);
+        // Handle any additional captures during notify
+        // This is to ensure new captures do not leak into next tick with wrong cause
+        if (!this.getCapturedBlocks().isEmpty()) {
+            this.handlePostTickCaptures();
+        }
+        this.captureBlocks = captureBlocks;
+        this.currentTickBlock = currentTickingBlock;
+        this.currentTickBlockPos = currentTickingBlockPos;
     }
 
     /*private boolean shouldChainCause(Cause cause) {
@@ -1361,7 +1589,6 @@ public void trackEntityCausePreTick(net.minecraft.entity.Entity entity) {
             return;
         }
 
-        Cause cause = this.getCurrentCause();
         IMixinEntity spongeEntity = (IMixinEntity) entity;
         Optional<User> owner = spongeEntity.getTrackedPlayer(NbtDataUtil.SPONGE_ENTITY_CREATOR);
         if (!owner.isPresent()) {
@@ -1376,13 +1603,11 @@ public void trackEntityCausePreTick(net.minecraft.entity.Entity entity) {
         if (notifier.isPresent()) {
             User user = notifier.get();
             this.currentNotifier = user;
-            this.causeStack.pop();
-            this.addCause(cause.merge(Cause.of(NamedCause.notifier(user))));
+            this.causeStack.peekFrame().notifier(user);
         } else if (owner.isPresent()) {
             User user = owner.get();
             this.currentNotifier = user;
-            this.causeStack.pop();
-            this.addCause(cause.merge(Cause.of(NamedCause.owner(user))));
+            this.causeStack.peekFrame().owner(user);
         }
     }
 
@@ -1409,4 +1634,82 @@ public void trackEntityOwner(Entity entity) {
             }
         }
     }
+
+    /**
+     * The snapshot of a ticked block, only built if something requests it
+     * during the tick. The actual state and the creator and notifier are
+     * captured before the tick, blocks with tile entities are captured
+     * right away as their data may change.
+     */
+    private final class TickBlock implements Supplier<BlockSnapshot> {
+
+        private final IBlockState state;
+        private final IBlockState actualState;
+        private final BlockPos pos;
+        @Nullable private final UUID creator;
+        @Nullable private final UUID notifier;
+        @Nullable private BlockSnapshot snapshot;
+
+        TickBlock(IBlockState state, BlockPos pos) {
+            final net.minecraft.world.World world = CauseTracker.this.getMinecraftWorld();
+            final IMixinChunk chunk = (IMixinChunk) world.getChunkFromBlockCoords(pos);
+            this.state = state;
+            this.actualState = state.getBlock().getActualState(state, world, pos);
+            this.pos = pos;
+            this.creator = chunk.getBlockOwnerUniqueId(pos).orElse(null);
+            this.notifier = chunk.getBlockNotifierUniqueId(pos).orElse(null);
+            if (SpongeImplHooks.blockHasTileEntity(state.getBlock(), state)) {
+                get();
+            }
+        }
+
+        @Override
+        public BlockSnapshot get() {
+            if (this.snapshot == null) {
+                this.snapshot = CauseTracker.this.getMixinWorld().createSpongeBlockSnapshot(this.state, this.actualState, this.pos, 0,
+                        this.creator, this.notifier);
+            }
+            return this.snapshot;
+        }
+    }
+
+    /**
+     * The changes of a {@link BlockCaptureBuffer} copied out along with the
+     * states they resulted in, so the buffer can capture new changes while
+     * they are processed.
+     */
+    private static final class CapturedBlockChanges {
+
+        final int size;
+        final BlockPos[] positions;
+        final IBlockState[] originalStates;
+        final IBlockState[] finalStates;
+        final int[] updateFlags;
+        final CaptureType[] captureTypes;
+
+        CapturedBlockChanges(BlockCaptureBuffer buffer, net.minecraft.world.World world) {
+            this.size = buffer.size();
+            this.positions = new BlockPos[this.size];
+            this.originalStates = new IBlockState[this.size];
+            this.finalStates = new IBlockState[this.size];
+            this.updateFlags = new int[this.size];
+            this.captureTypes = new CaptureType[this.size];
+            for (int i = 0; i < this.size; i++) {
+                this.positions[i] = buffer.getPosition(i);
+                this.originalStates[i] = buffer.getState(i);
+                this.finalStates[i] = world.getBlockState(this.positions[i]);
+                this.updateFlags[i] = buffer.getUpdateFlag(i);
+                this.captureTypes[i] = buffer.getCaptureType(i);
+            }
+        }
+
+        boolean contains(CaptureType type) {
+            for (CaptureType captureType : this.captureTypes) {
+                if (captureType == type) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
 }
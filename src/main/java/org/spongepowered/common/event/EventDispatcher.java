@@ -0,0 +1,109 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import co.aikar.timings.Timing;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.EventListener;
+import org.spongepowered.common.SpongeImpl;
+
+import java.util.List;
+
+/**
+ * Passes an event to all listeners registered for its type, in order.
+ *
+ * <p>Dispatchers are usually generated by {@link EventDispatcherFactory},
+ * calling each listener from its own call site so the JIT only ever sees a
+ * single receiver type there. A dispatcher is immutable, it is replaced as a
+ * whole when the listeners of its event type change.</p>
+ */
+public abstract class EventDispatcher {
+
+    /**
+     * The dispatcher of event types nobody listens to.
+     */
+    public static final EventDispatcher EMPTY = new Simple(new RegisteredListener<?>[0], new Object[0], new Timing[0]);
+
+    protected final RegisteredListener<?>[] listeners;
+    protected final Timing[] timings;
+
+    protected EventDispatcher(RegisteredListener<?>[] listeners, Object[] handlers, Timing[] timings) {
+        this.listeners = listeners;
+        this.timings = timings;
+    }
+
+    /**
+     * Passes the event to every listener. Exceptions thrown by a listener
+     * are logged and do not prevent the remaining listeners from being
+     * called.
+     *
+     * @param event The event
+     */
+    public abstract void dispatch(Event event);
+
+    public final boolean isEmpty() {
+        return this.listeners.length == 0;
+    }
+
+    public final int size() {
+        return this.listeners.length;
+    }
+
+    protected final void onError(int index, Event event, Throwable throwable) {
+        this.timings[index].stopTimingIfSync();
+        SpongeImpl.getLogger().error("Could not pass {} to {}", event.getClass().getSimpleName(), this.listeners[index].getPlugin(), throwable);
+    }
+
+    /**
+     * Iterates the listeners in a loop, used where no class is generated.
+     */
+    static final class Simple extends EventDispatcher {
+
+        private final Object[] handlers;
+
+        Simple(RegisteredListener<?>[] listeners, Object[] handlers, Timing[] timings) {
+            super(listeners, handlers, timings);
+            this.handlers = handlers;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        @Override
+        public void dispatch(Event event) {
+            for (int i = 0; i < this.handlers.length; i++) {
+                try {
+                    this.timings[i].startTimingIfSync();
+                    ((EventListener) this.handlers[i]).handle(event);
+                    this.timings[i].stopTimingIfSync();
+                } catch (Throwable t) {
+                    onError(i, event, t);
+                }
+            }
+        }
+    }
+
+    static RegisteredListener<?>[] toArray(List<RegisteredListener<?>> listeners) {
+        return listeners.toArray(new RegisteredListener<?>[listeners.size()]);
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.objectweb.asm.Opcodes.AALOAD;
+import static org.objectweb.asm.Opcodes.ACC_FINAL;
+import static org.objectweb.asm.Opcodes.ACC_PRIVATE;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.ACC_SUPER;
+import static org.objectweb.asm.Opcodes.ALOAD;
+import static org.objectweb.asm.Opcodes.ASTORE;
+import static org.objectweb.asm.Opcodes.CHECKCAST;
+import static org.objectweb.asm.Opcodes.GETFIELD;
+import static org.objectweb.asm.Opcodes.GOTO;
+import static org.objectweb.asm.Opcodes.INVOKEINTERFACE;
+import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
+import static org.objectweb.asm.Opcodes.PUTFIELD;
+import static org.objectweb.asm.Opcodes.RETURN;
+import static org.objectweb.asm.Opcodes.SIPUSH;
+import static org.objectweb.asm.Opcodes.V1_6;
+
+import co.aikar.timings.Timing;
+import com.google.common.collect.Maps;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.EventListener;
+import org.spongepowered.common.event.gen.DefineableClassLoader;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Generates an {@link EventDispatcher} class per distinct list of listener
+ * types, with one field and one call site per listener.
+ *
+ * <p>Listeners whose class is visible to the generated class are invoked
+ * through their concrete type, which is the case for all annotated
+ * listeners created by {@link ClassEventListenerFactory}. Others are
+ * invoked through {@link EventListener}, still from a call site dedicated to
+ * that listener. Generated classes are reused for any other event type with
+ * the same list of listener types.</p>
+ */
+public final class EventDispatcherFactory {
+
+    // Keeps the generated dispatch method well below the method size limit
+    private static final int MAX_GENERATED_LISTENERS = 512;
+
+    private static final String BASE_DISPATCHER = Type.getInternalName(EventDispatcher.class);
+    private static final String TIMING = Type.getInternalName(Timing.class);
+    private static final String EVENT_LISTENER = Type.getInternalName(EventListener.class);
+    private static final String CONSTRUCTOR_DESCRIPTOR = "([" + Type.getDescriptor(RegisteredListener.class) + "[Ljava/lang/Object;["
+            + Type.getDescriptor(Timing.class) + ")V";
+    private static final String HANDLE_METHOD_DESCRIPTOR = '(' + Type.getDescriptor(Event.class) + ")V";
+    private static final String ON_ERROR_DESCRIPTOR = "(I" + Type.getDescriptor(Event.class) + "Ljava/lang/Throwable;)V";
+
+    private final AtomicInteger id = new AtomicInteger();
+    private final String targetPackage;
+    private final DefineableClassLoader classLoader;
+    private final Map<List<Class<?>>, Constructor<? extends EventDispatcher>> cache = Maps.newHashMap();
+
+    public EventDispatcherFactory(String targetPackage, DefineableClassLoader classLoader) {
+        this.targetPackage = checkNotNull(targetPackage, "targetPackage") + '.';
+        this.classLoader = checkNotNull(classLoader, "classLoader");
+    }
+
+    /**
+     * Creates a dispatcher calling the given listeners in order.
+     *
+     * @param listeners The sorted listeners
+     * @param timings Gets the timings handler of a listener
+     * @return The dispatcher
+     */
+    public synchronized EventDispatcher create(List<RegisteredListener<?>> listeners, Function<RegisteredListener<?>, Timing> timings) {
+        if (listeners.isEmpty()) {
+            return EventDispatcher.EMPTY;
+        }
+        final RegisteredListener<?>[] listenerArray = EventDispatcher.toArray(listeners);
+        final Object[] handlers = new Object[listenerArray.length];
+        final Timing[] timingArray = new Timing[listenerArray.length];
+        final List<Class<?>> types = new ArrayList<>(listenerArray.length);
+        for (int i = 0; i < listenerArray.length; i++) {
+            handlers[i] = listenerArray[i].getListener();
+            timingArray[i] = timings.apply(listenerArray[i]);
+            types.add(getInvocationType(handlers[i].getClass()));
+        }
+        if (listenerArray.length > MAX_GENERATED_LISTENERS) {
+            return new EventDispatcher.Simple(listenerArray, handlers, timingArray);
+        }
+        try {
+            Constructor<? extends EventDispatcher> constructor = this.cache.get(types);
+            if (constructor == null) {
+                final String name = this.targetPackage + "EventDispatcher_" + listenerArray.length + '_' + this.id.incrementAndGet();
+                final Class<? extends EventDispatcher> dispatcherClass = this.classLoader.defineClass(name, generateClass(name, types));
+                constructor = dispatcherClass.getConstructor(RegisteredListener[].class, Object[].class, Timing[].class);
+                this.cache.put(types, constructor);
+            }
+            return constructor.newInstance(listenerArray, handlers, timingArray);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to generate an event dispatcher for " + types, e);
+        }
+    }
+
+    /**
+     * Gets the type a listener can be invoked through from a generated class.
+     */
+    private Class<?> getInvocationType(Class<?> handlerClass) {
+        if (!Modifier.isPublic(handlerClass.getModifiers()) || handlerClass.isSynthetic()) {
+            return EventListener.class;
+        }
+        try {
+            if (Class.forName(handlerClass.getName(), false, this.classLoader) == handlerClass) {
+                return handlerClass;
+            }
+        } catch (ClassNotFoundException ignored) {
+            // Loaded by a plugin class loader
+        }
+        return EventListener.class;
+    }
+
+    private static byte[] generateClass(String name, List<Class<?>> types) {
+        name = name.replace('.', '/');
+        final ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS);
+        MethodVisitor mv;
+
+        cw.visit(V1_6, ACC_PUBLIC + ACC_FINAL + ACC_SUPER, name, null, BASE_DISPATCHER, null);
+
+        for (int i = 0; i < types.size(); i++) {
+            cw.visitField(ACC_PRIVATE + ACC_FINAL, "listener" + i, Type.getDescriptor(types.get(i)), null, null).visitEnd();
+            cw.visitField(ACC_PRIVATE + ACC_FINAL, "timing" + i, Type.getDescriptor(Timing.class), null, null).visitEnd();
+        }
+        {
+            mv = cw.visitMethod(ACC_PUBLIC, "<init>", CONSTRUCTOR_DESCRIPTOR, null, null);
+            mv.visitCode();
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitVarInsn(ALOAD, 1);
+            mv.visitVarInsn(ALOAD, 2);
+            mv.visitVarInsn(ALOAD, 3);
+            mv.visitMethodInsn(INVOKESPECIAL, BASE_DISPATCHER, "<init>", CONSTRUCTOR_DESCRIPTOR, false);
+            for (int i = 0; i < types.size(); i++) {
+                final String typeName = Type.getInternalName(types.get(i));
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitVarInsn(ALOAD, 2);
+                mv.visitIntInsn(SIPUSH, i);
+                mv.visitInsn(AALOAD);
+                mv.visitTypeInsn(CHECKCAST, typeName);
+                mv.visitFieldInsn(PUTFIELD, name, "listener" + i, Type.getDescriptor(types.get(i)));
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitVarInsn(ALOAD, 3);
+                mv.visitIntInsn(SIPUSH, i);
+                mv.visitInsn(AALOAD);
+                mv.visitFieldInsn(PUTFIELD, name, "timing" + i, Type.getDescriptor(Timing.class));
+            }
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+        {
+            mv = cw.visitMethod(ACC_PUBLIC, "dispatch", HANDLE_METHOD_DESCRIPTOR, null, null);
+            mv.visitCode();
+            for (int i = 0; i < types.size(); i++) {
+                final Class<?> type = types.get(i);
+                final Label start = new Label();
+                final Label end = new Label();
+                final Label handler = new Label();
+                final Label next = new Label();
+                mv.visitTryCatchBlock(start, end, handler, "java/lang/Throwable");
+                mv.visitLabel(start);
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitFieldInsn(GETFIELD, name, "timing" + i, Type.getDescriptor(Timing.class));
+                mv.visitMethodInsn(INVOKEINTERFACE, TIMING, "startTimingIfSync", "()V", true);
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitFieldInsn(GETFIELD, name, "listener" + i, Type.getDescriptor(type));
+                mv.visitVarInsn(ALOAD, 1);
+                if (type == EventListener.class) {
+                    mv.visitMethodInsn(INVOKEINTERFACE, EVENT_LISTENER, "handle", HANDLE_METHOD_DESCRIPTOR, true);
+                } else {
+                    mv.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(type), "handle", HANDLE_METHOD_DESCRIPTOR, false);
+                }
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitFieldInsn(GETFIELD, name, "timing" + i, Type.getDescriptor(Timing.class));
+                mv.visitMethodInsn(INVOKEINTERFACE, TIMING, "stopTimingIfSync", "()V", true);
+                mv.visitLabel(end);
+                mv.visitJumpInsn(GOTO, next);
+                mv.visitLabel(handler);
+                mv.visitVarInsn(ASTORE, 2);
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitIntInsn(SIPUSH, i);
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitVarInsn(ALOAD, 2);
+                mv.visitMethodInsn(INVOKEVIRTUAL, name, "onError", ON_ERROR_DESCRIPTOR, false);
+                mv.visitLabel(next);
+            }
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+        cw.visitEnd();
+
+        return cw.toByteArray();
+    }
+
+}
@@ -0,0 +1,235 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableMap;
+import org.spongepowered.api.data.Transaction;
+import org.spongepowered.api.event.Event;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Creates read-only copies of events for the observe-only listeners.
+ *
+ * <p>A snapshot is a proxy implementing the interfaces of the event. The
+ * values of its getters, the methods without parameters named
+ * {@code get*}, {@code is*} or {@code has*}, are captured on the posting
+ * thread once per event, lists,
+ * sets and maps are copied into unmodifiable collections and transactions
+ * are copied so nothing the main thread does to the event afterwards is
+ * visible to the observers. Any other method, such as a setter, throws an
+ * {@link UnsupportedOperationException}.</p>
+ *
+ * <p>Game objects returned by the getters, such as worlds or entities, are
+ * still the live objects and must not be used off the main thread.</p>
+ */
+final class EventSnapshots {
+
+    private static final LoadingCache<Class<?>, Type> types = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build(new CacheLoader<Class<?>, Type>() {
+
+                @Override
+                public Type load(Class<?> key) throws Exception {
+                    return new Type(key);
+                }
+            });
+
+    private EventSnapshots() {
+    }
+
+    /**
+     * Creates a snapshot of the event as seen through the given event type.
+     * Events can only be copied if they are listened to by an interface and
+     * all interfaces of the event can be proxied, otherwise the event itself
+     * is returned.
+     *
+     * @param eventClass The event type the listener accepts
+     * @param event The event
+     * @param <T> The type of event
+     * @return The snapshot
+     */
+    @SuppressWarnings("unchecked")
+    static <T extends Event> T snapshot(Class<T> eventClass, T event) {
+        if (!eventClass.isInterface()) {
+            return event;
+        }
+        return (T) snapshot(event);
+    }
+
+    /**
+     * Creates a snapshot of the event, implementing all its interfaces. If
+     * they can't be proxied, the event itself is returned.
+     *
+     * @param event The event
+     * @return The snapshot
+     */
+    static Event snapshot(Event event) {
+        try {
+            return (Event) types.getUnchecked(event.getClass()).snapshot(event);
+        } catch (IllegalArgumentException e) {
+            // One of the interfaces isn't visible from the class loader of the event
+            return event;
+        }
+    }
+
+    private static boolean isGetter(Method method) {
+        if (method.getParameterCount() != 0 || method.getReturnType() == void.class || Modifier.isStatic(method.getModifiers())) {
+            return false;
+        }
+        final String name = method.getName();
+        return hasPrefix(name, "get") || hasPrefix(name, "is") || hasPrefix(name, "has");
+    }
+
+    private static boolean hasPrefix(String name, String prefix) {
+        return name.length() > prefix.length() && name.startsWith(prefix) && Character.isUpperCase(name.charAt(prefix.length()));
+    }
+
+    static boolean isSnapshot(Object object) {
+        return Proxy.isProxyClass(object.getClass()) && Proxy.getInvocationHandler(object) instanceof Snapshot;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object copy(Object value) {
+        if (value instanceof Transaction) {
+            final Transaction transaction = (Transaction) value;
+            final Transaction copy = new Transaction(transaction.getOriginal(), transaction.getDefault());
+            if (transaction.getCustom().isPresent()) {
+                copy.setCustom(transaction.getCustom().get());
+            }
+            copy.setValid(transaction.isValid());
+            return copy;
+        } else if (value instanceof List) {
+            final List<Object> copy = new ArrayList<>(((List<?>) value).size());
+            for (Object element : (List<?>) value) {
+                copy.add(copy(element));
+            }
+            return Collections.unmodifiableList(copy);
+        } else if (value instanceof Set) {
+            return Collections.unmodifiableSet(new LinkedHashSet<>((Set<?>) value));
+        } else if (value instanceof Map) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>((Map<?, ?>) value));
+        }
+        return value;
+    }
+
+    private static final class Type {
+
+        private final Class<?>[] interfaces;
+        private final ClassLoader classLoader;
+        private final List<Method> getters = new ArrayList<>();
+
+        Type(Class<?> eventClass) {
+            final Set<Class<?>> interfaces = new LinkedHashSet<>();
+            for (Class<?> type = eventClass; type != null; type = type.getSuperclass()) {
+                collectInterfaces(type, interfaces);
+            }
+            this.interfaces = interfaces.toArray(new Class<?>[interfaces.size()]);
+            this.classLoader = eventClass.getClassLoader();
+            for (Class<?> type : this.interfaces) {
+                for (Method method : type.getMethods()) {
+                    if (isGetter(method)) {
+                        this.getters.add(method);
+                    }
+                }
+            }
+        }
+
+        private static void collectInterfaces(Class<?> type, Set<Class<?>> interfaces) {
+            for (Class<?> implemented : type.getInterfaces()) {
+                if (interfaces.add(implemented)) {
+                    collectInterfaces(implemented, interfaces);
+                }
+            }
+        }
+
+        Object snapshot(Object event) {
+            final ImmutableMap.Builder<String, Object> values = ImmutableMap.builder();
+            final Set<String> captured = new LinkedHashSet<>();
+            for (Method method : this.getters) {
+                // Inherited getters are declared by several interfaces
+                if (!captured.add(method.getName())) {
+                    continue;
+                }
+                try {
+                    final Object value = method.invoke(event);
+                    if (value != null) {
+                        values.put(method.getName(), copy(value));
+                    }
+                } catch (IllegalAccessException | InvocationTargetException e) {
+                    // Calls to the getter fail on the snapshot as well
+                    captured.remove(method.getName());
+                }
+            }
+            return Proxy.newProxyInstance(this.classLoader, this.interfaces, new Snapshot(event.getClass(), values.build(), captured));
+        }
+    }
+
+    private static final class Snapshot implements InvocationHandler {
+
+        private final Class<?> eventClass;
+        private final Map<String, Object> values;
+        private final Set<String> captured;
+
+        Snapshot(Class<?> eventClass, Map<String, Object> values, Set<String> captured) {
+            this.eventClass = eventClass;
+            this.values = values;
+            this.captured = captured;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        return "Snapshot{" + this.eventClass.getName() + this.values + "}";
+                }
+            }
+            if (method.getParameterCount() == 0 && this.captured.contains(method.getName())) {
+                return this.values.get(method.getName());
+            }
+            throw new UnsupportedOperationException("Observe-only listeners are passed read-only copies of events, " + method.getName()
+                    + " is not supported on a snapshot of " + this.eventClass.getName());
+        }
+    }
+}
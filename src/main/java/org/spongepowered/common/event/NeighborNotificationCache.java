@@ -0,0 +1,171 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import net.minecraft.block.Block;
+
+import java.util.Arrays;
+
+import javax.annotation.Nullable;
+
+/**
+ * Remembers which sides a {@link org.spongepowered.api.event.block.NotifyNeighborBlockEvent}
+ * allowed for a source position, block and cause during the current tick.
+ *
+ * <p>Redstone clocks and similar contraptions notify the neighbors of the
+ * same position with the same block many times per tick. Only the first of
+ * these posts an event, the others reuse its result. Entries are keyed by
+ * the packed position and compared by identity of the block, the parent
+ * cause and the notifier, so a notification made for another player or
+ * from another cause frame posts its own event. The whole table is
+ * invalidated when the tick changes by bumping a stamp instead of clearing
+ * the arrays.</p>
+ */
+public final class NeighborNotificationCache {
+
+    public static final int NOT_CACHED = -1;
+
+    private static final int INITIAL_CAPACITY = 64;
+    // Stop caching rather than grow without bound on pathological ticks
+    private static final int MAX_ENTRIES = 1 << 15;
+
+    private long[] positions = new long[INITIAL_CAPACITY];
+    private Block[] blocks = new Block[INITIAL_CAPACITY];
+    private Object[] causes = new Object[INITIAL_CAPACITY];
+    private Object[] notifiers = new Object[INITIAL_CAPACITY];
+    private byte[] requestedSides = new byte[INITIAL_CAPACITY];
+    private byte[] allowedSides = new byte[INITIAL_CAPACITY];
+    private int[] stamps = new int[INITIAL_CAPACITY];
+    private int mask = INITIAL_CAPACITY - 1;
+    private int size;
+    private int stamp = 1;
+    private long tick = Long.MIN_VALUE;
+
+    /**
+     * Gets the sides allowed by the event already posted this tick for the
+     * position, block, requested sides, cause and notifier.
+     *
+     * @param tick The current world tick
+     * @param pos The packed source position
+     * @param block The source block
+     * @param sides The bitmask of requested sides
+     * @param cause The parent cause of the notification, if any
+     * @param notifier The notifier or owner of the notification, if any
+     * @return The bitmask of allowed sides, or {@link #NOT_CACHED}
+     */
+    public int get(long tick, long pos, Block block, int sides, @Nullable Object cause, @Nullable Object notifier) {
+        if (tick != this.tick) {
+            reset(tick);
+            return NOT_CACHED;
+        }
+        final int slot = find(pos, block, sides, cause, notifier);
+        return this.stamps[slot] == this.stamp ? this.allowedSides[slot] : NOT_CACHED;
+    }
+
+    public void put(long tick, long pos, Block block, int sides, @Nullable Object cause, @Nullable Object notifier, int allowed) {
+        if (tick != this.tick) {
+            reset(tick);
+        }
+        final int slot = find(pos, block, sides, cause, notifier);
+        if (this.stamps[slot] != this.stamp) {
+            if (this.size >= MAX_ENTRIES) {
+                return;
+            }
+            this.stamps[slot] = this.stamp;
+            this.positions[slot] = pos;
+            this.blocks[slot] = block;
+            this.causes[slot] = cause;
+            this.notifiers[slot] = notifier;
+            this.requestedSides[slot] = (byte) sides;
+            this.size++;
+        }
+        this.allowedSides[slot] = (byte) allowed;
+        if (this.size > (this.stamps.length >> 1)) {
+            rehash(this.stamps.length << 1);
+        }
+    }
+
+    private void reset(long tick) {
+        this.tick = tick;
+        if (this.size > 0) {
+            // Don't keep blocks and causes of the previous tick reachable
+            Arrays.fill(this.blocks, null);
+            Arrays.fill(this.causes, null);
+            Arrays.fill(this.notifiers, null);
+            this.size = 0;
+        }
+        if (++this.stamp == 0) {
+            // Stamp wrapped around, old entries could look current again
+            Arrays.fill(this.stamps, 0);
+            this.stamp = 1;
+        }
+    }
+
+    private int find(long pos, Block block, int sides, @Nullable Object cause, @Nullable Object notifier) {
+        int slot = mix(pos, sides) & this.mask;
+        while (this.stamps[slot] == this.stamp
+                && (this.positions[slot] != pos || this.blocks[slot] != block || this.requestedSides[slot] != sides
+                    || this.causes[slot] != cause || this.notifiers[slot] != notifier)) {
+            slot = (slot + 1) & this.mask;
+        }
+        return slot;
+    }
+
+    private void rehash(int capacity) {
+        final long[] oldPositions = this.positions;
+        final Block[] oldBlocks = this.blocks;
+        final Object[] oldCauses = this.causes;
+        final Object[] oldNotifiers = this.notifiers;
+        final byte[] oldRequested = this.requestedSides;
+        final byte[] oldAllowed = this.allowedSides;
+        final int[] oldStamps = this.stamps;
+        this.positions = new long[capacity];
+        this.blocks = new Block[capacity];
+        this.causes = new Object[capacity];
+        this.notifiers = new Object[capacity];
+        this.requestedSides = new byte[capacity];
+        this.allowedSides = new byte[capacity];
+        this.stamps = new int[capacity];
+        this.mask = capacity - 1;
+        for (int i = 0; i < oldStamps.length; i++) {
+            if (oldStamps[i] == this.stamp) {
+                final int slot = find(oldPositions[i], oldBlocks[i], oldRequested[i], oldCauses[i], oldNotifiers[i]);
+                this.stamps[slot] = this.stamp;
+                this.positions[slot] = oldPositions[i];
+                this.blocks[slot] = oldBlocks[i];
+                this.causes[slot] = oldCauses[i];
+                this.notifiers[slot] = oldNotifiers[i];
+                this.requestedSides[slot] = oldRequested[i];
+                this.allowedSides[slot] = oldAllowed[i];
+            }
+        }
+    }
+
+    private static int mix(long pos, int sides) {
+        long h = (pos ^ sides) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+}
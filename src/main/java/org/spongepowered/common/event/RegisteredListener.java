@@ -70,6 +70,21 @@ public Order getOrder() {
         return this.order;
     }
 
+    EventListener<? super T> getListener() {
+        return this.listener;
+    }
+
+    /**
+     * Gets whether this is an observe-only listener, which is only handed
+     * events once all other listeners are done and runs off the posting
+     * thread.
+     *
+     * @return Whether this listener is asynchronous
+     */
+    public boolean isAsync() {
+        return this.listener instanceof AsyncEventListener;
+    }
+
     public boolean isBeforeModifications() {
         return this.beforeModifications;
     }
@@ -103,12 +118,16 @@ public int compareTo(RegisteredListener<?> handler) {
     public static final class Cache {
 
         private final List<RegisteredListener<?>> listeners;
+        private final EventDispatcher dispatcher;
+        private final RegisteredListener<?>[] observers;
         private final EnumMap<Order, List<RegisteredListener<?>>> listenersByOrder;
 
         private static final Order[] ORDERS = Order.values();
 
-        Cache(List<RegisteredListener<?>> listeners) {
+        Cache(List<RegisteredListener<?>> listeners, EventDispatcher dispatcher, List<RegisteredListener<?>> observers) {
             this.listeners = listeners;
+            this.dispatcher = dispatcher;
+            this.observers = EventDispatcher.toArray(observers);
 
             this.listenersByOrder = Maps.newEnumMap(Order.class);
             for (Order order : ORDERS) {
@@ -123,6 +142,20 @@ public List<RegisteredListener<?>> getListeners() {
             return this.listeners;
         }
 
+        public EventDispatcher getDispatcher() {
+            return this.dispatcher;
+        }
+
+        /**
+         * Gets the observe-only listeners, which are not part of the
+         * listeners called in order.
+         *
+         * @return The asynchronous listeners
+         */
+        public RegisteredListener<?>[] getObservers() {
+            return this.observers;
+        }
+
         public List<RegisteredListener<?>> getListenersByOrder(Order order) {
             return this.listenersByOrder.get(checkNotNull(order, "order"));
         }
@@ -142,7 +142,6 @@
 import org.spongepowered.common.world.gen.InternalPopulatorTypes;
 
 import java.util.ArrayList;
-import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -153,6 +152,10 @@
 
 public class SpongeCommonEventFactory {
 
+    private static final EnumFacing[] FACINGS = EnumFacing.values();
+    // Neighbor sides are passed around as bitmasks indexed by EnumFacing#ordinal()
+    public static final int ALL_NEIGHBOR_SIDES = (1 << FACINGS.length) - 1;
+
     // Inventory static fields
     public final static int BUTTON_PRIMARY = 0;
     public final static int BUTTON_SECONDARY = 1;
@@ -561,11 +564,22 @@ public static CollideEntityEvent callCollideEntityEvent(net.minecraft.world.Worl
         return event;
     }
 
-    @SuppressWarnings("rawtypes")
-    public static NotifyNeighborBlockEvent callNotifyNeighborEvent(World world, BlockPos pos, EnumSet notifiedSides) {
+    /**
+     * Posts a {@link NotifyNeighborBlockEvent} for the given sides of the
+     * position.
+     *
+     * @param world The world
+     * @param pos The source position
+     * @param notifiedSides The bitmask of sides, indexed by
+     *     {@link EnumFacing#ordinal()}
+     * @return The event
+     */
+    public static NotifyNeighborBlockEvent callNotifyNeighborEvent(World world, BlockPos pos, int notifiedSides) {
         Map<Direction, BlockState> neighbors = new HashMap<>();
-        for (Object obj : notifiedSides) {
-            EnumFacing notifiedSide = (EnumFacing) obj;
+        for (EnumFacing notifiedSide : FACINGS) {
+            if ((notifiedSides & (1 << notifiedSide.ordinal())) == 0) {
+                continue;
+            }
             BlockPos offset = pos.offset(notifiedSide);
             Direction direction = DirectionFacingProvider.getInstance().getKey(notifiedSide).get();
             Location<World> location = new Location<>(world, VecHelper.toVector(offset));
@@ -600,6 +614,23 @@ public static NotifyNeighborBlockEvent callNotifyNeighborEvent(World world, Bloc
         return event;
     }
 
+    /**
+     * Gets the sides left in the neighbors of a {@link NotifyNeighborBlockEvent}.
+     *
+     * @param event The event
+     * @return The bitmask of sides, indexed by {@link EnumFacing#ordinal()}
+     */
+    public static int getNotifiedSides(NotifyNeighborBlockEvent event) {
+        int sides = 0;
+        for (Direction direction : event.getNeighbors().keySet()) {
+            final EnumFacing facing = DirectionFacingProvider.directionMap.get(direction);
+            if (facing != null) {
+                sides |= 1 << facing.ordinal();
+            }
+        }
+        return sides;
+    }
+
     public static InteractBlockEvent.Secondary callInteractBlockEventSecondary(Cause cause, Optional<Vector3d> interactionPoint, BlockSnapshot targetBlock, Direction targetSide) {
         return callInteractBlockEventSecondary(cause, Tristate.UNDEFINED, Tristate.UNDEFINED, Tristate.UNDEFINED, Tristate.UNDEFINED, interactionPoint, targetBlock, targetSide);
     }
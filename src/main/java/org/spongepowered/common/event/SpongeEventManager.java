@@ -28,11 +28,10 @@
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import co.aikar.timings.TimingsManager;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
 import com.google.common.reflect.TypeToken;
@@ -50,11 +49,16 @@
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 
 import javax.inject.Inject;
@@ -69,21 +73,32 @@ public class SpongeEventManager implements EventManager {
     private final DefineableClassLoader classLoader = new DefineableClassLoader(getClass().getClassLoader());
     private final AnnotatedEventListener.Factory handlerFactory = new ClassEventListenerFactory("org.spongepowered.common.event.listener",
             new FilterFactory("org.spongepowered.common.event.filters", classLoader), classLoader);
+    private final EventDispatcherFactory dispatcherFactory = new EventDispatcherFactory("org.spongepowered.common.event.dispatcher", classLoader);
     private final Multimap<Class<?>, RegisteredListener<?>> handlersByEvent = HashMultimap.create();
     private final Set<Object> registeredListeners = Sets.newHashSet();
+    private final Map<PluginContainer, AsyncObserverQueue> observerQueues = Maps.newHashMap();
 
     /**
      * A cache of all the handlers for an event type for quick event posting.
-     * <p>The cache is currently entirely invalidated if handlers are added or
-     * removed.</p>
+     * <p>Only the entries of event types affected by added or removed
+     * handlers are invalidated.</p>
      */
-    private final LoadingCache<Class<? extends Event>, RegisteredListener.Cache> handlersCache =
-            CacheBuilder.newBuilder().build(new CacheLoader<Class<? extends Event>, RegisteredListener.Cache>() {
-                @Override
-                public RegisteredListener.Cache load(Class<? extends Event> eventClass) throws Exception {
-                    return bakeHandlers(eventClass);
-                }
-            });
+    private final Map<Class<?>, RegisteredListener.Cache> handlersCache = new ConcurrentHashMap<>();
+
+    /**
+     * Whether any handler is registered for an event type or one of its
+     * supertypes, indexed by {@link #EVENT_TYPE_IDS}. Replaced with an empty
+     * instance whenever handlers are added or removed.
+     */
+    private volatile ListenerPresence listenerPresence = new ListenerPresence(new long[0], new long[0]);
+
+    private static final AtomicInteger NEXT_EVENT_TYPE_ID = new AtomicInteger();
+    private static final ClassValue<Integer> EVENT_TYPE_IDS = new ClassValue<Integer>() {
+        @Override
+        protected Integer computeValue(Class<?> type) {
+            return NEXT_EVENT_TYPE_ID.getAndIncrement();
+        }
+    };
 
     @Inject
     public SpongeEventManager(PluginManager pluginManager) {
@@ -95,16 +110,20 @@ RegisteredListener.Cache bakeHandlers(Class<?> rootEvent) {
         @SuppressWarnings({"unchecked", "rawtypes"})
         Set<Class<?>> types = (Set) TypeToken.of(rootEvent).getTypes().rawTypes();
 
+        List<RegisteredListener<?>> observers = Lists.newArrayList();
+
         synchronized (this.lock) {
             for (Class<?> type : types) {
                 if (Event.class.isAssignableFrom(type)) {
-                    handlers.addAll(this.handlersByEvent.get(type));
+                    for (RegisteredListener<?> handler : this.handlersByEvent.get(type)) {
+                        (handler.isAsync() ? observers : handlers).add(handler);
+                    }
                 }
             }
         }
 
         Collections.sort(handlers);
-        return new RegisteredListener.Cache(handlers);
+        return new RegisteredListener.Cache(handlers, this.dispatcherFactory.create(handlers, RegisteredListener::getTimingsHandler), observers);
     }
 
     private static boolean isValidHandler(Method method) {
@@ -125,21 +144,23 @@ private void register(RegisteredListener<?> handler) {
 
     private void register(List<RegisteredListener<?>> handlers) {
         synchronized (this.lock) {
-            boolean changed = false;
+            Set<Class<?>> changed = Sets.newHashSet();
 
             for (RegisteredListener<?> handler : handlers) {
                 if (this.handlersByEvent.put(handler.getEventClass(), handler)) {
-                    changed = true;
+                    changed.add(handler.getEventClass());
                 }
             }
 
-            if (changed) {
-                this.handlersCache.invalidateAll();
-            }
+            invalidate(changed);
         }
     }
 
     public void registerListener(PluginContainer plugin, Object listenerObject) {
+        registerListener(plugin, listenerObject, false);
+    }
+
+    private void registerListener(PluginContainer plugin, Object listenerObject, boolean async) {
         checkNotNull(plugin, "plugin");
         checkNotNull(listenerObject, "listener");
 
@@ -167,7 +188,8 @@ public void registerListener(PluginContainer plugin, Object listenerObject) {
                         continue;
                     }
 
-                    handlers.add(createRegistration(plugin, eventClass, listener, handler));
+                    handlers.add(async ? createObserverRegistration(plugin, eventClass, listener, handler)
+                            : createRegistration(plugin, eventClass, listener, handler));
                 } else {
                     SpongeImpl.getLogger().warn("The method {} on {} has @{} but has the wrong signature", method, handle.getName(),
                             Listener.class.getName());
@@ -189,6 +211,23 @@ private static <T extends Event> RegisteredListener<T> createRegistration(Plugin
         return new RegisteredListener<>(plugin, eventClass, order, handler, beforeModifications);
     }
 
+    private <T extends Event> RegisteredListener<T> createObserverRegistration(PluginContainer plugin, Class<T> eventClass, Listener listener,
+            EventListener<? super T> handler) {
+        return createRegistration(plugin, eventClass, listener, createObserver(plugin, eventClass, handler));
+    }
+
+    private <T extends Event> EventListener<T> createObserver(PluginContainer plugin, Class<T> eventClass, EventListener<? super T> handler) {
+        AsyncObserverQueue queue;
+        synchronized (this.lock) {
+            queue = this.observerQueues.get(plugin);
+            if (queue == null) {
+                queue = AsyncObserverQueue.create(plugin);
+                this.observerQueues.put(plugin, queue);
+            }
+        }
+        return new AsyncEventListener<>(handler, queue);
+    }
+
     private PluginContainer getPlugin(Object plugin) {
         Optional<PluginContainer> container = this.pluginManager.fromInstance(plugin);
         checkArgument(container.isPresent(), "Unknown plugin: %s", plugin);
@@ -216,21 +255,87 @@ public <T extends Event> void registerListener(Object plugin, Class<T> eventClas
         register(createRegistration(getPlugin(plugin), eventClass, order, beforeModifications, handler));
     }
 
+    /**
+     * Registers the methods annotated with {@link Listener} of an object
+     * as observe-only listeners. They are handed events after all other
+     * listeners are done with them and run on a separate thread, so they
+     * can neither cancel nor modify events and must not touch the game
+     * state.
+     *
+     * <p>Events wait in a bounded queue per plugin, the back-pressure
+     * applied once it is full is set in the global configuration.</p>
+     *
+     * @param plugin The plugin instance
+     * @param listener The listener object
+     */
+    public void registerAsyncListeners(Object plugin, Object listener) {
+        registerListener(getPlugin(plugin), listener, true);
+    }
+
+    /**
+     * Registers an observe-only listener for an event type.
+     *
+     * @see #registerAsyncListeners(Object, Object)
+     * @param plugin The plugin instance
+     * @param eventClass The event type
+     * @param handler The listener
+     * @param <T> The type of event
+     */
+    public <T extends Event> void registerAsyncListener(Object plugin, Class<T> eventClass, EventListener<? super T> handler) {
+        final PluginContainer container = getPlugin(plugin);
+        register(createRegistration(container, eventClass, Order.POST, false, createObserver(container, eventClass, handler)));
+    }
+
+    /**
+     * Gets the queues of the plugins with observe-only listeners.
+     *
+     * @return The observer queues
+     */
+    public Collection<AsyncObserverQueue> getObserverQueues() {
+        synchronized (this.lock) {
+            return ImmutableList.copyOf(this.observerQueues.values());
+        }
+    }
+
     private void unregister(Predicate<RegisteredListener<?>> unregister) {
         synchronized (this.lock) {
-            boolean changed = false;
+            Set<Class<?>> changed = Sets.newHashSet();
 
             Iterator<RegisteredListener<?>> itr = this.handlersByEvent.values().iterator();
             while (itr.hasNext()) {
                 RegisteredListener<?> handler = itr.next();
                 if (unregister.test(handler)) {
                     itr.remove();
-                    changed = true;
+                    changed.add(handler.getEventClass());
+                }
+            }
+
+            // Drop the queues of plugins without observers, queued events are still passed on
+            final Set<PluginContainer> observing = Sets.newHashSet();
+            for (RegisteredListener<?> handler : this.handlersByEvent.values()) {
+                if (handler.isAsync()) {
+                    observing.add(handler.getPlugin());
                 }
             }
+            this.observerQueues.keySet().retainAll(observing);
 
-            if (changed) {
-                this.handlersCache.invalidateAll();
+            invalidate(changed);
+        }
+    }
+
+    private void invalidate(Set<Class<?>> changedEvents) {
+        if (changedEvents.isEmpty()) {
+            return;
+        }
+        this.listenerPresence = new ListenerPresence(new long[0], new long[0]);
+        Iterator<Class<?>> itr = this.handlersCache.keySet().iterator();
+        while (itr.hasNext()) {
+            Class<?> eventClass = itr.next();
+            for (Class<?> changed : changedEvents) {
+                if (changed.isAssignableFrom(eventClass)) {
+                    itr.remove();
+                    break;
+                }
             }
         }
     }
@@ -248,8 +353,82 @@ public void unregisterPluginListeners(Object pluginObj) {
         unregister(handler -> plugin.equals(handler.getPlugin()));
     }
 
+    /**
+     * Gets whether posting an event of the given type would call any
+     * handler, which is the case if one is registered for the type or any
+     * of its supertypes. Callers can use this to skip building the event
+     * and its cause altogether.
+     *
+     * <p>The answer is cached per event type until the registered handlers
+     * change, so this is cheap enough for the hottest code paths.</p>
+     *
+     * @param eventClass The event type, usually the API interface
+     * @return Whether any handler would receive the event
+     */
+    public boolean hasListeners(Class<? extends Event> eventClass) {
+        final int id = EVENT_TYPE_IDS.get(eventClass);
+        final int word = id >>> 6;
+        final long mask = 1L << id;
+        final ListenerPresence presence = this.listenerPresence;
+        if (word < presence.known.length && (presence.known[word] & mask) != 0) {
+            return (presence.present[word] & mask) != 0;
+        }
+        return computeListenerPresence(eventClass, id);
+    }
+
+    private boolean computeListenerPresence(Class<?> eventClass, int id) {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Set<Class<?>> types = (Set) TypeToken.of(eventClass).getTypes().rawTypes();
+
+        synchronized (this.lock) {
+            boolean present = false;
+            for (Class<?> type : types) {
+                if (this.handlersByEvent.containsKey(type)) {
+                    present = true;
+                    break;
+                }
+            }
+
+            // Publish a copy, readers never see the arrays change
+            final ListenerPresence current = this.listenerPresence;
+            final int length = Math.max(current.known.length, (id >>> 6) + 1);
+            final long[] known = Arrays.copyOf(current.known, length);
+            final long[] presentBits = Arrays.copyOf(current.present, length);
+            known[id >>> 6] |= 1L << id;
+            if (present) {
+                presentBits[id >>> 6] |= 1L << id;
+            }
+            this.listenerPresence = new ListenerPresence(known, presentBits);
+            return present;
+        }
+    }
+
+    private static final class ListenerPresence {
+
+        final long[] known;
+        final long[] present;
+
+        ListenerPresence(long[] known, long[] present) {
+            this.known = known;
+            this.present = present;
+        }
+    }
+
     protected RegisteredListener.Cache getHandlerCache(Event event) {
-        return this.handlersCache.getUnchecked(checkNotNull(event, "event").getClass());
+        final Class<?> eventClass = checkNotNull(event, "event").getClass();
+        RegisteredListener.Cache cache = this.handlersCache.get(eventClass);
+        if (cache == null) {
+            // Baked under the lock so a concurrent (un)registration can't be
+            // overwritten by a stale entry
+            synchronized (this.lock) {
+                cache = this.handlersCache.get(eventClass);
+                if (cache == null) {
+                    cache = bakeHandlers(eventClass);
+                    this.handlersCache.put(eventClass, cache);
+                }
+            }
+        }
+        return cache;
     }
 
     @SuppressWarnings("unchecked")
@@ -269,9 +448,46 @@ protected static boolean post(Event event, List<RegisteredListener<?>> handlers)
         return event instanceof Cancellable && ((Cancellable) event).isCancelled();
     }
 
+    protected static boolean post(Event event, EventDispatcher dispatcher) {
+        if (!dispatcher.isEmpty()) {
+            TimingsManager.PLUGIN_EVENT_HANDLER.startTimingIfSync();
+            dispatcher.dispatch(event);
+            TimingsManager.PLUGIN_EVENT_HANDLER.stopTimingIfSync();
+        }
+        return event instanceof Cancellable && ((Cancellable) event).isCancelled();
+    }
+
+    /**
+     * Hands an event to the observe-only listeners once all other listeners
+     * are done with it. Listeners accepting an interface are handed a
+     * read-only snapshot, which is taken once and shared by all of them.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    protected static void observe(Event event, RegisteredListener<?>[] observers) {
+        Event snapshot = null;
+        for (RegisteredListener observer : observers) {
+            try {
+                if (!observer.getEventClass().isInterface()) {
+                    observer.handle(event);
+                    continue;
+                }
+                if (snapshot == null) {
+                    // The posting thread goes on to modify the event
+                    snapshot = EventSnapshots.snapshot(event);
+                }
+                observer.handle(snapshot);
+            } catch (Throwable e) {
+                SpongeImpl.getLogger().error("Could not pass {} to {}", event.getClass().getSimpleName(), observer.getPlugin(), e);
+            }
+        }
+    }
+
     @Override
     public boolean post(Event event) {
-        return post(event, getHandlerCache(event).getListeners());
+        final RegisteredListener.Cache cache = getHandlerCache(event);
+        final boolean cancelled = post(event, cache.getDispatcher());
+        observe(event, cache.getObservers());
+        return cancelled;
     }
     
     public boolean post(Event event, boolean allowClientThread) {
@@ -279,7 +495,12 @@ public boolean post(Event event, boolean allowClientThread) {
     }
 
     public boolean post(Event event, Order order) {
-        return post(event, getHandlerCache(event).getListenersByOrder(order));
+        final RegisteredListener.Cache cache = getHandlerCache(event);
+        final boolean cancelled = post(event, cache.getListenersByOrder(order));
+        if (order == Order.POST) {
+            observe(event, cache.getObservers());
+        }
+        return cancelled;
     }
 
 }
@@ -27,14 +27,13 @@
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.util.BlockPos;
-import org.spongepowered.api.block.BlockSnapshot;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.event.cause.Cause;
 import org.spongepowered.api.util.Direction;
 import org.spongepowered.api.world.Chunk;
 import org.spongepowered.common.entity.PlayerTracker;
+import org.spongepowered.common.world.storage.BlockTrackerStore;
 
-import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -42,15 +41,34 @@ public interface IMixinChunk {
 
     Cause getCurrentPopulateCause();
 
-    Map<Short, PlayerTracker> getTrackedShortPlayerPositions();
-
-    Map<Integer, PlayerTracker> getTrackedIntPlayerPositions();
+    BlockTrackerStore getTrackedBlocks();
 
     Optional<User> getBlockOwner(BlockPos pos);
 
     Optional<User> getBlockNotifier(BlockPos pos);
 
-    IBlockState setBlockState(BlockPos pos, IBlockState newState, IBlockState currentState, BlockSnapshot originalBlockSnapshot);
+    /**
+     * Gets the unique id of the owner of the block without resolving the
+     * {@link User}.
+     *
+     * @param pos The position
+     * @return The owner's unique id, if tracked
+     */
+    Optional<UUID> getBlockOwnerUniqueId(BlockPos pos);
+
+    Optional<UUID> getBlockNotifierUniqueId(BlockPos pos);
+
+    /**
+     * Sets the block state without checking the current state again.
+     *
+     * @param pos The position
+     * @param newState The new state
+     * @param currentState The current state
+     * @param captureIndex The index of the captured change in the
+     *     {@link org.spongepowered.common.event.BlockCaptureBuffer}, or -1
+     * @return The previous state, or null if nothing changed
+     */
+    IBlockState setBlockState(BlockPos pos, IBlockState newState, IBlockState currentState, int captureIndex);
 
     void setBlockNotifier(BlockPos pos, UUID uuid);
 
@@ -58,10 +76,6 @@ public interface IMixinChunk {
 
     void addTrackedBlockPosition(Block block, BlockPos pos, User user, PlayerTracker.Type trackerType);
 
-    void setTrackedIntPlayerPositions(Map<Integer, PlayerTracker> trackedPlayerPositions);
-
-    void setTrackedShortPlayerPositions(Map<Short, PlayerTracker> trackedPlayerPositions);
-
     void setNeighbor(Direction direction, Chunk neighbor);
 
 }
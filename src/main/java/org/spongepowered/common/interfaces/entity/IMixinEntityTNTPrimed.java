@@ -0,0 +1,59 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.interfaces.entity;
+
+import net.minecraft.entity.EntityLivingBase;
+import org.spongepowered.api.entity.living.player.User;
+
+import java.util.Collection;
+
+public interface IMixinEntityTNTPrimed {
+
+    /**
+     * Gets the number of co-located primed TNT entities merged into this
+     * one, including itself.
+     *
+     * @return The merged TNT count
+     */
+    int getMergedCount();
+
+    int getFuse();
+
+    /**
+     * Gets the igniters of the TNT merged into this one, not including the
+     * igniter of this TNT.
+     *
+     * @return The igniters of the merged TNT
+     */
+    Collection<EntityLivingBase> getMergedIgniters();
+
+    /**
+     * Gets the creators, or else notifiers, of the TNT merged into this one.
+     *
+     * @return The owners of the merged TNT
+     */
+    Collection<User> getMergedOwners();
+
+}
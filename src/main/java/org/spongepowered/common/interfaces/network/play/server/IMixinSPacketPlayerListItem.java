@@ -41,7 +41,7 @@ default void addEntry(TabListEntry entry) {
                 (GameProfile) entry.getProfile(),
                 entry.getLatency(),
                 (WorldSettings.GameType) (Object) entry.getGameMode(),
-                entry.getDisplayName().isPresent() ? SpongeTexts.toComponent(entry.getDisplayName().get()) : null
+                entry.getDisplayName().isPresent() ? SpongeTexts.toSharedComponent(entry.getDisplayName().get()) : null
         );
     }
 
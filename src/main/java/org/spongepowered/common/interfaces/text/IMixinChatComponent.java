@@ -43,4 +43,14 @@ public interface IMixinChatComponent extends IChatComponent {
 
     Text toText();
 
+    /**
+     * Makes this component, its style, its siblings and its translation
+     * arguments read-only, so it can be shared instead of copied. Modifying a
+     * frozen component throws an {@link IllegalStateException}, appending a
+     * frozen component to another component appends a copy of it.
+     */
+    void freeze();
+
+    boolean isFrozen();
+
 }
@@ -32,6 +32,14 @@ public interface IMixinText {
 
     IChatComponent toComponent();
 
+    /**
+     * Gets the frozen component of this text without copying it. Use only
+     * where the component is sent to clients and not retained or modified.
+     *
+     * @return The shared component
+     */
+    IChatComponent toSharedComponent();
+
     String toPlain();
 
     String toJson();
@@ -25,6 +25,7 @@
 package org.spongepowered.common.interfaces.world;
 
 import net.minecraft.world.World;
+import org.spongepowered.common.world.storage.SpongeChunkIO;
 
 import java.nio.file.Path;
 
@@ -33,6 +34,18 @@ public interface IMixinAnvilChunkLoader {
     // Forge method
     boolean chunkExists(World world, int x, int z);
 
+    /**
+     * Gets whether the chunk at the given coordinates is queued to be saved
+     * or is being written, in which case the region file is outdated.
+     *
+     * @param x The chunk x coordinate
+     * @param z The chunk z coordinate
+     * @return True if a save of the chunk is pending
+     */
+    boolean isChunkPendingSave(int x, int z);
+
     Path getWorldDir();
 
+    SpongeChunkIO getChunkIO();
+
 }
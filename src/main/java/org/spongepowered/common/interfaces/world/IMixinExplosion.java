@@ -29,4 +29,12 @@ public interface IMixinExplosion {
     void setShouldBreakBlocks(boolean shouldBreakBlocks);
 
     void setShouldDamageEntities(boolean shouldDamageEntities);
+
+    /**
+     * Gets the number of explosions whose knockback this explosion applies,
+     * more than one for merged primed TNT.
+     *
+     * @return The knockback weight
+     */
+    int getKnockbackWeight();
 }
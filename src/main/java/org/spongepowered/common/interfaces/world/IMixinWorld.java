@@ -35,11 +35,13 @@
 import org.spongepowered.common.config.SpongeConfig;
 import org.spongepowered.common.config.type.WorldConfig;
 import org.spongepowered.common.event.CauseTracker;
+import org.spongepowered.common.world.BlockUserCache;
 import org.spongepowered.common.world.CaptureType;
 import org.spongepowered.common.world.gen.SpongeChunkProvider;
 import org.spongepowered.common.world.gen.SpongeWorldGenerator;
 
 import java.util.List;
+import java.util.UUID;
 
 import javax.annotation.Nullable;
 
@@ -51,6 +53,21 @@ public interface IMixinWorld {
 
     BlockSnapshot createSpongeBlockSnapshot(IBlockState state, IBlockState extended, BlockPos pos, int updateFlag);
 
+    /**
+     * Creates a snapshot with the given creator and notifier instead of the
+     * ones currently tracked at the position.
+     *
+     * @param state The block state
+     * @param extended The actual block state
+     * @param pos The position
+     * @param updateFlag The update flag
+     * @param creator The creator of the block, if any
+     * @param notifier The notifier of the block, if any
+     * @return The snapshot
+     */
+    BlockSnapshot createSpongeBlockSnapshot(IBlockState state, IBlockState extended, BlockPos pos, int updateFlag, @Nullable UUID creator,
+            @Nullable UUID notifier);
+
     void updateWorldGenerator();
 
     long getWeatherStartTime();
@@ -81,4 +98,6 @@ public interface IMixinWorld {
 
     WorldTimingsHandler getTimingsHandler();
 
+    BlockUserCache getBlockUserCache();
+
 }
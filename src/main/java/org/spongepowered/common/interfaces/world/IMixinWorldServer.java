@@ -27,4 +27,14 @@
 public interface IMixinWorldServer {
 
     int getChunkGCTickInterval();
+
+    /**
+     * Gets the number of primed TNT entities merged into other co-located
+     * primed TNT in this world.
+     *
+     * @return The merged TNT count
+     */
+    long getMergedTntCount();
+
+    void addMergedTnt(int count);
 }
@@ -24,10 +24,47 @@
  */
 package org.spongepowered.common.interfaces.world.gen;
 
+import net.minecraft.world.biome.BiomeGenBase;
+import net.minecraft.world.chunk.ChunkPrimer;
 import org.spongepowered.api.world.gen.BiomeGenerator;
 
 public interface IChunkProviderGenerate {
 
     void setBiomeGenerator(BiomeGenerator biomes);
-    
+
+    /**
+     * Gets a copy of the zoomed out biomes that shape the terrain noise of
+     * the given chunk. Biome generation is not thread safe, this must only
+     * be called from the main thread.
+     *
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @return The biomes for generation
+     */
+    BiomeGenBase[] getBiomesForGeneration(int chunkX, int chunkZ);
+
+    /**
+     * Generates the base terrain noise of the given chunk into the primer
+     * using the given biomes. This only touches the state of this generator,
+     * separate instances may generate terrain concurrently.
+     *
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @param biomes The biomes from {@link #getBiomesForGeneration(int, int)}
+     * @param primer The primer to fill
+     */
+    void generateTerrainNoise(int chunkX, int chunkZ, BiomeGenBase[] biomes, ChunkPrimer primer);
+
+    /**
+     * Offers terrain noise generated ahead of time by another instance, it
+     * is used instead of generating the noise the next time the given chunk
+     * is populated.
+     *
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @param biomes The biomes the noise was generated with
+     * @param primer The generated noise
+     */
+    void offerTerrainNoise(int chunkX, int chunkZ, BiomeGenBase[] biomes, ChunkPrimer primer);
+
 }
@@ -26,6 +26,8 @@
 
 import net.minecraft.world.chunk.Chunk;
 
+import java.util.concurrent.CompletableFuture;
+
 import javax.annotation.Nullable;
 
 public interface IMixinChunkProviderServer {
@@ -41,5 +43,29 @@ public interface IMixinChunkProviderServer {
     @Nullable
     Chunk getChunkIfLoaded(int x, int z);
 
+    /**
+     * Gets whether the chunk at the desired position is loaded or has
+     * been saved to disk before. The region file is checked on the chunk
+     * I/O pool.
+     *
+     * @param x The chunk x position
+     * @param z The chunk z position
+     * @return A future which is true if the chunk was generated already,
+     *     already completed if the chunk is loaded
+     */
+    CompletableFuture<Boolean> isChunkGenerated(int x, int z);
+
+    /**
+     * Queues the chunk at the desired position to be read and parsed from
+     * disk off the main thread, if it is not already loaded. A later load
+     * of the chunk will use the data read ahead.
+     *
+     * @param x The chunk x position
+     * @param z The chunk z position
+     * @return A future completed once the chunk was read, already completed
+     *     if the chunk is loaded or can't be read ahead
+     */
+    CompletableFuture<?> readChunkAhead(int x, int z);
+
     void setMaxChunkUnloads(int maxUnloads);
 }
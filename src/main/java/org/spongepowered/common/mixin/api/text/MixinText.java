@@ -42,9 +42,13 @@
 import org.spongepowered.common.text.action.SpongeClickAction;
 import org.spongepowered.common.text.action.SpongeHoverAction;
 import org.spongepowered.common.text.format.SpongeTextColor;
+import org.spongepowered.common.text.SpongeTexts;
+import org.spongepowered.common.text.serializer.JsonTexts;
 
 import java.util.Optional;
 
+import javax.annotation.Nullable;
+
 @Mixin(value = Text.class, remap = false)
 public abstract class MixinText implements IMixinText {
 
@@ -55,6 +59,7 @@ public abstract class MixinText implements IMixinText {
     @Shadow @Final protected Optional<ShiftClickAction<?>> shiftClickAction;
 
     private IChatComponent component;
+    @Nullable private volatile IChatComponent sharedComponent;
     private String json;
 
     protected ChatComponentStyle createComponent() {
@@ -107,6 +112,18 @@ public IChatComponent toComponent() {
         return getHandle().createCopy(); // Mutable instances are not nice :(
     }
 
+    @Override
+    public IChatComponent toSharedComponent() {
+        IChatComponent shared = this.sharedComponent;
+        if (shared == null) {
+            // The handle itself is never frozen, concurrent callers may create
+            // separate copies but only publish them once completely frozen
+            shared = SpongeTexts.createSharedCopy(getHandle());
+            this.sharedComponent = shared;
+        }
+        return shared;
+    }
+
     @Override
     public String toPlain() {
         return ((IMixinChatComponent) getHandle()).toPlain();
@@ -115,7 +132,7 @@ public String toPlain() {
     @Override
     public String toJson() {
         if (this.json == null) {
-            this.json = IChatComponent.Serializer.componentToJson(getHandle());
+            this.json = JsonTexts.toJson((Text) (Object) this);
         }
 
         return this.json;
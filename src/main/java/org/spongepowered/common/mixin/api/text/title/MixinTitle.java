@@ -32,6 +32,7 @@
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.common.interfaces.network.play.server.IMixinSharedTextPacket;
 import org.spongepowered.common.interfaces.text.IMixinText;
 import org.spongepowered.common.interfaces.text.IMixinTitle;
 
@@ -73,12 +74,19 @@ private List<S45PacketTitle> getPackets() {
                 this.packets.add(new S45PacketTitle(this.fadeIn.orElse(20), this.stay.orElse(60), this.fadeOut.orElse(20)));
             }
             if (this.subtitle.isPresent()) {
-                this.packets.add(new S45PacketTitle(S45PacketTitle.Type.SUBTITLE, ((IMixinText) this.subtitle.get()).toComponent()));
+                this.packets.add(createSharedPacket(S45PacketTitle.Type.SUBTITLE, this.subtitle.get()));
             }
             if (this.title.isPresent()) {
-                this.packets.add(new S45PacketTitle(S45PacketTitle.Type.TITLE, ((IMixinText) this.title.get()).toComponent()));
+                this.packets.add(createSharedPacket(S45PacketTitle.Type.TITLE, this.title.get()));
             }
         }
         return this.packets;
     }
+
+    private static S45PacketTitle createSharedPacket(S45PacketTitle.Type type, Text text) {
+        final S45PacketTitle packet = new S45PacketTitle(type, ((IMixinText) text).toSharedComponent());
+        // The packets of a title are reused for every player it is sent to
+        ((IMixinSharedTextPacket) packet).setShared();
+        return packet;
+    }
 }
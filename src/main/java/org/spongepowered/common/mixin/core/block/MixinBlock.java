@@ -211,10 +211,7 @@ private static boolean onSpawnAsEntity(net.minecraft.world.World worldIn, Entity
         }
 
         // Grab the last block captured
-        BlockSnapshot blockSnapshot = null;
-        if (causeTracker.getCapturedSpongeBlockSnapshots().size() > 0) {
-            blockSnapshot = causeTracker.getCapturedSpongeBlockSnapshots().get(causeTracker.getCapturedSpongeBlockSnapshots().size() - 1);
-        }
+        BlockSnapshot blockSnapshot = causeTracker.getCapturedBlocks().getLast();
         if (blockSnapshot == null) {
             blockSnapshot = BlockSnapshot.builder().from(new Location<>((World) worldIn, VecHelper.toVector(entityitem.getPosition()))).build();
         }
@@ -27,31 +27,180 @@
 import static com.google.common.base.Preconditions.checkArgument;
 import static org.spongepowered.api.data.DataQuery.of;
 
+import co.aikar.timings.WorldTimingsHandler;
+import com.google.common.collect.ImmutableList;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.item.EntityTNTPrimed;
+import net.minecraft.nbt.NBTTagCompound;
 import org.spongepowered.api.data.DataContainer;
 import org.spongepowered.api.data.persistence.InvalidDataException;
 import org.spongepowered.api.entity.explosive.PrimedTNT;
 import org.spongepowered.api.entity.living.Living;
+import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.config.category.WorldCategory;
+import org.spongepowered.common.data.util.NbtDataUtil;
+import org.spongepowered.common.event.CauseTracker;
+import org.spongepowered.common.interfaces.entity.IMixinEntity;
+import org.spongepowered.common.interfaces.entity.IMixinEntityTNTPrimed;
+import org.spongepowered.common.interfaces.world.IMixinWorld;
+import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.mixin.core.entity.MixinEntity;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 
 @Mixin(EntityTNTPrimed.class)
-public abstract class MixinEntityTNTPrimed extends MixinEntity implements PrimedTNT {
+public abstract class MixinEntityTNTPrimed extends MixinEntity implements PrimedTNT, IMixinEntityTNTPrimed {
+
+    private static final double MERGE_MOTION_EPSILON = 1.0E-4D;
+    private static final String MERGED_IGNITERS = "MergedIgniters";
+    private static final String MERGED_OWNERS = "MergedOwners";
 
     @Shadow private int fuse;
     @Shadow private EntityLivingBase tntPlacedBy;
     @Shadow public abstract void explode();
 
+    private int mergedCount = 1;
+    // Only created once TNT with an igniter or owner is merged into this one
+    private List<EntityLivingBase> mergedIgniters;
+    private Map<UUID, User> mergedOwners;
 
     private void setFuse(int fuse) {
         checkArgument(fuse >= 0);
         this.fuse = fuse;
     }
 
+    @Override
+    public int getMergedCount() {
+        return this.mergedCount;
+    }
+
+    @Override
+    public int getFuse() {
+        return this.fuse;
+    }
+
+    @Override
+    public Collection<EntityLivingBase> getMergedIgniters() {
+        return this.mergedIgniters == null ? Collections.emptyList() : this.mergedIgniters;
+    }
+
+    @Override
+    public Collection<User> getMergedOwners() {
+        return this.mergedOwners == null ? Collections.emptyList() : this.mergedOwners.values();
+    }
+
+    @Inject(method = "onUpdate()V", at = @At("HEAD"))
+    private void onUpdateMergeTnt(CallbackInfo ci) {
+        if (this.worldObj.isRemote || this.isDead) {
+            return;
+        }
+        final WorldCategory worldConfig = ((IMixinWorld) this.worldObj).getActiveConfig().getConfig().getWorld();
+        if (!worldConfig.isTntMerging()) {
+            return;
+        }
+        final WorldTimingsHandler timings = ((IMixinWorld) this.worldObj).getTimingsHandler();
+        timings.tntMerge.startTiming();
+        final double radius = Math.max(0, worldConfig.getTntMergeRadius());
+        final EntityTNTPrimed self = (EntityTNTPrimed) (Object) this;
+        final List<EntityTNTPrimed> nearby = this.worldObj.getEntitiesWithinAABB(EntityTNTPrimed.class,
+                self.getEntityBoundingBox().expand(radius, radius, radius));
+        for (EntityTNTPrimed tnt : nearby) {
+            // Only TNT in the exact same state follows the same path and explodes in the same tick
+            if (tnt == self || tnt.isDead || ((IMixinEntityTNTPrimed) tnt).getFuse() != this.fuse
+                    || Math.abs(tnt.motionX - this.motionX) > MERGE_MOTION_EPSILON
+                    || Math.abs(tnt.motionY - this.motionY) > MERGE_MOTION_EPSILON
+                    || Math.abs(tnt.motionZ - this.motionZ) > MERGE_MOTION_EPSILON
+                    || self.getDistanceSqToEntity(tnt) > radius * radius) {
+                continue;
+            }
+            final int count = ((IMixinEntityTNTPrimed) tnt).getMergedCount();
+            this.mergedCount += count;
+            ((IMixinWorldServer) this.worldObj).addMergedTnt(count);
+            mergeCauses(tnt);
+            tnt.setDead();
+        }
+        timings.tntMerge.stopTiming();
+    }
+
+    private void mergeCauses(EntityTNTPrimed tnt) {
+        addMergedIgniter(tnt.getTntPlacedBy());
+        ((IMixinEntityTNTPrimed) tnt).getMergedIgniters().forEach(this::addMergedIgniter);
+        final IMixinEntity spongeEntity = (IMixinEntity) tnt;
+        Optional<User> owner = spongeEntity.getTrackedPlayer(NbtDataUtil.SPONGE_ENTITY_CREATOR);
+        if (!owner.isPresent()) {
+            owner = spongeEntity.getTrackedPlayer(NbtDataUtil.SPONGE_ENTITY_NOTIFIER);
+        }
+        owner.ifPresent(this::addMergedOwner);
+        ((IMixinEntityTNTPrimed) tnt).getMergedOwners().forEach(this::addMergedOwner);
+    }
+
+    private void addMergedIgniter(EntityLivingBase igniter) {
+        if (igniter == null || igniter == this.tntPlacedBy) {
+            return;
+        }
+        if (this.mergedIgniters == null) {
+            this.mergedIgniters = new ArrayList<>(1);
+        } else if (this.mergedIgniters.contains(igniter)) {
+            return;
+        }
+        this.mergedIgniters.add(igniter);
+    }
+
+    private void addMergedOwner(User owner) {
+        if (this.mergedOwners == null) {
+            this.mergedOwners = new LinkedHashMap<>(2);
+        }
+        this.mergedOwners.putIfAbsent(owner.getUniqueId(), owner);
+    }
+
+    /**
+     * The merged TNT is only removed, so its igniters and owners are added to
+     * the cause of the explosion of the TNT it was merged into.
+     */
+    @Inject(method = "explode", at = @At("HEAD"))
+    private void onExplodeAddMergedCauses(CallbackInfo ci) {
+        if (this.worldObj.isRemote || this.mergedIgniters == null && this.mergedOwners == null) {
+            return;
+        }
+        final CauseTracker causeTracker = ((IMixinWorld) this.worldObj).getCauseTracker();
+        if (this.mergedIgniters != null) {
+            causeTracker.addEntityTickCause(this, MERGED_IGNITERS, ImmutableList.copyOf(this.mergedIgniters));
+        }
+        if (this.mergedOwners != null) {
+            causeTracker.addEntityTickCause(this, MERGED_OWNERS, ImmutableList.copyOf(this.mergedOwners.values()));
+        }
+    }
+
+    @Override
+    public void readFromNbt(NBTTagCompound compound) {
+        super.readFromNbt(compound);
+        if (compound.hasKey(NbtDataUtil.TNT_MERGED_COUNT)) {
+            this.mergedCount = Math.max(1, compound.getInteger(NbtDataUtil.TNT_MERGED_COUNT));
+        }
+    }
+
+    @Override
+    public void writeToNbt(NBTTagCompound compound) {
+        super.writeToNbt(compound);
+        if (this.mergedCount > 1) {
+            compound.setInteger(NbtDataUtil.TNT_MERGED_COUNT, this.mergedCount);
+        } else {
+            compound.removeTag(NbtDataUtil.TNT_MERGED_COUNT);
+        }
+    }
+
     @Override
     public boolean validateRawData(DataContainer container) {
         boolean doesSuper = super.validateRawData(container);
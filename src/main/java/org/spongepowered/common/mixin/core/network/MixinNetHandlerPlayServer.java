@@ -398,6 +398,11 @@ public void proccesPlayerMoved(C03PacketPlayer packetIn, CallbackInfo ci){
             // These magic numbers are sad but help prevent excessive lag from this event.
             // eventually it would be nice to not have them
             if (deltaSquared > ((1f / 16) * (1f / 16)) || deltaAngleSquared > (.15f * .15f)) {
+                if (!SpongeImpl.hasListeners(DisplaceEntityEvent.Move.TargetPlayer.class)) {
+                    // Nothing can change the move, skip building the transforms and the event
+                    onUnchangedMove(player, from, to, ci);
+                    return;
+                }
                 Transform<World> fromTransform = player.getTransform().setLocation(from).setRotation(fromrot);
                 Transform<World> toTransform = player.getTransform().setLocation(to).setRotation(torot);
                 DisplaceEntityEvent.Move.TargetPlayer event =
@@ -413,19 +418,25 @@ public void proccesPlayerMoved(C03PacketPlayer packetIn, CallbackInfo ci){
                     this.lastMoveLocation = event.getToTransform().getLocation();
                     ((IMixinEntityPlayerMP) this.playerEntity).setVelocityOverride(null);
                     ci.cancel();
-                } else if (!from.equals(player.getLocation()) && this.justTeleported) {
-                    this.lastMoveLocation = player.getLocation();
-                    // Prevent teleports during the move event from causing odd behaviors
-                    this.justTeleported = false;
-                    ((IMixinEntityPlayerMP) this.playerEntity).setVelocityOverride(null);
-                    ci.cancel();
                 } else {
-                    this.lastMoveLocation = event.getToTransform().getLocation();
+                    onUnchangedMove(player, from, event.getToTransform().getLocation(), ci);
                 }
             }
         }
     }
 
+    private void onUnchangedMove(Player player, Location<World> from, Location<World> to, CallbackInfo ci) {
+        if (!from.equals(player.getLocation()) && this.justTeleported) {
+            this.lastMoveLocation = player.getLocation();
+            // Prevent teleports during the move event from causing odd behaviors
+            this.justTeleported = false;
+            ((IMixinEntityPlayerMP) this.playerEntity).setVelocityOverride(null);
+            ci.cancel();
+        } else {
+            this.lastMoveLocation = to;
+        }
+    }
+
     @Redirect(method = "onDisconnect", at = @At(value = "INVOKE",
             target = "Lnet/minecraft/server/management/ServerConfigurationManager;sendChatMsg(Lnet/minecraft/util/IChatComponent;)V"))
     public void onDisconnectHandler(ServerConfigurationManager this$0, IChatComponent component) {
@@ -109,6 +109,7 @@
 import org.spongepowered.common.interfaces.world.IMixinWorldProvider;
 import org.spongepowered.common.text.SpongeTexts;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.world.BlockUserCache;
 import org.spongepowered.common.world.DimensionManager;
 import org.spongepowered.common.world.storage.SpongePlayerDataHandler;
 
@@ -711,6 +712,7 @@ private void onPlayerLogOut(EntityPlayerMP player, CallbackInfo ci) {
         NBTTagCompound nbt = new NBTTagCompound();
         player.writeToNBT(nbt);
         ((SpongeUser) ((IMixinEntityPlayerMP) player).getUserObject()).readFromNbt(nbt);
+        BlockUserCache.invalidateWorlds(player.getUniqueID());
 
         // Remove player reference from scoreboard
         ((IMixinServerScoreboard) ((Player) player).getScoreboard()).removePlayer(player, false);
@@ -739,6 +741,9 @@ public void playerLoggedIn2(EntityPlayerMP player, CallbackInfo ci) {
             }
         }
 
+        // Block owners resolved while the player was offline point to their stored user
+        BlockUserCache.invalidateWorlds(player.getUniqueID());
+
         // Spawn player into level
         WorldServer level = this.mcServer.worldServerForDimension(player.dimension);
         org.spongepowered.api.entity.Entity spongeEntity = (org.spongepowered.api.entity.Entity) player;
@@ -24,17 +24,109 @@
  */
 package org.spongepowered.common.mixin.core.server.management;
 
+import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.server.management.PlayerManager;
 import net.minecraft.server.management.PlayerManager.PlayerInstance;
+import net.minecraft.world.WorldServer;
+import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.config.category.WorldCategory;
 import org.spongepowered.common.interfaces.server.management.IMixinPlayerManager;
+import org.spongepowered.common.interfaces.world.IMixinWorld;
+import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
+
+import java.util.HashMap;
+import java.util.Map;
 
 @Mixin(PlayerManager.class)
 public abstract class MixinPlayerManager implements IMixinPlayerManager {
 
+    @Shadow @Final private WorldServer theWorldServer;
+    @Shadow private int playerViewRadius;
+
+    // The chunk of each player and the center of the area read ahead for them
+    private final Map<EntityPlayerMP, int[]> readAheadAreas = new HashMap<>();
+
     @Shadow public abstract PlayerInstance getPlayerInstance(int chunkX, int chunkZ, boolean createIfAbsent);
 
+    @Inject(method = "addPlayer", at = @At("HEAD"))
+    private void onAddPlayer(EntityPlayerMP player, CallbackInfo ci) {
+        final WorldCategory config = ((IMixinWorld) this.theWorldServer).getActiveConfig().getConfig().getWorld();
+        if (config.isChunkReadAhead()) {
+            // Nothing is loaded for this player yet, read the whole view area in parallel
+            // while vanilla loads the chunks one by one
+            final int chunkX = (int) player.posX >> 4;
+            final int chunkZ = (int) player.posZ >> 4;
+            readChunksAhead(chunkX, chunkZ, chunkX, chunkZ, false);
+            this.readAheadAreas.put(player, new int[] {chunkX, chunkZ, chunkX, chunkZ});
+        }
+    }
+
+    @Inject(method = "removePlayer", at = @At("HEAD"))
+    private void onRemovePlayer(EntityPlayerMP player, CallbackInfo ci) {
+        this.readAheadAreas.remove(player);
+    }
+
+    @Inject(method = "updateMountedMovingPlayer", at = @At("HEAD"))
+    private void onUpdateMountedMovingPlayer(EntityPlayerMP player, CallbackInfo ci) {
+        final int chunkX = (int) player.posX >> 4;
+        final int chunkZ = (int) player.posZ >> 4;
+        int[] area = this.readAheadAreas.get(player);
+        // Only read ahead once the player enters another chunk, not on every move
+        if (area != null && area[0] == chunkX && area[1] == chunkZ) {
+            return;
+        }
+        final WorldCategory config = ((IMixinWorld) this.theWorldServer).getActiveConfig().getConfig().getWorld();
+        if (!config.isChunkReadAhead()) {
+            return;
+        }
+        if (area == null) {
+            final int managedX = (int) player.managedPosX >> 4;
+            final int managedZ = (int) player.managedPosZ >> 4;
+            area = new int[] {managedX, managedZ, managedX, managedZ};
+            this.readAheadAreas.put(player, area);
+        }
+        final int deltaX = chunkX - area[0];
+        final int deltaZ = chunkZ - area[1];
+        final int centerX;
+        final int centerZ;
+        if (Math.abs(deltaX) > this.playerViewRadius || Math.abs(deltaZ) > this.playerViewRadius) {
+            // Teleported, the new view area shares no chunks with the old one
+            centerX = chunkX;
+            centerZ = chunkZ;
+            readChunksAhead(centerX, centerZ, centerX, centerZ, false);
+        } else {
+            // Predict where the player is heading and only read the edge of that view area
+            // which was not covered by the previous read ahead
+            final int distance = config.getChunkReadAheadDistance();
+            centerX = chunkX + Integer.signum(deltaX) * distance;
+            centerZ = chunkZ + Integer.signum(deltaZ) * distance;
+            readChunksAhead(centerX, centerZ, area[2], area[3], true);
+        }
+        area[0] = chunkX;
+        area[1] = chunkZ;
+        area[2] = centerX;
+        area[3] = centerZ;
+    }
+
+    private void readChunksAhead(int centerX, int centerZ, int previousX, int previousZ, boolean skipPrevious) {
+        final IMixinChunkProviderServer chunkProvider = (IMixinChunkProviderServer) this.theWorldServer.theChunkProviderServer;
+        final int radius = this.playerViewRadius;
+        for (int x = centerX - radius; x <= centerX + radius; x++) {
+            for (int z = centerZ - radius; z <= centerZ + radius; z++) {
+                // Chunks within the previous read ahead area were read or loaded already
+                if (skipPrevious && Math.abs(x - previousX) <= radius && Math.abs(z - previousZ) <= radius) {
+                    continue;
+                }
+                chunkProvider.readChunkAhead(x, z);
+            }
+        }
+    }
+
     @Override
     public boolean isChunkInUse(int x, int z) {
         PlayerInstance playerInstance = this.getPlayerInstance(x, z, false);
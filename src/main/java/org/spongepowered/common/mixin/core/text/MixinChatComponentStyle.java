@@ -42,13 +42,19 @@
 import org.spongepowered.api.text.format.TextStyle;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 import org.spongepowered.common.interfaces.text.IMixinChatComponent;
+import org.spongepowered.common.interfaces.text.IMixinChatStyle;
 import org.spongepowered.common.interfaces.text.IMixinClickEvent;
 import org.spongepowered.common.interfaces.text.IMixinHoverEvent;
 import org.spongepowered.common.text.ChatComponentIterable;
 import org.spongepowered.common.text.ResolvedChatStyle;
+import org.spongepowered.common.text.SpongeTexts;
 import org.spongepowered.common.text.format.SpongeTextColor;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
@@ -58,10 +64,47 @@ public abstract class MixinChatComponentStyle implements IMixinChatComponent {
     @Shadow private ChatStyle style;
     @Shadow protected List<IChatComponent> siblings;
 
+    private volatile boolean frozen;
+
     protected Text.Builder createBuilder() {
         throw new UnsupportedOperationException();
     }
 
+    @Inject(method = "appendSibling", at = @At("HEAD"), cancellable = true)
+    private void onAppendSibling(IChatComponent component, CallbackInfoReturnable<IChatComponent> cir) {
+        SpongeTexts.checkNotFrozen(this.frozen);
+        // Appending sets the parent style of the component, so append a copy of frozen components instead
+        IChatComponent appended = SpongeTexts.copyIfFrozen(component);
+        if (appended != component) {
+            cir.setReturnValue(appendSibling(appended));
+        }
+    }
+
+    @Inject(method = "setChatStyle", at = @At("HEAD"))
+    private void onSetChatStyle(ChatStyle style, CallbackInfoReturnable<IChatComponent> cir) {
+        SpongeTexts.checkNotFrozen(this.frozen);
+    }
+
+    @Override
+    public void freeze() {
+        if (this.frozen) {
+            return;
+        }
+        // The style is created lazily, make sure reading it later doesn't modify the component
+        ChatStyle chatStyle = getChatStyle();
+        for (IChatComponent sibling : this.siblings) {
+            ((IMixinChatComponent) sibling).freeze();
+        }
+        this.siblings = Collections.unmodifiableList(this.siblings);
+        ((IMixinChatStyle) chatStyle).freeze();
+        this.frozen = true;
+    }
+
+    @Override
+    public boolean isFrozen() {
+        return this.frozen;
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public Iterator<IChatComponent> childrenIterator() {
@@ -31,8 +31,12 @@
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 import org.spongepowered.common.interfaces.text.IMixinChatComponent;
 import org.spongepowered.common.text.ChatComponentIterable;
+import org.spongepowered.common.text.SpongeTexts;
 import org.spongepowered.common.text.translation.SpongeTranslation;
 
 import java.util.Iterator;
@@ -47,6 +51,28 @@ public abstract class MixinChatComponentTranslation extends MixinChatComponentSt
 
     @Shadow abstract void ensureInitialized();
 
+    @Inject(method = "getFormatArgs", at = @At("HEAD"), cancellable = true)
+    private void onGetFormatArgs(CallbackInfoReturnable<Object[]> cir) {
+        if (isFrozen()) {
+            cir.setReturnValue(this.formatArgs.clone());
+        }
+    }
+
+    @Override
+    public void freeze() {
+        if (isFrozen()) {
+            return;
+        }
+        // Translating sets the parent style of the arguments, so it has to happen before they are frozen.
+        // The server never reloads its language, so the translation isn't initialized again later.
+        ensureInitialized();
+        SpongeTexts.freezeFormatArgs(this.formatArgs);
+        for (IChatComponent child : this.children) {
+            ((IMixinChatComponent) child).freeze();
+        }
+        super.freeze();
+    }
+
     @Override
     protected Text.Builder createBuilder() {
         return Text.builder(new SpongeTranslation(this.key), wrapFormatArgs(this.formatArgs));
@@ -25,6 +25,7 @@
 package org.spongepowered.common.mixin.core.world;
 
 import com.flowpowered.math.vector.Vector3d;
+import net.minecraft.enchantment.EnchantmentProtection;
 import net.minecraft.entity.Entity;
 import net.minecraft.util.AxisAlignedBB;
 import net.minecraft.util.Vec3;
@@ -37,11 +38,13 @@
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.interfaces.entity.IMixinEntityTNTPrimed;
 import org.spongepowered.common.interfaces.world.IMixinExplosion;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Mixin(net.minecraft.world.Explosion.class)
@@ -51,6 +54,7 @@ public abstract class MixinExplosion implements Explosion, IMixinExplosion {
     public Vec3 position; // Added for Forge
     private boolean shouldBreakBlocks;
     private boolean shouldDamageEntities;
+    private int knockbackWeight;
 
     @Shadow public boolean isFlaming;
     @Shadow public boolean isSmoking;
@@ -68,6 +72,7 @@ public void onConstructed(net.minecraft.world.World world, Entity entity, double
         this.origin = new Vector3d(this.explosionX, this.explosionY, this.explosionZ);
         this.shouldBreakBlocks = true; // by default, all explosions do this can be changed by the explosion builder
         this.shouldDamageEntities = true;
+        this.knockbackWeight = entity instanceof IMixinEntityTNTPrimed ? ((IMixinEntityTNTPrimed) entity).getMergedCount() : 1;
     }
 
     @Inject(method = "doExplosionA", at = @At("HEAD"), cancellable = true)
@@ -77,6 +82,31 @@ public void onDoExplosionA(CallbackInfo ci) {
         }
     }
 
+    /**
+     * Merged primed TNT explodes once but pushes entities as hard as all of
+     * the merged TNT would have. Blocks are only broken by this single
+     * explosion, which reaches less far than the same number of separate
+     * explosions breaking blocks one after the other.
+     */
+    @Redirect(method = "doExplosionA", at = @At(value = "INVOKE",
+            target = "Lnet/minecraft/enchantment/EnchantmentProtection;func_92092_a(Lnet/minecraft/entity/Entity;D)D"))
+    private double onGetKnockback(Entity entity, double knockback) {
+        return EnchantmentProtection.func_92092_a(entity, knockback) * this.knockbackWeight;
+    }
+
+    /**
+     * Players apply explosion knockback client side from the explosion
+     * packet, so the knockback sent to them is weighted the same way.
+     */
+    @Redirect(method = "doExplosionA", at = @At(value = "INVOKE", target = "Ljava/util/Map;put(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;"))
+    private Object onPutPlayerKnockback(Map<Object, Object> playerKnockbackMap, Object player, Object knockback) {
+        if (this.knockbackWeight > 1) {
+            final Vec3 vec = (Vec3) knockback;
+            knockback = new Vec3(vec.xCoord * this.knockbackWeight, vec.yCoord * this.knockbackWeight, vec.zCoord * this.knockbackWeight);
+        }
+        return playerKnockbackMap.put(player, knockback);
+    }
+
     @Override
     public World getWorld() {
         return (World) this.worldObj;
@@ -126,4 +156,9 @@ public void setShouldBreakBlocks(boolean shouldBreakBlocks) {
     public void setShouldDamageEntities(boolean shouldDamageEntities) {
         this.shouldDamageEntities = shouldDamageEntities;
     }
+
+    @Override
+    public int getKnockbackWeight() {
+        return this.knockbackWeight;
+    }
 }
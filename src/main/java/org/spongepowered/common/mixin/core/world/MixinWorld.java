@@ -85,11 +85,9 @@
 import org.spongepowered.api.entity.EntityType;
 import org.spongepowered.api.entity.Item;
 import org.spongepowered.api.entity.living.player.Player;
-import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.entity.projectile.EnderPearl;
 import org.spongepowered.api.entity.projectile.source.ProjectileSource;
 import org.spongepowered.api.event.SpongeEventFactory;
-import org.spongepowered.api.event.block.NotifyNeighborBlockEvent;
 import org.spongepowered.api.event.cause.Cause;
 import org.spongepowered.api.event.cause.NamedCause;
 import org.spongepowered.api.event.cause.entity.spawn.SpawnCause;
@@ -131,6 +129,7 @@
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.block.SpongeBlockSnapshot;
 import org.spongepowered.common.block.SpongeBlockSnapshotBuilder;
 import org.spongepowered.common.config.SpongeConfig;
@@ -146,11 +145,11 @@
 import org.spongepowered.common.interfaces.world.IMixinWorldType;
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
 import org.spongepowered.common.interfaces.world.gen.IPopulatorProvider;
-import org.spongepowered.common.registry.provider.DirectionFacingProvider;
 import org.spongepowered.common.registry.type.event.InternalSpawnTypes;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.StaticMixinHelper;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.world.BlockUserCache;
 import org.spongepowered.common.world.CaptureType;
 import org.spongepowered.common.world.DimensionManager;
 import org.spongepowered.common.world.SpongeChunkPreGenerate;
@@ -166,7 +165,6 @@
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -189,6 +187,7 @@ public abstract class MixinWorld implements World, IMixinWorld {
     private static final Vector2i BIOME_MIN = BLOCK_MIN.toVector2(true);
     private static final Vector2i BIOME_MAX = BLOCK_MAX.toVector2(true);
     private static final Vector2i BIOME_SIZE = BIOME_MAX.sub(BIOME_MIN).add(1, 1);
+    private static final EnumFacing[] FACINGS = EnumFacing.values();
     private static final String
             CHECK_NO_ENTITY_COLLISION =
             "checkNoEntityCollision(Lnet/minecraft/util/AxisAlignedBB;Lnet/minecraft/entity/Entity;)Z";
@@ -205,6 +204,7 @@ public abstract class MixinWorld implements World, IMixinWorld {
     protected CauseTracker causeTracker;
     private final Map<net.minecraft.entity.Entity, Vector3d> rotationUpdates = new HashMap<>();
     protected WorldTimingsHandler timings;
+    private final BlockUserCache blockUserCache = new BlockUserCache((net.minecraft.world.World) (Object) this);
 
     // @formatter:off
     @Shadow @Final public boolean isRemote;
@@ -278,19 +278,24 @@ public void onConstructed(ISaveHandler saveHandlerIn, WorldInfo info, WorldProvi
 
     @Override
     public SpongeBlockSnapshot createSpongeBlockSnapshot(IBlockState state, IBlockState extended, BlockPos pos, int updateFlag) {
+        return createSpongeBlockSnapshot(state, extended, pos, updateFlag, getCreator(pos.getX(), pos.getY(), pos.getZ()).orElse(null),
+                getNotifier(pos.getX(), pos.getY(), pos.getZ()).orElse(null));
+    }
+
+    @Override
+    public SpongeBlockSnapshot createSpongeBlockSnapshot(IBlockState state, IBlockState extended, BlockPos pos, int updateFlag,
+            @Nullable UUID creator, @Nullable UUID notifier) {
         this.builder.reset();
         Location<World> location = new Location<>((World) this, VecHelper.toVector(pos));
         this.builder.blockState((BlockState) state)
                 .extendedState((BlockState) extended)
                 .worldId(location.getExtent().getUniqueId())
                 .position(location.getBlockPosition());
-        Optional<UUID> creator = getCreator(pos.getX(), pos.getY(), pos.getZ());
-        Optional<UUID> notifier = getNotifier(pos.getX(), pos.getY(), pos.getZ());
-        if (creator.isPresent()) {
-            this.builder.creator(creator.get());
+        if (creator != null) {
+            this.builder.creator(creator);
         }
-        if (notifier.isPresent()) {
-            this.builder.notifier(notifier.get());
+        if (notifier != null) {
+            this.builder.notifier(notifier);
         }
         if (state.getBlock() instanceof ITileEntityProvider) {
             net.minecraft.tileentity.TileEntity te = getTileEntity(pos);
@@ -829,24 +834,14 @@ public boolean restoreSnapshot(int x, int y, int z, BlockSnapshot snapshot, bool
     public Optional<UUID> getCreator(int x, int y, int z) {
         BlockPos pos = new BlockPos(x, y, z);
         IMixinChunk spongeChunk = (IMixinChunk) getChunkFromBlockCoords(pos);
-        Optional<User> user = spongeChunk.getBlockOwner(pos);
-        if (user.isPresent()) {
-            return Optional.of(user.get().getUniqueId());
-        } else {
-            return Optional.empty();
-        }
+        return spongeChunk.getBlockOwnerUniqueId(pos);
     }
 
     @Override
     public Optional<UUID> getNotifier(int x, int y, int z) {
         BlockPos pos = new BlockPos(x, y, z);
         IMixinChunk spongeChunk = (IMixinChunk) getChunkFromBlockCoords(pos);
-        Optional<User> user = spongeChunk.getBlockNotifier(pos);
-        if (user.isPresent()) {
-            return Optional.of(user.get().getUniqueId());
-        } else {
-            return Optional.empty();
-        }
+        return spongeChunk.getBlockNotifierUniqueId(pos);
     }
 
     @Override
@@ -1101,41 +1096,48 @@ public boolean setBlockState(BlockPos pos, IBlockState newState, int flags) {
 
             Block originalBlock = currentState.getBlock();
             Block newBlock = newState.getBlock();
-            BlockSnapshot originalBlockSnapshot = null;
+            boolean capturing = false;
+            int captureIndex = -1;
 
             // Don't capture if we are restoring blocks
             final CauseTracker causeTracker = this.getCauseTracker();
             if (!this.isRemote && causeTracker.isCapturingBlocks()) {
-                originalBlockSnapshot = null;
-                originalBlockSnapshot = createSpongeBlockSnapshot(currentState, currentState.getBlock().getActualState(currentState,
-                        (IBlockAccess) this, pos), pos, flags);
-
+                capturing = true;
+                CaptureType captureType = null;
                 if (causeTracker.isCaptureBlockDecay()) {
                     // Only capture final state of decay, ignore the rest
                     if (newBlock == Blocks.air) {
-                        ((SpongeBlockSnapshot) originalBlockSnapshot).captureType = CaptureType.DECAY;
-                        causeTracker.getCapturedSpongeBlockSnapshots().add(originalBlockSnapshot);
+                        captureType = CaptureType.DECAY;
                     }
                 } else if (newBlock == Blocks.air) {
-                    ((SpongeBlockSnapshot) originalBlockSnapshot).captureType = CaptureType.BREAK;
-                    causeTracker.getCapturedSpongeBlockSnapshots().add(originalBlockSnapshot);
+                    captureType = CaptureType.BREAK;
                 } else if (newBlock != originalBlock && !forceModify(originalBlock, newBlock)) {
-                    ((SpongeBlockSnapshot) originalBlockSnapshot).captureType = CaptureType.PLACE;
-                    causeTracker.getCapturedSpongeBlockSnapshots().add(originalBlockSnapshot);
+                    captureType = CaptureType.PLACE;
                 } else {
-                    ((SpongeBlockSnapshot) originalBlockSnapshot).captureType = CaptureType.MODIFY;
-                    causeTracker.getCapturedSpongeBlockSnapshots().add(originalBlockSnapshot);
+                    captureType = CaptureType.MODIFY;
+                }
+
+                if (captureType != null) {
+                    IBlockState extendedState = originalBlock.getActualState(currentState, (IBlockAccess) this, pos);
+                    // Tile entity data has to be copied before the tile entity changes, everything else is snapshotted on demand
+                    SpongeBlockSnapshot originalBlockSnapshot = SpongeImplHooks.blockHasTileEntity(originalBlock, currentState)
+                            ? createSpongeBlockSnapshot(currentState, extendedState, pos, flags) : null;
+                    // The creator and notifier may change before the snapshot is created
+                    final IMixinChunk spongeChunk = (IMixinChunk) chunk;
+                    captureIndex = causeTracker.getCapturedBlocks().add(pos, currentState, extendedState, flags, captureType,
+                            spongeChunk.getBlockOwnerUniqueId(pos).orElse(null), spongeChunk.getBlockNotifierUniqueId(pos).orElse(null),
+                            originalBlockSnapshot);
                 }
             }
 
             int oldLight = currentState.getBlock().getLightValue();
 
-            // We pass the originalBlockSnapshot for generating block spawn causes if items drop
-            IBlockState iblockstate1 = ((IMixinChunk) chunk).setBlockState(pos, newState, currentState, originalBlockSnapshot);
+            // We pass the capture index for generating block spawn causes if items drop
+            IBlockState iblockstate1 = ((IMixinChunk) chunk).setBlockState(pos, newState, currentState, captureIndex);
 
             if (iblockstate1 == null) {
-                if (originalBlockSnapshot != null) {
-                    causeTracker.getCapturedSpongeBlockSnapshots().remove(originalBlockSnapshot);
+                if (captureIndex != -1) {
+                    causeTracker.getCapturedBlocks().remove(captureIndex, pos);
                 }
                 return false;
             } else {
@@ -1148,7 +1150,7 @@ public boolean setBlockState(BlockPos pos, IBlockState newState, int flags) {
                 }
 
                 // Don't notify clients or update physics while capturing blockstates
-                if (originalBlockSnapshot == null) {
+                if (!capturing) {
                     // Modularize client and physic updates
                     markAndNotifyNeighbors(pos, chunk, iblockstate1, newState, flags);
                 }
@@ -1233,11 +1235,22 @@ public void onUpdateRidden(net.minecraft.entity.Entity entity) {
         this.causeTracker.setCaptureBlocks(captureBlocks);
     }
 
+    @Inject(method = "onEntityAdded", at = @At(value = "HEAD"))
+    public void onEntityAddition(net.minecraft.entity.Entity entityIn, CallbackInfo ci) {
+        if (entityIn instanceof EntityPlayer) {
+            // Players entering from another dimension were resolved as offline users
+            this.blockUserCache.invalidate(entityIn.getUniqueID());
+        }
+    }
+
     @Inject(method = "onEntityRemoved", at = @At(value = "HEAD"))
     public void onEntityRemoval(net.minecraft.entity.Entity entityIn, CallbackInfo ci) {
         if (!this.isRemote && (!(entityIn instanceof EntityLivingBase) || entityIn instanceof EntityArmorStand)) {
             getCauseTracker().handleNonLivingEntityDestruct(entityIn);
         }
+        if (entityIn instanceof EntityPlayer) {
+            this.blockUserCache.invalidate(entityIn.getUniqueID());
+        }
     }
 
     @Inject(method = "spawnEntityInWorld", at = @At("HEAD"), cancellable = true)
@@ -1289,26 +1302,7 @@ public void notifyNeighborsOfStateChange(BlockPos pos, Block blockType) {
             return;
         }
 
-        final CauseTracker causeTracker = this.getCauseTracker();
-        if (causeTracker.isIgnoringCaptures()) {
-            for (EnumFacing facing : EnumFacing.values()) {
-                causeTracker.notifyBlockOfStateChange(pos.offset(facing), blockType, pos);
-            }
-            return;
-        }
-
-        NotifyNeighborBlockEvent
-                event =
-                SpongeCommonEventFactory.callNotifyNeighborEvent(this, pos, java.util.EnumSet.allOf(EnumFacing.class));
-        if (event.isCancelled()) {
-            return;
-        }
-
-        for (EnumFacing facing : EnumFacing.values()) {
-            if (event.getNeighbors().keySet().contains(DirectionFacingProvider.getInstance().getKey(facing).get())) {
-                causeTracker.notifyBlockOfStateChange(pos.offset(facing), blockType, pos);
-            }
-        }
+        notifyNeighborSides(pos, blockType, SpongeCommonEventFactory.ALL_NEIGHBOR_SIDES);
     }
 
     /**
@@ -1316,32 +1310,23 @@ public void notifyNeighborsOfStateChange(BlockPos pos, Block blockType) {
      *
      * @reason Rewritten to pass the source block position.
      */
-    @SuppressWarnings("rawtypes")
     @Overwrite
     public void notifyNeighborsOfStateExcept(BlockPos pos, Block blockType, EnumFacing skipSide) {
         if (this.isRemote || !isValid(pos)) {
             return;
         }
 
-        EnumSet directions = EnumSet.allOf(EnumFacing.class);
-        directions.remove(skipSide);
+        notifyNeighborSides(pos, blockType, SpongeCommonEventFactory.ALL_NEIGHBOR_SIDES & ~(1 << skipSide.ordinal()));
+    }
 
+    private void notifyNeighborSides(BlockPos pos, Block blockType, int sides) {
         final CauseTracker causeTracker = this.getCauseTracker();
-        if (causeTracker.isIgnoringCaptures()) {
-            for (Object obj : directions) {
-                EnumFacing facing = (EnumFacing) obj;
-                causeTracker.notifyBlockOfStateChange(pos.offset(facing), blockType, pos);
-            }
-            return;
+        if (!causeTracker.isIgnoringCaptures()) {
+            sides = causeTracker.getNotifiedNeighborSides(pos, blockType, sides);
         }
 
-        NotifyNeighborBlockEvent event = SpongeCommonEventFactory.callNotifyNeighborEvent(this, pos, directions);
-        if (event.isCancelled()) {
-            return;
-        }
-
-        for (EnumFacing facing : EnumFacing.values()) {
-            if (event.getNeighbors().keySet().contains(DirectionFacingProvider.getInstance().getKey(facing).get())) {
+        for (EnumFacing facing : FACINGS) {
+            if ((sides & (1 << facing.ordinal())) != 0) {
                 causeTracker.notifyBlockOfStateChange(pos.offset(facing), blockType, pos);
             }
         }
@@ -1402,4 +1387,9 @@ private net.minecraft.world.World asMinecraftWorld() {
     public WorldTimingsHandler getTimingsHandler() {
         return this.timings;
     }
+
+    @Override
+    public BlockUserCache getBlockUserCache() {
+        return this.blockUserCache;
+    }
 }
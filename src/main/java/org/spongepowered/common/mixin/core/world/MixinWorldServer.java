@@ -144,6 +144,7 @@ public abstract class MixinWorldServer extends MixinWorld implements IMixinWorld
     private int chunkGCTickCount = 0;
     private int chunkGCLoadThreshold = 0;
     private int chunkGCTickInterval = 600;
+    private long mergedTntCount;
     private boolean isCapturingBlocks = false;
 
     @Inject(method = "<init>", at = @At("RETURN"))
@@ -879,4 +880,14 @@ public void setActiveConfig(SpongeConfig<?> config) {
     public int getChunkGCTickInterval() {
         return this.chunkGCTickInterval;
     }
+
+    @Override
+    public long getMergedTntCount() {
+        return this.mergedTntCount;
+    }
+
+    @Override
+    public void addMergedTnt(int count) {
+        this.mergedTntCount += count;
+    }
 }
@@ -25,7 +25,6 @@
 package org.spongepowered.common.mixin.core.world.chunk.storage;
 
 import com.flowpowered.math.vector.Vector3d;
-import com.google.common.collect.Maps;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityList;
 import net.minecraft.entity.item.EntityMinecart;
@@ -55,17 +54,21 @@
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 import org.spongepowered.asm.mixin.injection.callback.LocalCapture;
+import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.data.util.NbtDataUtil;
-import org.spongepowered.common.entity.PlayerTracker;
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
 import org.spongepowered.common.registry.type.entity.EntityTypeRegistryModule;
+import org.spongepowered.common.world.storage.BlockTrackerStore;
+import org.spongepowered.common.world.storage.SpongeChunkIO;
 
 import java.io.File;
 import java.nio.file.Path;
 import java.util.Map;
 import java.util.Set;
 
+import javax.annotation.Nullable;
+
 @Mixin(AnvilChunkLoader.class)
 @Implements(@Interface(iface = IMixinAnvilChunkLoader.class, prefix = "loader$"))
 public abstract class MixinAnvilChunkLoader implements IMixinAnvilChunkLoader {
@@ -76,72 +79,91 @@ public abstract class MixinAnvilChunkLoader implements IMixinAnvilChunkLoader {
     @Shadow private Set<ChunkCoordIntPair> pendingAnvilChunksCoordinates;
     @Shadow private Map<ChunkCoordIntPair, NBTTagCompound> chunksToRemove;
     @Shadow @Final private File chunkSaveLocation;
+    @Nullable private SpongeChunkIO chunkIO;
+
+    @Shadow protected abstract net.minecraft.world.chunk.Chunk checkedReadChunkFromNBT(World worldIn, int x, int z, NBTTagCompound compound);
+
+    @Inject(method = "loadChunk", at = @At("HEAD"), cancellable = true)
+    private void onLoadChunk(World worldIn, int x, int z, CallbackInfoReturnable<net.minecraft.world.chunk.Chunk> cir) {
+        if (this.chunkIO == null) {
+            return;
+        }
+        // Chunks queued for saving are newer than anything read ahead, let vanilla use them
+        if (isChunkPendingSave(x, z)) {
+            this.chunkIO.invalidate(x, z);
+            return;
+        }
+        final NBTTagCompound compound = this.chunkIO.take(x, z);
+        if (compound != null) {
+            cir.setReturnValue(compound == SpongeChunkIO.MISSING ? null : this.checkedReadChunkFromNBT(worldIn, x, z, compound));
+        }
+    }
+
+    @Inject(method = "addChunkToPending", at = @At("HEAD"))
+    private void onAddChunkToPending(ChunkCoordIntPair pos, NBTTagCompound compound, CallbackInfo ci) {
+        if (this.chunkIO != null) {
+            this.chunkIO.invalidate(pos.chunkXPos, pos.chunkZPos);
+        }
+    }
+
+    @Inject(method = "writeChunkNBTTags", at = @At("RETURN"))
+    private void onWriteChunkNBTTags(ChunkCoordIntPair pos, NBTTagCompound compound, CallbackInfo ci) {
+        final SpongeChunkIO chunkIO = this.chunkIO;
+        if (chunkIO != null) {
+            chunkIO.chunkWritten(pos.chunkXPos, pos.chunkZPos);
+        }
+    }
 
     @Inject(method = "writeChunkToNBT", at = @At(value = "RETURN"))
     public void onWriteChunkToNBT(net.minecraft.world.chunk.Chunk chunkIn, World worldIn, NBTTagCompound compound, CallbackInfo ci) {
         IMixinChunk chunk = (IMixinChunk) chunkIn;
 
         // Add tracked block positions
-        if (chunk.getTrackedShortPlayerPositions().size() > 0 || chunk.getTrackedIntPlayerPositions().size() > 0) {
+        final BlockTrackerStore trackedBlocks = chunk.getTrackedBlocks();
+        if (!trackedBlocks.isEmpty()) {
             NBTTagCompound trackedNbt = new NBTTagCompound();
-            NBTTagList positions = new NBTTagList();
-            trackedNbt.setTag(NbtDataUtil.SPONGE_BLOCK_POS_TABLE, positions);
+            trackedNbt.setIntArray(NbtDataUtil.SPONGE_TRACKED_BLOCKS, trackedBlocks.toIntArray());
             compound.setTag(NbtDataUtil.SPONGE_DATA, trackedNbt);
-
-            for (Map.Entry<Short, PlayerTracker> mapEntry : chunk.getTrackedShortPlayerPositions().entrySet()) {
-                Short pos = mapEntry.getKey();
-                Integer ownerUniqueIdIndex = mapEntry.getValue().ownerIndex;
-                Integer notifierUniqueIdIndex = mapEntry.getValue().notifierIndex;
-                NBTTagCompound valueNbt = new NBTTagCompound();
-                valueNbt.setInteger("owner", ownerUniqueIdIndex);
-                valueNbt.setInteger("notifier", notifierUniqueIdIndex);
-                valueNbt.setShort("pos", pos);
-                positions.appendTag(valueNbt);
-            }
-
-            for (Map.Entry<Integer, PlayerTracker> mapEntry : chunk.getTrackedIntPlayerPositions().entrySet()) {
-                Integer pos = mapEntry.getKey();
-                Integer ownerUniqueIdIndex = mapEntry.getValue().ownerIndex;
-                Integer notifierUniqueIdIndex = mapEntry.getValue().notifierIndex;
-                NBTTagCompound valueNbt = new NBTTagCompound();
-                valueNbt.setInteger("owner", ownerUniqueIdIndex);
-                valueNbt.setInteger("notifier", notifierUniqueIdIndex);
-                valueNbt.setInteger("ipos", pos);
-                positions.appendTag(valueNbt);
-            }
         }
     }
 
     @Inject(method = "readChunkFromNBT", at = @At(value = "INVOKE", target = "Lnet/minecraft/nbt/NBTTagCompound;getIntArray(Ljava/lang/String;)[I", shift = At.Shift.BEFORE), locals = LocalCapture.CAPTURE_FAILHARD)
     public void onReadChunkFromNBT(World worldIn, NBTTagCompound compound, CallbackInfoReturnable<net.minecraft.world.chunk.Chunk> ci, int chunkX, int chunkZ, net.minecraft.world.chunk.Chunk chunkIn) {
         if (compound.hasKey(NbtDataUtil.SPONGE_DATA)) {
-            Map<Integer, PlayerTracker> trackedIntPlayerPositions = Maps.newHashMap();
-            Map<Short, PlayerTracker> trackedShortPlayerPositions = Maps.newHashMap();
-            NBTTagList positions = compound.getCompoundTag(NbtDataUtil.SPONGE_DATA).getTagList(NbtDataUtil.SPONGE_BLOCK_POS_TABLE, 10);
-            IMixinChunk chunk = (IMixinChunk) chunkIn;
-            for (int i = 0; i < positions.tagCount(); i++) {
-                NBTTagCompound valueNbt = positions.getCompoundTagAt(i);
-                boolean isShortPos = valueNbt.hasKey("pos");
-                PlayerTracker tracker = new PlayerTracker();
-                if (valueNbt.hasKey("owner")) {
-                    tracker.ownerIndex = valueNbt.getInteger("owner");
-                } else if (valueNbt.hasKey("uuid")) { // Migrate old data, remove in future
-                    tracker.ownerIndex = valueNbt.getInteger("uuid");
-                }
-                if (valueNbt.hasKey("notifier")) {
-                    tracker.notifierIndex = valueNbt.getInteger("notifier");
-                }
+            final NBTTagCompound trackedNbt = compound.getCompoundTag(NbtDataUtil.SPONGE_DATA);
+            final BlockTrackerStore trackedBlocks = ((IMixinChunk) chunkIn).getTrackedBlocks();
+            trackedBlocks.clear();
+            if (trackedNbt.hasKey(NbtDataUtil.SPONGE_TRACKED_BLOCKS, NbtDataUtil.TAG_INT_ARRAY)) {
+                trackedBlocks.readIntArray(trackedNbt.getIntArray(NbtDataUtil.SPONGE_TRACKED_BLOCKS));
+            } else if (trackedNbt.hasKey(NbtDataUtil.SPONGE_BLOCK_POS_TABLE, NbtDataUtil.TAG_LIST)) {
+                // Migrate the old one compound per position format, it is rewritten on the next save
+                readLegacyTrackedBlocks(trackedNbt.getTagList(NbtDataUtil.SPONGE_BLOCK_POS_TABLE, NbtDataUtil.TAG_COMPOUND), trackedBlocks);
+            }
+        }
+    }
 
-                if (tracker.notifierIndex != -1 || tracker.ownerIndex != -1) {
-                    if (isShortPos) {
-                        trackedShortPlayerPositions.put(valueNbt.getShort("pos"), tracker);
-                    } else {
-                        trackedIntPlayerPositions.put(valueNbt.getInteger("ipos"), tracker);
-                    }
-                }
+    private static void readLegacyTrackedBlocks(NBTTagList positions, BlockTrackerStore trackedBlocks) {
+        for (int i = 0; i < positions.tagCount(); i++) {
+            NBTTagCompound valueNbt = positions.getCompoundTagAt(i);
+            int ownerIndex = BlockTrackerStore.NONE;
+            int notifierIndex = BlockTrackerStore.NONE;
+            if (valueNbt.hasKey("owner")) {
+                ownerIndex = valueNbt.getInteger("owner");
+            } else if (valueNbt.hasKey("uuid")) { // Migrate old data, remove in future
+                ownerIndex = valueNbt.getInteger("uuid");
+            }
+            if (valueNbt.hasKey("notifier")) {
+                notifierIndex = valueNbt.getInteger("notifier");
+            }
+
+            if (valueNbt.hasKey("pos")) {
+                // x in bits 0-3, y in bits 4-11 and z in bits 12-15
+                final short pos = valueNbt.getShort("pos");
+                trackedBlocks.set(pos & 0xF, (pos >> 4) & 0xFF, (pos >> 12) & 0xF, ownerIndex, notifierIndex);
+            } else {
+                final int pos = valueNbt.getInteger("ipos");
+                trackedBlocks.set(pos & 0xF, (pos >>> 4) & 0xFFFFFF, (pos >>> 28) & 0xF, ownerIndex, notifierIndex);
             }
-            chunk.setTrackedIntPlayerPositions(trackedIntPlayerPositions);
-            chunk.setTrackedShortPlayerPositions(trackedShortPlayerPositions);
         }
     }
 
@@ -171,6 +193,9 @@ private Entity onReadEntity(NBTTagCompound compound, World world) {
         if (type == null) {
             return null;
         }
+        if (!SpongeImpl.hasListeners(ConstructEntityEvent.Pre.class)) {
+            return EntityList.createEntityFromNBT(compound, world);
+        }
         NBTTagList positionList = compound.getTagList(NbtDataUtil.ENTITY_POSITION, NbtDataUtil.TAG_DOUBLE);
         NBTTagList rotationList = compound.getTagList(NbtDataUtil.ENTITY_ROTATION, NbtDataUtil.TAG_FLOAT);
         Vector3d position = new Vector3d(positionList.getDoubleAt(0), positionList.getDoubleAt(1), positionList.getDoubleAt(2));
@@ -178,7 +203,7 @@ private Entity onReadEntity(NBTTagCompound compound, World world) {
         Transform<org.spongepowered.api.world.World> transform = new Transform<>((org.spongepowered.api.world.World) world, position, rotation);
         SpawnCause cause = SpawnCause.builder().type(SpawnTypes.CHUNK_LOAD).build();
         ConstructEntityEvent.Pre event = SpongeEventFactory.createConstructEntityEventPre(Cause.of(NamedCause.source(cause)), type, transform);
-        if (event.isCancelled()) {
+        if (SpongeImpl.postEvent(event)) {
             return null;
         }
         return EntityList.createEntityFromNBT(compound, world);
@@ -199,9 +224,24 @@ private Entity onReadEntity(NBTTagCompound compound, World world) {
         return RegionFileCache.getChunkInputStream(this.chunkSaveLocation, x, z) != null;
     }
 
+    @Override
+    public boolean isChunkPendingSave(int x, int z) {
+        final ChunkCoordIntPair pos = new ChunkCoordIntPair(x, z);
+        // The chunk is added to the pending coordinates before it is removed from the chunks to save
+        return this.chunksToRemove.containsKey(pos) || this.pendingAnvilChunksCoordinates.contains(pos);
+    }
+
     @Override
     public Path getWorldDir() {
         return this.chunkSaveLocation.toPath();
     }
 
+    @Override
+    public SpongeChunkIO getChunkIO() {
+        if (this.chunkIO == null) {
+            this.chunkIO = new SpongeChunkIO(this.chunkSaveLocation);
+        }
+        return this.chunkIO;
+    }
+
 }
@@ -65,6 +65,7 @@
 import org.spongepowered.common.util.VecHelper;
 import org.spongepowered.common.util.gen.ByteArrayMutableBiomeBuffer;
 import org.spongepowered.common.util.gen.ChunkBufferPrimer;
+import org.spongepowered.common.util.gen.ChunkPrimerBuffer;
 import org.spongepowered.common.world.gen.WorldGenConstants;
 import org.spongepowered.common.world.gen.populators.AnimalPopulator;
 import org.spongepowered.common.world.gen.populators.FilteredPopulator;
@@ -72,6 +73,8 @@
 
 import java.util.Random;
 
+import javax.annotation.Nullable;
+
 @Mixin(ChunkProviderGenerate.class)
 public abstract class MixinChunkProviderGenerate implements IChunkProvider, GenerationPopulator, IPopulatorProvider, IChunkProviderGenerate {
 
@@ -94,6 +97,10 @@ public abstract class MixinChunkProviderGenerate implements IChunkProvider, Gene
     @Shadow public abstract void replaceBlocksForBiome(int p_180517_1_, int p_180517_2_, ChunkPrimer p_180517_3_, BiomeGenBase[] p_180517_4_);
 
     private BiomeGenerator biomegen;
+    @Nullable private ChunkPrimer offeredNoise;
+    @Nullable private BiomeGenBase[] offeredBiomes;
+    private int offeredNoiseX;
+    private int offeredNoiseZ;
 
     @Inject(method = "<init>", at = @At("RETURN"))
     private void onConstruct(net.minecraft.world.World worldIn, long p_i45636_2_, boolean p_i45636_4_, String p_i45636_5_, CallbackInfo ci) {
@@ -189,12 +196,40 @@ public void populate(World world, MutableBlockVolume buffer, ImmutableBiomeArea
         int x = GenericMath.floor(buffer.getBlockMin().getX() / 16f);
         int z = GenericMath.floor(buffer.getBlockMin().getZ() / 16f);
         this.rand.setSeed((long) x * 341873128712L + (long) z * 132897987541L);
-        this.biomesForGeneration = getBiomesFromGenerator(x, z);
-        ChunkPrimer chunkprimer = new ChunkBufferPrimer(buffer);
-        this.setBlocksInChunk(x, z, chunkprimer);
+        if (this.offeredNoise != null && this.offeredNoiseX == x && this.offeredNoiseZ == z && buffer instanceof ChunkPrimerBuffer) {
+            // The noise was generated off the main thread, the primer only ever contains air at this point
+            this.biomesForGeneration = this.offeredBiomes;
+            final char[] data = ((ChunkPrimerBuffer) buffer).getChunkPrimer().data;
+            System.arraycopy(this.offeredNoise.data, 0, data, 0, data.length);
+        } else {
+            this.biomesForGeneration = getBiomesFromGenerator(x, z);
+            ChunkPrimer chunkprimer = new ChunkBufferPrimer(buffer);
+            this.setBlocksInChunk(x, z, chunkprimer);
+        }
+        this.offeredNoise = null;
+        this.offeredBiomes = null;
         setBedrock(buffer);
     }
 
+    @Override
+    public BiomeGenBase[] getBiomesForGeneration(int chunkX, int chunkZ) {
+        return getBiomesFromGenerator(chunkX, chunkZ).clone();
+    }
+
+    @Override
+    public void generateTerrainNoise(int chunkX, int chunkZ, BiomeGenBase[] biomes, ChunkPrimer primer) {
+        this.biomesForGeneration = biomes;
+        this.setBlocksInChunk(chunkX, chunkZ, primer);
+    }
+
+    @Override
+    public void offerTerrainNoise(int chunkX, int chunkZ, BiomeGenBase[] biomes, ChunkPrimer primer) {
+        this.offeredNoiseX = chunkX;
+        this.offeredNoiseZ = chunkZ;
+        this.offeredBiomes = biomes;
+        this.offeredNoise = primer;
+    }
+
     private void setBedrock(MutableBlockVolume buffer) {
         Vector3i min = buffer.getBlockMin();
         for (int x = 0; x < 16; x++) {
@@ -51,6 +51,7 @@
 import org.spongepowered.common.interfaces.world.IMixinWorld;
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
 import org.spongepowered.common.world.storage.SpongeChunkDataStream;
+import org.spongepowered.common.world.storage.SpongeChunkIO;
 import org.spongepowered.common.world.storage.WorldStorageUtil;
 
 import java.util.Optional;
@@ -84,6 +85,32 @@ public Chunk getChunkIfLoaded(int x, int z) {
         return this.id2ChunkMap.getValueByKey(ChunkCoordIntPair.chunkXZ2Int(x, z));
     }
 
+    @Override
+    public CompletableFuture<Boolean> isChunkGenerated(int x, int z) {
+        if (getChunkIfLoaded(x, z) != null) {
+            return CompletableFuture.completedFuture(true);
+        }
+        if (!(this.chunkLoader instanceof IMixinAnvilChunkLoader)) {
+            return CompletableFuture.completedFuture(false);
+        }
+        final IMixinAnvilChunkLoader chunkLoader = (IMixinAnvilChunkLoader) this.chunkLoader;
+        final WorldServer world = this.worldObj;
+        return SpongeChunkIO.submit(() -> chunkLoader.chunkExists(world, x, z));
+    }
+
+    @Override
+    public CompletableFuture<?> readChunkAhead(int x, int z) {
+        // Chunks queued for unloading are still loaded, chunks still being saved must not be read from the outdated region file
+        if (this.chunkLoader instanceof IMixinAnvilChunkLoader && getChunkIfLoaded(x, z) == null
+                && !((IMixinAnvilChunkLoader) this.chunkLoader).isChunkPendingSave(x, z)) {
+            final CompletableFuture<?> read = ((IMixinAnvilChunkLoader) this.chunkLoader).getChunkIO().readAhead(x, z);
+            if (read != null) {
+                return read;
+            }
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
     /**
      * @author blood - May 9th, 2016
      * @reason Control terrain gen flag here to avoid leaking block captures during populate.
@@ -167,6 +194,9 @@ public void onUnloadQueuedChunksStart(CallbackInfoReturnable<Boolean> ci) {
     public void onUnloadQueuedChunksEnd(CallbackInfoReturnable<Boolean> ci) {
         IMixinWorld spongeWorld = (IMixinWorld) this.worldObj;
         spongeWorld.getTimingsHandler().doChunkUnload.stopTiming();
+        if (this.chunkLoader instanceof IMixinAnvilChunkLoader) {
+            ((IMixinAnvilChunkLoader) this.chunkLoader).getChunkIO().tick();
+        }
     }
 
     private int maxChunkUnloads = -1;
@@ -26,26 +26,17 @@
 
 import com.google.common.base.Predicate;
 import net.minecraft.entity.Entity;
-import net.minecraft.entity.item.EntityItem;
-import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.util.AxisAlignedBB;
 import net.minecraft.world.World;
-import org.spongepowered.api.block.BlockSnapshot;
-import org.spongepowered.api.block.BlockType;
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
-import org.spongepowered.common.config.SpongeConfig;
-import org.spongepowered.common.config.category.CollisionModCategory;
-import org.spongepowered.common.config.category.EntityCollisionCategory;
-import org.spongepowered.common.interfaces.world.IMixinWorld;
-import org.spongepowered.common.mixin.plugin.entitycollisions.interfaces.IModData_Collisions;
+import org.spongepowered.common.mixin.plugin.entitycollisions.EntityCollisionHelper;
 
 import java.util.List;
-import java.util.Optional;
 
 @Mixin(net.minecraft.world.chunk.Chunk.class)
 public class MixinChunk_Collisions {
@@ -56,8 +47,7 @@ public class MixinChunk_Collisions {
             at = @At(value = "INVOKE", target = "Ljava/util/List;add(Ljava/lang/Object;)Z", remap = false), cancellable = true)
     public void onAddCollisionEntity(Entity entityIn, AxisAlignedBB aabb, List<Entity> listToFill, Predicate<? super Entity> predicate,
             CallbackInfo ci) {
-        // ignore players and entities with parts (ex. EnderDragon)
-        if (this.worldObj.isRemote || entityIn == null || entityIn instanceof EntityPlayer || entityIn.getParts() != null) {
+        if (this.worldObj.isRemote || !EntityCollisionHelper.isLimited(entityIn)) {
             return;
         }
 
@@ -70,9 +60,7 @@ public void onAddCollisionEntity(Entity entityIn, AxisAlignedBB aabb, List<Entit
             at = @At(value = "INVOKE", target = "Ljava/util/List;add(Ljava/lang/Object;)Z", remap = false), cancellable = true)
     public <T extends Entity> void onAddCollisionEntity(Class<? extends T> entityClass, AxisAlignedBB aabb, List<T> listToFill,
             Predicate<? super T> p_177430_4_, CallbackInfo ci) {
-        // ignore player checks
-        // ignore item check (ex. Hoppers)
-        if (this.worldObj.isRemote || EntityPlayer.class.isAssignableFrom(entityClass) || EntityItem.class == entityClass) {
+        if (this.worldObj.isRemote || !EntityCollisionHelper.isLimited(entityClass)) {
             return;
         }
 
@@ -82,78 +70,7 @@ public <T extends Entity> void onAddCollisionEntity(Class<? extends T> entityCla
     }
 
     private <T extends Entity> boolean allowEntityCollision(List<T> listToFill) {
-        IMixinWorld spongeWorld = (IMixinWorld) this.worldObj;
-        if (spongeWorld.isProcessingExplosion()) {
-            // allow explosions
-            return true;
-        }
-
-        Optional<org.spongepowered.api.entity.Entity> tickEntity = spongeWorld.getCauseTracker().getCurrentTickEntity();
-        Optional<BlockSnapshot> tickBlock = spongeWorld.getCauseTracker().getCurrentTickBlock();
-        if (!tickEntity.isPresent()) {// && !tickBlock.isPresent()) {
-            if (tickBlock.isPresent()) {
-                BlockType blockType = tickBlock.get().getState().getType();
-                IModData_Collisions spongeBlock = (IModData_Collisions) blockType;
-                if (spongeBlock.requiresCacheRefresh()) {
-                    initializeCollisionState(blockType);
-                    spongeBlock.requiresCacheRefresh(false);
-                }
-
-                if ((spongeBlock.getMaxCollisions() >= 0) && (listToFill.size() >= spongeBlock.getMaxCollisions())) {
-                    return false;
-                }
-            }
-            return true;
-        }
-
-        IModData_Collisions spongeEntity = (IModData_Collisions) tickEntity.get();
-        if ((spongeEntity.getMaxCollisions() >= 0) && (listToFill.size() >= spongeEntity.getMaxCollisions())) {
-            return false;
-        }
-
-        return true;
-    }
-
-    private void initializeCollisionState(BlockType type) {
-        SpongeConfig<?> activeConfig = ((IMixinWorld) this.worldObj).getActiveConfig();
-        EntityCollisionCategory collisionCat = activeConfig.getConfig().getEntityCollisionCategory();
-        IModData_Collisions spongeBlock = (IModData_Collisions) type;
-        spongeBlock.setMaxCollisions(collisionCat.getMaxEntitiesWithinAABB());
-        String[] ids = type.getId().split(":");
-        String modId = ids[0];
-        String name = ids[1];
-        CollisionModCategory collisionMod = collisionCat.getModList().get(modId);
-        if (collisionMod == null && activeConfig.getConfig().getEntityCollisionCategory().autoPopulateData()) {
-            collisionMod = new CollisionModCategory(modId);
-            collisionCat.getModList().put(modId, collisionMod);
-            collisionMod.getBlockList().put(name, spongeBlock.getMaxCollisions());
-            if (activeConfig.getConfig().getEntityCollisionCategory().autoPopulateData()) {
-                activeConfig.save();
-            }
-
-            return;
-        } else if (collisionMod != null) {
-            // check mod overrides
-            Integer modCollisionMax = collisionMod.getDefaultMaxCollisions().get("blocks");
-            if (modCollisionMax != null) {
-                spongeBlock.setMaxCollisions(modCollisionMax);
-            }
-
-            Integer blockMaxCollision = collisionMod.getBlockList().get(name);
-            // entity overrides
-            if (blockMaxCollision == null && activeConfig.getConfig().getEntityCollisionCategory().autoPopulateData()) {
-                collisionMod.getBlockList().put(name, spongeBlock.getMaxCollisions());
-            } else if (blockMaxCollision != null) {
-                spongeBlock.setMaxCollisions(blockMaxCollision);
-            }
-        }
-
-        if (spongeBlock.getMaxCollisions() <= 0) {
-            return;
-        }
-
-        if (activeConfig.getConfig().getEntityCollisionCategory().autoPopulateData()) {
-            activeConfig.save();
-        }
+        int maxCollisions = EntityCollisionHelper.getCollisionLimit(this.worldObj);
+        return maxCollisions < 0 || listToFill.size() < maxCollisions;
     }
 }
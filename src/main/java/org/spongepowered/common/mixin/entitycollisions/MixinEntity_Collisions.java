@@ -26,6 +26,7 @@
 
 import net.minecraft.entity.item.EntityItem;
 import net.minecraft.item.ItemStack;
+import net.minecraft.util.AxisAlignedBB;
 import net.minecraft.world.World;
 import org.spongepowered.api.entity.Entity;
 import org.spongepowered.asm.mixin.Mixin;
@@ -39,10 +40,14 @@
 import org.spongepowered.common.entity.SpongeEntityType;
 import org.spongepowered.common.interfaces.world.IMixinWorld;
 import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
+import org.spongepowered.common.mixin.plugin.entitycollisions.EntityGrid;
+import org.spongepowered.common.mixin.plugin.entitycollisions.interfaces.IMixinEntity_Collisions;
 import org.spongepowered.common.mixin.plugin.entitycollisions.interfaces.IModData_Collisions;
 
+import javax.annotation.Nullable;
+
 @Mixin(value = net.minecraft.entity.Entity.class, priority = 1002)
-public class MixinEntity_Collisions implements IModData_Collisions {
+public class MixinEntity_Collisions implements IModData_Collisions, IMixinEntity_Collisions {
 
     private net.minecraft.entity.Entity mcEntity = (net.minecraft.entity.Entity) (Object) this;
     private int maxCollisions = 8;
@@ -50,6 +55,8 @@ public class MixinEntity_Collisions implements IModData_Collisions {
     private SpongeEntityType spongeEntityType;
     private String entityName = "unknown";
     private String entityModId = "unknown";
+    @Nullable private EntityGrid.Cell gridCell;
+    private int gridIndex;
     @Shadow public World worldObj;
 
     @Inject(method = "<init>", at = @At("RETURN"))
@@ -75,6 +82,13 @@ public void onEntityConstruction(World world, CallbackInfo ci) {
         }
     }
 
+    @Inject(method = "setEntityBoundingBox", at = @At("RETURN"))
+    public void onSetEntityBoundingBox(AxisAlignedBB bb, CallbackInfo ci) {
+        if (this.gridCell != null) {
+            EntityGrid.update(this.mcEntity);
+        }
+    }
+
     @Override
     public int getMaxCollisions() {
         return this.maxCollisions;
@@ -152,6 +166,27 @@ private boolean initializeCollisionState() {
         return true;
     }
 
+    @Nullable
+    @Override
+    public EntityGrid.Cell getGridCell() {
+        return this.gridCell;
+    }
+
+    @Override
+    public void setGridCell(@Nullable EntityGrid.Cell cell) {
+        this.gridCell = cell;
+    }
+
+    @Override
+    public int getGridIndex() {
+        return this.gridIndex;
+    }
+
+    @Override
+    public void setGridIndex(int index) {
+        this.gridIndex = index;
+    }
+
     @Override
     public void requiresCacheRefresh(boolean flag) {
         this.refreshCache = flag;
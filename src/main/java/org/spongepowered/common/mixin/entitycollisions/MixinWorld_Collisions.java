@@ -0,0 +1,119 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.entitycollisions;
+
+import com.google.common.base.Predicate;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.AxisAlignedBB;
+import net.minecraft.world.World;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+import org.spongepowered.common.config.SpongeConfig;
+import org.spongepowered.common.interfaces.world.IMixinWorld;
+import org.spongepowered.common.mixin.plugin.entitycollisions.EntityCollisionHelper;
+import org.spongepowered.common.mixin.plugin.entitycollisions.EntityGrid;
+import org.spongepowered.common.mixin.plugin.entitycollisions.interfaces.IMixinWorld_Collisions;
+
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+@Mixin(net.minecraft.world.World.class)
+public class MixinWorld_Collisions implements IMixinWorld_Collisions {
+
+    @Shadow @Final public boolean isRemote;
+
+    @Nullable private EntityGrid entityGrid;
+    private boolean entityGridInitialized;
+
+    @Nullable
+    @Override
+    public EntityGrid getEntityGrid() {
+        if (!this.entityGridInitialized) {
+            // The config is set when the world is constructed, so a world without one never gets a grid
+            SpongeConfig<?> activeConfig = ((IMixinWorld) this).getActiveConfig();
+            if (!this.isRemote && activeConfig != null && activeConfig.getConfig().getEntityCollisionCategory().useSpatialGrid()) {
+                this.entityGrid = new EntityGrid();
+            }
+            this.entityGridInitialized = true;
+        }
+        return this.entityGrid;
+    }
+
+    @Inject(method = "onEntityAdded", at = @At("HEAD"))
+    public void onEntityAddedToGrid(Entity entityIn, CallbackInfo ci) {
+        EntityGrid grid = this.getEntityGrid();
+        if (grid != null) {
+            grid.add(entityIn);
+        }
+    }
+
+    @Inject(method = "onEntityRemoved", at = @At("HEAD"))
+    public void onEntityRemovedFromGrid(Entity entityIn, CallbackInfo ci) {
+        if (this.entityGrid != null) {
+            this.entityGrid.remove(entityIn);
+        }
+    }
+
+    @Inject(method = "getEntitiesInAABBexcluding", at = @At("HEAD"), cancellable = true)
+    public void onGetEntitiesInAABBexcluding(Entity entityIn, AxisAlignedBB boundingBox, Predicate<? super Entity> predicate,
+            CallbackInfoReturnable<List<Entity>> cir) {
+        if (this.entityGrid == null) {
+            return;
+        }
+
+        World world = (World) (Object) this;
+        int limit = EntityCollisionHelper.isLimited(entityIn) ? EntityCollisionHelper.getCollisionLimit(world) : -1;
+        List<Entity> list = this.entityGrid.getEntitiesInAABBexcluding(entityIn, boundingBox, predicate, limit);
+        if (list != null) {
+            EntityCollisionHelper.callCollideEntityEvent(world, entityIn, list);
+            cir.setReturnValue(list);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Inject(method = "getEntitiesWithinAABB(Ljava/lang/Class;Lnet/minecraft/util/AxisAlignedBB;Lcom/google/common/base/Predicate;)Ljava/util/List;",
+            at = @At("HEAD"), cancellable = true)
+    public <T extends Entity> void onGetEntitiesWithinAABB(Class<? extends T> classEntity, AxisAlignedBB bb, Predicate<? super T> filter,
+            CallbackInfoReturnable<List<T>> cir) {
+        if (this.entityGrid == null) {
+            return;
+        }
+
+        World world = (World) (Object) this;
+        int limit = EntityCollisionHelper.isLimited(classEntity) ? EntityCollisionHelper.getCollisionLimit(world) : -1;
+        List<T> list = this.entityGrid.getEntitiesWithinAABB(classEntity, bb, filter, limit);
+        if (list != null) {
+            EntityCollisionHelper.callCollideEntityEvent(world, null, (List<Entity>) list);
+            cir.setReturnValue(list);
+        }
+    }
+
+}
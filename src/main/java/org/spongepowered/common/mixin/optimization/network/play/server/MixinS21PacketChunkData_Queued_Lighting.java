@@ -0,0 +1,53 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.optimization.network.play.server;
+
+import net.minecraft.network.play.server.S21PacketChunkData;
+import net.minecraft.world.chunk.Chunk;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+import org.spongepowered.common.mixin.plugin.optimization.interfaces.IMixinChunk_Lighting;
+
+@Mixin(S21PacketChunkData.class)
+public abstract class MixinS21PacketChunkData_Queued_Lighting {
+
+    /**
+     * Relights a chunk before its data is copied into a chunk packet, used
+     * by both single and bulk chunk packets.
+     *
+     * @param chunk The chunk
+     * @param fullChunk Whether the whole chunk is sent
+     * @param hasSky Whether sky light is sent
+     * @param sectionMask The sections to send
+     * @param cir The callback info
+     */
+    @Inject(method = "func_179756_a", at = @At("HEAD"))
+    private static void onExtractChunkData(Chunk chunk, boolean fullChunk, boolean hasSky, int sectionMask,
+            CallbackInfoReturnable<S21PacketChunkData.Extracted> cir) {
+        ((IMixinChunk_Lighting) chunk).flushQueuedLightUpdates();
+    }
+}
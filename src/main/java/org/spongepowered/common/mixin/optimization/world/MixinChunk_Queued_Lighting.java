@@ -0,0 +1,111 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.optimization.world;
+
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.mixin.plugin.optimization.QueuedLightUpdates;
+import org.spongepowered.common.mixin.plugin.optimization.interfaces.IMixinChunk_Lighting;
+import org.spongepowered.common.mixin.plugin.optimization.interfaces.IMixinWorld_Lighting;
+
+import javax.annotation.Nullable;
+
+@Mixin(Chunk.class)
+public abstract class MixinChunk_Queued_Lighting implements IMixinChunk_Lighting {
+
+    @Shadow @Final private World worldObj;
+    @Shadow @Final public int xPosition;
+    @Shadow @Final public int zPosition;
+
+    @Shadow public abstract void setLightPopulated(boolean lightPopulated);
+
+    @Nullable private QueuedLightUpdates queuedLightUpdates;
+
+    @Override
+    public void queueLightUpdate(BlockPos pos) {
+        if (this.queuedLightUpdates == null) {
+            this.queuedLightUpdates = new QueuedLightUpdates();
+        }
+        final boolean wasEmpty = this.queuedLightUpdates.isEmpty();
+        if (this.queuedLightUpdates.add(pos) && wasEmpty) {
+            ((IMixinWorld_Lighting) this.worldObj).addQueuedLightChunk((Chunk) (Object) this);
+        }
+    }
+
+    @Override
+    public boolean hasQueuedLightUpdates() {
+        return this.queuedLightUpdates != null && !this.queuedLightUpdates.isEmpty();
+    }
+
+    @Override
+    public void flushQueuedLightUpdates() {
+        final QueuedLightUpdates updates = this.queuedLightUpdates;
+        // Light checks read and write neighbouring chunks through the world, never run them off the main thread
+        if (updates == null || updates.isEmpty() || !MinecraftServer.getServer().isCallingFromMinecraftThread()) {
+            return;
+        }
+        // Detach the queue first, checking light may read this chunk again
+        this.queuedLightUpdates = null;
+        final IMixinWorld_Lighting world = (IMixinWorld_Lighting) this.worldObj;
+        final boolean wasFlushing = world.isFlushingLight();
+        world.setFlushingLight(true);
+        try {
+            updates.drain(this.worldObj, this.xPosition, this.zPosition);
+        } finally {
+            world.setFlushingLight(wasFlushing);
+        }
+        if (!updates.isEmpty()) {
+            // Nothing is queued while flushing, keep the positions whose neighbours aren't loaded yet
+            this.queuedLightUpdates = updates;
+        }
+    }
+
+    /**
+     * Relights the chunk before it is unloaded. Positions which still can't
+     * be checked because their neighbours are unloaded make the whole chunk
+     * relight once it is loaded again.
+     *
+     * @param ci The callback info
+     */
+    @Inject(method = "onChunkUnload", at = @At("HEAD"))
+    private void onChunkUnloadFlushLight(CallbackInfo ci) {
+        if (this.queuedLightUpdates == null) {
+            return;
+        }
+        this.flushQueuedLightUpdates();
+        if (this.hasQueuedLightUpdates()) {
+            this.queuedLightUpdates = null;
+            this.setLightPopulated(false);
+        }
+    }
+}
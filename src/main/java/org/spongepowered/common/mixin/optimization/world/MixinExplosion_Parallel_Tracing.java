@@ -0,0 +1,130 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.optimization.world;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.item.EntityTNTPrimed;
+import net.minecraft.entity.monster.EntityCreeper;
+import net.minecraft.entity.projectile.EntityLargeFireball;
+import net.minecraft.util.BlockPos;
+import net.minecraft.world.Explosion;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.mixin.plugin.optimization.ExplosionTracer;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+import javax.annotation.Nullable;
+
+@Mixin(Explosion.class)
+public abstract class MixinExplosion_Parallel_Tracing {
+
+    @Shadow public World worldObj;
+    @Shadow public double explosionX;
+    @Shadow public double explosionY;
+    @Shadow public double explosionZ;
+    @Shadow public Entity exploder;
+    @Shadow public float explosionSize;
+
+    @Nullable private ExplosionTracer tracer;
+    @Nullable private float[] rayStrengths;
+    private int rayIndex;
+
+    /**
+     * Prepares tracing the explosion rays on the explosion tracing pool
+     * instead of one by one. Only explosions of exploders using the default
+     * explosion resistance and verification are traced in parallel, since
+     * those are the only hooks vanilla calls while tracing.
+     *
+     * @param ci The callback info
+     */
+    @Inject(method = "doExplosionA", at = @At("HEAD"))
+    private void onDoExplosionA(CallbackInfo ci) {
+        this.tracer = null;
+        if (ci.isCancelled() || this.worldObj.isRemote || !((org.spongepowered.api.world.explosion.Explosion) this).shouldBreakBlocks()
+                || !canTraceInParallel(this.exploder)) {
+            return;
+        }
+        this.tracer = ExplosionTracer.create((WorldServer) this.worldObj, this.explosionX, this.explosionY,
+                this.explosionZ, this.explosionSize, this.exploder);
+        if (this.tracer != null) {
+            this.rayStrengths = new float[ExplosionTracer.RAYS];
+            this.rayIndex = 0;
+        }
+    }
+
+    /**
+     * Records the random strength vanilla draws for each ray, in vanilla
+     * order to keep the world random in step. The returned strength makes
+     * the ray too weak to take a single step, so the serial ray loop only
+     * draws the strengths.
+     */
+    @Redirect(method = "doExplosionA", at = @At(value = "INVOKE", target = "Ljava/util/Random;nextFloat()F"))
+    private float onNextRayStrength(Random random) {
+        final float strength = random.nextFloat();
+        if (this.tracer == null || this.rayIndex >= ExplosionTracer.RAYS) {
+            return strength;
+        }
+        this.rayStrengths[this.rayIndex++] = strength;
+        return -2.0F;
+    }
+
+    /**
+     * Adds the blocks traced in parallel instead of the empty set left by the
+     * serial ray loop. The entity handling after it runs unchanged.
+     */
+    @Redirect(method = "doExplosionA", at = @At(value = "INVOKE", target = "Ljava/util/List;addAll(Ljava/util/Collection;)Z"))
+    private boolean onAddAffectedBlocks(List<BlockPos> affectedBlocks, Collection<BlockPos> tracedBlocks) {
+        final ExplosionTracer tracer = this.tracer;
+        if (tracer == null) {
+            return affectedBlocks.addAll(tracedBlocks);
+        }
+        final float[] strengths = this.rayStrengths;
+        this.tracer = null;
+        this.rayStrengths = null;
+        if (this.rayIndex != ExplosionTracer.RAYS) {
+            // Another mixin changed the ray loop, the traced set can't be trusted
+            throw new IllegalStateException("Expected " + ExplosionTracer.RAYS + " explosion rays but got " + this.rayIndex);
+        }
+        return affectedBlocks.addAll(tracer.trace(strengths));
+    }
+
+    private static boolean canTraceInParallel(Entity exploder) {
+        if (exploder == null) {
+            return true;
+        }
+        final Class<?> type = exploder.getClass();
+        return type == EntityTNTPrimed.class || type == EntityCreeper.class || type == EntityLargeFireball.class;
+    }
+
+}
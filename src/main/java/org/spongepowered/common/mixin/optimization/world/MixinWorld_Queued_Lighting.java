@@ -0,0 +1,111 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.optimization.world;
+
+import net.minecraft.util.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.common.mixin.plugin.optimization.interfaces.IMixinChunk_Lighting;
+import org.spongepowered.common.mixin.plugin.optimization.interfaces.IMixinWorld_Lighting;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+// Applied after MixinWorld so the redirect targets its setBlockState overwrite
+@Mixin(value = World.class, priority = 1001)
+public abstract class MixinWorld_Queued_Lighting implements IMixinWorld_Lighting {
+
+    @Shadow @Final public boolean isRemote;
+
+    @Shadow public abstract boolean checkLight(BlockPos pos);
+    @Shadow public abstract Chunk getChunkFromBlockCoords(BlockPos pos);
+
+    private final Deque<Chunk> queuedLightChunks = new ArrayDeque<>();
+    private boolean flushingLight;
+
+    /**
+     * Queues the light check of a changed block on its chunk instead of
+     * running it right away. The queue is processed at the start of the
+     * chunk map update of the next world tick, and a chunk is always
+     * flushed before it is sent, saved or unloaded.
+     *
+     * @param world The world
+     * @param pos The changed position
+     * @return True, the light is checked later
+     */
+    @Redirect(method = "setBlockState(Lnet/minecraft/util/BlockPos;Lnet/minecraft/block/state/IBlockState;I)Z",
+            at = @At(value = "INVOKE", target = "Lnet/minecraft/world/World;checkLight(Lnet/minecraft/util/BlockPos;)Z"))
+    private boolean onCheckLight(World world, BlockPos pos) {
+        if (this.isRemote || this.flushingLight) {
+            return this.checkLight(pos);
+        }
+        ((IMixinChunk_Lighting) this.getChunkFromBlockCoords(pos)).queueLightUpdate(pos);
+        return true;
+    }
+
+    @Override
+    public void addQueuedLightChunk(Chunk chunk) {
+        this.queuedLightChunks.add(chunk);
+    }
+
+    @Override
+    public boolean isFlushingLight() {
+        return this.flushingLight;
+    }
+
+    @Override
+    public void setFlushingLight(boolean flushing) {
+        this.flushingLight = flushing;
+    }
+
+    @Override
+    public void processQueuedLightUpdates(long budgetNanos) {
+        if (this.queuedLightChunks.isEmpty()) {
+            return;
+        }
+        final long deadline = System.nanoTime() + budgetNanos;
+        final List<Chunk> waiting = new ArrayList<>();
+        Chunk chunk;
+        while ((chunk = this.queuedLightChunks.poll()) != null) {
+            final IMixinChunk_Lighting lightingChunk = (IMixinChunk_Lighting) chunk;
+            lightingChunk.flushQueuedLightUpdates();
+            if (lightingChunk.hasQueuedLightUpdates()) {
+                // Some neighbours aren't loaded, try again next tick
+                waiting.add(chunk);
+            }
+            if (System.nanoTime() >= deadline) {
+                break;
+            }
+        }
+        this.queuedLightChunks.addAll(waiting);
+    }
+}
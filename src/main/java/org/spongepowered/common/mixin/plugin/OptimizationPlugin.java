@@ -82,10 +82,24 @@ public void postApply(String targetClassName, ClassNode targetClass, String mixi
                     OptimizationCategory::useIgnoreUloadedChunkLightingPatch)
             .put("org.spongepowered.common.mixin.optimization.world.MixinWorldServer_Lighting",
                     OptimizationCategory::useIgnoreUloadedChunkLightingPatch)
+            .put("org.spongepowered.common.mixin.optimization.world.MixinWorld_Queued_Lighting",
+                    OptimizationCategory::useQueuedLighting)
+            .put("org.spongepowered.common.mixin.optimization.world.MixinWorldServer_Queued_Lighting",
+                    OptimizationCategory::useQueuedLighting)
+            .put("org.spongepowered.common.mixin.optimization.world.MixinChunk_Queued_Lighting",
+                    OptimizationCategory::useQueuedLighting)
+            .put("org.spongepowered.common.mixin.optimization.world.gen.MixinChunkProviderServer_Queued_Lighting",
+                    OptimizationCategory::useQueuedLighting)
+            .put("org.spongepowered.common.mixin.optimization.network.play.server.MixinS21PacketChunkData_Queued_Lighting",
+                    OptimizationCategory::useQueuedLighting)
+            .put("org.spongepowered.common.mixin.optimization.world.MixinExplosion_Parallel_Tracing",
+                    OptimizationCategory::useParallelExplosionTracing)
             .put("org.spongepowered.common.mixin.optimization.world.gen.MixinChunkProviderServer_Chunk_Cache",
-                    OptimizationCategory::isUseCachedChunkMap)
+                    OptimizationCategory::isUseLegacyCachedChunkMap)
             .put("org.spongepowered.common.mixin.optimization.world.MixinChunk_Chunk_Cache",
-                    OptimizationCategory::isUseCachedChunkMap)
+                    OptimizationCategory::isUseLegacyCachedChunkMap)
+            .put("org.spongepowered.common.mixin.optimization.world.gen.MixinChunkProviderServer_Open_Chunk_Map",
+                    OptimizationCategory::isUseOpenAddressingChunkMap)
             .build();
 
 }
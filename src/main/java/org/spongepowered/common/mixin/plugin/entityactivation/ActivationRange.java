@@ -26,7 +26,10 @@
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import co.aikar.timings.Timing;
 import com.google.common.collect.ImmutableMap;
+import gnu.trove.set.TLongSet;
+import gnu.trove.set.hash.TLongHashSet;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityCreature;
 import net.minecraft.entity.EntityLivingBase;
@@ -53,7 +56,9 @@
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.util.AxisAlignedBB;
 import net.minecraft.util.BlockPos;
+import net.minecraft.util.ClassInheritanceMultiMap;
 import net.minecraft.util.MathHelper;
+import net.minecraft.world.ChunkCoordIntPair;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.Chunk;
@@ -67,7 +72,9 @@
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
 import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.IModData_Activation;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class ActivationRange {
@@ -80,12 +87,10 @@ public class ActivationRange {
             .put((byte) 5, "misc")
             .build();
 
-    static AxisAlignedBB maxBB = AxisAlignedBB.fromBounds(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB miscBB = AxisAlignedBB.fromBounds(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB creatureBB = AxisAlignedBB.fromBounds(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB monsterBB = AxisAlignedBB.fromBounds(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB aquaticBB = AxisAlignedBB.fromBounds(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB ambientBB = AxisAlignedBB.fromBounds(0, 0, 0, 0, 0, 0);
+    // Reused by every activation pass, which only runs on the main thread
+    private static final List<ActivationArea> areas = new ArrayList<>();
+    private static final List<ActivationArea> chunkAreas = new ArrayList<>();
+    private static final TLongSet visitedChunks = new TLongHashSet();
     @SuppressWarnings("serial") static Map<Byte, Integer> maxActivationRanges = new HashMap<Byte, Integer>() {
 
         {
@@ -216,117 +221,224 @@ public static void growBb(AxisAlignedBB target, AxisAlignedBB source, int x, int
      * Find what entities are in range of the players in the world and set
      * active if in range.
      *
+     * <p>Players standing close to each other are merged into a single
+     * activation area, and every chunk in range of any area is visited
+     * only once per pass.</p>
+     *
      * @param world The world to perform activation checks in
      */
     public static void activateEntities(World world) {
-        for (EntityPlayer player : world.playerEntities) {
+        SpongeConfig<?> config = ((IMixinWorld) world).getActiveConfig();
+        if (config == null) {
+            return;
+        }
+
+        long currentTick = world.getWorldInfo().getWorldTotalTime();
+        int interval = Math.max(1, config.getConfig().getEntityActivationRange().getActivationInterval());
+        if (currentTick % interval != 0) {
+            return;
+        }
+        // Entities found in range stay active until the next pass
+        long activeUntil = currentTick + interval - 1;
 
+        Timing timing = ((IMixinWorld) world).getTimingsHandler().entityActivation;
+        timing.startTiming();
+        try {
             int maxRange = 0;
             for (Integer range : maxActivationRanges.values()) {
                 if (range > maxRange) {
                     maxRange = range;
                 }
             }
-
             maxRange = Math.min((MinecraftServer.getServer().getConfigurationManager().getViewDistance() << 4) - 8, maxRange);
-            ((IModData_Activation) player).setActivatedTick(world.getWorldInfo().getWorldTotalTime());
-            growBb(maxBB, player.getEntityBoundingBox(), maxRange, 256, maxRange);
-
-            int i = MathHelper.floor_double(maxBB.minX / 16.0D);
-            int j = MathHelper.floor_double(maxBB.maxX / 16.0D);
-            int k = MathHelper.floor_double(maxBB.minZ / 16.0D);
-            int l = MathHelper.floor_double(maxBB.maxZ / 16.0D);
-
-            for (int i1 = i; i1 <= j; ++i1) {
-                for (int j1 = k; j1 <= l; ++j1) {
-                    WorldServer worldserver = (WorldServer) world;
-                    IMixinChunkProviderServer chunkProvider = (IMixinChunkProviderServer) worldserver.theChunkProviderServer;
-                    Chunk chunk = chunkProvider.getChunkIfLoaded(i1, j1);
-                    if (chunk != null) {
-                        activateChunkEntities(player, chunk);
+
+            for (EntityPlayer player : world.playerEntities) {
+                ((IModData_Activation) player).setActivatedTick(activeUntil);
+                AxisAlignedBB bb = player.getEntityBoundingBox();
+                boolean merged = false;
+                for (ActivationArea area : areas) {
+                    if (area.tryMerge(bb)) {
+                        merged = true;
+                        break;
+                    }
+                }
+                if (!merged) {
+                    areas.add(new ActivationArea(bb));
+                }
+            }
+
+            IMixinChunkProviderServer chunkProvider = (IMixinChunkProviderServer) ((WorldServer) world).theChunkProviderServer;
+            for (ActivationArea area : areas) {
+                int minChunkX = MathHelper.floor_double((area.minX - maxRange) / 16.0D);
+                int maxChunkX = MathHelper.floor_double((area.maxX + maxRange) / 16.0D);
+                int minChunkZ = MathHelper.floor_double((area.minZ - maxRange) / 16.0D);
+                int maxChunkZ = MathHelper.floor_double((area.maxZ + maxRange) / 16.0D);
+
+                for (int chunkX = minChunkX; chunkX <= maxChunkX; ++chunkX) {
+                    for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; ++chunkZ) {
+                        if (!visitedChunks.add(ChunkCoordIntPair.chunkXZ2Int(chunkX, chunkZ))) {
+                            continue;
+                        }
+                        Chunk chunk = chunkProvider.getChunkIfLoaded(chunkX, chunkZ);
+                        if (chunk == null) {
+                            continue;
+                        }
+                        for (ActivationArea other : areas) {
+                            if (other.reachesChunk(chunkX, chunkZ, maxRange)) {
+                                chunkAreas.add(other);
+                            }
+                        }
+                        activateChunkEntities(chunk, currentTick, activeUntil);
+                        chunkAreas.clear();
                     }
                 }
             }
+        } finally {
+            areas.clear();
+            visitedChunks.clear();
+            chunkAreas.clear();
+            timing.stopTiming();
         }
     }
 
     /**
-     * Checks for the activation state of all entities in this chunk.
+     * Checks for the activation state of all entities in this chunk against
+     * the areas in {@link #chunkAreas}.
      *
      * @param chunk Chunk to check for activation
+     * @param currentTick The current world tick
+     * @param activeUntil The tick entities in range are active until
      */
-    private static void activateChunkEntities(EntityPlayer player, Chunk chunk) {
-        for (int i = 0; i < chunk.getEntityLists().length; ++i) {
+    private static void activateChunkEntities(Chunk chunk, long currentTick, long activeUntil) {
+        double chunkMinX = chunk.xPosition << 4;
+        double chunkMinZ = chunk.zPosition << 4;
+        ClassInheritanceMultiMap[] entityLists = chunk.getEntityLists();
+
+        for (int i = 0; i < entityLists.length; ++i) {
+            if (entityLists[i].isEmpty()) {
+                continue;
+            }
+
+            // Entities with at least this range are in range of an area
+            // anywhere in this section, so they don't need their own test
+            int coveringRange = Integer.MAX_VALUE;
+            // The lowest and highest sections also hold entities outside the world height
+            if (i > 0 && i < entityLists.length - 1) {
+                for (ActivationArea area : chunkAreas) {
+                    coveringRange = Math.min(coveringRange, area.getCoveringRange(chunkMinX, i << 4, chunkMinZ));
+                }
+            }
 
-            for (Object o : chunk.getEntityLists()[i]) {
+            for (Object o : entityLists[i]) {
                 Entity entity = (Entity) o;
-                SpongeConfig<?> config = ((IMixinWorld) entity.worldObj).getActiveConfig();
                 SpongeEntityType type = (SpongeEntityType) ((org.spongepowered.api.entity.Entity) entity).getType();
-                if (config == null || type == null) {
+                if (type == null) {
                     continue;
                 }
 
-                long currentTick = entity.worldObj.getWorldInfo().getWorldTotalTime();
-                if (currentTick > ((IModData_Activation) entity).getActivatedTick()) {
-                    if (((IModData_Activation) entity).getDefaultActivationState()) {
-                        ((IModData_Activation) entity).setActivatedTick(currentTick);
+                IModData_Activation spongeEntity = (IModData_Activation) entity;
+                if (currentTick > spongeEntity.getActivatedTick()) {
+                    if (spongeEntity.getDefaultActivationState()) {
+                        spongeEntity.setActivatedTick(activeUntil);
                         continue;
                     }
 
-                    IModData_Activation spongeEntity = (IModData_Activation) entity;
                     // check if activation cache needs to be updated
                     if (spongeEntity.requiresCacheRefresh()) {
                         ActivationRange.initializeEntityActivationState(entity);
                         spongeEntity.requiresCacheRefresh(false);
                     }
-                    // check for entity type overrides
-                    byte activationType = ((IModData_Activation) entity).getActivationType();
-                    int bbActivationRange = ((IModData_Activation) entity).getActivationRange();
-
-                    if (activationType == 5) {
-                        growBb(miscBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else if (activationType == 4) {
-                        growBb(ambientBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else if (activationType == 3) {
-                        growBb(aquaticBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else if (activationType == 2) {
-                        growBb(creatureBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else {
-                        growBb(monsterBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    }
 
-                    switch (((IModData_Activation) entity).getActivationType()) {
-                        case 1:
-                            if (monsterBB.intersectsWith(entity.getEntityBoundingBox())) {
-                                ((IModData_Activation) entity).setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 2:
-                            if (creatureBB.intersectsWith(entity.getEntityBoundingBox())) {
-                                ((IModData_Activation) entity).setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 3:
-                            if (aquaticBB.intersectsWith(entity.getEntityBoundingBox())) {
-                                ((IModData_Activation) entity).setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 4:
-                            if (ambientBB.intersectsWith(entity.getEntityBoundingBox())) {
-                                ((IModData_Activation) entity).setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 5:
-                        default:
-                            if (miscBB.intersectsWith(entity.getEntityBoundingBox())) {
-                                ((IModData_Activation) entity).setActivatedTick(currentTick);
-                            }
+                    int activationRange = spongeEntity.getActivationRange();
+                    if (activationRange >= coveringRange || isInRange(entity.getEntityBoundingBox(), activationRange)) {
+                        spongeEntity.setActivatedTick(activeUntil);
                     }
                 }
             }
         }
     }
 
+    private static boolean isInRange(AxisAlignedBB bb, int activationRange) {
+        for (ActivationArea area : chunkAreas) {
+            if (area.intersects(bb, activationRange)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The bounding box of one or more players which are close enough to each
+     * other to share their activation checks.
+     */
+    private static final class ActivationArea {
+
+        // Merging may activate entities up to this far outside of the real
+        // range of the players, which is an acceptable trade for checking
+        // clustered players only once
+        private static final double MAX_EXTENT = 8.0D;
+
+        double minX;
+        double minY;
+        double minZ;
+        double maxX;
+        double maxY;
+        double maxZ;
+
+        ActivationArea(AxisAlignedBB bb) {
+            this.minX = bb.minX;
+            this.minY = bb.minY;
+            this.minZ = bb.minZ;
+            this.maxX = bb.maxX;
+            this.maxY = bb.maxY;
+            this.maxZ = bb.maxZ;
+        }
+
+        boolean tryMerge(AxisAlignedBB bb) {
+            double minX = Math.min(this.minX, bb.minX);
+            double minY = Math.min(this.minY, bb.minY);
+            double minZ = Math.min(this.minZ, bb.minZ);
+            double maxX = Math.max(this.maxX, bb.maxX);
+            double maxY = Math.max(this.maxY, bb.maxY);
+            double maxZ = Math.max(this.maxZ, bb.maxZ);
+            if (maxX - minX > MAX_EXTENT || maxY - minY > MAX_EXTENT || maxZ - minZ > MAX_EXTENT) {
+                return false;
+            }
+            this.minX = minX;
+            this.minY = minY;
+            this.minZ = minZ;
+            this.maxX = maxX;
+            this.maxY = maxY;
+            this.maxZ = maxZ;
+            return true;
+        }
+
+        boolean reachesChunk(int chunkX, int chunkZ, int range) {
+            return MathHelper.floor_double((this.minX - range) / 16.0D) <= chunkX && MathHelper.floor_double((this.maxX + range) / 16.0D) >= chunkX
+                    && MathHelper.floor_double((this.minZ - range) / 16.0D) <= chunkZ && MathHelper.floor_double((this.maxZ + range) / 16.0D) >= chunkZ;
+        }
+
+        /**
+         * Gets the smallest activation range with which this area reaches
+         * every entity standing in the given chunk section.
+         */
+        int getCoveringRange(double sectionMinX, double sectionMinY, double sectionMinZ) {
+            if (this.minY - 256 >= sectionMinY || this.maxY + 256 <= sectionMinY + 16) {
+                return Integer.MAX_VALUE;
+            }
+            double distance = Math.max(Math.max(this.minX - sectionMinX, sectionMinX + 16 - this.maxX),
+                    Math.max(this.minZ - sectionMinZ, sectionMinZ + 16 - this.maxZ));
+            return Math.max(0, MathHelper.floor_double(distance) + 1);
+        }
+
+        boolean intersects(AxisAlignedBB bb, int range) {
+            return bb.maxX > this.minX - range && bb.minX < this.maxX + range
+                    && bb.maxY > this.minY - 256 && bb.minY < this.maxY + 256
+                    && bb.maxZ > this.minZ - range && bb.minZ < this.maxZ + range;
+        }
+
+    }
+
     /**
      * If an entity is not in range, do some more checks to see if we should
      * give it a shot.
@@ -0,0 +1,172 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.plugin.entitycollisions;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.item.EntityItem;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.world.World;
+import org.spongepowered.api.block.BlockSnapshot;
+import org.spongepowered.api.block.BlockType;
+import org.spongepowered.api.event.entity.CollideEntityEvent;
+import org.spongepowered.common.config.SpongeConfig;
+import org.spongepowered.common.config.category.CollisionModCategory;
+import org.spongepowered.common.config.category.EntityCollisionCategory;
+import org.spongepowered.common.event.CauseTracker;
+import org.spongepowered.common.event.SpongeCommonEventFactory;
+import org.spongepowered.common.interfaces.world.IMixinWorld;
+import org.spongepowered.common.mixin.plugin.entitycollisions.interfaces.IModData_Collisions;
+
+import java.util.List;
+import java.util.Optional;
+
+import javax.annotation.Nullable;
+
+public final class EntityCollisionHelper {
+
+    private EntityCollisionHelper() {
+    }
+
+    /**
+     * Checks whether the entities collected for the given entity are capped
+     * by the collision limits.
+     *
+     * @param entity The entity looking for collisions
+     * @return Whether the collisions are limited
+     */
+    public static boolean isLimited(@Nullable Entity entity) {
+        // ignore players and entities with parts (ex. EnderDragon)
+        return entity != null && !(entity instanceof EntityPlayer) && entity.getParts() == null;
+    }
+
+    /**
+     * Checks whether the entities collected by their type are capped by the
+     * collision limits.
+     *
+     * @param entityClass The type of entities looked for
+     * @return Whether the collisions are limited
+     */
+    public static boolean isLimited(Class<? extends Entity> entityClass) {
+        // ignore player checks
+        // ignore item check (ex. Hoppers)
+        return !EntityPlayer.class.isAssignableFrom(entityClass) && EntityItem.class != entityClass;
+    }
+
+    /**
+     * Gets the maximum amount of entities the entity or block currently
+     * ticking in the world may collide with.
+     *
+     * @param world The world
+     * @return The collision limit, or -1 if there is none
+     */
+    public static int getCollisionLimit(World world) {
+        IMixinWorld spongeWorld = (IMixinWorld) world;
+        if (spongeWorld.isProcessingExplosion()) {
+            // allow explosions
+            return -1;
+        }
+
+        Optional<org.spongepowered.api.entity.Entity> tickEntity = spongeWorld.getCauseTracker().getCurrentTickEntity();
+        if (tickEntity.isPresent()) {
+            return Math.max(-1, ((IModData_Collisions) tickEntity.get()).getMaxCollisions());
+        }
+
+        Optional<BlockSnapshot> tickBlock = spongeWorld.getCauseTracker().getCurrentTickBlock();
+        if (tickBlock.isPresent()) {
+            BlockType blockType = tickBlock.get().getState().getType();
+            IModData_Collisions spongeBlock = (IModData_Collisions) blockType;
+            if (spongeBlock.requiresCacheRefresh()) {
+                initializeCollisionState(world, blockType);
+                spongeBlock.requiresCacheRefresh(false);
+            }
+            return Math.max(-1, spongeBlock.getMaxCollisions());
+        }
+        return -1;
+    }
+
+    /**
+     * Throws a {@link CollideEntityEvent} for the entities collected within
+     * a bounding box, clearing them if it is cancelled.
+     *
+     * @param world The world
+     * @param sourceEntity The entity looking for collisions, if any
+     * @param entities The collected entities
+     */
+    public static void callCollideEntityEvent(World world, @Nullable Entity sourceEntity, List<Entity> entities) {
+        final CauseTracker causeTracker = ((IMixinWorld) world).getCauseTracker();
+        if (world.isRemote || causeTracker.getCurrentCause() == null || causeTracker.isIgnoringCaptures() || entities.isEmpty()) {
+            return;
+        }
+
+        CollideEntityEvent event = SpongeCommonEventFactory.callCollideEntityEvent(world, sourceEntity, entities);
+        if (event != null && event.isCancelled()) {
+            entities.clear();
+        }
+    }
+
+    private static void initializeCollisionState(World world, BlockType type) {
+        SpongeConfig<?> activeConfig = ((IMixinWorld) world).getActiveConfig();
+        EntityCollisionCategory collisionCat = activeConfig.getConfig().getEntityCollisionCategory();
+        IModData_Collisions spongeBlock = (IModData_Collisions) type;
+        spongeBlock.setMaxCollisions(collisionCat.getMaxEntitiesWithinAABB());
+        String[] ids = type.getId().split(":");
+        String modId = ids[0];
+        String name = ids[1];
+        CollisionModCategory collisionMod = collisionCat.getModList().get(modId);
+        if (collisionMod == null && activeConfig.getConfig().getEntityCollisionCategory().autoPopulateData()) {
+            collisionMod = new CollisionModCategory(modId);
+            collisionCat.getModList().put(modId, collisionMod);
+            collisionMod.getBlockList().put(name, spongeBlock.getMaxCollisions());
+            if (activeConfig.getConfig().getEntityCollisionCategory().autoPopulateData()) {
+                activeConfig.save();
+            }
+
+            return;
+        } else if (collisionMod != null) {
+            // check mod overrides
+            Integer modCollisionMax = collisionMod.getDefaultMaxCollisions().get("blocks");
+            if (modCollisionMax != null) {
+                spongeBlock.setMaxCollisions(modCollisionMax);
+            }
+
+            Integer blockMaxCollision = collisionMod.getBlockList().get(name);
+            // entity overrides
+            if (blockMaxCollision == null && activeConfig.getConfig().getEntityCollisionCategory().autoPopulateData()) {
+                collisionMod.getBlockList().put(name, spongeBlock.getMaxCollisions());
+            } else if (blockMaxCollision != null) {
+                spongeBlock.setMaxCollisions(blockMaxCollision);
+            }
+        }
+
+        if (spongeBlock.getMaxCollisions() <= 0) {
+            return;
+        }
+
+        if (activeConfig.getConfig().getEntityCollisionCategory().autoPopulateData()) {
+            activeConfig.save();
+        }
+    }
+
+}
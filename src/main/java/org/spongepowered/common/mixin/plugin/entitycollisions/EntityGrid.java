@@ -0,0 +1,313 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.plugin.entitycollisions;
+
+import com.google.common.base.Predicate;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.AxisAlignedBB;
+import net.minecraft.util.MathHelper;
+import org.spongepowered.common.mixin.plugin.entitycollisions.interfaces.IMixinEntity_Collisions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+/**
+ * A uniform grid of all entities in a world, used to answer bounding box
+ * queries without scanning whole chunk sections.
+ *
+ * <p>Every entity is kept in the cell containing the minimum corner of its
+ * bounding box, and moved whenever its bounding box is set. Entities larger
+ * than {@link #MAX_EXTENT} in any direction are kept apart and checked by
+ * every query.</p>
+ */
+public final class EntityGrid {
+
+    private static final int CELL_SHIFT = 2;
+    private static final double MAX_EXTENT = 4.0D;
+    // Queries spanning more cells than this are cheaper to answer by scanning chunks
+    private static final int MAX_QUERY_CELLS = 512;
+
+    private static final int HORIZONTAL_BITS = 26;
+    private static final int VERTICAL_BITS = 10;
+    private static final int HORIZONTAL_LIMIT = 1 << (HORIZONTAL_BITS - 1);
+    private static final int VERTICAL_LIMIT = 1 << (VERTICAL_BITS - 1);
+    // Unreachable by packed cell coordinates, which only use the lower 62 bits
+    private static final long OVERSIZED_KEY = Long.MIN_VALUE;
+
+    private final TLongObjectMap<Cell> cells = new TLongObjectHashMap<>();
+    private final Cell oversized = new Cell(this, OVERSIZED_KEY);
+
+    /**
+     * Adds the entity to this grid, removing it from any grid it was in
+     * before.
+     *
+     * @param entity The entity to add
+     */
+    public void add(Entity entity) {
+        Cell current = ((IMixinEntity_Collisions) entity).getGridCell();
+        if (current != null) {
+            current.grid.remove(current, entity);
+        }
+        this.getCell(getKey(entity.getEntityBoundingBox())).add(entity);
+    }
+
+    /**
+     * Removes the entity from this grid.
+     *
+     * @param entity The entity to remove
+     */
+    public void remove(Entity entity) {
+        Cell current = ((IMixinEntity_Collisions) entity).getGridCell();
+        if (current != null && current.grid == this) {
+            this.remove(current, entity);
+        }
+    }
+
+    /**
+     * Moves the entity to the cell matching its current bounding box, if it
+     * is part of a grid.
+     *
+     * @param entity The entity which bounding box changed
+     */
+    public static void update(Entity entity) {
+        Cell current = ((IMixinEntity_Collisions) entity).getGridCell();
+        if (current == null) {
+            return;
+        }
+        long key = getKey(entity.getEntityBoundingBox());
+        if (key != current.key) {
+            EntityGrid grid = current.grid;
+            grid.remove(current, entity);
+            grid.getCell(key).add(entity);
+        }
+    }
+
+    /**
+     * Gets the entities intersecting the bounding box, along with their
+     * intersecting parts, the same way
+     * {@link net.minecraft.world.World#getEntitiesInAABBexcluding} does.
+     *
+     * @param except The entity to exclude, if any
+     * @param aabb The bounding box
+     * @param predicate The predicate entities have to match, if any
+     * @param limit The maximum amount of entities to collect, or -1
+     * @return The entities, or null if the query is too large for the grid
+     */
+    @Nullable
+    public List<Entity> getEntitiesInAABBexcluding(@Nullable Entity except, AxisAlignedBB aabb, @Nullable Predicate<? super Entity> predicate,
+            int limit) {
+        return this.collect(except, null, aabb, predicate, true, limit);
+    }
+
+    /**
+     * Gets the entities of the given type intersecting the bounding box,
+     * the same way {@link net.minecraft.world.World#getEntitiesWithinAABB}
+     * does.
+     *
+     * @param entityClass The type of entities
+     * @param aabb The bounding box
+     * @param predicate The predicate entities have to match, if any
+     * @param limit The maximum amount of entities to collect, or -1
+     * @param <T> The type of entities
+     * @return The entities, or null if the query is too large for the grid
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    public <T extends Entity> List<T> getEntitiesWithinAABB(Class<? extends T> entityClass, AxisAlignedBB aabb,
+            @Nullable Predicate<? super T> predicate, int limit) {
+        return (List<T>) this.collect(null, entityClass, aabb, (Predicate<? super Entity>) predicate, false, limit);
+    }
+
+    /**
+     * Gets the amount of entities in this grid.
+     *
+     * @return The entity count
+     */
+    public int size() {
+        int size = this.oversized.size;
+        for (Cell cell : this.cells.valueCollection()) {
+            size += cell.size;
+        }
+        return size;
+    }
+
+    @Nullable
+    private List<Entity> collect(@Nullable Entity except, @Nullable Class<?> entityClass, AxisAlignedBB aabb,
+            @Nullable Predicate<? super Entity> predicate, boolean includeParts, int limit) {
+        // Entities are keyed by their minimum corner, so look that far back
+        int minX = getHorizontal(aabb.minX - MAX_EXTENT);
+        int minY = getVertical(aabb.minY - MAX_EXTENT);
+        int minZ = getHorizontal(aabb.minZ - MAX_EXTENT);
+        int maxX = getHorizontal(aabb.maxX);
+        int maxY = getVertical(aabb.maxY);
+        int maxZ = getHorizontal(aabb.maxZ);
+        if ((long) (maxX - minX + 1) * (maxY - minY + 1) * (maxZ - minZ + 1) > MAX_QUERY_CELLS) {
+            return null;
+        }
+
+        List<Entity> list = new ArrayList<>();
+        if (!this.collect(this.oversized, except, entityClass, aabb, predicate, includeParts, limit, list)) {
+            return list;
+        }
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                for (int y = minY; y <= maxY; y++) {
+                    Cell cell = this.cells.get(pack(x, y, z));
+                    if (cell != null && !this.collect(cell, except, entityClass, aabb, predicate, includeParts, limit, list)) {
+                        return list;
+                    }
+                }
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Collects the matching entities of a cell.
+     *
+     * @return False if the limit was reached
+     */
+    private boolean collect(Cell cell, @Nullable Entity except, @Nullable Class<?> entityClass, AxisAlignedBB aabb,
+            @Nullable Predicate<? super Entity> predicate, boolean includeParts, int limit, List<Entity> list) {
+        for (int i = 0; i < cell.size; i++) {
+            Entity entity = cell.entities[i];
+            // Only entities stored in a chunk are found by a chunk scan
+            if (entity == except || !entity.addedToChunk || (entityClass != null && !entityClass.isInstance(entity))
+                    || !entity.getEntityBoundingBox().intersectsWith(aabb)) {
+                continue;
+            }
+            if (predicate == null || predicate.apply(entity)) {
+                if (limit >= 0 && list.size() >= limit) {
+                    return false;
+                }
+                list.add(entity);
+            }
+            if (includeParts) {
+                Entity[] parts = entity.getParts();
+                if (parts != null) {
+                    for (Entity part : parts) {
+                        if (part != except && part.getEntityBoundingBox().intersectsWith(aabb) && (predicate == null || predicate.apply(part))) {
+                            if (limit >= 0 && list.size() >= limit) {
+                                return false;
+                            }
+                            list.add(part);
+                        }
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private Cell getCell(long key) {
+        if (key == OVERSIZED_KEY) {
+            return this.oversized;
+        }
+        Cell cell = this.cells.get(key);
+        if (cell == null) {
+            cell = new Cell(this, key);
+            this.cells.put(key, cell);
+        }
+        return cell;
+    }
+
+    private void remove(Cell cell, Entity entity) {
+        cell.remove(entity);
+        if (cell.size == 0 && cell != this.oversized) {
+            this.cells.remove(cell.key);
+        }
+    }
+
+    private static long getKey(AxisAlignedBB bb) {
+        if (bb.maxX - bb.minX > MAX_EXTENT || bb.maxY - bb.minY > MAX_EXTENT || bb.maxZ - bb.minZ > MAX_EXTENT) {
+            return OVERSIZED_KEY;
+        }
+        return pack(getHorizontal(bb.minX), getVertical(bb.minY), getHorizontal(bb.minZ));
+    }
+
+    // Cell coordinates are clamped, the outermost cells hold everything beyond them
+
+    private static int getHorizontal(double coordinate) {
+        return MathHelper.clamp_int(MathHelper.floor_double(coordinate) >> CELL_SHIFT, -HORIZONTAL_LIMIT, HORIZONTAL_LIMIT - 1);
+    }
+
+    private static int getVertical(double coordinate) {
+        return MathHelper.clamp_int(MathHelper.floor_double(coordinate) >> CELL_SHIFT, -VERTICAL_LIMIT, VERTICAL_LIMIT - 1);
+    }
+
+    private static long pack(int x, int y, int z) {
+        return ((long) (x & ((1 << HORIZONTAL_BITS) - 1)) << (HORIZONTAL_BITS + VERTICAL_BITS))
+                | ((long) (y & ((1 << VERTICAL_BITS) - 1)) << HORIZONTAL_BITS)
+                | (z & ((1 << HORIZONTAL_BITS) - 1));
+    }
+
+    /**
+     * A single cell of the grid. Entities know their cell and their index
+     * within it, so they can be removed in constant time.
+     */
+    public static final class Cell {
+
+        final EntityGrid grid;
+        final long key;
+        Entity[] entities = new Entity[4];
+        int size;
+
+        Cell(EntityGrid grid, long key) {
+            this.grid = grid;
+            this.key = key;
+        }
+
+        void add(Entity entity) {
+            if (this.size == this.entities.length) {
+                this.entities = Arrays.copyOf(this.entities, this.size * 2);
+            }
+            IMixinEntity_Collisions gridEntity = (IMixinEntity_Collisions) entity;
+            gridEntity.setGridCell(this);
+            gridEntity.setGridIndex(this.size);
+            this.entities[this.size++] = entity;
+        }
+
+        void remove(Entity entity) {
+            IMixinEntity_Collisions gridEntity = (IMixinEntity_Collisions) entity;
+            int index = gridEntity.getGridIndex();
+            if (index >= this.size || this.entities[index] != entity) {
+                return;
+            }
+            // Fill the gap with the last entity of the cell
+            Entity last = this.entities[--this.size];
+            this.entities[index] = last;
+            ((IMixinEntity_Collisions) last).setGridIndex(index);
+            this.entities[this.size] = null;
+            gridEntity.setGridCell(null);
+        }
+
+    }
+
+}
@@ -0,0 +1,281 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.plugin.optimization;
+
+import com.google.common.collect.Sets;
+import net.minecraft.block.Block;
+import net.minecraft.block.material.Material;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.BlockPos;
+import net.minecraft.util.MathHelper;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
+
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+import javax.annotation.Nullable;
+
+/**
+ * Traces the rays of an explosion in parallel against a read-only view of
+ * the block storage around the explosion.
+ *
+ * <p>The rays, their random strengths and their steps are the same as in
+ * vanilla, and the traced positions are merged in ray order, so the
+ * affected blocks are identical to a serial trace.</p>
+ *
+ * <p>The view references the live block storage of the loaded chunks,
+ * which stays unchanged because the main thread waits for the trace to
+ * finish. Rays are traced on a small pool of their own, so explosions
+ * neither compete with nor wait behind other users of the common pool.</p>
+ */
+public final class ExplosionTracer {
+
+    public static final int RAYS = 1352;
+
+    private static final int RAYS_PER_TASK = 64;
+    private static final float STEP_DECAY = 0.22500001F;
+    private static final double STEP_LENGTH = 0.30000001192092896D;
+    private static final IBlockState AIR = Blocks.air.getDefaultState();
+    private static final double[] DIRECTIONS = new double[RAYS * 3];
+
+    @Nullable private static ForkJoinPool pool;
+
+    static {
+        int ray = 0;
+        for (int j = 0; j < 16; ++j) {
+            for (int k = 0; k < 16; ++k) {
+                for (int l = 0; l < 16; ++l) {
+                    if (j == 0 || j == 15 || k == 0 || k == 15 || l == 0 || l == 15) {
+                        double d0 = (double) ((float) j / 15.0F * 2.0F - 1.0F);
+                        double d1 = (double) ((float) k / 15.0F * 2.0F - 1.0F);
+                        double d2 = (double) ((float) l / 15.0F * 2.0F - 1.0F);
+                        final double d3 = Math.sqrt(d0 * d0 + d1 * d1 + d2 * d2);
+                        DIRECTIONS[ray * 3] = d0 / d3;
+                        DIRECTIONS[ray * 3 + 1] = d1 / d3;
+                        DIRECTIONS[ray * 3 + 2] = d2 / d3;
+                        ray++;
+                    }
+                }
+            }
+        }
+    }
+
+    private final double x;
+    private final double y;
+    private final double z;
+    private final float size;
+    @Nullable private final Entity exploder;
+    private final int minChunkX;
+    private final int minChunkZ;
+    private final int chunksZ;
+    private final char[][] sections;
+    private final int maxSteps;
+
+    ExplosionTracer(double x, double y, double z, float size, @Nullable Entity exploder, int minChunkX, int minChunkZ,
+            int chunksZ, char[][] sections, int maxSteps) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.size = size;
+        this.exploder = exploder;
+        this.minChunkX = minChunkX;
+        this.minChunkZ = minChunkZ;
+        this.chunksZ = chunksZ;
+        this.sections = sections;
+        this.maxSteps = maxSteps;
+    }
+
+    /**
+     * Captures the block storage every ray of the explosion can reach.
+     *
+     * @param world The world
+     * @param x The explosion x coordinate
+     * @param y The explosion y coordinate
+     * @param z The explosion z coordinate
+     * @param size The explosion size
+     * @param exploder The exploding entity, which must use the default
+     *     explosion resistance and verification
+     * @return The tracer, or null if a chunk in reach isn't loaded
+     */
+    @Nullable
+    public static ExplosionTracer create(WorldServer world, double x, double y, double z, float size, @Nullable Entity exploder) {
+        // The strongest ray loses at least STEP_DECAY per step
+        final int maxSteps = MathHelper.ceiling_float_int(size * 1.3F / STEP_DECAY) + 1;
+        final int reach = MathHelper.ceiling_double_int(maxSteps * STEP_LENGTH) + 1;
+        final int minChunkX = MathHelper.floor_double(x - reach) >> 4;
+        final int minChunkZ = MathHelper.floor_double(z - reach) >> 4;
+        final int chunksX = (MathHelper.floor_double(x + reach) >> 4) - minChunkX + 1;
+        final int chunksZ = (MathHelper.floor_double(z + reach) >> 4) - minChunkZ + 1;
+        final IMixinChunkProviderServer chunkProvider = (IMixinChunkProviderServer) world.theChunkProviderServer;
+        final char[][] sections = new char[chunksX * chunksZ * 16][];
+        for (int cx = 0; cx < chunksX; cx++) {
+            for (int cz = 0; cz < chunksZ; cz++) {
+                final Chunk chunk = chunkProvider.getChunkIfLoaded(minChunkX + cx, minChunkZ + cz);
+                if (chunk == null) {
+                    return null;
+                }
+                final ExtendedBlockStorage[] storage = chunk.getBlockStorageArray();
+                final int base = (cx * chunksZ + cz) << 4;
+                for (int sy = 0; sy < 16; sy++) {
+                    if (storage[sy] != null) {
+                        sections[base | sy] = storage[sy].getData();
+                    }
+                }
+            }
+        }
+        return new ExplosionTracer(x, y, z, size, exploder, minChunkX, minChunkZ, chunksZ, sections, maxSteps);
+    }
+
+    /**
+     * Gets the pool explosion rays are traced on, shared by all worlds.
+     *
+     * @return The explosion tracing pool
+     */
+    public static synchronized ForkJoinPool getPool() {
+        if (pool == null) {
+            final int threads = Math.max(1, SpongeImpl.getGlobalConfig().getConfig().getOptimizations().getParallelExplosionTracingThreads());
+            pool = new ForkJoinPool(threads, forkJoinPool -> {
+                final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+                thread.setName("Sponge Explosion Tracer #" + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            }, null, false);
+        }
+        return pool;
+    }
+
+    /**
+     * Traces all rays on the explosion tracing pool.
+     *
+     * @param strengths The random strength factor of each ray, drawn from
+     *     the world random in ray order
+     * @return The affected positions, in the order vanilla would add them
+     */
+    public Set<BlockPos> trace(float[] strengths) {
+        return trace(strengths, getPool());
+    }
+
+    Set<BlockPos> trace(float[] strengths, ForkJoinPool pool) {
+        final long[][] traced = new long[RAYS][];
+        final int[] counts = new int[RAYS];
+        pool.invoke(new TraceTask(strengths, traced, counts, 0, RAYS));
+        final Set<BlockPos> positions = Sets.newHashSet();
+        for (int ray = 0; ray < RAYS; ray++) {
+            final long[] rayPositions = traced[ray];
+            for (int i = 0; i < counts[ray]; i++) {
+                positions.add(BlockPos.fromLong(rayPositions[i]));
+            }
+        }
+        return positions;
+    }
+
+    private int traceRay(int ray, float strength, long[] out) {
+        final double dx = DIRECTIONS[ray * 3];
+        final double dy = DIRECTIONS[ray * 3 + 1];
+        final double dz = DIRECTIONS[ray * 3 + 2];
+        float f = this.size * (0.7F + strength * 0.6F);
+        double px = this.x;
+        double py = this.y;
+        double pz = this.z;
+        int count = 0;
+        for (; f > 0.0F; f -= STEP_DECAY) {
+            final int bx = MathHelper.floor_double(px);
+            final int by = MathHelper.floor_double(py);
+            final int bz = MathHelper.floor_double(pz);
+            final IBlockState state = this.getBlockState(bx, by, bz);
+            final Block block = state.getBlock();
+            if (block.getMaterial() != Material.air) {
+                f -= (block.getExplosionResistance(this.exploder) + 0.3F) * 0.3F;
+            }
+            if (f > 0.0F) {
+                final long pos = new BlockPos(bx, by, bz).toLong();
+                // Consecutive steps often stay in the same block
+                if ((count == 0 || out[count - 1] != pos) && count < out.length) {
+                    out[count++] = pos;
+                }
+            }
+            px += dx * STEP_LENGTH;
+            py += dy * STEP_LENGTH;
+            pz += dz * STEP_LENGTH;
+        }
+        return count;
+    }
+
+    private IBlockState getBlockState(int x, int y, int z) {
+        if (y < 0 || y >= 256) {
+            return AIR;
+        }
+        final int cx = (x >> 4) - this.minChunkX;
+        final int cz = (z >> 4) - this.minChunkZ;
+        final char[] data = this.sections[((cx * this.chunksZ + cz) << 4) | (y >> 4)];
+        if (data == null) {
+            return AIR;
+        }
+        final IBlockState state = Block.BLOCK_STATE_IDS.getByValue(data[(y & 15) << 8 | (z & 15) << 4 | (x & 15)]);
+        return state == null ? AIR : state;
+    }
+
+    private final class TraceTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final float[] strengths;
+        private final long[][] traced;
+        private final int[] counts;
+        private final int from;
+        private final int to;
+
+        TraceTask(float[] strengths, long[][] traced, int[] counts, int from, int to) {
+            this.strengths = strengths;
+            this.traced = traced;
+            this.counts = counts;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from <= RAYS_PER_TASK) {
+                for (int ray = this.from; ray < this.to; ray++) {
+                    final long[] out = new long[ExplosionTracer.this.maxSteps];
+                    this.counts[ray] = traceRay(ray, this.strengths[ray], out);
+                    this.traced[ray] = out;
+                }
+            } else {
+                final int mid = (this.from + this.to) >>> 1;
+                invokeAll(new TraceTask(this.strengths, this.traced, this.counts, this.from, mid),
+                        new TraceTask(this.strengths, this.traced, this.counts, mid, this.to));
+            }
+        }
+    }
+}
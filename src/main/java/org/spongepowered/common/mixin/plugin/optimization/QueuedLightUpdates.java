@@ -0,0 +1,121 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.plugin.optimization;
+
+import net.minecraft.util.BlockPos;
+import net.minecraft.world.World;
+
+/**
+ * The positions of a chunk waiting for their light to be checked.
+ *
+ * <p>Each 16 block high section keeps a 4096 bit set of its positions,
+ * allocated when the first position of the section is queued. Queuing the
+ * same position twice only checks it once.</p>
+ */
+public final class QueuedLightUpdates {
+
+    private static final int SECTIONS = 16;
+    private static final int WORDS_PER_SECTION = 4096 / 64;
+    // The distance vanilla requires to be loaded around a light check
+    private static final int LIGHT_RANGE = 17;
+
+    private final long[][] sections = new long[SECTIONS][];
+    private int size;
+
+    /**
+     * Queues a position.
+     *
+     * @param pos The position
+     * @return True if the position wasn't already queued
+     */
+    public boolean add(BlockPos pos) {
+        final int y = pos.getY();
+        if (y < 0 || y >= SECTIONS << 4) {
+            return false;
+        }
+        long[] section = this.sections[y >> 4];
+        if (section == null) {
+            section = this.sections[y >> 4] = new long[WORDS_PER_SECTION];
+        }
+        final int index = ((y & 15) << 8) | ((pos.getZ() & 15) << 4) | (pos.getX() & 15);
+        final long bit = 1L << index;
+        if ((section[index >>> 6] & bit) != 0) {
+            return false;
+        }
+        section[index >>> 6] |= bit;
+        this.size++;
+        return true;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Checks the light of every queued position from the bottom section up.
+     * Vanilla skips light checks of positions whose surroundings aren't
+     * loaded, those positions are kept in the queue instead.
+     *
+     * @param world The world of the chunk
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     */
+    public void drain(World world, int chunkX, int chunkZ) {
+        final int baseX = chunkX << 4;
+        final int baseZ = chunkZ << 4;
+        final boolean areaLoaded = world.isAreaLoaded(new BlockPos(baseX - LIGHT_RANGE, 0, baseZ - LIGHT_RANGE),
+                new BlockPos(baseX + 15 + LIGHT_RANGE, 255, baseZ + 15 + LIGHT_RANGE), false);
+        for (int sectionY = 0; sectionY < SECTIONS; sectionY++) {
+            final long[] section = this.sections[sectionY];
+            if (section == null) {
+                continue;
+            }
+            boolean kept = false;
+            for (int word = 0; word < WORDS_PER_SECTION; word++) {
+                long bits = section[word];
+                while (bits != 0) {
+                    final long bit = Long.lowestOneBit(bits);
+                    bits &= ~bit;
+                    final int index = (word << 6) | Long.numberOfTrailingZeros(bit);
+                    final BlockPos pos = new BlockPos(baseX | (index & 15), (sectionY << 4) | (index >> 8), baseZ | ((index >> 4) & 15));
+                    if (areaLoaded || world.isAreaLoaded(pos, LIGHT_RANGE, false)) {
+                        section[word] &= ~bit;
+                        this.size--;
+                        world.checkLight(pos);
+                    }
+                }
+                kept |= section[word] != 0;
+            }
+            if (!kept) {
+                this.sections[sectionY] = null;
+            }
+        }
+    }
+
+}
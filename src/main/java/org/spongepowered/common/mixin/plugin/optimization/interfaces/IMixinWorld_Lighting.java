@@ -0,0 +1,56 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.plugin.optimization.interfaces;
+
+import net.minecraft.world.chunk.Chunk;
+
+public interface IMixinWorld_Lighting {
+
+    /**
+     * Adds a chunk that just got its first queued light check.
+     *
+     * @param chunk The chunk
+     */
+    void addQueuedLightChunk(Chunk chunk);
+
+    /**
+     * Gets whether queued light checks are being run, blocks changed while
+     * they are have their light checked right away.
+     *
+     * @return True if flushing
+     */
+    boolean isFlushingLight();
+
+    void setFlushingLight(boolean flushing);
+
+    /**
+     * Runs queued light checks, chunk by chunk, until the time budget is
+     * used up.
+     *
+     * @param budgetNanos The time budget in nanoseconds
+     */
+    void processQueuedLightUpdates(long budgetNanos);
+
+}
@@ -24,27 +24,24 @@
  */
 package org.spongepowered.common.scheduler;
 
-import org.spongepowered.api.scheduler.Task;
 import org.spongepowered.common.SpongeImpl;
 
-import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 public class AsyncScheduler extends SchedulerBase {
 
-    // Adjustable timeout for pending Tasks
-    private long minimumTimeout = Long.MAX_VALUE;
-    private long lastProcessingTimestamp;
+    // All pending tasks, by the real time they are due at
+    private final TaskWheel wheel = new TaskWheel(TimeUnit.MILLISECONDS.toNanos(1), System.nanoTime());
     // Locking mechanism
     private final Lock lock = new ReentrantLock();
     private final Condition condition = this.lock.newCondition();
-    // The dynamic thread pooling executor of asynchronous tasks.
-    private final ExecutorService executor = Executors.newCachedThreadPool();
+    // The bounded work-stealing executor of asynchronous tasks.
+    private final AsyncTaskExecutor executor = new AsyncTaskExecutor();
 
     AsyncScheduler() {
         super(ScheduledTask.TaskSynchronicity.ASYNCHRONOUS);
@@ -55,61 +52,29 @@ public class AsyncScheduler extends SchedulerBase {
         thread.start();
     }
 
-    ExecutorService getExecutor() {
+    AsyncTaskExecutor getExecutor() {
         return this.executor;
     }
 
     private void mainLoop() {
-        this.lastProcessingTimestamp = System.nanoTime();
         while (true) {
-            recalibrateMinimumTimeout();
             this.runTick();
         }
     }
 
-    private void recalibrateMinimumTimeout() {
-        this.lock.lock();
-        try {
-            Set<Task> tasks = this.getScheduledTasks();
-            this.minimumTimeout = Long.MAX_VALUE;
-            long now = System.nanoTime();
-            for (Task tmpTask : tasks) {
-                ScheduledTask task = (ScheduledTask) tmpTask;
-                // Recalibrate the wait delay for processing tasks before new
-                // tasks cause the scheduler to process pending tasks.
-                if (task.offset == 0 && task.period == 0) {
-                    this.minimumTimeout = 0;
-                }
-                // The time since the task last executed or was added to the map
-                long timeSinceLast = now - task.getTimestamp();
-
-                if (task.offset > 0 && task.getState() == ScheduledTask.ScheduledTaskState.WAITING) {
-                    // There is an offset and the task hasn't run yet
-                    this.minimumTimeout = Math.min(task.offset - timeSinceLast, this.minimumTimeout);
-                }
-                if (task.period > 0 && task.getState().isActive) {
-                    // The task repeats and has run after the initial delay
-                    this.minimumTimeout = Math.min(task.period - timeSinceLast, this.minimumTimeout);
-                }
-                if (this.minimumTimeout <= 0) {
-                    break;
-                }
-            }
-            if (!tasks.isEmpty()) {
-                long latency = System.nanoTime() - this.lastProcessingTimestamp;
-                this.minimumTimeout -= (latency <= 0) ? 0 : latency;
-                this.minimumTimeout = (this.minimumTimeout < 0) ? 0 : this.minimumTimeout;
-            }
-        } finally {
-            this.lock.unlock();
-        }
-    }
-
     @Override
     protected void preTick() {
         this.lock.lock();
         try {
-            this.condition.await(this.minimumTimeout, TimeUnit.NANOSECONDS);
+            // Sleep until the wheel has work to do, or a task is added
+            if (!this.hasAddedTasks()) {
+                final long next = this.wheel.getNextTimestamp();
+                if (next == Long.MAX_VALUE) {
+                    this.condition.await();
+                } else {
+                    this.condition.awaitNanos(next - System.nanoTime());
+                }
+            }
         } catch (InterruptedException ignored) {
             // The taskMap has been modified; there is work to do.
             // Continue on without handling the Exception.
@@ -119,18 +84,28 @@ protected void preTick() {
     }
 
     @Override
-    protected void postTick() {
-        this.lastProcessingTimestamp = System.nanoTime();
+    protected void finallyPostTick() {
+        this.lock.unlock();
+    }
+
+    @Override
+    protected TaskWheel getWheel(ScheduledTask task) {
+        return this.wheel;
     }
 
     @Override
-    protected void finallyPostTick() {
-        this.lock.unlock();
+    protected void advanceWheels(Consumer<ScheduledTask> consumer) {
+        this.wheel.advance(System.nanoTime(), consumer);
     }
 
     @Override
-    protected void executeTaskRunnable(Runnable runnable) {
-        this.executor.submit(runnable);
+    protected void executeTaskRunnable(ScheduledTask task, Runnable runnable) {
+        try {
+            this.executor.execute(task.getOwner(), runnable);
+        } catch (RejectedExecutionException ignored) {
+            // Already logged and counted by the executor
+            this.rejectTask(task);
+        }
     }
 
     @Override
@@ -144,4 +119,15 @@ protected void addTask(ScheduledTask task) {
         }
     }
 
+    @Override
+    protected void resumeTask(ScheduledTask task) {
+        this.lock.lock();
+        try {
+            super.resumeTask(task);
+            this.condition.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
 }
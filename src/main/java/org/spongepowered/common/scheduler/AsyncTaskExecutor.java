@@ -0,0 +1,412 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableList;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.SchedulerCategory;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+
+/**
+ * Runs asynchronous tasks on a bounded work-stealing pool.
+ *
+ * <p>Every plugin gets its own lane which limits how many of its tasks
+ * may run at once and how many may wait for a free slot, so a burst of
+ * work from one plugin can neither flood the pool with threads nor
+ * starve the tasks of other plugins.</p>
+ */
+public final class AsyncTaskExecutor {
+
+    private static final int MAX_LOGGED_REJECTIONS = 10;
+
+    private final ConcurrentMap<String, Lane> lanes = new ConcurrentHashMap<>();
+    private final Supplier<SchedulerCategory> config;
+    @Nullable private final Executor executor;
+    private volatile ForkJoinPool pool;
+
+    AsyncTaskExecutor() {
+        this(() -> SpongeImpl.getGlobalConfig().getConfig().getScheduler(), null);
+    }
+
+    /**
+     * Creates an executor with the given configuration.
+     *
+     * @param config The supplier of the scheduler configuration
+     * @param executor The executor to run the tasks on, or null to use a
+     *     work-stealing pool created on first use
+     */
+    AsyncTaskExecutor(Supplier<SchedulerCategory> config, @Nullable Executor executor) {
+        this.config = checkNotNull(config, "config");
+        this.executor = executor;
+    }
+
+    /**
+     * Submits the runnable to the lane of the given plugin.
+     *
+     * @param plugin The plugin owning the runnable
+     * @param runnable The runnable to run
+     * @throws RejectedExecutionException If the lane of the plugin is full
+     */
+    public void execute(PluginContainer plugin, Runnable runnable) {
+        checkNotNull(plugin, "plugin");
+        checkNotNull(runnable, "runnable");
+        getLane(plugin).submit(runnable);
+    }
+
+    /**
+     * Gets an {@link ExecutorService} view which submits all its work to
+     * the lane of the given plugin. Shutting the view down has no effect.
+     *
+     * @param plugin The plugin owning the submitted work
+     * @return The executor service
+     */
+    public ExecutorService forPlugin(PluginContainer plugin) {
+        final Lane lane = getLane(checkNotNull(plugin, "plugin"));
+        return new LaneExecutorService(lane);
+    }
+
+    /**
+     * Gets the statistics of all plugins which submitted work so far.
+     *
+     * @return The lane statistics
+     */
+    public List<LaneStats> getLaneStats() {
+        final ImmutableList.Builder<LaneStats> builder = ImmutableList.builder();
+        for (Lane lane : this.lanes.values()) {
+            builder.add(lane.stats());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Gets the number of worker threads in the pool.
+     *
+     * @return The pool size, or 0 if the pool was not started yet
+     */
+    public int getPoolSize() {
+        final ForkJoinPool pool = this.pool;
+        return pool == null ? 0 : pool.getPoolSize();
+    }
+
+    /**
+     * Gets the number of worker threads currently running a task.
+     *
+     * @return The active thread count
+     */
+    public int getActiveThreadCount() {
+        final ForkJoinPool pool = this.pool;
+        return pool == null ? 0 : pool.getActiveThreadCount();
+    }
+
+    /**
+     * Gets the configured parallelism of the pool.
+     *
+     * @return The parallelism, or 0 if the pool was not started yet
+     */
+    public int getParallelism() {
+        final ForkJoinPool pool = this.pool;
+        return pool == null ? 0 : pool.getParallelism();
+    }
+
+    private Lane getLane(PluginContainer plugin) {
+        Lane lane = this.lanes.get(plugin.getId());
+        if (lane == null) {
+            final SchedulerCategory config = this.config.get();
+            final Integer override = config.getPluginConcurrencyOverrides().get(plugin.getId());
+            final int concurrency = Math.max(1, override != null ? override : config.getPluginConcurrency());
+            final Lane created = new Lane(plugin.getId(), concurrency, Math.max(1, config.getPluginQueueSize()));
+            lane = this.lanes.putIfAbsent(plugin.getId(), created);
+            if (lane == null) {
+                lane = created;
+            }
+        }
+        return lane;
+    }
+
+    private Executor getWorkers() {
+        return this.executor != null ? this.executor : getPool();
+    }
+
+    private ForkJoinPool getPool() {
+        ForkJoinPool pool = this.pool;
+        if (pool == null) {
+            synchronized (this) {
+                pool = this.pool;
+                if (pool == null) {
+                    // Created lazily since the scheduler exists before the config is loaded
+                    int threads = this.config.get().getAsyncThreads();
+                    if (threads <= 0) {
+                        threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+                    }
+                    final AtomicInteger threadId = new AtomicInteger();
+                    this.pool = pool = new ForkJoinPool(threads, forkJoinPool -> {
+                        final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+                        thread.setName("Sponge Async Task #" + threadId.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }, (thread, throwable) -> SpongeImpl.getLogger().error("Uncaught exception in thread {}", thread.getName(), throwable),
+                            true);
+                }
+            }
+        }
+        return pool;
+    }
+
+    private final class Lane {
+
+        private final String pluginId;
+        private final int concurrency;
+        private final int queueSize;
+        private final Queue<Pending> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicInteger running = new AtomicInteger();
+
+        private final LongAdder submitted = new LongAdder();
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder totalWaitNanos = new LongAdder();
+        private final LongAdder totalRunNanos = new LongAdder();
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+
+        Lane(String pluginId, int concurrency, int queueSize) {
+            this.pluginId = pluginId;
+            this.concurrency = concurrency;
+            this.queueSize = queueSize;
+        }
+
+        void submit(Runnable runnable) {
+            if (this.queued.incrementAndGet() > this.queueSize) {
+                this.queued.decrementAndGet();
+                this.rejected.increment();
+                final long rejections = this.rejected.sum();
+                if (rejections <= MAX_LOGGED_REJECTIONS) {
+                    SpongeImpl.getLogger().warn("Rejected an asynchronous task of {}, {} tasks are already waiting to run.",
+                            this.pluginId, this.queueSize);
+                }
+                throw new RejectedExecutionException("The asynchronous task queue of " + this.pluginId + " is full");
+            }
+            this.submitted.increment();
+            this.pending.add(new Pending(runnable, System.nanoTime()));
+            this.drain();
+        }
+
+        /**
+         * Starts pending runnables while this lane has free slots.
+         */
+        void drain() {
+            while (!this.pending.isEmpty()) {
+                final int current = this.running.get();
+                if (current >= this.concurrency) {
+                    // A running task will pick up the pending work when it finishes
+                    return;
+                }
+                if (!this.running.compareAndSet(current, current + 1)) {
+                    continue;
+                }
+                final Pending next = this.pending.poll();
+                if (next == null) {
+                    this.running.decrementAndGet();
+                    // Re-check in case work was added between the emptiness check and the slot release
+                    continue;
+                }
+                this.queued.decrementAndGet();
+                getWorkers().execute(() -> this.run(next));
+            }
+        }
+
+        private void run(Pending pending) {
+            final long start = System.nanoTime();
+            final long wait = start - pending.submitTime;
+            this.totalWaitNanos.add(wait);
+            long max;
+            while (wait > (max = this.maxWaitNanos.get()) && !this.maxWaitNanos.compareAndSet(max, wait)) {
+                // Retry until the maximum is updated
+            }
+            try {
+                pending.runnable.run();
+            } catch (Throwable t) {
+                SpongeImpl.getLogger().error("An asynchronous task of {} threw an exception.", this.pluginId, t);
+            } finally {
+                this.totalRunNanos.add(System.nanoTime() - start);
+                this.completed.increment();
+                this.running.decrementAndGet();
+                this.drain();
+            }
+        }
+
+        LaneStats stats() {
+            final long completed = this.completed.sum();
+            return new LaneStats(this.pluginId, this.concurrency, this.running.get(), this.queued.get(), this.submitted.sum(), completed,
+                    this.rejected.sum(), completed == 0 ? 0 : this.totalWaitNanos.sum() / completed, this.maxWaitNanos.get(),
+                    completed == 0 ? 0 : this.totalRunNanos.sum() / completed);
+        }
+
+    }
+
+    private static final class Pending {
+
+        final Runnable runnable;
+        final long submitTime;
+
+        Pending(Runnable runnable, long submitTime) {
+            this.runnable = runnable;
+            this.submitTime = submitTime;
+        }
+
+    }
+
+    private static final class LaneExecutorService extends AbstractExecutorService {
+
+        private final Lane lane;
+
+        LaneExecutorService(Lane lane) {
+            this.lane = lane;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            this.lane.submit(checkNotNull(command, "command"));
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return ImmutableList.of();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return false;
+        }
+
+    }
+
+    /**
+     * A snapshot of the statistics of a single plugin lane.
+     */
+    public static final class LaneStats {
+
+        private final String pluginId;
+        private final int concurrency;
+        private final int running;
+        private final int queued;
+        private final long submitted;
+        private final long completed;
+        private final long rejected;
+        private final long averageWaitNanos;
+        private final long maxWaitNanos;
+        private final long averageRunNanos;
+
+        LaneStats(String pluginId, int concurrency, int running, int queued, long submitted, long completed, long rejected,
+                long averageWaitNanos, long maxWaitNanos, long averageRunNanos) {
+            this.pluginId = pluginId;
+            this.concurrency = concurrency;
+            this.running = running;
+            this.queued = queued;
+            this.submitted = submitted;
+            this.completed = completed;
+            this.rejected = rejected;
+            this.averageWaitNanos = averageWaitNanos;
+            this.maxWaitNanos = maxWaitNanos;
+            this.averageRunNanos = averageRunNanos;
+        }
+
+        public String getPluginId() {
+            return this.pluginId;
+        }
+
+        public int getConcurrency() {
+            return this.concurrency;
+        }
+
+        public int getRunning() {
+            return this.running;
+        }
+
+        public int getQueued() {
+            return this.queued;
+        }
+
+        public long getSubmitted() {
+            return this.submitted;
+        }
+
+        public long getCompleted() {
+            return this.completed;
+        }
+
+        public long getRejected() {
+            return this.rejected;
+        }
+
+        public long getAverageWaitNanos() {
+            return this.averageWaitNanos;
+        }
+
+        public long getMaxWaitNanos() {
+            return this.maxWaitNanos;
+        }
+
+        public long getAverageRunNanos() {
+            return this.averageRunNanos;
+        }
+
+    }
+
+}
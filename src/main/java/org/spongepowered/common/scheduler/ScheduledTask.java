@@ -31,6 +31,7 @@
 import java.util.UUID;
 import java.util.function.Consumer;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * An internal representation of a {@link Task} created by a plugin.
@@ -44,11 +45,17 @@ public class ScheduledTask implements Task {
     private final PluginContainer owner;
     private final Consumer<Task> consumer;
     private long timestamp;
-    private ScheduledTaskState state;
+    private volatile ScheduledTaskState state;
     private final UUID id;
     private final String name;
     private final TaskSynchronicity syncType;
     private final String stringRepresentation;
+    // The TaskWheel slot linkage, only touched by the scheduler thread
+    ScheduledTask nextInWheel;
+    long wheelTick;
+    // Set while the task is out of its wheel because it was due before its
+    // previous execution started
+    final AtomicBoolean parked = new AtomicBoolean();
 
     // Internal Task state. Not for user-service use.
     public enum ScheduledTaskState {
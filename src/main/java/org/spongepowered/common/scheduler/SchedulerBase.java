@@ -32,13 +32,18 @@
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
 
 abstract class SchedulerBase {
 
-    // The simple queue of all pending (and running) ScheduledTasks
+    // All pending (and running) ScheduledTasks, for lookups only
     private final Map<UUID, ScheduledTask> taskMap = Maps.newConcurrentMap();
+    // Tasks added since the last tick, not yet in a wheel
+    private final Queue<ScheduledTask> addedTasks = new ConcurrentLinkedQueue<>();
     private long sequenceNumber = 0L;
     private final String taskNameFmt;
 
@@ -65,6 +70,24 @@ protected long getTimestamp(ScheduledTask task) {
         return System.nanoTime();
     }
 
+    /**
+     * Gets the wheel holding the task until its next execution. This method
+     * is task sensitive to support different timestamp types, the wheel must
+     * count time in the same unit as {@link #getTimestamp(ScheduledTask)}.
+     *
+     * @param task The task
+     * @return The wheel for the task
+     */
+    protected abstract TaskWheel getWheel(ScheduledTask task);
+
+    /**
+     * Advances all wheels of this scheduler to the current time, passing due
+     * tasks to the consumer.
+     *
+     * @param consumer The consumer of due tasks
+     */
+    protected abstract void advanceWheels(Consumer<ScheduledTask> consumer);
+
     /**
      * Adds the task to the task map, will attempt to process the task on the
      * next call to {@link #runTick}.
@@ -74,6 +97,38 @@ protected long getTimestamp(ScheduledTask task) {
     protected void addTask(ScheduledTask task) {
         task.setTimestamp(this.getTimestamp(task));
         this.taskMap.put(task.getUniqueId(), task);
+        this.addedTasks.add(task);
+    }
+
+    /**
+     * Puts a task back into its wheel on the next tick, keeping its
+     * timestamp. Used for tasks which were due while their previous
+     * execution was still waiting to start, may be called from any thread.
+     *
+     * @param task The task to resume
+     */
+    protected void resumeTask(ScheduledTask task) {
+        this.addedTasks.add(task);
+    }
+
+    /**
+     * Gets whether tasks were added since the last tick.
+     *
+     * @return Whether there are tasks to add to the wheels
+     */
+    protected boolean hasAddedTasks() {
+        return !this.addedTasks.isEmpty();
+    }
+
+    /**
+     * Puts the task into its wheel, due at its next execution.
+     *
+     * @param task The task to schedule
+     */
+    private void scheduleTask(ScheduledTask task) {
+        // Delayed tasks wait for the offset, running tasks for the period
+        final long threshold = task.getState() == ScheduledTask.ScheduledTaskState.WAITING ? task.offset : task.period;
+        this.getWheel(task).add(task, task.getTimestamp() + threshold);
     }
 
     /**
@@ -86,22 +141,35 @@ protected void removeTask(ScheduledTask task) {
     }
 
     protected Optional<Task> getTask(UUID id) {
-        return Optional.<Task>ofNullable(this.taskMap.get(id));
+        final ScheduledTask task = this.taskMap.get(id);
+        // Cancelled tasks are only removed once they are due or swept from their wheel
+        if (task == null || task.getState() == ScheduledTask.ScheduledTaskState.CANCELED) {
+            return Optional.empty();
+        }
+        return Optional.of(task);
     }
 
     protected Set<Task> getScheduledTasks() {
-        synchronized (this.taskMap) {
-            return Sets.<Task>newHashSet(this.taskMap.values());
+        final Set<Task> tasks = Sets.newHashSet();
+        for (ScheduledTask task : this.taskMap.values()) {
+            if (task.getState() != ScheduledTask.ScheduledTaskState.CANCELED) {
+                tasks.add(task);
+            }
         }
+        return tasks;
     }
 
     /**
-     * Process all tasks in the map.
+     * Process all tasks which are due.
      */
     protected final void runTick() {
         this.preTick();
         try {
-            this.taskMap.values().forEach(this::processTask);
+            ScheduledTask task;
+            while ((task = this.addedTasks.poll()) != null) {
+                this.scheduleTask(task);
+            }
+            this.advanceWheels(this::processTask);
             this.postTick();
         } finally {
             this.finallyPostTick();
@@ -128,7 +196,7 @@ protected void finallyPostTick() {
     }
 
     /**
-     * Processes the task.
+     * Processes a task taken from its wheel.
      *
      * @param task The task to process
      */
@@ -137,6 +205,14 @@ protected void processTask(ScheduledTask task) {
         // no longer exists.
         if (task.getState() == ScheduledTask.ScheduledTaskState.CANCELED) {
             this.removeTask(task);
+            if (task.getConsumer() instanceof TaskCancellationListener) {
+                try {
+                    ((TaskCancellationListener) task.getConsumer()).onCancelled(task);
+                } catch (Throwable t) {
+                    SpongeImpl.getLogger().error("The cancelled task {} owned by {} failed to release its resources.", task.getName(),
+                            task.getOwner(), t);
+                }
+            }
             return;
         }
         long threshold = Long.MAX_VALUE;
@@ -161,7 +237,19 @@ protected void processTask(ScheduledTask task) {
             // If task is one time shot, remove it from the map.
             if (task.period == 0L) {
                 this.removeTask(task);
+            } else {
+                this.scheduleTask(task);
+            }
+        } else if (threshold == Long.MAX_VALUE) {
+            // The previous execution is still waiting to start, the task is
+            // put back into its wheel by that execution once it starts
+            task.parked.set(true);
+            if (task.getState() != ScheduledTask.ScheduledTaskState.SWITCHING && task.parked.compareAndSet(true, false)) {
+                // It started in the meantime
+                this.scheduleTask(task);
             }
+        } else {
+            this.scheduleTask(task);
         }
     }
 
@@ -171,8 +259,11 @@ protected void processTask(ScheduledTask task) {
      * @param task The task to start
      */
     protected void startTask(final ScheduledTask task) {
-        this.executeTaskRunnable(() -> {
+        this.executeTaskRunnable(task, () -> {
             task.setState(ScheduledTask.ScheduledTaskState.RUNNING);
+            if (task.parked.compareAndSet(true, false)) {
+                this.resumeTask(task);
+            }
             try {
                 task.getConsumer().accept(task);
             } catch (Throwable t) {
@@ -182,11 +273,29 @@ protected void startTask(final ScheduledTask task) {
         });
     }
 
+    /**
+     * Called when the execution of a task was rejected, before the task is
+     * removed or put back into its wheel. One-shot tasks are cancelled,
+     * repeating tasks are retried once their period passed.
+     *
+     * @param task The rejected task
+     */
+    protected void rejectTask(ScheduledTask task) {
+        if (task.period == 0L) {
+            task.setState(ScheduledTask.ScheduledTaskState.CANCELED);
+        } else {
+            // Behave as if it ran, it must not stay switching forever
+            task.setState(ScheduledTask.ScheduledTaskState.RUNNING);
+            task.setTimestamp(this.getTimestamp(task));
+        }
+    }
+
     /**
      * Actually run the runnable that will begin the task
      *
+     * @param task The task the runnable belongs to
      * @param runnable The runnable to run
      */
-    protected abstract void executeTaskRunnable(Runnable runnable);
+    protected abstract void executeTaskRunnable(ScheduledTask task, Runnable runnable);
 
 }
@@ -30,6 +30,7 @@
 import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.api.scheduler.Scheduler;
 import org.spongepowered.api.scheduler.SpongeExecutorService;
@@ -45,6 +46,7 @@
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -57,6 +59,9 @@ public class SpongeScheduler implements Scheduler {
 
     private final AsyncScheduler asyncScheduler;
     private final SyncScheduler syncScheduler;
+    // Blocking work of Sponge itself, like profile lookups and world copies
+    private final ExecutorService blockingExecutor = Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder().setNameFormat("Sponge Async I/O #%d").setDaemon(true).build());
 
     private SpongeScheduler() {
         this.asyncScheduler = new AsyncScheduler();
@@ -191,7 +196,25 @@ public void tickSyncScheduler() {
         this.syncScheduler.tick();
     }
 
+    /**
+     * Runs a callable of Sponge itself asynchronously. The callable may
+     * block, it runs on a thread of its own instead of the bounded pool of
+     * the plugin tasks.
+     *
+     * @param callable The callable
+     * @param <T> The result type
+     * @return The future result
+     */
     public <T> CompletableFuture<T> submitAsyncTask(Callable<T> callable) {
-        return Functional.asyncFailableFuture(callable, this.asyncScheduler.getExecutor());
+        return Functional.asyncFailableFuture(callable, this.blockingExecutor);
+    }
+
+    /**
+     * Gets the executor running the asynchronous tasks.
+     *
+     * @return The asynchronous task executor
+     */
+    public AsyncTaskExecutor getAsyncExecutor() {
+        return this.asyncScheduler.getExecutor();
     }
 }
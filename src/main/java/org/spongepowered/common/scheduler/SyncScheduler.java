@@ -24,10 +24,16 @@
  */
 package org.spongepowered.common.scheduler;
 
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
 public class SyncScheduler extends SchedulerBase {
 
     // The number of ticks elapsed since this scheduler began.
     private volatile long counter = 0L;
+    // Tasks waiting for a number of ticks, and for real time
+    private final TaskWheel tickWheel = new TaskWheel(1, 0L);
+    private final TaskWheel timeWheel = new TaskWheel(TimeUnit.MILLISECONDS.toNanos(1), System.nanoTime());
 
     SyncScheduler() {
         super(ScheduledTask.TaskSynchronicity.SYNCHRONOUS);
@@ -62,7 +68,21 @@ protected long getTimestamp(ScheduledTask task) {
     }
 
     @Override
-    protected void executeTaskRunnable(Runnable runnable) {
+    protected TaskWheel getWheel(ScheduledTask task) {
+        if (task.getState() == ScheduledTask.ScheduledTaskState.WAITING ? task.delayIsTicks : task.intervalIsTicks) {
+            return this.tickWheel;
+        }
+        return this.timeWheel;
+    }
+
+    @Override
+    protected void advanceWheels(Consumer<ScheduledTask> consumer) {
+        this.tickWheel.advance(this.counter, consumer);
+        this.timeWheel.advance(System.nanoTime(), consumer);
+    }
+
+    @Override
+    protected void executeTaskRunnable(ScheduledTask task, Runnable runnable) {
         runnable.run();
     }
 
@@ -0,0 +1,274 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import java.util.function.Consumer;
+
+/**
+ * A hierarchical timing wheel holding the tasks of a scheduler until they
+ * are due.
+ *
+ * <p>Time is counted in wheel ticks of a fixed resolution in the unit of
+ * the scheduler timestamps, game ticks or nanoseconds. Each level has 64
+ * slots, a slot of the first level holds the tasks due in a single wheel
+ * tick, a slot of each following level covers all slots of the previous
+ * one. Tasks are linked into their slot through
+ * {@link ScheduledTask#nextInWheel}, so adding a task is constant time and
+ * advancing the wheel only touches due tasks plus those cascading down from
+ * the level above. Tasks further away than the last level are kept aside
+ * and redistributed each time that level wraps around.</p>
+ *
+ * <p>Cancelled tasks are not unlinked when they are cancelled, the
+ * scheduler drops them once they come due. Whenever the wheel grew to twice
+ * its size after the last sweep, it is swept for cancelled tasks, so tasks
+ * cancelled long before their deadline can't pile up. A wheel is not thread
+ * safe, it must only be used by the thread running its scheduler.</p>
+ */
+final class TaskWheel {
+
+    private static final int LEVELS = 4;
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int MIN_SWEEP_SIZE = 1024;
+
+    private final long resolution;
+    private final ScheduledTask[][] slots = new ScheduledTask[LEVELS][SLOTS];
+    // Tasks due at the next advance, and those past the last level
+    private ScheduledTask due;
+    private ScheduledTask overflow;
+    // The last wheel tick that was processed
+    private long current;
+    private int size;
+    // The size after the last sweep for cancelled tasks
+    private int sweptSize;
+
+    /**
+     * Creates a new wheel.
+     *
+     * @param resolution The number of timestamp units per wheel tick
+     * @param timestamp The current timestamp
+     */
+    TaskWheel(long resolution, long timestamp) {
+        this.resolution = resolution;
+        this.current = Math.floorDiv(timestamp, resolution);
+    }
+
+    /**
+     * Gets the number of tasks in this wheel, including cancelled ones not
+     * yet dropped.
+     *
+     * @return The number of tasks
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Adds a task to be returned by the first {@link #advance} reaching the
+     * deadline. A deadline that already passed is returned by the next
+     * call.
+     *
+     * @param task The task, not in any wheel
+     * @param deadline The timestamp the task is due at
+     */
+    void add(ScheduledTask task, long deadline) {
+        // Round up, a task must never be returned before its deadline
+        task.wheelTick = -Math.floorDiv(-deadline, this.resolution);
+        insert(task);
+        this.size++;
+    }
+
+    private void insert(ScheduledTask task) {
+        final long delta = task.wheelTick - this.current;
+        if (delta <= 0) {
+            task.nextInWheel = this.due;
+            this.due = task;
+            return;
+        }
+        for (int level = 0; level < LEVELS; level++) {
+            final int shift = SLOT_BITS * (level + 1);
+            if (delta < 1L << shift) {
+                final int index = (int) (task.wheelTick >> (SLOT_BITS * level)) & SLOT_MASK;
+                task.nextInWheel = this.slots[level][index];
+                this.slots[level][index] = task;
+                return;
+            }
+        }
+        task.nextInWheel = this.overflow;
+        this.overflow = task;
+    }
+
+    /**
+     * Advances the wheel up to the given timestamp, passing every task which
+     * is due to the consumer. Tasks are removed from the wheel before being
+     * passed on, the consumer may add them again. Cancelled tasks may be
+     * passed before they are due.
+     *
+     * @param timestamp The current timestamp
+     * @param consumer The consumer of due tasks
+     */
+    void advance(long timestamp, Consumer<ScheduledTask> consumer) {
+        final long target = Math.floorDiv(timestamp, this.resolution);
+        if (this.size >= Math.max(MIN_SWEEP_SIZE, this.sweptSize * 2)) {
+            sweep(consumer);
+        }
+        ScheduledTask task = this.due;
+        this.due = null;
+        drain(task, consumer);
+        if (this.size == 0) {
+            // Nothing to cascade, skip straight to the target
+            this.current = Math.max(this.current, target);
+            return;
+        }
+        while (this.current < target) {
+            this.current++;
+            if ((this.current & SLOT_MASK) == 0) {
+                cascade(1);
+            }
+            final int index = (int) this.current & SLOT_MASK;
+            task = this.slots[0][index];
+            this.slots[0][index] = null;
+            drain(task, consumer);
+        }
+    }
+
+    private void drain(ScheduledTask task, Consumer<ScheduledTask> consumer) {
+        while (task != null) {
+            final ScheduledTask next = task.nextInWheel;
+            task.nextInWheel = null;
+            this.size--;
+            consumer.accept(task);
+            task = next;
+        }
+    }
+
+    /**
+     * Removes all cancelled tasks from the wheel, passing them to the
+     * consumer. Sweeping only once the size doubled keeps the cost constant
+     * per added task.
+     *
+     * @param consumer The consumer of cancelled tasks
+     */
+    private void sweep(Consumer<ScheduledTask> consumer) {
+        final ScheduledTask[] cancelled = new ScheduledTask[1];
+        this.due = removeCancelled(this.due, cancelled);
+        for (ScheduledTask[] level : this.slots) {
+            for (int index = 0; index < SLOTS; index++) {
+                level[index] = removeCancelled(level[index], cancelled);
+            }
+        }
+        this.overflow = removeCancelled(this.overflow, cancelled);
+        // Only passed on once the wheel is consistent again, the consumer may add tasks
+        drain(cancelled[0], consumer);
+        this.sweptSize = this.size;
+    }
+
+    private static ScheduledTask removeCancelled(ScheduledTask task, ScheduledTask[] cancelled) {
+        ScheduledTask first = null;
+        ScheduledTask last = null;
+        while (task != null) {
+            final ScheduledTask next = task.nextInWheel;
+            if (task.getState() == ScheduledTask.ScheduledTaskState.CANCELED) {
+                task.nextInWheel = cancelled[0];
+                cancelled[0] = task;
+            } else {
+                task.nextInWheel = null;
+                if (last == null) {
+                    first = task;
+                } else {
+                    last.nextInWheel = task;
+                }
+                last = task;
+            }
+            task = next;
+        }
+        return first;
+    }
+
+    private void cascade(int level) {
+        if (level == LEVELS) {
+            ScheduledTask task = this.overflow;
+            this.overflow = null;
+            reinsert(task);
+            return;
+        }
+        final int index = (int) (this.current >> (SLOT_BITS * level)) & SLOT_MASK;
+        if (index == 0) {
+            cascade(level + 1);
+        }
+        final ScheduledTask task = this.slots[level][index];
+        this.slots[level][index] = null;
+        reinsert(task);
+    }
+
+    private void reinsert(ScheduledTask task) {
+        while (task != null) {
+            final ScheduledTask next = task.nextInWheel;
+            if (task.wheelTick == this.current) {
+                // Cascading happens before the slot of the current tick is drained
+                final int index = (int) this.current & SLOT_MASK;
+                task.nextInWheel = this.slots[0][index];
+                this.slots[0][index] = task;
+            } else {
+                insert(task);
+            }
+            task = next;
+        }
+    }
+
+    /**
+     * Gets the earliest timestamp at which {@link #advance} may have work to
+     * do, either because a task is due or because tasks have to be moved
+     * down a level.
+     *
+     * @return The timestamp, or {@link Long#MAX_VALUE} if the wheel is empty
+     */
+    long getNextTimestamp() {
+        if (this.size == 0) {
+            return Long.MAX_VALUE;
+        }
+        if (this.due != null) {
+            return this.current * this.resolution;
+        }
+        long next = Long.MAX_VALUE;
+        for (int level = 0; level < LEVELS; level++) {
+            final int shift = SLOT_BITS * level;
+            final long block = this.current >> shift;
+            for (int i = 1; i <= SLOTS; i++) {
+                if (this.slots[level][(int) (block + i) & SLOT_MASK] != null) {
+                    next = Math.min(next, (block + i) << shift);
+                    break;
+                }
+            }
+        }
+        if (this.overflow != null) {
+            final int shift = SLOT_BITS * LEVELS;
+            next = Math.min(next, ((this.current >> shift) + 1) << shift);
+        }
+        return next * this.resolution;
+    }
+
+}
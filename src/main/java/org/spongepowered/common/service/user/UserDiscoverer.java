@@ -43,6 +43,7 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.entity.player.SpongeUser;
 import org.spongepowered.common.interfaces.entity.player.IMixinEntityPlayerMP;
+import org.spongepowered.common.world.BlockUserCache;
 import org.spongepowered.common.world.DimensionManager;
 
 import java.io.File;
@@ -67,6 +68,7 @@ class UserDiscoverer {
     static User create(GameProfile profile) {
         User user = (User) new SpongeUser(profile);
         userCache.put(profile.getId(), user);
+        BlockUserCache.invalidateWorlds(profile.getId());
         return user;
     }
 
@@ -159,6 +161,7 @@ static boolean delete(UUID uniqueId) {
         boolean success = deleteStoredPlayerData(uniqueId);
         success = success && deleteWhitelistEntry(uniqueId);
         success = success && deleteBanlistEntry(uniqueId);
+        BlockUserCache.invalidateWorlds(uniqueId);
         return success;
     }
 
@@ -75,6 +75,49 @@ public static IChatComponent toComponent(Text text) {
         return ((IMixinText) text).toComponent();
     }
 
+    public static IChatComponent toSharedComponent(Text text) {
+        return ((IMixinText) text).toSharedComponent();
+    }
+
+    /**
+     * Creates a frozen deep copy of the component. The copy is completely
+     * frozen before it is returned, so it can be shared between threads once
+     * it has been safely published.
+     *
+     * @param component The component to copy
+     * @return The frozen copy
+     */
+    public static IChatComponent createSharedCopy(IChatComponent component) {
+        IChatComponent copy = component.createCopy();
+        ((IMixinChatComponent) copy).freeze();
+        return copy;
+    }
+
+    /**
+     * Returns a copy of the component if it is frozen, so it can be appended
+     * to another component.
+     *
+     * @param component The component to append
+     * @return The component or a copy of it
+     */
+    public static IChatComponent copyIfFrozen(IChatComponent component) {
+        return ((IMixinChatComponent) component).isFrozen() ? component.createCopy() : component;
+    }
+
+    public static void freezeFormatArgs(Object[] formatArgs) {
+        for (Object arg : formatArgs) {
+            if (arg instanceof IChatComponent) {
+                ((IMixinChatComponent) arg).freeze();
+            }
+        }
+    }
+
+    public static void checkNotFrozen(boolean frozen) {
+        if (frozen) {
+            throw new IllegalStateException("Shared chat components can't be modified, create a copy instead");
+        }
+    }
+
     public static Text toText(IChatComponent component) {
         return ((IMixinChatComponent) component).toText();
     }
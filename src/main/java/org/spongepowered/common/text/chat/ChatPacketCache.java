@@ -0,0 +1,146 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.text.chat;
+
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.network.play.server.S02PacketChat;
+import net.minecraft.network.play.server.S45PacketTitle;
+import net.minecraft.util.IChatComponent;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.chat.ChatType;
+import org.spongepowered.api.text.chat.ChatTypes;
+import org.spongepowered.common.interfaces.network.play.server.IMixinSharedTextPacket;
+import org.spongepowered.common.text.SpongeTexts;
+
+import java.io.IOException;
+import java.util.function.BiFunction;
+
+import javax.annotation.Nullable;
+
+/**
+ * Shares the chat packet of the last sent message between its receivers.
+ *
+ * <p>Message channels send the same {@link Text} instance to each of their
+ * members, so consecutive sends of an identical text and chat type reuse
+ * one packet. The shared component of the text is used without copying it,
+ * and serialized once when the packet is first written to a connection.</p>
+ */
+public final class ChatPacketCache {
+
+    @Nullable private static volatile Entry last;
+
+    /**
+     * Gets the chat packet for the given message.
+     *
+     * @param message The message
+     * @param type The chat type
+     * @return The packet, possibly shared with other receivers
+     */
+    public static S02PacketChat getPacket(Text message, ChatType type) {
+        return getPacket(message, type, ChatPacketCache::createPacket);
+    }
+
+    static S02PacketChat getPacket(Text message, ChatType type, BiFunction<Text, ChatType, S02PacketChat> factory) {
+        final Entry entry = last;
+        if (entry != null && entry.message == message && entry.type == type) {
+            return entry.packet;
+        }
+        final S02PacketChat packet = factory.apply(message, type);
+        last = new Entry(message, type, packet);
+        return packet;
+    }
+
+    private static S02PacketChat createPacket(Text message, ChatType type) {
+        final IChatComponent component;
+        if (type == ChatTypes.ACTION_BAR) {
+            // Fixing the formatting rewrites the component tree, so it needs its own copy
+            component = SpongeTexts.fixActionBarFormatting(SpongeTexts.toComponent(message));
+        } else {
+            component = SpongeTexts.toSharedComponent(message);
+        }
+        final S02PacketChat packet = new S02PacketChat(component, ((SpongeChatType) type).getByteId());
+        ((IMixinSharedTextPacket) packet).setShared();
+        return packet;
+    }
+
+    /**
+     * Serializes a component the way {@link PacketBuffer#writeChatComponent}
+     * does.
+     *
+     * @param component The component
+     * @return The serialized component
+     * @throws IOException If the component can't be serialized
+     */
+    public static byte[] encode(IChatComponent component) throws IOException {
+        final PacketBuffer buf = new PacketBuffer(Unpooled.buffer());
+        buf.writeChatComponent(component);
+        final byte[] bytes = new byte[buf.readableBytes()];
+        buf.readBytes(bytes);
+        return bytes;
+    }
+
+    /**
+     * Writes a chat packet with its component already serialized, producing
+     * the same bytes as {@link S02PacketChat#writePacketData}.
+     *
+     * @param buf The buffer to write to
+     * @param encodedComponent The serialized component
+     * @param type The chat type id
+     */
+    public static void writeChatPacket(PacketBuffer buf, byte[] encodedComponent, byte type) {
+        buf.writeBytes(encodedComponent);
+        buf.writeByte(type);
+    }
+
+    /**
+     * Writes a title or subtitle packet with its message already serialized,
+     * producing the same bytes as {@link S45PacketTitle#writePacketData}.
+     *
+     * @param buf The buffer to write to
+     * @param type The title type, either title or subtitle
+     * @param encodedMessage The serialized message
+     */
+    public static void writeTitlePacket(PacketBuffer buf, S45PacketTitle.Type type, byte[] encodedMessage) {
+        buf.writeEnumValue(type);
+        buf.writeBytes(encodedMessage);
+    }
+
+    private static final class Entry {
+
+        final Text message;
+        final ChatType type;
+        final S02PacketChat packet;
+
+        Entry(Text message, ChatType type, S02PacketChat packet) {
+            this.message = message;
+            this.type = type;
+            this.packet = packet;
+        }
+    }
+
+    private ChatPacketCache() {
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.text.selector;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import org.spongepowered.api.data.manipulator.mutable.DisplayNameData;
+import org.spongepowered.api.data.manipulator.mutable.entity.ExperienceHolderData;
+import org.spongepowered.api.data.manipulator.mutable.entity.GameModeData;
+import org.spongepowered.api.entity.Entity;
+import org.spongepowered.api.entity.EntityType;
+import org.spongepowered.api.entity.EntityTypes;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.entity.living.player.gamemode.GameMode;
+import org.spongepowered.api.entity.living.player.gamemode.GameModes;
+import org.spongepowered.api.text.selector.Argument;
+import org.spongepowered.api.text.selector.Argument.Invertible;
+import org.spongepowered.api.text.selector.ArgumentType;
+import org.spongepowered.api.text.selector.ArgumentTypes;
+import org.spongepowered.api.text.selector.Selector;
+import org.spongepowered.api.text.selector.SelectorType;
+import org.spongepowered.api.text.selector.SelectorTypes;
+import org.spongepowered.api.util.Functional;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nullable;
+
+/**
+ * The arguments of a selector, compiled into the parts of a query that
+ * don't depend on where the selector is resolved. Plans are cached by
+ * {@link SelectorResolver} per selector string.
+ */
+final class SelectorPlan {
+
+    private static final Set<ArgumentType<?>> LOCATION_BASED_ARGUMENTS;
+    private static final Collection<SelectorType> INFINITE_TYPES = ImmutableSet.of(SelectorTypes.ALL_ENTITIES, SelectorTypes.ALL_PLAYERS);
+
+    static {
+        ImmutableSet.Builder<ArgumentType<?>> builder = ImmutableSet.builder();
+        builder.addAll(ArgumentTypes.POSITION.getTypes());
+        builder.addAll(ArgumentTypes.DIMENSION.getTypes());
+        builder.addAll(ArgumentTypes.RADIUS.getTypes());
+        // Left commented because Vanilla doesn't include it (see field_179666_d)
+        // builder.addAll(ArgumentTypes.ROTATION.getTypes());
+        LOCATION_BASED_ARGUMENTS = builder.build();
+    }
+
+    final SelectorType type;
+    final int count;
+    final boolean locationBased;
+
+    @Nullable final Double x;
+    @Nullable final Double y;
+    @Nullable final Double z;
+    @Nullable final Double dx;
+    @Nullable final Double dy;
+    @Nullable final Double dz;
+    @Nullable final Integer radiusMin;
+    @Nullable final Integer radiusMax;
+
+    final boolean playerOnly;
+    /**
+     * The class every selected entity is an instance of, used to look up the
+     * entities in the class maps of the chunks.
+     */
+    final Class<?> entityClass;
+    @Nullable final Invertible<String> team;
+    /**
+     * The filters that don't depend on the position or the scoreboard.
+     */
+    final Predicate<Entity> filter;
+
+    SelectorPlan(Selector selector) {
+        this.type = selector.getType();
+        this.count = selector.get(ArgumentTypes.COUNT).orElse(INFINITE_TYPES.contains(this.type) ? 0 : 1);
+        this.locationBased = !Collections.disjoint(selector.getArguments().stream().map(Argument::getType).collect(Collectors.toSet()),
+                LOCATION_BASED_ARGUMENTS);
+
+        this.x = selector.get(ArgumentTypes.POSITION.x()).map(Number::doubleValue).orElse(null);
+        this.y = selector.get(ArgumentTypes.POSITION.y()).map(Number::doubleValue).orElse(null);
+        this.z = selector.get(ArgumentTypes.POSITION.z()).map(Number::doubleValue).orElse(null);
+        this.dx = selector.get(ArgumentTypes.DIMENSION.x()).map(Number::doubleValue).orElse(null);
+        this.dy = selector.get(ArgumentTypes.DIMENSION.y()).map(Number::doubleValue).orElse(null);
+        this.dz = selector.get(ArgumentTypes.DIMENSION.z()).map(Number::doubleValue).orElse(null);
+        this.radiusMin = selector.get(ArgumentTypes.RADIUS.minimum()).orElse(null);
+        this.radiusMax = selector.get(ArgumentTypes.RADIUS.maximum()).orElse(null);
+        this.team = selector.getArgument(ArgumentTypes.TEAM).orElse(null);
+
+        Optional<Invertible<EntityType>> entityType = selector.getArgument(ArgumentTypes.ENTITY_TYPE);
+        // isn't an ALL_ENTITIES selector or it is a RANDOM selector for only players
+        this.playerOnly = this.type == SelectorTypes.ALL_PLAYERS || this.type == SelectorTypes.NEAREST_PLAYER
+                || (this.type == SelectorTypes.RANDOM && entityType.isPresent() && !entityType.get().isInverted()
+                && entityType.get().getValue() != EntityTypes.PLAYER);
+        if (this.playerOnly) {
+            this.entityClass = Player.class;
+        } else if (entityType.isPresent() && !entityType.get().isInverted()) {
+            this.entityClass = entityType.get().getValue().getEntityClass();
+        } else {
+            this.entityClass = Entity.class;
+        }
+
+        List<Predicate<Entity>> filters = Lists.newArrayList();
+        if (this.playerOnly) {
+            filters.add(Player.class::isInstance);
+        }
+        addTypeFilters(selector, filters);
+        addLevelFilters(selector, filters);
+        addGamemodeFilters(selector, filters);
+        addNameFilters(selector, filters);
+        addRotationFilters(selector, filters);
+        this.filter = Functional.predicateAnd(filters);
+    }
+
+    private static void addGamemodeFilters(Selector sel, List<Predicate<Entity>> filters) {
+        Optional<GameMode> gamemode = sel.get(ArgumentTypes.GAME_MODE);
+        // If the gamemode is NOT_SET, that means accept any
+        if (gamemode.isPresent() && gamemode.get() != GameModes.NOT_SET) {
+            final GameMode actualMode = gamemode.get();
+            filters.add(input -> {
+                Optional<GameModeData> mode = input.get(GameModeData.class);
+                return mode.isPresent() && mode.get() == actualMode;
+            });
+        }
+    }
+
+    private static void addLevelFilters(Selector sel, List<Predicate<Entity>> filters) {
+        Optional<Integer> levelMin = sel.get(ArgumentTypes.LEVEL.minimum());
+        Optional<Integer> levelMax = sel.get(ArgumentTypes.LEVEL.maximum());
+        if (levelMin.isPresent()) {
+            final int actualMin = levelMin.get();
+            filters.add(input -> {
+                Optional<ExperienceHolderData> xp = input.get(ExperienceHolderData.class);
+                return xp.isPresent() && xp.get().level().get() >= actualMin;
+            });
+        }
+        if (levelMax.isPresent()) {
+            final int actualMax = levelMax.get();
+            filters.add(input -> {
+                Optional<ExperienceHolderData> xp = input.get(ExperienceHolderData.class);
+                return xp.isPresent() && xp.get().level().get() <= actualMax;
+            });
+        }
+    }
+
+    private static void addNameFilters(Selector sel, List<Predicate<Entity>> filters) {
+        Optional<Argument.Invertible<String>> nameOpt = sel.getArgument(ArgumentTypes.NAME);
+        if (nameOpt.isPresent()) {
+            final String name = nameOpt.get().getValue();
+            final boolean inverted = nameOpt.get().isInverted();
+            filters.add(input -> {
+                Optional<DisplayNameData> dispName = input.get(DisplayNameData.class);
+                return inverted ^ (dispName.isPresent() && name.equals(dispName.get().displayName().get().toPlain()));
+            });
+        }
+    }
+
+    private static void addRotationFilters(Selector sel, List<Predicate<Entity>> filters) {
+        // If the Z's are uncommented, don't forget to implement them
+        // Optional<Double> rotMinZ = sel.get(ArgumentTypes.ROTATION.minimum().z());
+        // Optional<Double> rotMaxZ = sel.get(ArgumentTypes.ROTATION.maximum().z());
+        Optional<Double> rotMinX = sel.get(ArgumentTypes.ROTATION.minimum().x());
+        if (rotMinX.isPresent()) {
+            final double rmx = rotMinX.get();
+            filters.add(input -> input.getRotation().getX() >= rmx);
+        }
+        Optional<Double> rotMinY = sel.get(ArgumentTypes.ROTATION.minimum().y());
+        if (rotMinY.isPresent()) {
+            final double rmy = rotMinY.get();
+            filters.add(input -> input.getRotation().getY() >= rmy);
+        }
+        Optional<Double> rotMaxX = sel.get(ArgumentTypes.ROTATION.maximum().x());
+        if (rotMaxX.isPresent()) {
+            final double rx = rotMaxX.get();
+            filters.add(input -> input.getRotation().getX() <= rx);
+        }
+        Optional<Double> rotMaxY = sel.get(ArgumentTypes.ROTATION.maximum().y());
+        if (rotMaxY.isPresent()) {
+            final double ry = rotMaxY.get();
+            filters.add(input -> input.getRotation().getY() <= ry);
+        }
+    }
+
+    private static void addTypeFilters(Selector sel, List<Predicate<Entity>> filters) {
+        Optional<Argument.Invertible<EntityType>> typeOpt = sel.getArgument(ArgumentTypes.ENTITY_TYPE);
+        if (typeOpt.isPresent()) {
+            Argument.Invertible<EntityType> typeArg = typeOpt.get();
+            final boolean inverted = typeArg.isInverted();
+            final EntityType type = typeArg.getValue();
+            filters.add(input -> inverted ^ input.getType() == type);
+        }
+    }
+
+}
@@ -28,33 +28,24 @@
 import static org.spongepowered.common.util.OptionalUtils.asSet;
 
 import com.flowpowered.math.vector.Vector3d;
+import com.google.common.base.Predicates;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Sets;
+import net.minecraft.util.AxisAlignedBB;
+import net.minecraft.util.ClassInheritanceMultiMap;
 import org.spongepowered.api.Sponge;
-import org.spongepowered.api.data.manipulator.mutable.DisplayNameData;
-import org.spongepowered.api.data.manipulator.mutable.entity.ExperienceHolderData;
-import org.spongepowered.api.data.manipulator.mutable.entity.GameModeData;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.command.source.LocatedSource;
 import org.spongepowered.api.entity.Entity;
-import org.spongepowered.api.entity.EntityType;
-import org.spongepowered.api.entity.EntityTypes;
-import org.spongepowered.api.entity.living.player.Player;
-import org.spongepowered.api.entity.living.player.gamemode.GameMode;
-import org.spongepowered.api.entity.living.player.gamemode.GameModes;
 import org.spongepowered.api.scoreboard.Team;
 import org.spongepowered.api.scoreboard.TeamMember;
 import org.spongepowered.api.text.Text;
-import org.spongepowered.api.text.selector.Argument;
-import org.spongepowered.api.text.selector.Argument.Invertible;
-import org.spongepowered.api.text.selector.ArgumentHolder;
-import org.spongepowered.api.text.selector.ArgumentType;
-import org.spongepowered.api.text.selector.ArgumentTypes;
 import org.spongepowered.api.text.selector.Selector;
-import org.spongepowered.api.text.selector.SelectorType;
 import org.spongepowered.api.text.selector.SelectorTypes;
 import org.spongepowered.api.util.Functional;
-import org.spongepowered.api.command.CommandSource;
-import org.spongepowered.api.command.source.LocatedSource;
 import org.spongepowered.api.world.Chunk;
 import org.spongepowered.api.world.Location;
 import org.spongepowered.api.world.World;
@@ -64,34 +55,42 @@
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Function;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
+
+import javax.annotation.Nullable;
 
 /**
  * A resolver that acts like Vanilla Minecraft in many regards.
+ *
+ * <p>The entities are looked up in the most specific index of the world
+ * available for the selector: the player list for player selectors, the
+ * chunks around the position for radius and volume arguments, and the class
+ * maps of the loaded chunks for entity types. Everything else is filtered
+ * from the entities of the extents.</p>
  */
 // TODO decide if we want selector resolvers as part of the API, ask @kenzierocks for details
 public class SelectorResolver {
 
     private static final Function<CommandSource, String> GET_NAME = CommandSource::getName;
     private static final Vector3d ORIGIN = new Vector3d(0, 0, 0);
-    private static final Set<ArgumentType<?>> LOCATION_BASED_ARGUMENTS;
-    private static final Function<Number, Double> TO_DOUBLE = Number::doubleValue;
-    private static final Collection<SelectorType> INFINITE_TYPES = ImmutableSet.of(SelectorTypes.ALL_ENTITIES, SelectorTypes.ALL_PLAYERS);
-
-    static {
-        ImmutableSet.Builder<ArgumentType<?>> builder = ImmutableSet.builder();
-        builder.addAll(ArgumentTypes.POSITION.getTypes());
-        builder.addAll(ArgumentTypes.DIMENSION.getTypes());
-        builder.addAll(ArgumentTypes.RADIUS.getTypes());
-        // Left commented because Vanilla doesn't include it (see field_179666_d)
-        // builder.addAll(ArgumentTypes.ROTATION.getTypes());
-        LOCATION_BASED_ARGUMENTS = builder.build();
-    }
+
+    private static final int PLAN_CACHE_SIZE = 256;
+    /**
+     * The maximum width of a search area in chunks, larger areas are searched
+     * in the loaded chunks instead.
+     */
+    private static final int MAX_SEARCH_CHUNKS = 64;
+    private static final double MAX_SEARCH_HEIGHT = 1.0E6;
+
+    private static final Cache<String, SelectorPlan> planCache = CacheBuilder.newBuilder()
+            .maximumSize(PLAN_CACHE_SIZE)
+            .build();
 
     private static Extent extentFromSource(CommandSource origin) {
         if (origin instanceof LocatedSource) {
@@ -107,15 +106,19 @@ private static Vector3d positionFromSource(CommandSource origin) {
         return null;
     }
 
-    private static <I, R> Predicate<I> requireTypePredicate(Class<I> inputType, final Class<R> requiredType) {
-        return requiredType::isInstance;
+    private static SelectorPlan getPlan(Selector selector) {
+        try {
+            return planCache.get(selector.toPlain(), () -> new SelectorPlan(selector));
+        } catch (ExecutionException e) {
+            throw Throwables.propagate(e.getCause());
+        }
     }
 
     private final Collection<Extent> extents;
     private final Vector3d position;
     private final Optional<CommandSource> original;
     private final Selector selector;
-    private final Predicate<Entity> selectorFilter;
+    private final SelectorPlan plan;
     private final boolean alwaysUsePosition;
 
     public SelectorResolver(Collection<? extends Extent> extents, Selector selector, boolean force) {
@@ -136,253 +139,225 @@ private SelectorResolver(Collection<? extends Extent> extents, Vector3d position
         this.position = position == null ? ORIGIN : position;
         this.original = Optional.ofNullable(original);
         this.selector = checkNotNull(selector);
-        this.selectorFilter = makeFilter();
+        this.plan = getPlan(selector);
         this.alwaysUsePosition = force;
     }
 
-    private Predicate<Entity> makeFilter() {
-        // for easier reading
-        final Selector sel = this.selector;
-        Vector3d position = getPositionOrDefault(this.position, ArgumentTypes.POSITION);
+    private Vector3d getSelectorPosition() {
+        final SelectorPlan plan = this.plan;
+        return new Vector3d(
+                plan.x != null ? plan.x : this.position.getX(),
+                plan.y != null ? plan.y : this.position.getY(),
+                plan.z != null ? plan.z : this.position.getZ());
+    }
+
+    private Predicate<Entity> makeFilter(Vector3d position) {
         List<Predicate<Entity>> filters = Lists.newArrayList();
-        addTypeFilters(filters);
         addDimensionFilters(position, filters);
-        addRadiusFilters(position, filters);
-        addLevelFilters(filters);
-        addGamemodeFilters(filters);
-        addNameFilters(filters);
-        addRotationFilters(filters);
+        addRadiusFilters(position, this.plan.radiusMin, this.plan.radiusMax, filters);
+        filters.add(this.plan.filter);
         addTeamFilters(filters);
         addScoreFilters(filters);
-        SelectorType selectorType = sel.getType();
-        Optional<Invertible<EntityType>> type = sel.getArgument(ArgumentTypes.ENTITY_TYPE);
-        // isn't an ALL_ENTITIES selector or it is a RANDOM selector for only players
-        boolean isPlayerOnlySelector =
-            selectorType == SelectorTypes.ALL_PLAYERS || selectorType == SelectorTypes.NEAREST_PLAYER
-                || (selectorType == SelectorTypes.RANDOM && type.isPresent() && !type.get().isInverted()
-                && type.get().getValue() != EntityTypes.PLAYER);
-        if (isPlayerOnlySelector) {
-            // insert at the start so it applies first
-            filters.add(0, requireTypePredicate(Entity.class, Player.class));
-        }
         return Functional.predicateAnd(filters);
     }
 
     private void addDimensionFilters(final Vector3d position, List<Predicate<Entity>> filters) {
-        Selector sel = this.selector;
-        Vector3d boxDimensions = getPositionOrDefault(ORIGIN, ArgumentTypes.DIMENSION);
-        Vector3d det1 = position;
-        Vector3d det2 = position.add(boxDimensions);
-        final Vector3d boxMin = det1.min(det2);
-        final Vector3d boxMax = det1.max(det2);
-        if (sel.has(ArgumentTypes.DIMENSION.x())) {
+        final SelectorPlan plan = this.plan;
+        if (plan.dx != null) {
+            final double min = Math.min(position.getX(), position.getX() + plan.dx);
+            final double max = Math.max(position.getX(), position.getX() + plan.dx);
             filters.add(input -> {
-                Vector3d pos = input.getLocation().getPosition();
-                return pos.getX() >= boxMin.getX() && pos.getX() <= boxMax.getX();
+                double x = input.getLocation().getPosition().getX();
+                return x >= min && x <= max;
             });
         }
-        if (sel.has(ArgumentTypes.DIMENSION.y())) {
+        if (plan.dy != null) {
+            final double min = Math.min(position.getY(), position.getY() + plan.dy);
+            final double max = Math.max(position.getY(), position.getY() + plan.dy);
             filters.add(input -> {
-                Vector3d pos = input.getLocation().getPosition();
-                return pos.getY() >= boxMin.getY() && pos.getY() <= boxMax.getY();
+                double y = input.getLocation().getPosition().getY();
+                return y >= min && y <= max;
             });
         }
-        if (sel.has(ArgumentTypes.DIMENSION.z())) {
+        if (plan.dz != null) {
+            final double min = Math.min(position.getZ(), position.getZ() + plan.dz);
+            final double max = Math.max(position.getZ(), position.getZ() + plan.dz);
             filters.add(input -> {
-                Vector3d pos = input.getLocation().getPosition();
-                return pos.getZ() >= boxMin.getZ() && pos.getZ() <= boxMax.getZ();
+                double z = input.getLocation().getPosition().getZ();
+                return z >= min && z <= max;
             });
         }
     }
 
-    private void addGamemodeFilters(List<Predicate<Entity>> filters) {
-        Selector sel = this.selector;
-        Optional<GameMode> gamemode = sel.get(ArgumentTypes.GAME_MODE);
-        // If the gamemode is NOT_SET, that means accept any
-        if (gamemode.isPresent() && gamemode.get() != GameModes.NOT_SET) {
-            final GameMode actualMode = gamemode.get();
-            filters.add(input -> {
-                Optional<GameModeData> mode = input.get(GameModeData.class);
-                return mode.isPresent() && mode.get() == actualMode;
-            });
+    static void addRadiusFilters(final Vector3d position, @Nullable Integer radiusMin, @Nullable Integer radiusMax,
+            List<Predicate<Entity>> filters) {
+        if (radiusMin != null) {
+            int radMin = radiusMin;
+            final int radMinSquared = radMin * radMin;
+            filters.add(input -> input.getLocation().getPosition().distanceSquared(position) >= radMinSquared);
+        }
+        if (radiusMax != null) {
+            int radMax = radiusMax;
+            final int radMaxSquared = radMax * radMax;
+            filters.add(input -> input.getLocation().getPosition().distanceSquared(position) <= radMaxSquared);
         }
     }
 
-    private void addLevelFilters(List<Predicate<Entity>> filters) {
+    private void addScoreFilters(List<Predicate<Entity>> filters) {
         Selector sel = this.selector;
-        Optional<Integer> levelMin = sel.get(ArgumentTypes.LEVEL.minimum());
-        Optional<Integer> levelMax = sel.get(ArgumentTypes.LEVEL.maximum());
-        if (levelMin.isPresent()) {
-            final int actualMin = levelMin.get();
-            filters.add(input -> {
-                Optional<ExperienceHolderData> xp = input.get(ExperienceHolderData.class);
-                return xp.isPresent() && xp.get().level().get() >= actualMin;
-            });
-        }
-        if (levelMax.isPresent()) {
-            final int actualMax = levelMax.get();
-            filters.add(input -> {
-                Optional<ExperienceHolderData> xp = input.get(ExperienceHolderData.class);
-                return xp.isPresent() && xp.get().level().get() <= actualMax;
-            });
-        }
+        sel.getArguments();
     }
 
-    private void addNameFilters(List<Predicate<Entity>> filters) {
-        Selector sel = this.selector;
-        Optional<Argument.Invertible<String>> nameOpt = sel.getArgument(ArgumentTypes.NAME);
-        if (nameOpt.isPresent()) {
-            final String name = nameOpt.get().getValue();
-            final boolean inverted = nameOpt.get().isInverted();
+    private void addTeamFilters(List<Predicate<Entity>> filters) {
+        if (this.plan.team != null) {
+            final boolean inverted = this.plan.team.isInverted();
+            // Collect the members once instead of for every entity
+            final Set<Text> members = collectMembers(Sponge.getGame().getServer().getServerScoreboard().get().getTeams());
             filters.add(input -> {
-                Optional<DisplayNameData> dispName = input.get(DisplayNameData.class);
-                return inverted ^ (dispName.isPresent() && name.equals(dispName.get().displayName().get().toPlain()));
+                if (input instanceof TeamMember) {
+                    return inverted ^ members.contains(((TeamMember) input).getTeamRepresentation());
+                }
+                return false;
             });
         }
     }
 
-    private void addRadiusFilters(final Vector3d position, List<Predicate<Entity>> filters) {
-        final Selector sel = this.selector;
-        Optional<Integer> radiusMin = sel.get(ArgumentTypes.RADIUS.minimum());
-        Optional<Integer> radiusMax = sel.get(ArgumentTypes.RADIUS.maximum());
-        if (radiusMin.isPresent()) {
-            int radMin = radiusMin.get();
-            final int radMinSquared = radMin * radMin;
-            filters.add(input -> input.getLocation().getPosition().distanceSquared(position) >= radMinSquared);
-        }
-        if (radiusMax.isPresent()) {
-            int radMax = radiusMax.get();
-            final int radMaxSquared = radMax * radMax;
-            filters.add(input -> input.getLocation().getPosition().distanceSquared(position) <= radMaxSquared);
+    private static Set<Text> collectMembers(Collection<Team> teams) {
+        ImmutableSet.Builder<Text> users = ImmutableSet.builder();
+        for (Team t : teams) {
+            users.addAll(t.getMembers());
         }
+        return users.build();
     }
 
-    private void addRotationFilters(List<Predicate<Entity>> filters) {
-        Selector sel = this.selector;
-        // If the Z's are uncommented, don't forget to implement them
-        // Optional<Double> rotMinZ = sel.get(ArgumentTypes.ROTATION.minimum().z());
-        // Optional<Double> rotMaxZ = sel.get(ArgumentTypes.ROTATION.maximum().z());
-        Optional<Double> rotMinX = sel.get(ArgumentTypes.ROTATION.minimum().x());
-        if (rotMinX.isPresent()) {
-            final double rmx = rotMinX.get();
-            filters.add(input -> input.getRotation().getX() >= rmx);
-        }
-        Optional<Double> rotMinY = sel.get(ArgumentTypes.ROTATION.minimum().y());
-        if (rotMinY.isPresent()) {
-            final double rmy = rotMinY.get();
-            filters.add(input -> input.getRotation().getY() >= rmy);
-        }
-        Optional<Double> rotMaxX = sel.get(ArgumentTypes.ROTATION.maximum().x());
-        if (rotMaxX.isPresent()) {
-            final double rx = rotMaxX.get();
-            filters.add(input -> input.getRotation().getX() <= rx);
-        }
-        Optional<Double> rotMaxY = sel.get(ArgumentTypes.ROTATION.maximum().y());
-        if (rotMaxY.isPresent()) {
-            final double ry = rotMaxY.get();
-            filters.add(input -> input.getRotation().getY() <= ry);
-        }
+    public String getName() {
+        return this.original.map(GET_NAME).orElse("SelectorResolver");
     }
 
-    private void addScoreFilters(List<Predicate<Entity>> filters) {
-        Selector sel = this.selector;
-        sel.getArguments();
+    public Set<Entity> resolve() {
+        final Vector3d position = getSelectorPosition();
+        final Predicate<Entity> filter = makeFilter(position);
+        final AxisAlignedBB searchArea = getSearchArea(position);
+
+        List<Entity> entities = new ArrayList<>();
+        for (Extent extent : getExtentSet()) {
+            collectEntities(extent, searchArea, filter, entities);
+        }
+
+        return ImmutableSet.copyOf(select(entities, position, this.plan.count, this.plan.type == SelectorTypes.RANDOM));
     }
 
-    private void addTeamFilters(List<Predicate<Entity>> filters) {
-        Selector sel = this.selector;
-        Optional<Invertible<String>> teamOpt = sel.getArgument(ArgumentTypes.TEAM);
-        if (teamOpt.isPresent()) {
-            Invertible<String> teamArg = teamOpt.get();
-            final boolean inverted = teamArg.isInverted();
-            final Collection<Team> teams = Sponge.getGame().getServer().getServerScoreboard().get().getTeams();
-            filters.add(new Predicate<Entity>() {
-
-                @Override
-                public boolean test(Entity input) {
-                    if (input instanceof TeamMember) {
-                        return inverted ^ collectMembers(teams).contains(((TeamMember) input).getTeamRepresentation());
-                    }
-                    return false;
-                }
+    static List<Entity> select(List<Entity> entities, Vector3d position, int count, boolean random) {
+        if (random) {
+            Collections.shuffle(entities);
+        } else if (count != 0 && entities.size() > 1) {
+            // Like vanilla, select the nearest entities, or the farthest for a negative count
+            Comparator<Entity> distance = Comparator.comparingDouble(e -> e.getLocation().getPosition().distanceSquared(position));
+            entities.sort(count > 0 ? distance : distance.reversed());
+        }
+        if (count != 0 && entities.size() > Math.abs(count)) {
+            return entities.subList(0, Math.abs(count));
+        }
+        return entities;
+    }
 
-                private Collection<Text> collectMembers(Collection<Team> teams) {
-                    ImmutableSet.Builder<Text> users = ImmutableSet.builder();
-                    for (Team t : teams) {
-                        users.addAll(t.getMembers());
+    @SuppressWarnings("unchecked")
+    private void collectEntities(Extent extent, @Nullable AxisAlignedBB searchArea, Predicate<Entity> filter, List<Entity> entities) {
+        if (extent instanceof net.minecraft.world.World) {
+            final net.minecraft.world.World world = (net.minecraft.world.World) extent;
+            if (this.plan.playerOnly) {
+                addMatching(world.playerEntities, filter, entities);
+                return;
+            }
+            final Class<? extends net.minecraft.entity.Entity> entityClass = (Class<? extends net.minecraft.entity.Entity>) this.plan.entityClass;
+            if (searchArea != null) {
+                addEntitiesWithin(world, entityClass, searchArea, filter, entities);
+                return;
+            }
+            if (this.plan.entityClass != Entity.class) {
+                for (Chunk chunk : ((World) extent).getLoadedChunks()) {
+                    for (ClassInheritanceMultiMap<?> section : ((net.minecraft.world.chunk.Chunk) chunk).getEntityLists()) {
+                        addMatching(section.getByClass(entityClass), filter, entities);
                     }
-                    return users.build();
                 }
-
-            });
+                return;
+            }
         }
+        addMatching(extent.getEntities(), filter, entities);
     }
 
-    private void addTypeFilters(List<Predicate<Entity>> filters) {
-        Selector sel = this.selector;
-        Optional<Argument.Invertible<EntityType>> typeOpt = sel.getArgument(ArgumentTypes.ENTITY_TYPE);
-        if (typeOpt.isPresent()) {
-            Argument.Invertible<EntityType> typeArg = typeOpt.get();
-            final boolean inverted = typeArg.isInverted();
-            final EntityType type = typeArg.getValue();
-            filters.add(input -> inverted ^ input.getType() == type);
-        }
+    static void addEntitiesWithin(net.minecraft.world.World world, Class<? extends net.minecraft.entity.Entity> entityClass,
+            AxisAlignedBB searchArea, Predicate<Entity> filter, List<Entity> entities) {
+        // The overload without a predicate skips spectators, which vanilla selectors include
+        addMatching(world.getEntitiesWithinAABB(entityClass, searchArea, Predicates.alwaysTrue()), filter, entities);
     }
 
-    private Vector3d getPositionOrDefault(Vector3d pos, ArgumentHolder.Vector3<?, ? extends Number> vecTypes) {
-        Optional<Double> x = this.selector.get(vecTypes.x()).map(TO_DOUBLE);
-        Optional<Double> y = this.selector.get(vecTypes.y()).map(TO_DOUBLE);
-        Optional<Double> z = this.selector.get(vecTypes.z()).map(TO_DOUBLE);
-        return new Vector3d(x.orElse(Double.valueOf(pos.getX())), y.orElse(Double.valueOf(pos.getY())), z.orElse(Double.valueOf(pos.getZ())));
+    private static void addMatching(Iterable<?> candidates, Predicate<Entity> filter, List<Entity> entities) {
+        for (Object candidate : candidates) {
+            final Entity entity = (Entity) candidate;
+            if (filter.test(entity)) {
+                entities.add(entity);
+            }
+        }
     }
 
-    public String getName() {
-        return this.original.map(GET_NAME).orElse("SelectorResolver");
+    /**
+     * Gets the area entities have to be in to match the radius and volume
+     * arguments of the selector, if it is small enough to be searched.
+     *
+     * @param position The position of the selector
+     * @return The search area, or null if the area isn't bounded
+     */
+    @Nullable
+    private AxisAlignedBB getSearchArea(Vector3d position) {
+        return getSearchArea(position, this.plan.radiusMax, this.plan.dx, this.plan.dy, this.plan.dz);
     }
 
-    public Set<Entity> resolve() {
-        SelectorType selectorType = this.selector.getType();
-        int defaultCount = 1;
-        if (INFINITE_TYPES.contains(selectorType)) {
-            defaultCount = 0;
+    @Nullable
+    static AxisAlignedBB getSearchArea(Vector3d position, @Nullable Integer radiusMax, @Nullable Double dx, @Nullable Double dy,
+            @Nullable Double dz) {
+        double minX = Double.NEGATIVE_INFINITY;
+        double minY = -MAX_SEARCH_HEIGHT;
+        double minZ = Double.NEGATIVE_INFINITY;
+        double maxX = Double.POSITIVE_INFINITY;
+        double maxY = MAX_SEARCH_HEIGHT;
+        double maxZ = Double.POSITIVE_INFINITY;
+
+        if (radiusMax != null) {
+            final int radius = radiusMax;
+            minX = position.getX() - radius;
+            minY = Math.max(minY, position.getY() - radius);
+            minZ = position.getZ() - radius;
+            maxX = position.getX() + radius;
+            maxY = Math.min(maxY, position.getY() + radius);
+            maxZ = position.getZ() + radius;
+        }
+        if (dx != null) {
+            minX = Math.max(minX, Math.min(position.getX(), position.getX() + dx));
+            maxX = Math.min(maxX, Math.max(position.getX(), position.getX() + dx));
+        }
+        if (dy != null) {
+            minY = Math.max(minY, Math.min(position.getY(), position.getY() + dy));
+            maxY = Math.min(maxY, Math.max(position.getY(), position.getY() + dy));
+        }
+        if (dz != null) {
+            minZ = Math.max(minZ, Math.min(position.getZ(), position.getZ() + dz));
+            maxZ = Math.min(maxZ, Math.max(position.getZ(), position.getZ() + dz));
         }
-        int maxToSelect = this.selector.get(ArgumentTypes.COUNT).orElse(defaultCount);
-        Set<? extends Extent> extents = getExtentSet();
-        int count = 0;
-        ImmutableSet.Builder<Entity> entities = ImmutableSet.builder();
-        for (Extent extent : extents) {
-            Collection<Entity> allEntities = extent.getEntities();
-            if (selectorType == SelectorTypes.RANDOM) {
-                List<Entity> entityList = new ArrayList<>(allEntities);
-                Collections.shuffle(entityList);
-                allEntities = entityList;
-            }
 
-            for (Entity e : allEntities) {
-                if (!this.selectorFilter.test(e)) {
-                    continue;
-                }
-                entities.add(e);
-                count++;
-                if (maxToSelect != 0 && count > maxToSelect) {
-                    break;
-                }
-            }
+        if (Double.isInfinite(minX) || Double.isInfinite(maxX) || Double.isInfinite(minZ) || Double.isInfinite(maxZ)
+                || maxX - minX > MAX_SEARCH_CHUNKS * 16 || maxZ - minZ > MAX_SEARCH_CHUNKS * 16) {
+            return null;
         }
-        return entities.build();
+        // Entities are found by their bounding box, which starts at their position
+        return new AxisAlignedBB(minX - 1, minY - 1, minZ - 1, maxX + 1, maxY + 1, maxZ + 1);
     }
 
     private Set<? extends Extent> getExtentSet() {
-        if (!this.alwaysUsePosition && Collections.disjoint(getArgumentTypes(this.selector.getArguments()), LOCATION_BASED_ARGUMENTS)) {
+        if (!this.alwaysUsePosition && !this.plan.locationBased) {
             return ImmutableSet.copyOf(SpongeImpl.getGame().getServer().getWorlds());
         }
         return ImmutableSet.copyOf(this.extents);
     }
 
-    private Collection<ArgumentType<?>> getArgumentTypes(Collection<Argument<?>> arguments) {
-        Collection<ArgumentType<?>> types = Sets.newHashSet();
-        types.addAll(arguments.stream().map(Argument::getType).collect(Collectors.toList()));
-        return types;
-    }
-
 }
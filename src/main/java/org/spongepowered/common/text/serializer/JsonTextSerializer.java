@@ -25,14 +25,12 @@
 package org.spongepowered.common.text.serializer;
 
 import com.google.gson.JsonParseException;
-import net.minecraft.util.IChatComponent;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.api.text.serializer.TextParseException;
 import org.spongepowered.api.text.serializer.TextSerializer;
-import org.spongepowered.common.interfaces.text.IMixinChatComponent;
 import org.spongepowered.common.interfaces.text.IMixinText;
 
-import java.util.Locale;
+import java.io.IOException;
 
 /**
  * TextSerializer implementation for the json format.
@@ -47,11 +45,10 @@ public String serialize(Text text) {
     @Override
     public Text deserialize(String input) throws TextParseException {
         try {
-            return ((IMixinChatComponent) IChatComponent.Serializer.jsonToComponent(input)).toText();
-        } catch (JsonParseException e) {
+            return JsonTexts.fromJson(input);
+        } catch (IOException | IllegalStateException | JsonParseException e) {
             throw new TextParseException("Failed to parse JSON", e);
         }
     }
 
-
 }
@@ -0,0 +1,494 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.text.serializer;
+
+import static org.spongepowered.common.text.SpongeTexts.COLOR_CHAR;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import net.minecraft.event.ClickEvent;
+import net.minecraft.event.HoverEvent;
+import net.minecraft.util.EnumChatFormatting;
+import org.spongepowered.api.text.LiteralText;
+import org.spongepowered.api.text.SelectorText;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.TranslatableText;
+import org.spongepowered.api.text.action.ClickAction;
+import org.spongepowered.api.text.action.HoverAction;
+import org.spongepowered.api.text.action.ShiftClickAction;
+import org.spongepowered.api.text.action.TextActions;
+import org.spongepowered.api.text.format.TextColors;
+import org.spongepowered.api.text.format.TextFormat;
+import org.spongepowered.api.text.format.TextStyle;
+import org.spongepowered.api.text.selector.Selector;
+import org.spongepowered.common.interfaces.text.IMixinClickEvent;
+import org.spongepowered.common.interfaces.text.IMixinHoverEvent;
+import org.spongepowered.common.text.SpongeTexts;
+import org.spongepowered.common.text.action.SpongeClickAction;
+import org.spongepowered.common.text.action.SpongeHoverAction;
+import org.spongepowered.common.text.format.SpongeTextColor;
+import org.spongepowered.common.text.translation.SpongeTranslation;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.annotation.Nullable;
+
+/**
+ * Converts between {@link Text} and the JSON format of
+ * {@link net.minecraft.util.IChatComponent.Serializer} without building
+ * chat components or a Gson element tree in between.
+ *
+ * <p>The output is identical to serializing the component of a text with
+ * the vanilla serializer, including the order of the properties and the
+ * escaping of the strings. Reading produces the same text as deserializing
+ * the component and converting it to a text.</p>
+ */
+public final class JsonTexts {
+
+    private static final String[] COLOR_NAMES;
+    private static final Map<String, EnumChatFormatting> COLORS = new HashMap<>();
+
+    static {
+        final EnumChatFormatting[] values = EnumChatFormatting.values();
+        COLOR_NAMES = new String[values.length];
+        for (EnumChatFormatting formatting : values) {
+            // Enums are serialized with their lower case name by vanilla
+            final String name = formatting.name().toLowerCase(Locale.US);
+            COLOR_NAMES[formatting.ordinal()] = name;
+            COLORS.put(name, formatting);
+        }
+    }
+
+    private JsonTexts() {
+    }
+
+    public static String toJson(Text text) {
+        final StringWriter writer = new StringWriter();
+        final JsonWriter out = new JsonWriter(writer);
+        // Vanilla serializes with the default Gson settings, which escape HTML characters
+        out.setHtmlSafe(true);
+        out.setLenient(true);
+        try {
+            write(out, text);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        return writer.toString();
+    }
+
+    public static void write(JsonWriter out, Text text) throws IOException {
+        if (!(text instanceof LiteralText || text instanceof TranslatableText || text instanceof SelectorText)) {
+            throw new UnsupportedOperationException("Can't serialize " + text.getClass().getName());
+        }
+
+        final TextFormat format = text.getFormat();
+        final TextStyle style = format.getStyle();
+        final Optional<ClickAction<?>> clickAction = text.getClickAction();
+        final Optional<HoverAction<?>> hoverAction = text.getHoverAction();
+        // Same as ChatStyle#isEmpty, which doesn't consider the insertion
+        final boolean emptyStyle = format.getColor() == TextColors.NONE && !clickAction.isPresent() && !hoverAction.isPresent()
+                && !style.isBold().isPresent() && !style.isItalic().isPresent() && !style.hasUnderline().isPresent()
+                && !style.hasStrikethrough().isPresent() && !style.isObfuscated().isPresent();
+
+        if (text instanceof LiteralText && emptyStyle && text.getChildren().isEmpty()) {
+            out.value(LegacyTexts.stripChars(((LiteralText) text).getContent(), COLOR_CHAR));
+            return;
+        }
+
+        out.beginObject();
+
+        if (!emptyStyle) {
+            writeBoolean(out, "bold", style.isBold());
+            writeBoolean(out, "italic", style.isItalic());
+            writeBoolean(out, "underlined", style.hasUnderline());
+            writeBoolean(out, "strikethrough", style.hasStrikethrough());
+            writeBoolean(out, "obfuscated", style.isObfuscated());
+            if (format.getColor() != TextColors.NONE) {
+                out.name("color").value(COLOR_NAMES[((SpongeTextColor) format.getColor()).getHandle().ordinal()]);
+            }
+            if (text.getShiftClickAction().isPresent()) {
+                out.name("insertion").value(((ShiftClickAction.InsertText) text.getShiftClickAction().get()).getResult());
+            }
+            if (clickAction.isPresent()) {
+                final ClickEvent event = SpongeClickAction.getHandle(clickAction.get());
+                out.name("clickEvent").beginObject();
+                out.name("action").value(event.getAction().getCanonicalName());
+                out.name("value").value(event.getValue());
+                out.endObject();
+            }
+            if (hoverAction.isPresent()) {
+                writeHoverEvent(out, hoverAction.get());
+            }
+        }
+
+        if (!text.getChildren().isEmpty()) {
+            out.name("extra").beginArray();
+            for (Text child : text.getChildren()) {
+                write(out, child);
+            }
+            out.endArray();
+        }
+
+        if (text instanceof LiteralText) {
+            out.name("text").value(LegacyTexts.stripChars(((LiteralText) text).getContent(), COLOR_CHAR));
+        } else if (text instanceof TranslatableText) {
+            final TranslatableText translatable = (TranslatableText) text;
+            out.name("translate").value(translatable.getTranslation().getId());
+            if (!translatable.getArguments().isEmpty()) {
+                out.name("with").beginArray();
+                for (Object argument : translatable.getArguments()) {
+                    if (argument instanceof Text) {
+                        write(out, (Text) argument);
+                    } else {
+                        out.value(String.valueOf(argument));
+                    }
+                }
+                out.endArray();
+            }
+        } else {
+            out.name("selector").value(((SelectorText) text).getSelector().toPlain());
+        }
+
+        out.endObject();
+    }
+
+    private static void writeBoolean(JsonWriter out, String name, Optional<Boolean> value) throws IOException {
+        if (value.isPresent()) {
+            out.name(name).value(value.get());
+        }
+    }
+
+    private static void writeHoverEvent(JsonWriter out, HoverAction<?> action) throws IOException {
+        out.name("hoverEvent").beginObject();
+        if (action instanceof HoverAction.ShowText) {
+            out.name("action").value(HoverEvent.Action.SHOW_TEXT.getCanonicalName());
+            out.name("value");
+            write(out, ((HoverAction.ShowText) action).getResult());
+        } else {
+            // The other actions are represented by a plain text component
+            final HoverEvent event = SpongeHoverAction.getHandle(action);
+            out.name("action").value(event.getAction().getCanonicalName());
+            out.name("value").value(event.getValue().getUnformattedTextForChat());
+        }
+        out.endObject();
+    }
+
+    public static Text fromJson(String json) throws IOException {
+        final JsonReader in = new JsonReader(new StringReader(json));
+        // Gson parses leniently by default
+        in.setLenient(true);
+        final Text text = read(in, new boolean[1]);
+        if (in.peek() != JsonToken.END_DOCUMENT) {
+            throw new JsonParseException("JSON document was not fully consumed.");
+        }
+        return text;
+    }
+
+    /**
+     * Reads a text component.
+     *
+     * @param in The reader
+     * @param plain Set to whether the component is a plain string without
+     *     style or children, which vanilla passes to translations as a
+     *     string instead of a component
+     * @return The text
+     * @throws IOException If the JSON is malformed
+     */
+    private static Text read(JsonReader in, boolean[] plain) throws IOException {
+        switch (in.peek()) {
+            case BEGIN_OBJECT:
+                return readObject(in, plain);
+            case BEGIN_ARRAY:
+                return readArray(in, plain);
+            case STRING:
+            case NUMBER:
+            case BOOLEAN:
+                plain[0] = true;
+                return Text.builder(nextString(in)).build();
+            default:
+                throw new JsonParseException("Don't know how to turn " + in.peek() + " into a Component");
+        }
+    }
+
+    private static Text readArray(JsonReader in, boolean[] plain) throws IOException {
+        in.beginArray();
+        if (!in.hasNext()) {
+            throw new JsonParseException("Unexpected empty array of components");
+        }
+        final Text first = read(in, plain);
+        if (!in.hasNext()) {
+            in.endArray();
+            return first;
+        }
+
+        // The other elements are appended to the first one
+        final Text.Builder builder = first.toBuilder();
+        do {
+            builder.append(read(in, plain));
+        } while (in.hasNext());
+        in.endArray();
+        plain[0] = false;
+        return builder.build();
+    }
+
+    private static Text readObject(JsonReader in, boolean[] plain) throws IOException {
+        String content = null;
+        String translation = null;
+        List<Object> arguments = null;
+        boolean score = false;
+        String selector = null;
+        List<Text> children = null;
+
+        Boolean bold = null;
+        Boolean italic = null;
+        Boolean underlined = null;
+        Boolean strikethrough = null;
+        Boolean obfuscated = null;
+        EnumChatFormatting color = null;
+        String insertion = null;
+        ClickEvent clickEvent = null;
+        HoverAction<?> hoverAction = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "text":
+                    content = nextString(in);
+                    break;
+                case "translate":
+                    translation = nextString(in);
+                    break;
+                case "with":
+                    arguments = readArguments(in, plain);
+                    break;
+                case "score":
+                    readScore(in);
+                    score = true;
+                    break;
+                case "selector":
+                    selector = nextString(in);
+                    break;
+                case "extra":
+                    children = readChildren(in, plain);
+                    break;
+                case "bold":
+                    bold = nextBoolean(in);
+                    break;
+                case "italic":
+                    italic = nextBoolean(in);
+                    break;
+                case "underlined":
+                    underlined = nextBoolean(in);
+                    break;
+                case "strikethrough":
+                    strikethrough = nextBoolean(in);
+                    break;
+                case "obfuscated":
+                    obfuscated = nextBoolean(in);
+                    break;
+                case "color":
+                    color = readColor(in);
+                    break;
+                case "insertion":
+                    insertion = nextString(in);
+                    break;
+                case "clickEvent":
+                    clickEvent = readClickEvent(in);
+                    break;
+                case "hoverEvent":
+                    hoverAction = readHoverEvent(in, plain);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+
+        final Text.Builder builder;
+        if (content != null) {
+            builder = Text.builder(content);
+        } else if (translation != null) {
+            builder = Text.builder(new SpongeTranslation(translation), arguments != null ? arguments.toArray() : new Object[0]);
+        } else if (score) {
+            builder = Text.builder();
+        } else if (selector != null) {
+            builder = Text.builder(Selector.parse(selector));
+        } else {
+            throw new JsonParseException("Don't know how to turn the object into a Component");
+        }
+
+        if (color != null) {
+            builder.color(SpongeTextColor.of(color));
+        }
+        builder.style(new TextStyle(bold, italic, underlined, strikethrough, obfuscated));
+        if (clickEvent != null) {
+            final ClickAction<?> clickAction = ((IMixinClickEvent) clickEvent).getHandle();
+            if (clickAction != null) {
+                builder.onClick(clickAction);
+            }
+        }
+        if (hoverAction != null) {
+            builder.onHover(hoverAction);
+        }
+        if (insertion != null) {
+            builder.onShiftClick(TextActions.insertText(insertion));
+        }
+        if (children != null) {
+            builder.append(children);
+        }
+
+        plain[0] = content != null && children == null && bold == null && italic == null && underlined == null && strikethrough == null
+                && obfuscated == null && color == null && clickEvent == null && hoverAction == null;
+        return builder.build();
+    }
+
+    private static List<Object> readArguments(JsonReader in, boolean[] plain) throws IOException {
+        final List<Object> arguments = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            final Text argument = read(in, plain);
+            arguments.add(plain[0] ? ((LiteralText) argument).getContent() : argument);
+        }
+        in.endArray();
+        return arguments;
+    }
+
+    private static List<Text> readChildren(JsonReader in, boolean[] plain) throws IOException {
+        final List<Text> children = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            children.add(read(in, plain));
+        }
+        in.endArray();
+        if (children.isEmpty()) {
+            throw new JsonParseException("Unexpected empty array of components");
+        }
+        return children;
+    }
+
+    private static void readScore(JsonReader in) throws IOException {
+        // Score components become empty texts, only validate them
+        boolean name = false;
+        boolean objective = false;
+        in.beginObject();
+        while (in.hasNext()) {
+            final String key = in.nextName();
+            name |= key.equals("name");
+            objective |= key.equals("objective");
+            in.skipValue();
+        }
+        in.endObject();
+        if (!name || !objective) {
+            throw new JsonParseException("A score component needs a least a name and an objective");
+        }
+    }
+
+    @Nullable
+    private static EnumChatFormatting readColor(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return COLORS.get(in.nextString());
+    }
+
+    @Nullable
+    private static ClickEvent readClickEvent(JsonReader in) throws IOException {
+        ClickEvent.Action action = null;
+        String value = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "action":
+                    action = ClickEvent.Action.getValueByCanonicalName(nextString(in));
+                    break;
+                case "value":
+                    value = nextString(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return action != null && value != null && action.shouldAllowInChat() ? new ClickEvent(action, value) : null;
+    }
+
+    @Nullable
+    private static HoverAction<?> readHoverEvent(JsonReader in, boolean[] plain) throws IOException {
+        HoverEvent.Action action = null;
+        Text value = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "action":
+                    action = HoverEvent.Action.getValueByCanonicalName(nextString(in));
+                    break;
+                case "value":
+                    if (in.peek() == JsonToken.NULL) {
+                        in.nextNull();
+                    } else {
+                        value = read(in, plain);
+                    }
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        if (action == null || value == null || !action.shouldAllowInChat()) {
+            return null;
+        }
+        if (action == HoverEvent.Action.SHOW_TEXT) {
+            return TextActions.showText(value);
+        }
+        // Items, entities and achievements are stored as a string, let the event parse it
+        return ((IMixinHoverEvent) new HoverEvent(action, SpongeTexts.toComponent(value))).getHandle();
+    }
+
+    private static String nextString(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.BOOLEAN) {
+            return String.valueOf(in.nextBoolean());
+        }
+        return in.nextString();
+    }
+
+    private static boolean nextBoolean(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.BOOLEAN) {
+            return in.nextBoolean();
+        }
+        return Boolean.parseBoolean(in.nextString());
+    }
+
+}
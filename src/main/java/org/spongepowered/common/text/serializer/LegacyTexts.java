@@ -24,7 +24,8 @@
  */
 package org.spongepowered.common.text.serializer;
 
-import com.google.common.collect.Lists;
+import static org.spongepowered.common.text.SpongeTexts.COLOR_CHAR;
+
 import net.minecraft.util.ChatComponentText;
 import net.minecraft.util.ChatStyle;
 import net.minecraft.util.EnumChatFormatting;
@@ -32,13 +33,15 @@
 import org.spongepowered.api.text.LiteralText;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.api.text.format.TextColors;
-import org.spongepowered.api.text.format.TextStyles;
+import org.spongepowered.api.text.format.TextFormat;
+import org.spongepowered.api.text.format.TextStyle;
 import org.spongepowered.common.interfaces.text.IMixinText;
 import org.spongepowered.common.text.format.SpongeTextColor;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import javax.annotation.Nullable;
 
@@ -47,6 +50,23 @@ public final class LegacyTexts {
     private static final EnumChatFormatting[] formatting = EnumChatFormatting.values();
     private static final String LOOKUP;
 
+    private static final int BOLD_FLAG = 1;
+    private static final int ITALIC_FLAG = 1 << 1;
+    private static final int UNDERLINE_FLAG = 1 << 2;
+    private static final int STRIKETHROUGH_FLAG = 1 << 3;
+    private static final int OBFUSCATED_FLAG = 1 << 4;
+    // In the order of the flags above, which is the order they are written in
+    private static final EnumChatFormatting[] STYLE_FORMATS = {
+            EnumChatFormatting.BOLD,
+            EnumChatFormatting.ITALIC,
+            EnumChatFormatting.UNDERLINE,
+            EnumChatFormatting.STRIKETHROUGH,
+            EnumChatFormatting.OBFUSCATED
+    };
+
+    private static final int MAX_BUILDER_CAPACITY = 8192;
+    private static final ThreadLocal<StringBuilder> serializeBuilder = ThreadLocal.withInitial(StringBuilder::new);
+
     private LegacyTexts() {
     }
 
@@ -84,85 +104,219 @@ public static EnumChatFormatting getFormat(char format) {
     }
 
     public static String serialize(Text text, char code) {
-        return ((IMixinText) text).toLegacy(code);
+        StringBuilder builder = serializeBuilder.get();
+        builder.setLength(0);
+
+        LegacyWriter writer = new LegacyWriter(builder, code);
+        String result = writer.write(text, null, 0) ? builder.toString() : null;
+        if (builder.capacity() > MAX_BUILDER_CAPACITY) {
+            // Don't keep the buffer of an exceptionally long text around
+            serializeBuilder.remove();
+        }
+
+        if (result == null) {
+            // Translations and selectors are formatted by their components
+            result = ((IMixinText) text).toLegacy(code);
+        }
+        return result;
+    }
+
+    /**
+     * Writes the legacy representation of a text without converting it to a
+     * component first. The same formatting codes are written as
+     * {@link IMixinText#toLegacy(char)} would write for the component.
+     */
+    private static final class LegacyWriter {
+
+        private final StringBuilder builder;
+        private final char code;
+
+        private boolean started;
+        @Nullable private EnumChatFormatting color;
+        private int flags;
+
+        LegacyWriter(StringBuilder builder, char code) {
+            this.builder = builder;
+            this.code = code;
+        }
+
+        boolean write(Text text, @Nullable EnumChatFormatting parentColor, int parentFlags) {
+            if (!(text instanceof LiteralText)) {
+                return false;
+            }
+
+            TextFormat format = text.getFormat();
+            EnumChatFormatting color = format.getColor() == TextColors.NONE ? parentColor : ((SpongeTextColor) format.getColor()).getHandle();
+            TextStyle style = format.getStyle();
+            int flags = parentFlags;
+            flags = applyFlag(flags, BOLD_FLAG, style.isBold());
+            flags = applyFlag(flags, ITALIC_FLAG, style.isItalic());
+            flags = applyFlag(flags, UNDERLINE_FLAG, style.hasUnderline());
+            flags = applyFlag(flags, STRIKETHROUGH_FLAG, style.hasStrikethrough());
+            flags = applyFlag(flags, OBFUSCATED_FLAG, style.isObfuscated());
+
+            if (!this.started || color != this.color || (this.flags & ~flags) != 0) {
+                if (color != null) {
+                    appendCode(color);
+                } else if (this.started) {
+                    appendCode(EnumChatFormatting.RESET);
+                }
+                appendFlags(flags);
+            } else {
+                appendFlags(flags & ~this.flags);
+            }
+
+            this.started = true;
+            this.color = color;
+            this.flags = flags;
+            this.builder.append(stripChars(((LiteralText) text).getContent(), COLOR_CHAR));
+
+            for (Text child : text.getChildren()) {
+                if (!write(child, color, flags)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static int applyFlag(int flags, int flag, Optional<Boolean> value) {
+            if (value.isPresent()) {
+                return value.get() ? flags | flag : flags & ~flag;
+            }
+            return flags;
+        }
+
+        private void appendFlags(int flags) {
+            for (int i = 0; i < STYLE_FORMATS.length; i++) {
+                if ((flags & (1 << i)) != 0) {
+                    appendCode(STYLE_FORMATS[i]);
+                }
+            }
+        }
+
+        private void appendCode(EnumChatFormatting formatting) {
+            this.builder.append(this.code).append(formatting.formattingCode);
+        }
+
     }
 
+    /**
+     * Parses a legacy string in a single pass, applying the formatting codes
+     * in order like the client does: colors and resets clear the styles.
+     *
+     * <p>The result is flat, the content before the first formatting code
+     * followed by a child for each consecutive run of the same format.</p>
+     *
+     * @param input The legacy string
+     * @param code The formatting code character
+     * @return The parsed text
+     */
     public static Text parse(String input, char code) {
-        int next = input.lastIndexOf(code, input.length() - 2);
-        if (next == -1) {
+        int last = input.length() - 1;
+        int next = input.indexOf(code);
+        if (next == -1 || next >= last) {
             return Text.of(input);
         }
 
-        List<Text> parts = Lists.newArrayList();
+        StringBuilder content = new StringBuilder(input.length());
+        String prefix = null;
+        List<Text> parts = null;
 
-        LiteralText.Builder current = null;
-        boolean reset = false;
+        EnumChatFormatting color = null;
+        int flags = 0;
+        EnumChatFormatting partColor = null;
+        int partFlags = 0;
 
-        int pos = input.length();
+        int pos = 0;
         do {
             EnumChatFormatting format = getFormat(input.charAt(next + 1));
             if (format != null) {
-                int from = next + 2;
-                if (from != pos) {
-                    if (current != null) {
-                        if (reset) {
-                            parts.add(current.build());
-                            reset = false;
-                            current = Text.builder("");
-                        } else {
-                            current = Text.builder("").append(current.build());
-                        }
+                content.append(input, pos, next);
+                pos = next + 2;
+
+                int flag = getStyleFlag(format);
+                if (flag != 0) {
+                    flags |= flag;
+                } else {
+                    color = format == EnumChatFormatting.RESET ? null : format;
+                    flags = 0;
+                }
+
+                if (content.length() != 0 && (color != partColor || flags != partFlags)) {
+                    if (prefix == null && parts == null && partColor == null && partFlags == 0) {
+                        prefix = content.toString();
                     } else {
-                        current = Text.builder("");
+                        if (parts == null) {
+                            parts = new ArrayList<>();
+                        }
+                        parts.add(createPart(content.toString(), partColor, partFlags));
                     }
-
-                    current.content(input.substring(from, pos));
-                } else if (current == null) {
-                    current = Text.builder("");
+                    content.setLength(0);
                 }
-
-                reset |= applyStyle(current, format);
-                pos = next;
+                if (content.length() == 0) {
+                    partColor = color;
+                    partFlags = flags;
+                }
+                next = input.indexOf(code, pos);
+            } else {
+                next = input.indexOf(code, next + 1);
             }
+        } while (next != -1 && next < last);
 
-            next = input.lastIndexOf(code, next - 1);
-        } while (next != -1);
+        content.append(input, pos, input.length());
+        if (content.length() != 0) {
+            if (prefix == null && parts == null && partColor == null && partFlags == 0) {
+                prefix = content.toString();
+            } else {
+                if (parts == null) {
+                    parts = new ArrayList<>();
+                }
+                parts.add(createPart(content.toString(), partColor, partFlags));
+            }
+        }
 
-        if (current != null) {
-            parts.add(current.build());
+        if (parts == null) {
+            return Text.of(prefix != null ? prefix : "");
         }
+        return Text.builder(prefix != null ? prefix : "").append(parts).build();
+    }
 
-        Collections.reverse(parts);
-        return Text.builder(pos > 0 ? input.substring(0, pos) : "").append(parts).build();
+    private static Text createPart(String content, @Nullable EnumChatFormatting color, int flags) {
+        LiteralText.Builder builder = Text.builder(content);
+        if (color != null) {
+            builder.color(SpongeTextColor.of(color));
+        }
+        if (flags != 0) {
+            builder.style(new TextStyle(
+                    flag(flags, BOLD_FLAG),
+                    flag(flags, ITALIC_FLAG),
+                    flag(flags, UNDERLINE_FLAG),
+                    flag(flags, STRIKETHROUGH_FLAG),
+                    flag(flags, OBFUSCATED_FLAG)));
+        }
+        return builder.build();
     }
 
-    private static boolean applyStyle(Text.Builder builder, EnumChatFormatting formatting) {
+    private static int getStyleFlag(EnumChatFormatting formatting) {
         switch (formatting) {
             case BOLD:
-                builder.style(TextStyles.BOLD);
-                break;
+                return BOLD_FLAG;
             case ITALIC:
-                builder.style(TextStyles.ITALIC);
-                break;
+                return ITALIC_FLAG;
             case UNDERLINE:
-                builder.style(TextStyles.UNDERLINE);
-                break;
+                return UNDERLINE_FLAG;
             case STRIKETHROUGH:
-                builder.style(TextStyles.STRIKETHROUGH);
-                break;
+                return STRIKETHROUGH_FLAG;
             case OBFUSCATED:
-                builder.style(TextStyles.OBFUSCATED);
-                break;
-            case RESET:
-                return true;
+                return OBFUSCATED_FLAG;
             default:
-                if (builder.getColor() == TextColors.NONE) {
-                    builder.color(SpongeTextColor.of(formatting));
-                }
-                return true;
+                return 0;
         }
+    }
 
-        return false;
+    @Nullable
+    private static Boolean flag(int flags, int flag) {
+        return (flags & flag) != 0 ? Boolean.TRUE : null;
     }
 
     public static ChatComponentText parseComponent(ChatComponentText component, char code) {
@@ -24,13 +24,31 @@
  */
 package org.spongepowered.common.text.serializer;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.api.text.serializer.FormattingCodeTextSerializer;
 
-import java.util.Locale;
-
 public final class SpongeFormattingCodeTextSerializer implements FormattingCodeTextSerializer {
 
+    private static final int PARSE_CACHE_SIZE = 1024;
+    private static final int MAX_CACHED_LENGTH = 256;
+
+    /**
+     * Texts are immutable, so the same legacy strings (chat prefixes, sign
+     * lines, scoreboard entries) only need to be parsed once. Serializers are
+     * created on demand, so the cache is shared between them.
+     */
+    private static final LoadingCache<ParseKey, Text> parseCache = CacheBuilder.newBuilder()
+            .maximumSize(PARSE_CACHE_SIZE)
+            .build(new CacheLoader<ParseKey, Text>() {
+                @Override
+                public Text load(ParseKey key) throws Exception {
+                    return LegacyTexts.parse(key.input, key.code);
+                }
+            });
+
     private final char formattingChar;
 
     public SpongeFormattingCodeTextSerializer(char formattingChar) {
@@ -49,7 +67,10 @@ public String serialize(Text text) {
 
     @Override
     public Text deserialize(String input) {
-        return LegacyTexts.parse(input, this.formattingChar);
+        if (input.length() > MAX_CACHED_LENGTH) {
+            return LegacyTexts.parse(input, this.formattingChar);
+        }
+        return parseCache.getUnchecked(new ParseKey(input, this.formattingChar));
     }
 
     @Override
@@ -62,4 +83,33 @@ public String replaceCodes(String text, char to) {
         return LegacyTexts.replace(text, this.formattingChar, to);
     }
 
+    private static final class ParseKey {
+
+        final String input;
+        final char code;
+
+        ParseKey(String input, char code) {
+            this.input = input;
+            this.code = code;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ParseKey)) {
+                return false;
+            }
+            ParseKey other = (ParseKey) o;
+            return this.code == other.code && this.input.equals(other.input);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * this.input.hashCode() + this.code;
+        }
+
+    }
+
 }
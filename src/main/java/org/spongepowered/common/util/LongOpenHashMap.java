@@ -0,0 +1,224 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import net.minecraft.util.LongHashMap;
+
+import java.util.Arrays;
+
+/**
+ * A drop-in replacement for {@link LongHashMap} backed by a flat,
+ * linear-probing open-addressing table of primitive {@code long} keys.
+ *
+ * <p>Unlike vanilla's chained table no {@code Entry} node is allocated per
+ * mapping, and lookups walk two parallel arrays instead of a linked list.
+ * A small set of recently accessed mappings is checked before probing the
+ * table, which catches the common case of several players (or several
+ * block updates) hitting the same handful of chunks in a row.</p>
+ *
+ * <p>{@code null} values are not supported, adding one is the same as
+ * removing the key. The parent table is never touched, every public
+ * operation of {@link LongHashMap} is overridden.</p>
+ *
+ * @param <V> The value type
+ */
+public class LongOpenHashMap<V> extends LongHashMap<V> {
+
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final float LOAD_FACTOR = 0.5F;
+    private static final int RECENT_SLOTS = 4;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+
+    // Recently accessed mappings, replaced in round robin order
+    private final long[] recentKeys = new long[RECENT_SLOTS];
+    private final Object[] recentValues = new Object[RECENT_SLOTS];
+    private int recentIndex;
+
+    public LongOpenHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongOpenHashMap(int expectedSize) {
+        final int capacity = arraySize(expectedSize);
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+        this.resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    @Override
+    public int getNumHashElements() {
+        return this.size;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V getValueByKey(long key) {
+        for (int i = 0; i < RECENT_SLOTS; i++) {
+            final Object value = this.recentValues[i];
+            if (value != null && this.recentKeys[i] == key) {
+                return (V) value;
+            }
+        }
+        final Object value = this.values[find(key)];
+        if (value != null) {
+            cacheRecent(key, value);
+        }
+        return (V) value;
+    }
+
+    @Override
+    public boolean containsItem(long key) {
+        return getValueByKey(key) != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void add(long key, V value) {
+        if (value == null) {
+            remove(key);
+            return;
+        }
+        final int slot = find(key);
+        if (this.values[slot] == null) {
+            this.keys[slot] = key;
+            this.values[slot] = value;
+            if (++this.size > this.resizeThreshold) {
+                rehash(this.keys.length << 1);
+            }
+        } else {
+            this.values[slot] = value;
+            evictRecent(key);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V remove(long key) {
+        int slot = find(key);
+        final Object previous = this.values[slot];
+        if (previous == null) {
+            return null;
+        }
+        evictRecent(key);
+        this.size--;
+        // Backward shift deletion, keeps probe sequences intact without tombstones
+        final long[] keys = this.keys;
+        final Object[] values = this.values;
+        final int mask = this.mask;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            final Object nextValue = values[next];
+            if (nextValue == null) {
+                break;
+            }
+            final int ideal = mix(keys[next]) & mask;
+            // Move the entry back if its ideal slot does not lie cyclically within (slot, next]
+            if (slot <= next ? (ideal <= slot || ideal > next) : (ideal <= slot && ideal > next)) {
+                keys[slot] = keys[next];
+                values[slot] = nextValue;
+                slot = next;
+            }
+        }
+        values[slot] = null;
+        return (V) previous;
+    }
+
+    /**
+     * Removes every mapping.
+     */
+    public void clear() {
+        Arrays.fill(this.values, null);
+        Arrays.fill(this.recentValues, null);
+        this.size = 0;
+    }
+
+    /**
+     * Gets the slot holding the key, or the empty slot where it would be inserted.
+     */
+    private int find(long key) {
+        final long[] keys = this.keys;
+        final Object[] values = this.values;
+        final int mask = this.mask;
+        int slot = mix(key) & mask;
+        while (values[slot] != null && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void cacheRecent(long key, Object value) {
+        final int index = this.recentIndex;
+        this.recentKeys[index] = key;
+        this.recentValues[index] = value;
+        this.recentIndex = (index + 1) & (RECENT_SLOTS - 1);
+    }
+
+    private void evictRecent(long key) {
+        for (int i = 0; i < RECENT_SLOTS; i++) {
+            if (this.recentKeys[i] == key) {
+                this.recentValues[i] = null;
+            }
+        }
+    }
+
+    private void rehash(int capacity) {
+        final long[] oldKeys = this.keys;
+        final Object[] oldValues = this.values;
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+        this.resizeThreshold = (int) (capacity * LOAD_FACTOR);
+        for (int i = 0; i < oldValues.length; i++) {
+            final Object value = oldValues[i];
+            if (value != null) {
+                final int slot = find(oldKeys[i]);
+                this.keys[slot] = oldKeys[i];
+                this.values[slot] = value;
+            }
+        }
+    }
+
+    private static int arraySize(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(2, (int) Math.ceil(expectedSize / LOAD_FACTOR)) - 1) << 1;
+        return Math.max(capacity, 2);
+    }
+
+    /**
+     * Spreads the bits of a chunk key, which packs two small signed ints in
+     * the low and high words, over the whole range of the table index.
+     */
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 32;
+        return (int) (h ^ (h >>> 16));
+    }
+}
@@ -186,6 +186,10 @@ public static void logBlockTrack(World world, Block block, BlockPos pos, User us
     }
 
     public static void logBlockAction(Cause cause, World world, CaptureType type, Transaction<BlockSnapshot> transaction) {
+        logBlockAction(cause, world, type, transaction.getOriginal().getState(), transaction.getFinal().getState());
+    }
+
+    public static void logBlockAction(Cause cause, World world, CaptureType type, BlockState originalState, BlockState newState) {
         if (world.isRemote) {
             return;
         }
@@ -203,8 +207,8 @@ public static void logBlockAction(Cause cause, World world, CaptureType type, Tr
                     user.isPresent() ? user.get().getName() : "None",
                     world.getWorldInfo().getWorldName(),
                     world.provider.getDimensionId(),
-                    transaction.getOriginal().getState(),
-                    transaction.getFinal().getState());
+                    originalState,
+                    newState);
             logStack(config);
         }
     }
@@ -40,7 +40,7 @@
 import org.spongepowered.common.world.extent.MutableBlockViewDownsize;
 import org.spongepowered.common.world.extent.MutableBlockViewTransform;
 import org.spongepowered.common.world.extent.UnmodifiableBlockVolumeWrapper;
-import org.spongepowered.common.world.extent.worker.SpongeMutableBlockVolumeWorker;
+import org.spongepowered.common.world.extent.worker.SpongeMutableBlockBufferWorker;
 import org.spongepowered.common.world.storage.SpongeChunkLayout;
 
 import java.util.Optional;
@@ -58,6 +58,10 @@ public ChunkPrimerBuffer(ChunkPrimer chunkPrimer, int chunkX, int chunkZ) {
         this.chunkPrimer = chunkPrimer;
     }
 
+    public ChunkPrimer getChunkPrimer() {
+        return this.chunkPrimer;
+    }
+
     private static Vector3i getBlockStart(int chunkX, int chunkZ) {
         final Optional<Vector3i> worldCoords = SpongeChunkLayout.instance.toWorld(chunkX, 0, chunkZ);
         checkArgument(worldCoords.isPresent(), "Chunk coordinates are not valid" + chunkX + ", " + chunkZ);
@@ -90,7 +94,7 @@ public MutableBlockVolume getBlockView(DiscreteTransform3 transform) {
 
     @Override
     public MutableBlockVolumeWorker<? extends MutableBlockVolume> getBlockWorker() {
-        return new SpongeMutableBlockVolumeWorker<>(this);
+        return new SpongeMutableBlockBufferWorker<>(this);
     }
 
     @Override
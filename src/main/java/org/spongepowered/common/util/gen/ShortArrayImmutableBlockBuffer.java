@@ -37,7 +37,7 @@
 import org.spongepowered.api.world.extent.worker.BlockVolumeWorker;
 import org.spongepowered.common.world.extent.ImmutableBlockViewDownsize;
 import org.spongepowered.common.world.extent.ImmutableBlockViewTransform;
-import org.spongepowered.common.world.extent.worker.SpongeBlockVolumeWorker;
+import org.spongepowered.common.world.extent.worker.SpongeBlockBufferWorker;
 
 @NonnullByDefault
 public class ShortArrayImmutableBlockBuffer extends AbstractBlockBuffer implements ImmutableBlockVolume {
@@ -82,7 +82,7 @@ public UnmodifiableBlockVolume getUnmodifiableBlockView() {
 
     @Override
     public BlockVolumeWorker<? extends ImmutableBlockVolume> getBlockWorker() {
-        return new SpongeBlockVolumeWorker<>(this);
+        return new SpongeBlockBufferWorker<>(this);
     }
 
     @Override
@@ -39,7 +39,7 @@
 import org.spongepowered.common.world.extent.MutableBlockViewDownsize;
 import org.spongepowered.common.world.extent.MutableBlockViewTransform;
 import org.spongepowered.common.world.extent.UnmodifiableBlockVolumeWrapper;
-import org.spongepowered.common.world.extent.worker.SpongeMutableBlockVolumeWorker;
+import org.spongepowered.common.world.extent.worker.SpongeMutableBlockBufferWorker;
 
 @NonnullByDefault
 public class ShortArrayMutableBlockBuffer extends AbstractBlockBuffer implements MutableBlockVolume {
@@ -84,7 +84,7 @@ public MutableBlockVolume getBlockView(DiscreteTransform3 transform) {
 
     @Override
     public MutableBlockVolumeWorker<? extends MutableBlockVolume> getBlockWorker() {
-        return new SpongeMutableBlockVolumeWorker<>(this);
+        return new SpongeMutableBlockBufferWorker<>(this);
     }
 
     @Override
@@ -0,0 +1,155 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+import org.spongepowered.api.entity.living.player.User;
+import org.spongepowered.api.profile.GameProfile;
+import org.spongepowered.api.service.user.UserStorageService;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.interfaces.world.IMixinWorld;
+import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Resolves the unique id indexes used by block tracking to {@link User}s.
+ *
+ * <p>Resolving a user scans the online players of the world and may fall
+ * back to the user storage service, which can read player data from disk.
+ * Resolved users are kept in a small direct-mapped table keyed by index,
+ * since indexes are handed out sequentially per world they rarely collide.
+ * Entries are dropped when the player logs in or out and when the player
+ * entity is added to or removed from the world, cached players which died or
+ * left the world are resolved again.</p>
+ */
+public final class BlockUserCache {
+
+    private static final int SIZE = 256;
+    private static final int MASK = SIZE - 1;
+
+    private final World world;
+    private final Function<UUID, User> offlineUsers;
+    private final int[] indexes = new int[SIZE];
+    private final User[] users = new User[SIZE];
+
+    public BlockUserCache(World world) {
+        this(world, uniqueId -> SpongeImpl.getGame().getServiceManager().provide(UserStorageService.class).get()
+                .getOrCreate(GameProfile.of(uniqueId, null)));
+    }
+
+    /**
+     * Creates a cache resolving the users which are not online with the
+     * given function.
+     *
+     * @param world The world
+     * @param offlineUsers The function getting or creating offline users
+     */
+    BlockUserCache(World world, Function<UUID, User> offlineUsers) {
+        this.world = world;
+        this.offlineUsers = offlineUsers;
+        Arrays.fill(this.indexes, -1);
+    }
+
+    /**
+     * Gets the unique id for the index without resolving the user.
+     *
+     * @param index The unique id index, or -1
+     * @return The unique id, if the index is known
+     */
+    public Optional<UUID> getUniqueId(int index) {
+        if (index < 0) {
+            return Optional.empty();
+        }
+        return ((IMixinWorldInfo) this.world.getWorldInfo()).getUniqueIdForIndex(index);
+    }
+
+    public Optional<User> getUser(int index) {
+        if (index < 0) {
+            return Optional.empty();
+        }
+        final int slot = index & MASK;
+        User user = this.users[slot];
+        if (user != null && this.indexes[slot] == index && isValid(user)) {
+            return Optional.of(user);
+        }
+        final Optional<UUID> uuid = getUniqueId(index);
+        if (!uuid.isPresent()) {
+            return Optional.empty();
+        }
+        // get player if online
+        EntityPlayer player = this.world.getPlayerEntityByUUID(uuid.get());
+        if (player != null) {
+            user = (User) player;
+        } else {
+            // player is not online, get or create user from storage
+            user = this.offlineUsers.apply(uuid.get());
+        }
+        this.indexes[slot] = index;
+        this.users[slot] = user;
+        return Optional.of(user);
+    }
+
+    /**
+     * Removes the cached user with the unique id.
+     *
+     * @param uniqueId The unique id
+     */
+    public void invalidate(UUID uniqueId) {
+        for (int i = 0; i < SIZE; i++) {
+            if (this.users[i] != null && uniqueId.equals(this.users[i].getUniqueId())) {
+                this.users[i] = null;
+                this.indexes[i] = -1;
+            }
+        }
+    }
+
+    // A cached player entity is only usable while it is still in this world,
+    // otherwise it needs to be resolved again like an offline user
+    private boolean isValid(User user) {
+        if (user instanceof EntityPlayer) {
+            final EntityPlayer player = (EntityPlayer) user;
+            return !player.isDead && player.worldObj == this.world;
+        }
+        return true;
+    }
+
+    /**
+     * Removes the cached user with the unique id from every loaded world.
+     *
+     * @param uniqueId The unique id
+     */
+    public static void invalidateWorlds(UUID uniqueId) {
+        for (WorldServer world : DimensionManager.getWorlds()) {
+            ((IMixinWorld) world).getBlockUserCache().invalidate(uniqueId);
+        }
+    }
+
+}
@@ -0,0 +1,265 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import com.flowpowered.math.vector.Vector3i;
+import gnu.trove.set.TLongSet;
+import net.minecraft.block.Block;
+import net.minecraft.block.material.Material;
+import net.minecraft.init.Blocks;
+import net.minecraft.world.ChunkCoordIntPair;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import org.spongepowered.api.world.World;
+import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
+
+import javax.annotation.Nullable;
+
+/**
+ * Searches for a safe location by reading the block storage of chunks
+ * directly.
+ *
+ * <p>Candidates are visited in the same order as the expanding search of
+ * {@link SpongeTeleportHelper}. Whether a block is safe only depends on its
+ * block type, so the safety of each block id is computed once and shared
+ * by all searches.</p>
+ */
+class SafeLocationSearch {
+
+    private static final byte COMPUTED = 1;
+    private static final byte AIR = 2;
+    private static final byte SAFE_BODY = 4;
+    private static final byte SAFE_FLOOR = 8;
+
+    private static final byte[] blockFlags = new byte[4096];
+
+    private final WorldServer world;
+    private final IMixinChunkProviderServer chunkProvider;
+    private final int maxY;
+    @Nullable private final TLongSet missingChunks;
+
+    private int cachedChunkX = Integer.MIN_VALUE;
+    private int cachedChunkZ = Integer.MIN_VALUE;
+    @Nullable private ExtendedBlockStorage[] cachedStorage;
+
+    /**
+     * Creates a search in the given world.
+     *
+     * @param world The world
+     * @param missingChunks The set to add the keys of chunks that aren't
+     *     loaded to, treating their blocks as unsafe, or null to load
+     *     them
+     */
+    SafeLocationSearch(WorldServer world, @Nullable TLongSet missingChunks) {
+        this(world, (IMixinChunkProviderServer) world.theChunkProviderServer, ((World) world).getDimension().getHeight(), missingChunks);
+    }
+
+    SafeLocationSearch(WorldServer world, IMixinChunkProviderServer chunkProvider, int maxY, @Nullable TLongSet missingChunks) {
+        this.world = world;
+        this.chunkProvider = chunkProvider;
+        this.maxY = maxY;
+        this.missingChunks = missingChunks;
+    }
+
+    @Nullable
+    Vector3i find(Vector3i origin, int height, int width) {
+        final int x = origin.getX();
+        final int y = origin.getY();
+        final int z = origin.getZ();
+        // Check the main level
+        Vector3i safe = findAround(x, y, z, width);
+        if (safe != null) {
+            return safe;
+        }
+
+        for (int currentLevel = 1; currentLevel <= height; currentLevel++) {
+            safe = findAround(x, y + currentLevel, z, width);
+            if (safe != null) {
+                return safe;
+            }
+            safe = findAround(x, y - currentLevel, z, width);
+            if (safe != null) {
+                return safe;
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private Vector3i findAround(int x, int y, int z, int radius) {
+        if (isSafe(x, y, z)) {
+            return new Vector3i(x, y, z);
+        }
+        for (int currentRadius = 0; currentRadius <= radius; currentRadius++) {
+            final Vector3i safe = findAtRadius(x, y, z, currentRadius);
+            if (safe != null) {
+                return safe;
+            }
+        }
+        return null;
+    }
+
+    // Walks the same path as SpongeTeleportHelper#checkAroundSpecificDiameter
+    @Nullable
+    private Vector3i findAtRadius(int x, int y, int z, int radius) {
+        x += radius;
+        if (isSafe(x, y, z)) {
+            return new Vector3i(x, y, z);
+        }
+        for (int i = 0; i < radius; i++) {
+            z += i;
+            if (isSafe(x, y, z)) {
+                return new Vector3i(x, y, z);
+            }
+        }
+        for (int i = 0; i < radius * 2; i++) {
+            x -= i;
+            if (isSafe(x, y, z)) {
+                return new Vector3i(x, y, z);
+            }
+        }
+        for (int i = 0; i < radius * 2; i++) {
+            z -= i;
+            if (isSafe(x, y, z)) {
+                return new Vector3i(x, y, z);
+            }
+        }
+        for (int i = 0; i < radius * 2; i++) {
+            x += i;
+            if (isSafe(x, y, z)) {
+                return new Vector3i(x, y, z);
+            }
+        }
+        for (int i = 0; i < radius - 1; i++) {
+            z += i;
+            if (isSafe(x, y, z)) {
+                return new Vector3i(x, y, z);
+            }
+        }
+        return null;
+    }
+
+    boolean isSafe(int x, int y, int z) {
+        if (y >= 3 && y < 256) {
+            final ExtendedBlockStorage[] storage = getStorage(x >> 4, z >> 4);
+            // Three blocks of air below us in empty sections, we would fall too far
+            if (storage != null && storage[y >> 4] == null && storage[(y - 3) >> 4] == null) {
+                return false;
+            }
+        }
+        return isBlockSafe(x, y, z, false) && isBlockSafe(x, y + 1, z, false) && isBlockSafe(x, y - 1, z, true);
+    }
+
+    private boolean isBlockSafe(int x, int y, int z, boolean floorBlock) {
+        if (y <= 0 || y > this.maxY) {
+            return false;
+        }
+        final int flags = getFlags(x, y, z);
+        if (floorBlock) {
+            // Floor is air so we'll fall, need to make sure we fall safely.
+            if ((flags & AIR) != 0) {
+                final int below = getFlags(x, y - 1, z);
+                final int below2 = getFlags(x, y - 2, z);
+                // We'll fall too far, not safe
+                if ((below & AIR) != 0 && (below2 & AIR) != 0) {
+                    return false;
+                }
+                // We'll fall onto a block, need to make sure its safe
+                if ((below & AIR) == 0 && (below & SAFE_FLOOR) == 0) {
+                    return false;
+                }
+                // We'll fall through an air block to another, need to make sure its safe
+                return (below2 & SAFE_FLOOR) != 0;
+            }
+            return (flags & SAFE_FLOOR) != 0;
+        }
+        return (flags & SAFE_BODY) != 0;
+    }
+
+    private int getFlags(int x, int y, int z) {
+        if (y < 0 || y >= 256) {
+            return getBlockFlags(0);
+        }
+        final ExtendedBlockStorage[] storage = getStorage(x >> 4, z >> 4);
+        if (storage == null) {
+            // Unknown blocks are never safe
+            return 0;
+        }
+        final ExtendedBlockStorage section = storage[y >> 4];
+        if (section == null) {
+            return getBlockFlags(0);
+        }
+        return getBlockFlags(section.getData()[(y & 15) << 8 | (z & 15) << 4 | (x & 15)] >> 4);
+    }
+
+    @Nullable
+    private ExtendedBlockStorage[] getStorage(int chunkX, int chunkZ) {
+        if (chunkX != this.cachedChunkX || chunkZ != this.cachedChunkZ) {
+            Chunk chunk = this.chunkProvider.getChunkIfLoaded(chunkX, chunkZ);
+            if (chunk == null) {
+                if (this.missingChunks != null) {
+                    this.missingChunks.add(ChunkCoordIntPair.chunkXZ2Int(chunkX, chunkZ));
+                } else {
+                    chunk = this.world.theChunkProviderServer.provideChunk(chunkX, chunkZ);
+                }
+            }
+            this.cachedChunkX = chunkX;
+            this.cachedChunkZ = chunkZ;
+            this.cachedStorage = chunk == null ? null : chunk.getBlockStorageArray();
+        }
+        return this.cachedStorage;
+    }
+
+    private static int getBlockFlags(int blockId) {
+        byte flags = blockFlags[blockId];
+        if (flags == 0) {
+            final Block block = Block.getBlockById(blockId);
+            final Material material = block.getMaterial();
+            flags = COMPUTED;
+            if (block == Blocks.air) {
+                flags |= AIR;
+            }
+            if (isSafeBodyMaterial(material)) {
+                flags |= SAFE_BODY;
+            }
+            if (isSafeFloorMaterial(material)) {
+                flags |= SAFE_FLOOR;
+            }
+            blockFlags[blockId] = flags;
+        }
+        return flags;
+    }
+
+    static boolean isSafeFloorMaterial(Material material) {
+        return !(material == Material.cactus || material == Material.fire || material == Material.lava);
+    }
+
+    static boolean isSafeBodyMaterial(Material material) {
+        return (material == Material.air || material == Material.grass || material == Material.plants
+                || material == Material.water || material == Material.redstoneLight || material == Material.circuits
+                || material == Material.snow || material == Material.portal || material == Material.web || material == Material.vine);
+    }
+}
@@ -30,15 +30,36 @@
 import com.flowpowered.math.GenericMath;
 import com.flowpowered.math.vector.Vector3d;
 import com.flowpowered.math.vector.Vector3i;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.world.ChunkCoordIntPair;
+import net.minecraft.world.biome.BiomeGenBase;
+import net.minecraft.world.chunk.ChunkPrimer;
+import net.minecraft.world.gen.ChunkProviderServer;
 import org.apache.commons.lang3.time.DurationFormatUtils;
 import org.slf4j.Logger;
 import org.spongepowered.api.scheduler.Task;
 import org.spongepowered.api.world.World;
 import org.spongepowered.api.world.WorldBorder;
+import org.spongepowered.api.world.gen.GenerationPopulator;
+import org.spongepowered.api.world.gen.WorldGenerator;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.interfaces.world.IMixinWorld;
+import org.spongepowered.common.interfaces.world.gen.IChunkProviderGenerate;
+import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
 import org.spongepowered.common.scheduler.SpongeScheduler;
+import org.spongepowered.common.scheduler.TaskCancellationListener;
 import org.spongepowered.common.world.storage.SpongeChunkLayout;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.function.Consumer;
 
 import javax.annotation.Nullable;
@@ -138,28 +159,22 @@ public String toString() {
             '}';
     }
 
-    private static class ChunkPreGenerator implements Consumer<Task> {
+    private static class ChunkPreGenerator implements Consumer<Task>, TaskCancellationListener {
 
-        private static final Vector3i[] OFFSETS = {
-            Vector3i.UNIT_Z.negate().mul(2),
-            Vector3i.UNIT_X.mul(2),
-            Vector3i.UNIT_Z.mul(2),
-            Vector3i.UNIT_X.negate().mul(2)
-        };
         private static final String TIME_FORMAT = "s's 'S'ms'";
+        private static final long PROGRESS_SAVE_INTERVAL = 30000;
         private final World world;
         private final int chunkRadius;
         private final int chunkCount;
         private final float tickPercent;
         private final long tickTimeLimit;
         @Nullable private final Logger logger;
-        private Vector3i currentPosition;
-        private int currentGenCount;
-        private int currentLayer;
-        private int currentIndex;
-        private int nextJump;
+        private final Spiral spiral;
+        @Nullable private final TerrainPipeline pipeline;
+        private final File progressFile;
         private int totalCount;
         private long totalTime;
+        private long lastProgressSave;
 
         ChunkPreGenerator(World world, Vector3d center, double diameter, int chunkCount, float tickPercent, @Nullable Logger logger) {
             this.world = world;
@@ -170,36 +185,50 @@ private static class ChunkPreGenerator implements Consumer<Task> {
             this.tickTimeLimit = Math.round(SpongeScheduler.getInstance().getPreferredTickInterval() * tickPercent);
             final Optional<Vector3i> currentPosition = SpongeChunkLayout.instance.toChunk(center.toInt());
             if (currentPosition.isPresent()) {
-                this.currentPosition = currentPosition.get();
+                this.spiral = new Spiral(currentPosition.get(), this.chunkRadius);
             } else {
                 throw new IllegalArgumentException("Center is not a valid chunk coordinate");
             }
-            this.currentGenCount = 4;
-            this.currentLayer = 0;
-            this.currentIndex = 0;
-            this.nextJump = 0;
             this.totalCount = 0;
             this.totalTime = 0;
+            final Vector3i centerChunk = currentPosition.get();
+            this.progressFile = ((net.minecraft.world.World) world).getSaveHandler().getMapFileFromName(
+                    "SpongeChunkPreGen_" + centerChunk.getX() + "_" + centerChunk.getZ() + "_" + this.chunkRadius);
+            resume();
+            this.pipeline = TerrainPipeline.of(world, this.spiral.copy());
+            if (this.logger != null && this.pipeline != null) {
+                this.logger.info("Generating terrain noise on {} threads", this.pipeline.getParallelism());
+            }
         }
 
         @Override
         public void accept(Task task) {
             final long startTime = System.currentTimeMillis();
+            if (this.pipeline != null) {
+                this.pipeline.fill();
+            }
             int count = 0;
-            do {
-                count += this.currentGenCount;
-                final Vector3i position = nextChunkPosition();
-                this.world.loadChunk(position, true);
-                this.world.loadChunk(position.sub(Vector3i.UNIT_X), true);
-                this.world.loadChunk(position.sub(Vector3i.UNIT_Z), true);
-                this.world.loadChunk(position.sub(Vector3i.UNIT_X).sub(Vector3i.UNIT_Z), true);
-            } while (hasNextChunkPosition() && checkChunkCount(count) && checkTickTime(System.currentTimeMillis() - startTime));
+            while (hasNextChunkPosition() && checkChunkCount(count) && checkTickTime(System.currentTimeMillis() - startTime)) {
+                final Vector3i position = this.spiral.getPosition();
+                if (this.pipeline != null && !this.pipeline.isReady(position)) {
+                    // The terrain of the next chunks is still being generated, try again next time
+                    break;
+                }
+                count += this.spiral.getGenCount();
+                this.spiral.next();
+                loadChunk(position);
+                loadChunk(position.sub(Vector3i.UNIT_X));
+                loadChunk(position.sub(Vector3i.UNIT_Z));
+                loadChunk(position.sub(Vector3i.UNIT_X).sub(Vector3i.UNIT_Z));
+            }
+            this.totalCount += count;
+            final long deltaTime = System.currentTimeMillis() - startTime;
+            this.totalTime += deltaTime;
             if (this.logger != null) {
-                this.totalCount += count;
-                final long deltaTime = System.currentTimeMillis() - startTime;
-                this.totalTime += deltaTime;
-                this.logger.info("Generated {} chunks in {}, {}% complete", count,
+                this.logger.info("Generated {} chunks in {}, {} chunks/s, {} queued, {}% complete", count,
                     DurationFormatUtils.formatDuration(deltaTime, TIME_FORMAT, false),
+                    this.totalTime == 0 ? 0 : this.totalCount * 1000 / this.totalTime,
+                    this.pipeline == null ? 0 : this.pipeline.getQueueDepth(),
                     GenericMath.floor(this.totalCount / Math.pow(this.chunkRadius * 2 + 1, 2) * 100)
                 );
             }
@@ -208,15 +237,132 @@ public void accept(Task task) {
                     this.logger.info("Done! Generated a total of {} chunks in {}", this.totalCount,
                         DurationFormatUtils.formatDuration(this.totalTime, TIME_FORMAT, false));
                 }
+                if (this.pipeline != null) {
+                    this.pipeline.shutdown();
+                }
+                this.progressFile.delete();
                 task.cancel();
+            } else if (startTime - this.lastProgressSave > PROGRESS_SAVE_INTERVAL) {
+                saveProgress();
+                this.lastProgressSave = startTime;
+            }
+        }
+
+        @Override
+        public void onCancelled(Task task) {
+            // Also cancelled by plugins before completing, the pipeline threads must not outlive the task
+            if (this.pipeline != null) {
+                this.pipeline.shutdown();
+            }
+        }
+
+        private void loadChunk(Vector3i position) {
+            if (this.pipeline != null) {
+                this.pipeline.offer(position.getX(), position.getZ());
+            }
+            this.world.loadChunk(position, true);
+        }
+
+        private void resume() {
+            if (!this.progressFile.exists()) {
+                return;
+            }
+            try {
+                final NBTTagCompound compound = CompressedStreamTools.read(this.progressFile);
+                final int index = compound.getInteger("Index");
+                while (this.spiral.getIndex() < index && hasNextChunkPosition()) {
+                    this.spiral.next();
+                }
+                this.totalCount = compound.getInteger("Count");
+                this.totalTime = compound.getLong("Time");
+                if (this.logger != null) {
+                    this.logger.info("Resuming chunk pre-generation after {} chunks", this.totalCount);
+                }
+            } catch (IOException e) {
+                SpongeImpl.getLogger().warn("Failed to read chunk pre-generation progress from {}", this.progressFile, e);
+            }
+        }
+
+        private void saveProgress() {
+            final NBTTagCompound compound = new NBTTagCompound();
+            compound.setInteger("Index", this.spiral.getIndex());
+            compound.setInteger("Count", this.totalCount);
+            compound.setLong("Time", this.totalTime);
+            try {
+                CompressedStreamTools.safeWrite(compound, this.progressFile);
+            } catch (IOException e) {
+                SpongeImpl.getLogger().warn("Failed to save chunk pre-generation progress to {}", this.progressFile, e);
             }
         }
 
         private boolean hasNextChunkPosition() {
+            return this.spiral.hasNext();
+        }
+
+        private boolean checkChunkCount(int count) {
+            return this.chunkCount <= 0 || count < this.chunkCount;
+        }
+
+        private boolean checkTickTime(long tickTime) {
+            return this.tickPercent <= 0 || tickTime < this.tickTimeLimit;
+        }
+
+    }
+
+    /**
+     * Walks a square spiral out from the center in steps of 2 chunks, each
+     * step covering the 2x2 chunks at and below its position.
+     */
+    private static final class Spiral {
+
+        private static final Vector3i[] OFFSETS = {
+            Vector3i.UNIT_Z.negate().mul(2),
+            Vector3i.UNIT_X.mul(2),
+            Vector3i.UNIT_Z.mul(2),
+            Vector3i.UNIT_X.negate().mul(2)
+        };
+        private final int chunkRadius;
+        private Vector3i currentPosition;
+        private int currentGenCount;
+        private int currentLayer;
+        private int currentIndex;
+        private int nextJump;
+
+        Spiral(Vector3i center, int chunkRadius) {
+            this.chunkRadius = chunkRadius;
+            this.currentPosition = center;
+            this.currentGenCount = 4;
+            this.currentLayer = 0;
+            this.currentIndex = 0;
+            this.nextJump = 0;
+        }
+
+        Spiral copy() {
+            final Spiral copy = new Spiral(this.currentPosition, this.chunkRadius);
+            copy.currentGenCount = this.currentGenCount;
+            copy.currentLayer = this.currentLayer;
+            copy.currentIndex = this.currentIndex;
+            copy.nextJump = this.nextJump;
+            return copy;
+        }
+
+        boolean hasNext() {
             return this.currentLayer <= this.chunkRadius;
         }
 
-        private Vector3i nextChunkPosition() {
+        Vector3i getPosition() {
+            return this.currentPosition;
+        }
+
+        int getGenCount() {
+            return this.currentGenCount;
+        }
+
+        int getIndex() {
+            return this.currentIndex;
+        }
+
+        Vector3i next() {
             final Vector3i nextPosition = this.currentPosition;
             final int currentLayerIndex;
             if (this.currentIndex >= this.nextJump) {
@@ -238,14 +384,161 @@ private Vector3i nextChunkPosition() {
             return nextPosition;
         }
 
-        private boolean checkChunkCount(int count) {
-            return this.chunkCount <= 0 || count < this.chunkCount;
+    }
+
+    /**
+     * Generates the base terrain noise of upcoming chunks on a fork-join pool.
+     *
+     * <p>Whether a chunk was generated before is checked on the chunk I/O
+     * pool first, only missing chunks are generated. Every pool thread owns
+     * its own terrain generator and chunk primers.
+     * Biomes are looked up on the main thread when a chunk is queued, since
+     * the biome layers share static caches. The finished noise is handed to
+     * the world's generator right before the chunk is loaded, so population
+     * and saving stay on the main thread.</p>
+     */
+    private static final class TerrainPipeline {
+
+        private final net.minecraft.world.World world;
+        private final IMixinChunkProviderServer chunkProvider;
+        private final IChunkProviderGenerate mainGenerator;
+        private final ForkJoinPool pool;
+        private final ThreadLocal<IChunkProviderGenerate> generators;
+        private final TLongObjectHashMap<PendingNoise> pending = new TLongObjectHashMap<>();
+        private final Spiral lookahead;
+        private final int maxQueued;
+
+        @Nullable
+        static TerrainPipeline of(World world, Spiral lookahead) {
+            final int threads = ((IMixinWorld) world).getActiveConfig().getConfig().getWorld().getChunkPreGenThreads();
+            if (threads <= 0) {
+                return null;
+            }
+            final net.minecraft.world.World mcWorld = (net.minecraft.world.World) world;
+            final WorldGenerator worldGenerator = world.getWorldGenerator();
+            final GenerationPopulator baseGenerator = worldGenerator.getBaseGenerationPopulator();
+            if (((ChunkProviderServer) mcWorld.getChunkProvider()).serverChunkGenerator != worldGenerator
+                    || !(baseGenerator instanceof IChunkProviderGenerate)
+                    || mcWorld.provider.createChunkGenerator().getClass() != baseGenerator.getClass()) {
+                SpongeImpl.getLogger().warn("The terrain generator of world {} does not support parallel chunk pre-generation, "
+                        + "generating on the main thread instead", world.getName());
+                return null;
+            }
+            return new TerrainPipeline(mcWorld, (IChunkProviderGenerate) baseGenerator, threads, lookahead);
         }
 
-        private boolean checkTickTime(long tickTime) {
-            return this.tickPercent <= 0 || tickTime < this.tickTimeLimit;
+        private TerrainPipeline(net.minecraft.world.World world, IChunkProviderGenerate mainGenerator, int threads, Spiral lookahead) {
+            this.world = world;
+            this.chunkProvider = (IMixinChunkProviderServer) world.getChunkProvider();
+            this.mainGenerator = mainGenerator;
+            this.lookahead = lookahead;
+            this.maxQueued = threads * 16;
+            // Create the generators up front, constructing them reads world state
+            final Queue<IChunkProviderGenerate> prepared = new ConcurrentLinkedQueue<>();
+            for (int i = 0; i < threads; i++) {
+                prepared.add((IChunkProviderGenerate) world.provider.createChunkGenerator());
+            }
+            this.generators = ThreadLocal.withInitial(() -> {
+                final IChunkProviderGenerate generator = prepared.poll();
+                return generator != null ? generator : (IChunkProviderGenerate) world.provider.createChunkGenerator();
+            });
+            this.pool = new ForkJoinPool(threads, forkJoinPool -> {
+                final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+                thread.setName("Sponge Chunk Pre-Generator #" + thread.getPoolIndex());
+                return thread;
+            }, null, false);
+        }
+
+        int getParallelism() {
+            return this.pool.getParallelism();
+        }
+
+        int getQueueDepth() {
+            return this.pending.size();
+        }
+
+        /**
+         * Queues the noise generation of upcoming chunks until the queue is full.
+         */
+        void fill() {
+            while (this.pending.size() < this.maxQueued && this.lookahead.hasNext()) {
+                final Vector3i position = this.lookahead.next();
+                submit(position.getX(), position.getZ());
+                submit(position.getX() - 1, position.getZ());
+                submit(position.getX(), position.getZ() - 1);
+                submit(position.getX() - 1, position.getZ() - 1);
+            }
+        }
+
+        private void submit(int x, int z) {
+            final long key = ChunkCoordIntPair.chunkXZ2Int(x, z);
+            if (this.pending.containsKey(key)) {
+                return;
+            }
+            final BiomeGenBase[] biomes = this.mainGenerator.getBiomesForGeneration(x, z);
+            // Completes with null if the chunk exists already
+            final CompletableFuture<ChunkPrimer> task = this.chunkProvider.isChunkGenerated(x, z).thenApplyAsync(generated -> {
+                if (generated) {
+                    return null;
+                }
+                final ChunkPrimer primer = new ChunkPrimer();
+                this.generators.get().generateTerrainNoise(x, z, biomes, primer);
+                return primer;
+            }, this.pool);
+            this.pending.put(key, new PendingNoise(biomes, task));
+        }
+
+        /**
+         * Gets whether the noise of the chunks at the given spiral position is
+         * ready, or was never queued.
+         */
+        boolean isReady(Vector3i position) {
+            return isReady(position.getX(), position.getZ())
+                    && isReady(position.getX() - 1, position.getZ())
+                    && isReady(position.getX(), position.getZ() - 1)
+                    && isReady(position.getX() - 1, position.getZ() - 1);
+        }
+
+        private boolean isReady(int x, int z) {
+            final PendingNoise noise = this.pending.get(ChunkCoordIntPair.chunkXZ2Int(x, z));
+            return noise == null || noise.task.isDone();
+        }
+
+        /**
+         * Hands the generated noise of the given chunk to the world's terrain
+         * generator, to be used when the chunk is loaded next.
+         */
+        void offer(int x, int z) {
+            final PendingNoise noise = this.pending.remove(ChunkCoordIntPair.chunkXZ2Int(x, z));
+            if (noise == null) {
+                return;
+            }
+            try {
+                final ChunkPrimer primer = noise.task.join();
+                if (primer != null) {
+                    this.mainGenerator.offerTerrainNoise(x, z, noise.biomes, primer);
+                }
+            } catch (Exception e) {
+                SpongeImpl.getLogger().error("Failed to generate terrain noise for chunk ({}, {}) of world {}, generating on the main thread",
+                        x, z, this.world.getWorldInfo().getWorldName(), e);
+            }
+        }
+
+        void shutdown() {
+            this.pool.shutdownNow();
+            this.pending.clear();
         }
 
+        private static final class PendingNoise {
+
+            final BiomeGenBase[] biomes;
+            final CompletableFuture<ChunkPrimer> task;
+
+            PendingNoise(BiomeGenBase[] biomes, CompletableFuture<ChunkPrimer> task) {
+                this.biomes = biomes;
+                this.task = task;
+            }
+        }
     }
 
 }
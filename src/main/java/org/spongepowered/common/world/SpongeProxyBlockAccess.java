@@ -40,22 +40,29 @@
 public final class SpongeProxyBlockAccess implements IBlockAccess {
 
     private final IBlockAccess original;
-    private final List<Transaction<BlockSnapshot>> transactions;
     private final List<BlockPos> poses;
+    private final List<IBlockState> finalStates;
     private final LinkedHashMap<BlockPos, IBlockState> processed = new LinkedHashMap<>();
     private int index;
 
     public SpongeProxyBlockAccess(IBlockAccess original, List<Transaction<BlockSnapshot>> snapshotTransaction) {
+        this(original, snapshotTransaction.stream()
+                .map(transaction -> VecHelper.toBlockPos(transaction.getOriginal().getPosition()))
+                .collect(GuavaCollectors.toImmutableList()),
+            snapshotTransaction.stream()
+                .map(transaction -> (IBlockState) transaction.getFinal().getState())
+                .collect(GuavaCollectors.toImmutableList()));
+    }
+
+    public SpongeProxyBlockAccess(IBlockAccess original, List<BlockPos> poses, List<IBlockState> finalStates) {
         this.original = original;
-        this.transactions = snapshotTransaction;
-        this.poses = this.transactions.stream()
-            .map(transaction -> VecHelper.toBlockPos(transaction.getOriginal().getPosition()))
-            .collect(GuavaCollectors.toImmutableList());
+        this.poses = poses;
+        this.finalStates = finalStates;
         this.index = 0;
     }
 
     public void proceed() {
-        this.processed.put(this.poses.get(this.index), ((IBlockState) this.transactions.get(this.index).getFinal().getState()));
+        this.processed.put(this.poses.get(this.index), this.finalStates.get(this.index));
         this.index++;
     }
 
@@ -69,12 +76,8 @@ public IBlockState getBlockState(BlockPos pos) {
         if (this.processed.containsKey(pos)) { // first just check if there's already a pos list built.
             return this.processed.get(pos);
         }
-        Transaction<BlockSnapshot> unknown = this.transactions.get(this.index);
-        if (unknown != null) {
-            final BlockPos actualPos = this.poses.get(this.index);
-            if (pos.equals(actualPos)) {
-                return (IBlockState) unknown.getFinal().getState();
-            }
+        if (this.index < this.poses.size() && pos.equals(this.poses.get(this.index))) {
+            return this.finalStates.get(this.index);
         }
 
         return this.original.getBlockState(pos);
@@ -24,18 +24,25 @@
  */
 package org.spongepowered.common.world;
 
+import static com.google.common.base.Preconditions.checkState;
+
 import com.flowpowered.math.vector.Vector3i;
-import net.minecraft.block.Block;
-import net.minecraft.block.material.Material;
+import gnu.trove.set.TLongSet;
+import gnu.trove.set.hash.TLongHashSet;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.gen.ChunkProviderServer;
-import org.spongepowered.api.block.BlockType;
-import org.spongepowered.api.block.BlockTypes;
 import org.spongepowered.api.world.Location;
 import org.spongepowered.api.world.TeleportHelper;
 import org.spongepowered.api.world.World;
+import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import javax.annotation.Nullable;
 
 public class SpongeTeleportHelper implements TeleportHelper {
 
@@ -51,198 +58,87 @@ public Optional<Location<World>> getSafeLocation(Location<World> location, final
         chunkProvider.chunkLoadOverride = true;
 
         // Check around the player first in a configurable radius:
-        final Optional<Location<World>> safe = checkAboveAndBelowLocation(location, height, width);
-
-        chunkProvider.chunkLoadOverride = chunkOverride;
-        if (safe.isPresent()) {
-            // Add 0.5 to X and Z of block position so always in centre of block
-            return Optional.of(new Location<>(safe.get().getExtent(), safe.get().getBlockPosition().toDouble().add(0.5, 0, 0.5)));
+        final Vector3i safe;
+        try {
+            safe = new SafeLocationSearch((WorldServer) location.getExtent(), null).find(location.getBlockPosition(), height, width);
+        } finally {
+            chunkProvider.chunkLoadOverride = chunkOverride;
         }
-        return safe;
+        return toSafeLocation(location.getExtent(), safe);
     }
 
-    private Optional<Location<World>> checkAboveAndBelowLocation(Location<World> location, final int height, final int width) {
-        // For now this will just do a straight up block.
-        // Check the main level
-        Optional<Location<World>> safe = checkAroundLocation(location, width);
-
-        if (safe.isPresent()) {
-            return safe;
-        }
-
-        // We've already checked zero right above this.
-        for (int currentLevel = 1; currentLevel <= height; currentLevel++) {
-            // Check above
-            safe = checkAroundLocation(location.add(0, currentLevel, 0), width);
-            if (safe.isPresent()) {
-                return safe;
-            }
-
-            // Check below
-            safe = checkAroundLocation(location.add(0, -currentLevel, 0), width);
-            if (safe.isPresent()) {
-                return safe;
-            }
-        }
-
-        return Optional.empty();
+    /**
+     * Gets the same safe location as {@link #getSafeLocation(Location)}
+     * without loading chunks on the calling thread.
+     *
+     * @param location The location to search around
+     * @return The future safe location
+     */
+    public CompletableFuture<Optional<Location<World>>> getSafeLocationAsync(Location<World> location) {
+        return getSafeLocationAsync(location, DEFAULT_HEIGHT, DEFAULT_WIDTH);
     }
 
-    private Optional<Location<World>> checkAroundLocation(Location<World> location, final int radius) {
-        if (isSafeLocation(location.getExtent(), location.getBlockPosition())) {
-            return Optional.of(location);
+    /**
+     * Gets the same safe location as
+     * {@link #getSafeLocation(Location, int, int)} without loading chunks on
+     * the calling thread.
+     *
+     * <p>The search first runs against the loaded chunks only. If it needs
+     * a chunk that isn't loaded, the missing chunks are read ahead on the
+     * chunk I/O threads and the search is repeated on the main thread once
+     * all of them were read. Chunks which can't be read ahead are loaded by
+     * that second search.</p>
+     *
+     * <p>Must be called from the main thread, the returned future is always
+     * completed on the main thread.</p>
+     *
+     * @param location The location to search around
+     * @param height The number of blocks to search above and below
+     * @param width The number of blocks to search around
+     * @return The future safe location
+     */
+    public CompletableFuture<Optional<Location<World>>> getSafeLocationAsync(Location<World> location, final int height, final int width) {
+        checkState(MinecraftServer.getServer().isCallingFromMinecraftThread(), "Safe locations must be searched from the main thread");
+        final WorldServer world = (WorldServer) location.getExtent();
+        final TLongSet missingChunks = new TLongHashSet();
+        final Vector3i safe = new SafeLocationSearch(world, missingChunks).find(location.getBlockPosition(), height, width);
+        if (missingChunks.isEmpty()) {
+            // Every candidate before the result was checked, so it is the final result
+            return CompletableFuture.completedFuture(toSafeLocation(location.getExtent(), safe));
         }
 
-        // Now we're going to search in expanding concentric circles...
-        for (int currentRadius = 0; currentRadius <= radius; currentRadius++) {
-            Optional<Vector3i> safePosition = checkAroundSpecificDiameter(location, currentRadius);
-            if (safePosition.isPresent()) {
-                // If a safe area was found: Return the checkLoc, it is the safe
-                // location.
-                return Optional.of(new Location<>(location.getExtent(), safePosition.get()));
-            }
-        }
-
-        return Optional.empty();
-    }
-
-    private Optional<Vector3i> checkAroundSpecificDiameter(Location<World> checkLoc, final int radius) {
-        World world = checkLoc.getExtent();
-        Vector3i blockPos = checkLoc.getBlockPosition();
-        //example at radius 2
-        //..c..
-        //.....
-        //..o..
-        //.....
-        //.....
-        // Check out at the radius provided.
-        blockPos = blockPos.add(radius, 0, 0);
-        if (isSafeLocation(world, blockPos)) {
-            return Optional.of(blockPos);
-        }
-        //example at radius 2
-        //..c01
-        //.....
-        //..o..
-        //.....
-        //.....
-        // Move up to the first corner..
-        for (int i = 0; i < radius; i++) {
-            blockPos = blockPos.add(0, 0, i);
-            if (isSafeLocation(world, blockPos)) {
-                return Optional.of(blockPos);
-            }
-        }
-        //example at radius 2
-        //....c
-        //....0
-        //..o.1
-        //....2
-        //....3
-        // Move to the second corner..
-        for (int i = 0; i < radius * 2; i++) {
-            blockPos = blockPos.add(-i, 0, 0);
-            if (isSafeLocation(world, blockPos)) {
-                return Optional.of(blockPos);
-            }
-        }
-        //example at radius 2
-        //.....
-        //.....
-        //..o..
-        //.....
-        //3210c
-        // Move to the third corner..
-        for (int i = 0; i < radius * 2; i++) {
-            blockPos = blockPos.add(0, 0, -i);
-            if (isSafeLocation(world, blockPos)) {
-                return Optional.of(blockPos);
-            }
+        final IMixinChunkProviderServer chunkProvider = (IMixinChunkProviderServer) world.theChunkProviderServer;
+        final List<CompletableFuture<?>> reads = new ArrayList<>(missingChunks.size());
+        missingChunks.forEach(key -> {
+            reads.add(chunkProvider.readChunkAhead((int) key, (int) (key >>> 32)));
+            return true;
+        });
+        final CompletableFuture<Void> allRead = CompletableFuture.allOf(reads.toArray(new CompletableFuture<?>[reads.size()]));
+        if (allRead.isDone()) {
+            // Nothing could be read ahead, the search has to load the chunks anyway
+            return CompletableFuture.completedFuture(getSafeLocation(location, height, width));
         }
-        //example at radius 2
-        //3....
-        //2....
-        //1.o..
-        //0....
-        //c....
-        // Move to the last corner..
-        for (int i = 0; i < radius * 2; i++) {
-            blockPos = blockPos.add(i, 0, 0);
-            if (isSafeLocation(world, blockPos)) {
-                return Optional.of(blockPos);
+        final CompletableFuture<Optional<Location<World>>> result = new CompletableFuture<>();
+        // Usually completed on a chunk I/O thread, so the search is queued for the main thread
+        allRead.whenComplete((ignored, error) -> MinecraftServer.getServer().addScheduledTask(() -> {
+            try {
+                result.complete(getSafeLocation(location, height, width));
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
             }
-        }
-        //example at radius 2
-        //c0...
-        //.....
-        //..o..
-        //.....
-        //.....
-        // Move back to just before the starting point.
-        for (int i = 0; i < radius - 1; i++) {
-            blockPos = blockPos.add(0, 0, i);
-            if (isSafeLocation(world, blockPos)) {
-                return Optional.of(blockPos);
-            }
-        }
-        return Optional.empty();
+        }));
+        return result;
     }
 
-    public boolean isSafeLocation(World world, Vector3i blockPos) {
-        final Vector3i up = blockPos.add(Vector3i.UP);
-        final Vector3i down = blockPos.sub(Vector3i.UP);
-
-        return !(!isBlockSafe(world, blockPos, false) || !isBlockSafe(world, up, false) || !isBlockSafe(world, down, true));
-
-    }
-
-    private boolean isBlockSafe(World world, Vector3i blockPos, boolean floorBlock) {
-        if (blockPos.getY() <= 0) {
-            return false;
-        }
-
-        if (blockPos.getY() > world.getDimension().getHeight()) {
-            return false;
-        }
-
-        final BlockType block = world.getBlockType(blockPos);
-
-        if (floorBlock) {
-            // Floor is air so we'll fall, need to make sure we fall safely.
-            if (block == BlockTypes.AIR) {
-                final BlockType typeBelowPos = world.getBlockType(blockPos.sub(0, 1, 0));
-                final BlockType typeBelowPos2 = world.getBlockType(blockPos.sub(0, 2, 0));
-
-                // We'll fall too far, not safe
-                if (typeBelowPos == BlockTypes.AIR && typeBelowPos2 == BlockTypes.AIR) {
-                    return false;
-                }
-
-                // We'll fall onto a block, need to make sure its safe
-                if (typeBelowPos != BlockTypes.AIR && !isSafeFloorMaterial(((Block) typeBelowPos).getMaterial())) {
-                    return false;
-                }
-
-                // We'll fall through an air block to another, need to make sure
-                // its safe
-                return isSafeFloorMaterial(((Block) typeBelowPos2).getMaterial());
-            }
-
-            // We have a non-air floor, need to ensure its safe
-            return isSafeFloorMaterial(((Block) block).getMaterial());
+    private static Optional<Location<World>> toSafeLocation(World world, @Nullable Vector3i safe) {
+        if (safe == null) {
+            return Optional.empty();
         }
-
-        // We need to make sure the block at our torso or head is safe
-        return isSafeBodyMaterial(((Block) block).getMaterial());
+        // Add 0.5 to X and Z of block position so always in centre of block
+        return Optional.of(new Location<>(world, safe.toDouble().add(0.5, 0, 0.5)));
     }
 
-    private boolean isSafeFloorMaterial(Material material) {
-        return !(material == Material.cactus || material == Material.fire || material == Material.lava);
-    }
-
-    private boolean isSafeBodyMaterial(Material material) {
-        return (material == Material.air || material == Material.grass || material == Material.plants
-                || material == Material.water || material == Material.redstoneLight || material == Material.circuits
-                || material == Material.snow || material == Material.portal || material == Material.web || material == Material.vine);
+    public boolean isSafeLocation(World world, Vector3i blockPos) {
+        return new SafeLocationSearch((WorldServer) world, null).isSafe(blockPos.getX(), blockPos.getY(), blockPos.getZ());
     }
 }
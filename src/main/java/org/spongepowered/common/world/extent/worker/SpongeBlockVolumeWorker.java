@@ -37,13 +37,22 @@
 import org.spongepowered.api.world.extent.worker.procedure.BlockVolumeReducer;
 import org.spongepowered.api.world.extent.worker.procedure.BlockVolumeVisitor;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.function.BiFunction;
 
+import javax.annotation.Nullable;
+
 /**
  *
  */
 public class SpongeBlockVolumeWorker<V extends BlockVolume> implements BlockVolumeWorker<V> {
 
+    @Nullable private static ForkJoinPool reducePool;
+
     protected final V volume;
 
     public SpongeBlockVolumeWorker(V volume) {
@@ -61,7 +70,7 @@ public void map(BlockVolumeMapper mapper, MutableBlockVolume destination) {
         final int xOffset = offset.getX();
         final int yOffset = offset.getY();
         final int zOffset = offset.getZ();
-        final UnmodifiableBlockVolume unmodifiableVolume = this.volume.getUnmodifiableBlockView();
+        final UnmodifiableBlockVolume unmodifiableVolume = getUnmodifiableVolume();
         final int xMin = unmodifiableVolume.getBlockMin().getX();
         final int yMin = unmodifiableVolume.getBlockMin().getY();
         final int zMin = unmodifiableVolume.getBlockMin().getZ();
@@ -88,7 +97,7 @@ public void merge(BlockVolume second, BlockVolumeMerger merger, MutableBlockVolu
         final int xOffsetDestination = offsetDestination.getX();
         final int yOffsetDestination = offsetDestination.getY();
         final int zOffsetDestination = offsetDestination.getZ();
-        final UnmodifiableBlockVolume firstUnmodifiableVolume = this.volume.getUnmodifiableBlockView();
+        final UnmodifiableBlockVolume firstUnmodifiableVolume = getUnmodifiableVolume();
         final int xMin = firstUnmodifiableVolume.getBlockMin().getX();
         final int yMin = firstUnmodifiableVolume.getBlockMin().getY();
         final int zMin = firstUnmodifiableVolume.getBlockMin().getZ();
@@ -115,6 +124,18 @@ public void iterate(BlockVolumeVisitor<V> visitor) {
         final int xMax = this.volume.getBlockMax().getX();
         final int yMax = this.volume.getBlockMax().getY();
         final int zMax = this.volume.getBlockMax().getZ();
+        if (skipsSections()) {
+            for (int section = yMin >> 4; section <= yMax >> 4; section++) {
+                if (!isSectionSkipped(section)) {
+                    iterate(visitor, xMin, Math.max(yMin, section << 4), zMin, xMax, Math.min(yMax, (section << 4) | 15), zMax);
+                }
+            }
+        } else {
+            iterate(visitor, xMin, yMin, zMin, xMax, yMax, zMax);
+        }
+    }
+
+    private void iterate(BlockVolumeVisitor<V> visitor, int xMin, int yMin, int zMin, int xMax, int yMax, int zMax) {
         for (int z = zMin; z <= zMax; z++) {
             for (int y = yMin; y <= yMax; y++) {
                 for (int x = xMin; x <= xMax; x++) {
@@ -126,24 +147,132 @@ public void iterate(BlockVolumeVisitor<V> visitor) {
 
     @Override
     public <T> T reduce(BlockVolumeReducer<T> reducer, BiFunction<T, T, T> merge, T identity) {
-        final UnmodifiableBlockVolume unmodifiableVolume = this.volume.getUnmodifiableBlockView();
+        final UnmodifiableBlockVolume unmodifiableVolume = getUnmodifiableVolume();
+        final int xMin = unmodifiableVolume.getBlockMin().getX();
+        final int yMin = unmodifiableVolume.getBlockMin().getY();
+        final int zMin = unmodifiableVolume.getBlockMin().getZ();
+        final int xMax = unmodifiableVolume.getBlockMax().getX();
+        final int yMax = unmodifiableVolume.getBlockMax().getY();
+        final int zMax = unmodifiableVolume.getBlockMax().getZ();
+        if (!skipsSections()) {
+            return reduce(unmodifiableVolume, reducer, identity, xMin, yMin, zMin, xMax, yMax, zMax);
+        }
+        T reduction = identity;
+        for (int section = yMin >> 4; section <= yMax >> 4; section++) {
+            if (!isSectionSkipped(section)) {
+                reduction = reduce(unmodifiableVolume, reducer, reduction,
+                    xMin, Math.max(yMin, section << 4), zMin, xMax, Math.min(yMax, (section << 4) | 15), zMax);
+            }
+        }
+        return reduction;
+    }
+
+    /**
+     * Reduces the volume like {@link #reduce(BlockVolumeReducer, BiFunction, Object)},
+     * but reduces each 16 block high section on the block worker pool. The
+     * section results are merged in order from the bottom up on the calling
+     * thread, which waits for all sections to be reduced.
+     *
+     * <p>The merge function must be associative and the identity must be
+     * neutral for it. The view returned by {@link #getUnmodifiableVolume()}
+     * is read from the pool threads, so it must not load anything and the
+     * volume must not be modified while it is reduced. Only workers of
+     * volumes meeting this expose a parallel reduce.</p>
+     *
+     * @param reducer The reducer
+     * @param merge The function merging two partial results
+     * @param identity The identity of the merge function
+     * @param <T> The result type
+     * @return The reduction
+     */
+    protected <T> T reduceSectionsInParallel(BlockVolumeReducer<T> reducer, BiFunction<T, T, T> merge, T identity) {
+        final UnmodifiableBlockVolume unmodifiableVolume = getUnmodifiableVolume();
         final int xMin = unmodifiableVolume.getBlockMin().getX();
         final int yMin = unmodifiableVolume.getBlockMin().getY();
         final int zMin = unmodifiableVolume.getBlockMin().getZ();
         final int xMax = unmodifiableVolume.getBlockMax().getX();
         final int yMax = unmodifiableVolume.getBlockMax().getY();
         final int zMax = unmodifiableVolume.getBlockMax().getZ();
+        final ForkJoinPool pool = getReducePool();
+        final List<ForkJoinTask<T>> sections = new ArrayList<>();
+        for (int section = yMin >> 4; section <= yMax >> 4; section++) {
+            if (!isSectionSkipped(section)) {
+                final int sectionMinY = Math.max(yMin, section << 4);
+                final int sectionMaxY = Math.min(yMax, (section << 4) | 15);
+                sections.add(pool.submit(() -> reduce(unmodifiableVolume, reducer, identity, xMin, sectionMinY, zMin, xMax, sectionMaxY, zMax)));
+            }
+        }
+        T reduction = identity;
+        for (ForkJoinTask<T> section : sections) {
+            reduction = merge.apply(reduction, section.join());
+        }
+        return reduction;
+    }
+
+    /**
+     * Gets the pool sections are reduced on in parallel, shared by all
+     * block workers.
+     *
+     * @return The block worker pool
+     */
+    static synchronized ForkJoinPool getReducePool() {
+        if (reducePool == null) {
+            final int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+            reducePool = new ForkJoinPool(threads, pool -> {
+                final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("Sponge Block Worker #" + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            }, null, false);
+        }
+        return reducePool;
+    }
+
+    private static <T> T reduce(UnmodifiableBlockVolume volume, BlockVolumeReducer<T> reducer, T identity,
+        int xMin, int yMin, int zMin, int xMax, int yMax, int zMax) {
         T reduction = identity;
         for (int z = zMin; z <= zMax; z++) {
             for (int y = yMin; y <= yMax; y++) {
                 for (int x = xMin; x <= xMax; x++) {
-                    reduction = reducer.reduce(unmodifiableVolume, x, y, z, reduction);
+                    reduction = reducer.reduce(volume, x, y, z, reduction);
                 }
             }
         }
         return reduction;
     }
 
+    /**
+     * Gets the view passed to mappers, mergers and reducers.
+     *
+     * @return The unmodifiable view of the volume
+     */
+    protected UnmodifiableBlockVolume getUnmodifiableVolume() {
+        return this.volume.getUnmodifiableBlockView();
+    }
+
+    /**
+     * Gets whether {@link #iterate(BlockVolumeVisitor)} and
+     * {@link #reduce(BlockVolumeReducer, BiFunction, Object)} skip the
+     * sections for which {@link #isSectionSkipped(int)} is true. Those
+     * then visit the volume section by section from the bottom up.
+     *
+     * @return True if sections are skipped
+     */
+    protected boolean skipsSections() {
+        return false;
+    }
+
+    /**
+     * Gets whether the 16 block high section at the given section y
+     * coordinate is skipped.
+     *
+     * @param sectionY The section y coordinate
+     * @return True if the section is skipped
+     */
+    protected boolean isSectionSkipped(int sectionY) {
+        return false;
+    }
+
     private Vector3i align(BlockVolume other) {
         final Vector3i thisSize = this.volume.getBlockSize();
         final Vector3i otherSize = other.getBlockSize();
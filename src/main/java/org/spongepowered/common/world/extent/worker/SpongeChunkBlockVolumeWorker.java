@@ -0,0 +1,103 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.extent.worker;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import org.spongepowered.api.world.Chunk;
+import org.spongepowered.api.world.extent.UnmodifiableBlockVolume;
+import org.spongepowered.api.world.extent.worker.procedure.BlockVolumeReducer;
+import org.spongepowered.common.world.extent.UnmodifiableChunkBlockView;
+
+import java.util.function.BiFunction;
+
+/**
+ * A block worker for chunks that reads blocks straight from the section
+ * storage of the chunk.
+ */
+public class SpongeChunkBlockVolumeWorker extends SpongeMutableBlockVolumeWorker<Chunk> {
+
+    private final ExtendedBlockStorage[] storage;
+    private boolean skipEmptySections;
+
+    public SpongeChunkBlockVolumeWorker(Chunk chunk) {
+        super(chunk);
+        this.storage = ((net.minecraft.world.chunk.Chunk) chunk).getBlockStorageArray();
+    }
+
+    /**
+     * Makes iterating and reducing skip the sections of the chunk that only
+     * contain air, visiting the chunk section by section.
+     *
+     * @return This worker
+     */
+    public SpongeChunkBlockVolumeWorker skipEmptySections() {
+        this.skipEmptySections = true;
+        return this;
+    }
+
+    /**
+     * Reduces the chunk like {@link #reduce(BlockVolumeReducer, BiFunction, Object)},
+     * but reduces each section on the block worker pool. The section results
+     * are merged in order from the bottom up.
+     *
+     * <p>The sections are read straight from the chunk storage, nothing is
+     * loaded off the main thread. This must be called from the main thread,
+     * which waits for the sections to be reduced, so the chunk can't change
+     * meanwhile. The merge function must be associative and the identity
+     * must be neutral for it.</p>
+     *
+     * @param reducer The reducer
+     * @param merge The function merging two partial results
+     * @param identity The identity of the merge function
+     * @param <T> The result type
+     * @return The reduction
+     */
+    public <T> T reduceParallel(BlockVolumeReducer<T> reducer, BiFunction<T, T, T> merge, T identity) {
+        checkState(MinecraftServer.getServer().isCallingFromMinecraftThread(), "Chunks can only be reduced in parallel from the main thread");
+        return reduceSectionsInParallel(reducer, merge, identity);
+    }
+
+    @Override
+    protected UnmodifiableBlockVolume getUnmodifiableVolume() {
+        return new UnmodifiableChunkBlockView(this.volume, this.storage);
+    }
+
+    @Override
+    protected boolean skipsSections() {
+        return this.skipEmptySections;
+    }
+
+    @Override
+    protected boolean isSectionSkipped(int sectionY) {
+        if (!this.skipEmptySections) {
+            return false;
+        }
+        final ExtendedBlockStorage section = this.storage[sectionY];
+        return section == null || section.isEmpty();
+    }
+}
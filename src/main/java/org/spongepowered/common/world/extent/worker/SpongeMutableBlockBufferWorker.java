@@ -0,0 +1,60 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.extent.worker;
+
+import org.spongepowered.api.world.extent.MutableBlockVolume;
+import org.spongepowered.api.world.extent.worker.procedure.BlockVolumeReducer;
+
+import java.util.function.BiFunction;
+
+/**
+ * A block worker for mutable block buffers, which are plain arrays not tied
+ * to a world and can be read from any thread.
+ */
+public class SpongeMutableBlockBufferWorker<V extends MutableBlockVolume> extends SpongeMutableBlockVolumeWorker<V> {
+
+    public SpongeMutableBlockBufferWorker(V volume) {
+        super(volume);
+    }
+
+    /**
+     * Reduces the buffer like {@link #reduce(BlockVolumeReducer, BiFunction, Object)},
+     * but reduces each 16 block high section on the block worker pool. The
+     * section results are merged in order from the bottom up.
+     *
+     * <p>The merge function must be associative and the identity must be
+     * neutral for it, and the buffer must not be modified while it is
+     * reduced.</p>
+     *
+     * @param reducer The reducer
+     * @param merge The function merging two partial results
+     * @param identity The identity of the merge function
+     * @param <T> The result type
+     * @return The reduction
+     */
+    public <T> T reduceParallel(BlockVolumeReducer<T> reducer, BiFunction<T, T, T> merge, T identity) {
+        return reduceSectionsInParallel(reducer, merge, identity);
+    }
+}
@@ -0,0 +1,359 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Stores the owner and notifier of tracked blocks within a single chunk.
+ *
+ * <p>Positions are grouped per 16 block high section and kept in primitive
+ * open-addressing tables keyed by the 12 bit position within the section,
+ * the owner and notifier unique id indexes of a block are packed together
+ * into a single {@code long} slot. Sections holding many tracked blocks
+ * switch to a flat array covering the whole section, so no per-block object
+ * is ever allocated.</p>
+ *
+ * <p>An index of {@code -1} means "none", a position with neither an owner
+ * nor a notifier is not tracked.</p>
+ */
+public final class BlockTrackerStore {
+
+    public static final int NONE = -1;
+
+    // Chunk relative positions use the same layout as the legacy "ipos" tag:
+    // x in bits 0-3, y in bits 4-27 and z in bits 28-31.
+    private static final int XZ_MASK = 0xF;
+    private static final int Y_MASK = 0xFFFFFF;
+    private static final int Y_SHIFT = 4;
+    private static final int Z_SHIFT = 28;
+
+    private static final int VANILLA_SECTIONS = 16;
+
+    private final Section[] sections = new Section[VANILLA_SECTIONS];
+    // Sections outside of the vanilla build height, only used by mods
+    private Map<Integer, Section> extraSections;
+    private int size;
+
+    public int getOwner(int x, int y, int z) {
+        return owner(get(x, y, z));
+    }
+
+    public int getNotifier(int x, int y, int z) {
+        return notifier(get(x, y, z));
+    }
+
+    public boolean isTracked(int x, int y, int z) {
+        return get(x, y, z) != Section.EMPTY;
+    }
+
+    public void setOwner(int x, int y, int z, int ownerIndex) {
+        final long current = get(x, y, z);
+        set(x, y, z, ownerIndex, notifier(current));
+    }
+
+    public void setNotifier(int x, int y, int z, int notifierIndex) {
+        final long current = get(x, y, z);
+        set(x, y, z, owner(current), notifierIndex);
+    }
+
+    /**
+     * Sets both the owner and notifier of a position, setting both to
+     * {@link #NONE} stops tracking it.
+     *
+     * @param x The x coordinate, only the lowest 4 bits are used
+     * @param y The y coordinate
+     * @param z The z coordinate, only the lowest 4 bits are used
+     * @param ownerIndex The owner index
+     * @param notifierIndex The notifier index
+     */
+    public void set(int x, int y, int z, int ownerIndex, int notifierIndex) {
+        final long value = pack(ownerIndex, notifierIndex);
+        final Section section = getSection(y & Y_MASK, value != Section.EMPTY);
+        if (section != null) {
+            this.size += section.put(localIndex(x, y, z), value);
+        }
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(this.sections, null);
+        this.extraSections = null;
+        this.size = 0;
+    }
+
+    /**
+     * Encodes every tracked position as a {@code [pos, owner, notifier]}
+     * triple.
+     *
+     * @return The encoded positions
+     */
+    public int[] toIntArray() {
+        final int[] data = new int[this.size * 3];
+        int offset = 0;
+        for (int i = 0; i < VANILLA_SECTIONS; i++) {
+            if (this.sections[i] != null) {
+                offset = this.sections[i].write(i, data, offset);
+            }
+        }
+        if (this.extraSections != null) {
+            for (Map.Entry<Integer, Section> entry : this.extraSections.entrySet()) {
+                offset = entry.getValue().write(entry.getKey(), data, offset);
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Adds the positions encoded by {@link #toIntArray()}.
+     *
+     * @param data The encoded positions
+     */
+    public void readIntArray(int[] data) {
+        for (int i = 0; i + 2 < data.length; i += 3) {
+            final int pos = data[i];
+            set(pos & XZ_MASK, (pos >>> Y_SHIFT) & Y_MASK, (pos >>> Z_SHIFT) & XZ_MASK, data[i + 1], data[i + 2]);
+        }
+    }
+
+    /**
+     * Packs a chunk relative position in the layout used by
+     * {@link #toIntArray()}.
+     */
+    public static int packPosition(int x, int y, int z) {
+        return (x & XZ_MASK) | ((y & Y_MASK) << Y_SHIFT) | ((z & XZ_MASK) << Z_SHIFT);
+    }
+
+    private long get(int x, int y, int z) {
+        final Section section = getSection(y & Y_MASK, false);
+        return section == null ? Section.EMPTY : section.get(localIndex(x, y, z));
+    }
+
+    private Section getSection(int y, boolean create) {
+        final int sectionY = y >> 4;
+        Section section;
+        if (sectionY < VANILLA_SECTIONS) {
+            section = this.sections[sectionY];
+            if (section == null && create) {
+                section = this.sections[sectionY] = new Section();
+            }
+        } else {
+            if (this.extraSections == null) {
+                if (!create) {
+                    return null;
+                }
+                this.extraSections = new HashMap<>();
+            }
+            section = this.extraSections.get(sectionY);
+            if (section == null && create) {
+                section = new Section();
+                this.extraSections.put(sectionY, section);
+            }
+        }
+        return section;
+    }
+
+    private static int localIndex(int x, int y, int z) {
+        return ((y & 0xF) << 8) | ((z & XZ_MASK) << 4) | (x & XZ_MASK);
+    }
+
+    private static long pack(int ownerIndex, int notifierIndex) {
+        return ((long) ownerIndex << 32) | (notifierIndex & 0xFFFFFFFFL);
+    }
+
+    private static int owner(long value) {
+        return (int) (value >>> 32);
+    }
+
+    private static int notifier(long value) {
+        return (int) value;
+    }
+
+    /**
+     * A 16x16x16 section, either a sparse linear-probing table or a flat
+     * array once it becomes crowded.
+     */
+    static final class Section {
+
+        static final long EMPTY = -1L;
+        private static final short NO_KEY = -1;
+        private static final int VOLUME = 4096;
+        private static final int INITIAL_CAPACITY = 16;
+        // Past this many entries the sparse table is as large as the flat array
+        private static final int DENSE_THRESHOLD = 1024;
+
+        // null once the section is dense
+        private short[] keys;
+        private long[] values;
+        private int mask;
+        private int size;
+
+        Section() {
+            this.keys = new short[INITIAL_CAPACITY];
+            this.values = new long[INITIAL_CAPACITY];
+            Arrays.fill(this.keys, NO_KEY);
+            this.mask = INITIAL_CAPACITY - 1;
+        }
+
+        long get(int index) {
+            if (this.keys == null) {
+                return this.values[index];
+            }
+            final int slot = find(index);
+            return this.keys[slot] == NO_KEY ? EMPTY : this.values[slot];
+        }
+
+        /**
+         * Sets the value at the index, {@link #EMPTY} removes it.
+         *
+         * @return The change in the number of entries
+         */
+        int put(int index, long value) {
+            if (this.keys == null) {
+                final long previous = this.values[index];
+                this.values[index] = value;
+                final int delta = previous == EMPTY ? (value == EMPTY ? 0 : 1) : (value == EMPTY ? -1 : 0);
+                this.size += delta;
+                return delta;
+            }
+            final int slot = find(index);
+            if (this.keys[slot] != NO_KEY) {
+                if (value == EMPTY) {
+                    removeSlot(slot);
+                    return -1;
+                }
+                this.values[slot] = value;
+                return 0;
+            }
+            if (value == EMPTY) {
+                return 0;
+            }
+            this.keys[slot] = (short) index;
+            this.values[slot] = value;
+            if (++this.size > DENSE_THRESHOLD) {
+                toDense();
+            } else if (this.size > (this.keys.length >> 1)) {
+                rehash(this.keys.length << 1);
+            }
+            return 1;
+        }
+
+        int write(int sectionY, int[] data, int offset) {
+            final int baseY = sectionY << 4;
+            for (int i = 0; i < this.values.length; i++) {
+                final int index;
+                if (this.keys == null) {
+                    if (this.values[i] == EMPTY) {
+                        continue;
+                    }
+                    index = i;
+                } else {
+                    if (this.keys[i] == NO_KEY) {
+                        continue;
+                    }
+                    index = this.keys[i];
+                }
+                data[offset++] = packPosition(index & XZ_MASK, baseY | (index >> 8), (index >> 4) & XZ_MASK);
+                data[offset++] = owner(this.values[i]);
+                data[offset++] = notifier(this.values[i]);
+            }
+            return offset;
+        }
+
+        private int find(int index) {
+            final short[] keys = this.keys;
+            int slot = mix(index) & this.mask;
+            while (keys[slot] != NO_KEY && keys[slot] != index) {
+                slot = (slot + 1) & this.mask;
+            }
+            return slot;
+        }
+
+        private void removeSlot(int slot) {
+            this.size--;
+            // Backward shift deletion, keeps probe sequences intact without tombstones
+            final short[] keys = this.keys;
+            final int mask = this.mask;
+            int next = slot;
+            while (true) {
+                next = (next + 1) & mask;
+                final short key = keys[next];
+                if (key == NO_KEY) {
+                    break;
+                }
+                final int ideal = mix(key) & mask;
+                if (slot <= next ? (ideal <= slot || ideal > next) : (ideal <= slot && ideal > next)) {
+                    keys[slot] = key;
+                    this.values[slot] = this.values[next];
+                    slot = next;
+                }
+            }
+            keys[slot] = NO_KEY;
+        }
+
+        private void rehash(int capacity) {
+            final short[] oldKeys = this.keys;
+            final long[] oldValues = this.values;
+            this.keys = new short[capacity];
+            this.values = new long[capacity];
+            Arrays.fill(this.keys, NO_KEY);
+            this.mask = capacity - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != NO_KEY) {
+                    final int slot = find(oldKeys[i]);
+                    this.keys[slot] = oldKeys[i];
+                    this.values[slot] = oldValues[i];
+                }
+            }
+        }
+
+        private void toDense() {
+            final long[] dense = new long[VOLUME];
+            Arrays.fill(dense, EMPTY);
+            for (int i = 0; i < this.keys.length; i++) {
+                if (this.keys[i] != NO_KEY) {
+                    dense[this.keys[i]] = this.values[i];
+                }
+            }
+            this.keys = null;
+            this.values = dense;
+        }
+
+        private static int mix(int index) {
+            final int h = index * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+
+}
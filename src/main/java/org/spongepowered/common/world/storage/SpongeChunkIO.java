@@ -0,0 +1,305 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import gnu.trove.iterator.TLongObjectIterator;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.world.ChunkCoordIntPair;
+import net.minecraft.world.chunk.storage.RegionFileCache;
+import org.spongepowered.api.util.Functional;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.GlobalWorldCategory;
+import org.spongepowered.common.scheduler.SpongeScheduler;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nullable;
+
+/**
+ * Reads and parses region data for a single world away from the main thread.
+ *
+ * <p>Reads are queued on a bounded pool shared by all worlds, the compressed
+ * chunk data is inflated and parsed into an {@link NBTTagCompound} on the
+ * pool thread and kept until the chunk loader asks for it. Only the final
+ * assembly of the {@code Chunk} from its NBT happens on the main thread.</p>
+ *
+ * <p>All methods except the reads themselves and {@link #chunkWritten} must
+ * be called from the main thread. Saving is not handled here, the
+ * {@code AnvilChunkLoader} already writes queued chunks from the
+ * {@code ThreadedFileIOBase} thread. Read ahead data is dropped whenever a
+ * save of its chunk is queued or written, and no read ahead should be
+ * queued while a save is pending.</p>
+ */
+public final class SpongeChunkIO {
+
+    /**
+     * Marks a chunk which was read ahead but does not exist on disk.
+     */
+    public static final NBTTagCompound MISSING = new NBTTagCompound();
+
+    private static final long EXPIRE_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private static final long EXPIRE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+    private static final int MAX_PENDING_READS = 4096;
+
+    @Nullable private static ExecutorService executor;
+
+    private final File worldDir;
+    private final TLongObjectHashMap<ChunkRead> reads = new TLongObjectHashMap<>();
+    private final ConcurrentLinkedQueue<Long> writtenChunks = new ConcurrentLinkedQueue<>();
+    private long lastExpireTime = System.nanoTime();
+
+    public SpongeChunkIO(File worldDir) {
+        this.worldDir = worldDir;
+    }
+
+    /**
+     * Gets the pool chunk reads are performed on, shared by all worlds.
+     *
+     * @return The chunk I/O executor
+     */
+    public static synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            final GlobalWorldCategory config = SpongeImpl.getGlobalConfig().getConfig().getWorld();
+            final int threads = Math.max(1, config.getChunkIOThreads());
+            final ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(Math.max(16, config.getChunkIOQueueSize())),
+                    new ThreadFactoryBuilder().setNameFormat("Sponge Chunk I/O #%d").setDaemon(true).build(),
+                    new ThreadPoolExecutor.AbortPolicy());
+            pool.allowCoreThreadTimeOut(true);
+            executor = pool;
+        }
+        return executor;
+    }
+
+    /**
+     * Runs a storage task on the chunk I/O pool, falling back to the
+     * blocking executor of Sponge if the pool is saturated.
+     *
+     * @param callable The task
+     * @param <T> The result type
+     * @return The future result of the task
+     */
+    public static <T> CompletableFuture<T> submit(Callable<T> callable) {
+        try {
+            return Functional.asyncFailableFuture(callable, getExecutor());
+        } catch (RejectedExecutionException e) {
+            return SpongeScheduler.getInstance().submitAsyncTask(callable);
+        }
+    }
+
+    /**
+     * Queues a read of the chunk at the given coordinates, unless one
+     * is already pending.
+     *
+     * <p>The returned future completes on a chunk I/O thread once the read
+     * finished, or on the main thread with null if the read was cancelled
+     * before it started.</p>
+     *
+     * @param x The chunk x coordinate
+     * @param z The chunk z coordinate
+     * @return The future data of the pending read, or null if the read was
+     *     rejected because too many reads are pending
+     */
+    @Nullable
+    public CompletableFuture<NBTTagCompound> readAhead(int x, int z) {
+        invalidateWritten();
+        final long key = ChunkCoordIntPair.chunkXZ2Int(x, z);
+        final ChunkRead pending = this.reads.get(key);
+        if (pending != null) {
+            return pending.result;
+        }
+        if (this.reads.size() >= MAX_PENDING_READS) {
+            expire();
+            if (this.reads.size() >= MAX_PENDING_READS) {
+                return null;
+            }
+        }
+        final ChunkRead read = new ChunkRead(x, z);
+        try {
+            getExecutor().execute(read);
+        } catch (RejectedExecutionException e) {
+            expire();
+            return null;
+        }
+        this.reads.put(key, read);
+        return read.result;
+    }
+
+    /**
+     * Takes the read ahead data of the chunk at the given coordinates. If the
+     * read is still queued it is cancelled, if it is in progress this waits
+     * for it to complete.
+     *
+     * @param x The chunk x coordinate
+     * @param z The chunk z coordinate
+     * @return The chunk data, {@link #MISSING} if the chunk does not exist or
+     *     null if no data is available and the chunk must be read directly
+     */
+    @Nullable
+    public NBTTagCompound take(int x, int z) {
+        invalidateWritten();
+        final ChunkRead read = this.reads.remove(ChunkCoordIntPair.chunkXZ2Int(x, z));
+        if (read == null) {
+            return null;
+        }
+        if (read.cancel()) {
+            return null;
+        }
+        return read.result.join();
+    }
+
+    /**
+     * Discards any read ahead data of the chunk at the given coordinates, used
+     * when newer data for the chunk is queued to be saved.
+     *
+     * @param x The chunk x coordinate
+     * @param z The chunk z coordinate
+     */
+    public void invalidate(int x, int z) {
+        final ChunkRead read = this.reads.remove(ChunkCoordIntPair.chunkXZ2Int(x, z));
+        if (read != null) {
+            read.cancel();
+        }
+    }
+
+    /**
+     * Called from the thread writing chunks once the chunk at the given
+     * coordinates was written, its read ahead data is dropped on the main
+     * thread before the next read ahead or take.
+     *
+     * @param x The chunk x coordinate
+     * @param z The chunk z coordinate
+     */
+    public void chunkWritten(int x, int z) {
+        this.writtenChunks.add(ChunkCoordIntPair.chunkXZ2Int(x, z));
+    }
+
+    private void invalidateWritten() {
+        Long key;
+        while ((key = this.writtenChunks.poll()) != null) {
+            final ChunkRead read = this.reads.remove(key);
+            if (read != null) {
+                read.cancel();
+            }
+        }
+    }
+
+    public int getPendingReads() {
+        return this.reads.size();
+    }
+
+    /**
+     * Called once per tick, periodically drops read ahead data which was
+     * never taken so it does not stay in memory until the pending reads
+     * fill up.
+     */
+    public void tick() {
+        invalidateWritten();
+        if (this.reads.isEmpty()) {
+            return;
+        }
+        if (System.nanoTime() - this.lastExpireTime >= EXPIRE_INTERVAL_NANOS) {
+            expire();
+        }
+    }
+
+    /**
+     * Drops completed reads nobody asked for, such as chunks ahead of a
+     * player who turned around.
+     */
+    public void expire() {
+        final long now = System.nanoTime();
+        this.lastExpireTime = now;
+        for (TLongObjectIterator<ChunkRead> it = this.reads.iterator(); it.hasNext(); ) {
+            it.advance();
+            final ChunkRead read = it.value();
+            if (read.result.isDone() && now - read.queuedTime > EXPIRE_NANOS) {
+                it.remove();
+            }
+        }
+    }
+
+    private final class ChunkRead implements Runnable {
+
+        static final int QUEUED = 0;
+        static final int RUNNING = 1;
+        static final int CANCELLED = 2;
+
+        final int x;
+        final int z;
+        final long queuedTime = System.nanoTime();
+        final AtomicInteger state = new AtomicInteger(QUEUED);
+        final CompletableFuture<NBTTagCompound> result = new CompletableFuture<>();
+
+        ChunkRead(int x, int z) {
+            this.x = x;
+            this.z = z;
+        }
+
+        // Completes the result of a read which never started, for anyone waiting on it
+        boolean cancel() {
+            if (this.state.compareAndSet(QUEUED, CANCELLED)) {
+                this.result.complete(null);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void run() {
+            if (!this.state.compareAndSet(QUEUED, RUNNING)) {
+                return;
+            }
+            try {
+                final DataInputStream stream = RegionFileCache.getChunkInputStream(SpongeChunkIO.this.worldDir, this.x, this.z);
+                if (stream == null) {
+                    this.result.complete(MISSING);
+                    return;
+                }
+                try {
+                    this.result.complete(CompressedStreamTools.read(stream));
+                } finally {
+                    stream.close();
+                }
+            } catch (Throwable t) {
+                // Let the chunk loader retry on the main thread and report the error there
+                this.result.complete(null);
+            }
+        }
+    }
+}
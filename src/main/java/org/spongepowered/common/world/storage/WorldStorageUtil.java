@@ -36,7 +36,6 @@
 import org.spongepowered.common.data.persistence.NbtTranslator;
 import org.spongepowered.common.data.util.NbtDataUtil;
 import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
-import org.spongepowered.common.scheduler.SpongeScheduler;
 
 import java.io.DataInputStream;
 import java.io.File;
@@ -56,7 +55,7 @@ public static CompletableFuture<Boolean> doesChunkExist(WorldServer world, IChun
         if (!(chunkLoader instanceof IMixinAnvilChunkLoader) || !SpongeChunkLayout.instance.isValidChunk(x, chunkCoords.getY(), z)) {
             return CompletableFuture.completedFuture(false);
         }
-        return SpongeScheduler.getInstance().submitAsyncTask(() -> ((IMixinAnvilChunkLoader) chunkLoader).chunkExists(world, x, z));
+        return SpongeChunkIO.submit(() -> ((IMixinAnvilChunkLoader) chunkLoader).chunkExists(world, x, z));
     }
 
     public static CompletableFuture<Optional<DataContainer>> getChunkData(WorldServer world, IChunkLoader chunkLoader, Vector3i chunkCoords) {
@@ -67,7 +66,7 @@ public static CompletableFuture<Optional<DataContainer>> getChunkData(WorldServe
             return CompletableFuture.completedFuture(Optional.empty());
         }
         File worldDir = ((IMixinAnvilChunkLoader) chunkLoader).getWorldDir().toFile();
-        return SpongeScheduler.getInstance().submitAsyncTask(() -> {
+        return SpongeChunkIO.submit(() -> {
             DataInputStream stream = RegionFileCache.getChunkInputStream(worldDir, x, z);
             return Optional.ofNullable(readDataFromRegion(stream));
         });
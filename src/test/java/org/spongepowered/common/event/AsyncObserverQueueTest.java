@@ -0,0 +1,130 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.EventListener;
+import org.spongepowered.api.plugin.PluginContainer;
+
+import java.util.List;
+
+public class AsyncObserverQueueTest {
+
+    private final List<Runnable> drains = Lists.newArrayList();
+    private final List<Event> handled = Lists.newArrayList();
+    private final EventListener<Event> listener = this.handled::add;
+
+    private AsyncObserverQueue createQueue(int capacity, AsyncObserverQueue.BackPressure backPressure, int sampleRate) {
+        return new AsyncObserverQueue(mock(PluginContainer.class), this.drains::add, capacity, backPressure, sampleRate, 1);
+    }
+
+    private static Event event() {
+        return new EventFilterTest.UncancellableEvent();
+    }
+
+    private void drain(AsyncObserverQueue queue) {
+        while (!this.drains.isEmpty()) {
+            this.drains.remove(0).run();
+        }
+        Assert.assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testDrop() {
+        final AsyncObserverQueue queue = createQueue(2, AsyncObserverQueue.BackPressure.DROP, 1);
+        final Event first = event();
+        final Event second = event();
+        queue.offer(this.listener, first);
+        queue.offer(this.listener, second);
+        queue.offer(this.listener, event());
+
+        Assert.assertEquals(2, queue.size());
+        Assert.assertEquals(1, queue.getDropped());
+        Assert.assertEquals("The queue was scheduled to drain more than once", 1, this.drains.size());
+
+        drain(queue);
+        Assert.assertEquals(Lists.newArrayList(first, second), this.handled);
+
+        queue.offer(this.listener, event());
+        Assert.assertEquals("Events were dropped after the queue was drained", 1, queue.size());
+    }
+
+    @Test
+    public void testBlockStopsWaitingWhileOverwhelmed() {
+        final AsyncObserverQueue queue = createQueue(4, AsyncObserverQueue.BackPressure.BLOCK, 1);
+        for (int i = 0; i < 4; i++) {
+            queue.offer(this.listener, event());
+        }
+        Assert.assertEquals(0, queue.getDropped());
+
+        // The first event times out, the others don't wait at all
+        final long start = System.nanoTime();
+        for (int i = 0; i < 1000; i++) {
+            queue.offer(this.listener, event());
+        }
+        Assert.assertEquals(1000, queue.getDropped());
+        Assert.assertTrue("The posting thread waited for every event", System.nanoTime() - start < 500 * 1000 * 1000L);
+
+        drain(queue);
+        queue.offer(this.listener, event());
+        Assert.assertEquals("Events were dropped after the queue was drained", 1, queue.size());
+        Assert.assertEquals(1000, queue.getDropped());
+    }
+
+    @Test
+    public void testSample() {
+        final AsyncObserverQueue queue = createQueue(4, AsyncObserverQueue.BackPressure.SAMPLE, 2);
+        for (int i = 0; i < 8; i++) {
+            queue.offer(this.listener, event());
+        }
+        // Two events fill half the queue, after that every second event is kept until it is full
+        Assert.assertEquals(4, queue.size());
+        Assert.assertEquals(4, queue.getDropped());
+    }
+
+    @Test
+    public void testListenerErrorDoesNotStopDraining() {
+        final AsyncObserverQueue queue = createQueue(4, AsyncObserverQueue.BackPressure.DROP, 1);
+        queue.offer(event -> {
+            throw new IllegalStateException();
+        }, event());
+        queue.offer(this.listener, event());
+
+        drain(queue);
+        Assert.assertEquals(1, this.handled.size());
+    }
+
+    @Test
+    public void testUnknownBackPressure() {
+        Assert.assertEquals(AsyncObserverQueue.BackPressure.BLOCK, AsyncObserverQueue.BackPressure.of("Block"));
+        Assert.assertEquals(AsyncObserverQueue.BackPressure.DROP, AsyncObserverQueue.BackPressure.of("wait"));
+    }
+
+}
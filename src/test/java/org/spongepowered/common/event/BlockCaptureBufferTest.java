@@ -0,0 +1,130 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.BlockPos;
+import org.junit.Assert;
+import org.junit.Test;
+import org.spongepowered.common.block.SpongeBlockSnapshot;
+import org.spongepowered.common.interfaces.world.IMixinWorld;
+import org.spongepowered.common.world.CaptureType;
+
+import java.util.UUID;
+
+public class BlockCaptureBufferTest {
+
+    private final IMixinWorld world = mock(IMixinWorld.class);
+    private final IBlockState state = mock(IBlockState.class);
+
+    @Test
+    public void testSnapshotsAreCreatedOnDemand() {
+        when(this.world.createSpongeBlockSnapshot(any(IBlockState.class), any(IBlockState.class), any(BlockPos.class), anyInt(), any(UUID.class),
+                any(UUID.class))).thenAnswer(invocation -> mock(SpongeBlockSnapshot.class));
+        final BlockCaptureBuffer buffer = new BlockCaptureBuffer(this.world);
+        for (int i = 0; i < 40; i++) {
+            buffer.add(new BlockPos(i, 64, 0), this.state, this.state, 3, CaptureType.BREAK, null, null, null);
+        }
+        Assert.assertEquals(40, buffer.size());
+        verify(this.world, never()).createSpongeBlockSnapshot(any(IBlockState.class), any(IBlockState.class), any(BlockPos.class), anyInt(),
+                any(UUID.class), any(UUID.class));
+
+        final SpongeBlockSnapshot snapshot = buffer.get(7);
+        Assert.assertSame(snapshot, buffer.get(7));
+        Assert.assertEquals(CaptureType.BREAK, snapshot.captureType);
+        verify(this.world, times(1)).createSpongeBlockSnapshot(this.state, this.state, new BlockPos(7, 64, 0), 3, null, null);
+    }
+
+    @Test
+    public void testCreatorAndNotifierAreCapturedWithTheChange() {
+        when(this.world.createSpongeBlockSnapshot(any(IBlockState.class), any(IBlockState.class), any(BlockPos.class), anyInt(), any(UUID.class),
+                any(UUID.class))).thenAnswer(invocation -> mock(SpongeBlockSnapshot.class));
+        final BlockCaptureBuffer buffer = new BlockCaptureBuffer(this.world);
+        final UUID creator = UUID.randomUUID();
+        final UUID notifier = UUID.randomUUID();
+        buffer.add(new BlockPos(1, 2, 3), this.state, this.state, 3, CaptureType.MODIFY, creator, notifier, null);
+        buffer.add(new BlockPos(4, 5, 6), this.state, this.state, 2, CaptureType.BREAK, null, notifier, null);
+
+        Assert.assertEquals(new BlockPos(1, 2, 3), buffer.getPosition(0));
+        Assert.assertSame(this.state, buffer.getState(0));
+        Assert.assertEquals(2, buffer.getUpdateFlag(1));
+
+        // The snapshot uses the ids tracked when the change happened, not the ones tracked now
+        buffer.get(0);
+        buffer.get(1);
+        verify(this.world).createSpongeBlockSnapshot(this.state, this.state, new BlockPos(1, 2, 3), 3, creator, notifier);
+        verify(this.world).createSpongeBlockSnapshot(this.state, this.state, new BlockPos(4, 5, 6), 2, null, notifier);
+        verify(this.world, never()).createSpongeBlockSnapshot(any(IBlockState.class), any(IBlockState.class), any(BlockPos.class), anyInt());
+    }
+
+    @Test
+    public void testEagerSnapshot() {
+        final BlockCaptureBuffer buffer = new BlockCaptureBuffer(this.world);
+        final SpongeBlockSnapshot snapshot = mock(SpongeBlockSnapshot.class);
+        buffer.add(BlockPos.ORIGIN, this.state, this.state, 2, CaptureType.PLACE, null, null, snapshot);
+        Assert.assertSame(snapshot, buffer.getLast());
+        Assert.assertEquals(CaptureType.PLACE, snapshot.captureType);
+        verify(this.world, never()).createSpongeBlockSnapshot(any(IBlockState.class), any(IBlockState.class), any(BlockPos.class), anyInt(),
+                any(UUID.class), any(UUID.class));
+    }
+
+    @Test
+    public void testRemove() {
+        final BlockCaptureBuffer buffer = new BlockCaptureBuffer(this.world);
+        final BlockPos first = new BlockPos(1, 2, 3);
+        final BlockPos second = new BlockPos(4, 5, 6);
+        final BlockPos third = new BlockPos(7, 8, 9);
+        buffer.add(first, this.state, this.state, 3, CaptureType.BREAK, null, null, null);
+        final int index = buffer.add(second, this.state, this.state, 3, CaptureType.MODIFY, null, null, null);
+        buffer.add(third, this.state, this.state, 3, CaptureType.PLACE, null, null, null);
+
+        // A different position means the change was already handled
+        buffer.remove(index, third);
+        Assert.assertEquals(3, buffer.size());
+
+        buffer.remove(index, second);
+        Assert.assertEquals(2, buffer.size());
+        Assert.assertTrue(buffer.isAt(0, first));
+        Assert.assertTrue(buffer.isAt(1, third));
+        Assert.assertEquals(CaptureType.PLACE, buffer.getCaptureType(1));
+
+        buffer.clear();
+        Assert.assertTrue(buffer.isEmpty());
+        Assert.assertNull(buffer.getLast());
+        Assert.assertFalse(buffer.isAt(0, first));
+        verify(this.world, never()).createSpongeBlockSnapshot(any(IBlockState.class), any(IBlockState.class), eq(second), anyInt(),
+                any(UUID.class), any(UUID.class));
+    }
+
+}
@@ -0,0 +1,107 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.event.cause.NamedCause;
+
+public class CauseStackTest {
+
+    @Test
+    public void testFrameBuildsCauseOnce() {
+        CauseStack stack = new CauseStack();
+        assertNull(stack.peek());
+        Object source = new Object();
+        Object notifier = new Object();
+        stack.push().source(source).notifier(notifier);
+
+        Cause cause = stack.peek();
+        assertSame(source, cause.root());
+        assertSame(notifier, cause.get(NamedCause.NOTIFIER, Object.class).get());
+        assertSame(cause, stack.peek());
+
+        // Adding to the frame invalidates the built cause
+        Object owner = new Object();
+        stack.peekFrame().owner(owner);
+        Cause merged = stack.peek();
+        assertSame(source, merged.root());
+        assertSame(owner, merged.get(NamedCause.OWNER, Object.class).get());
+    }
+
+    @Test
+    public void testLazySource() {
+        CauseStack stack = new CauseStack();
+        Object source = new Object();
+        int[] requests = new int[1];
+        stack.push().lazySource(() -> {
+            requests[0]++;
+            return source;
+        });
+        assertEquals(0, requests[0]);
+
+        Cause cause = stack.peek();
+        assertSame(source, cause.root());
+        assertSame(cause, stack.peek());
+        assertEquals(1, requests[0]);
+
+        // Popping an unused frame never requests the source
+        stack.push().lazySource(() -> {
+            throw new AssertionError();
+        });
+        stack.pop();
+        stack.pop();
+        assertTrue(stack.isEmpty());
+    }
+
+    @Test
+    public void testFramesAreReused() {
+        CauseStack stack = new CauseStack();
+        Cause outer = Cause.of(NamedCause.source("outer"));
+        stack.push(outer);
+        for (int i = 0; i < 20; i++) {
+            stack.push().source(i);
+        }
+        assertEquals(21, stack.size());
+        assertEquals(19, stack.peek().root());
+        for (int i = 0; i < 20; i++) {
+            stack.pop();
+        }
+        assertSame(outer, stack.peek());
+
+        stack.push().named("Named", "value");
+        assertEquals("value", stack.peek().get("Named", String.class).get());
+        stack.pop();
+        stack.pop();
+        assertTrue(stack.isEmpty());
+        assertNull(stack.peek());
+    }
+
+}
@@ -0,0 +1,138 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+import org.spongepowered.api.event.Cancellable;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.cause.Cause;
+
+import java.util.List;
+
+public class EventSnapshotsTest {
+
+    @Test
+    public void testSnapshotIsDetached() {
+        final NamesEventImpl event = new NamesEventImpl(Lists.newArrayList("foo"));
+        final NamesEvent snapshot = EventSnapshots.snapshot(NamesEvent.class, event);
+        Assert.assertTrue(EventSnapshots.isSnapshot(snapshot));
+
+        event.getNames().add("bar");
+        event.setCancelled(true);
+
+        Assert.assertEquals(Lists.newArrayList("foo"), snapshot.getNames());
+        Assert.assertFalse(snapshot.isCancelled());
+        Assert.assertSame(event.getCause(), snapshot.getCause());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSnapshotCollectionsAreReadOnly() {
+        final NamesEvent snapshot = EventSnapshots.snapshot(NamesEvent.class, new NamesEventImpl(Lists.newArrayList("foo")));
+        snapshot.getNames().add("bar");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSnapshotSettersFail() {
+        final NamesEvent snapshot = EventSnapshots.snapshot(NamesEvent.class, new NamesEventImpl(Lists.newArrayList("foo")));
+        snapshot.setCancelled(true);
+    }
+
+    @Test
+    public void testClassListenersGetTheEvent() {
+        final EventFilterTest.TestEvent event = new EventFilterTest.TestEvent(Cause.source(this).build());
+        Assert.assertSame(event, EventSnapshots.snapshot(EventFilterTest.TestEvent.class, event));
+    }
+
+    @Test
+    public void testOnlyGettersAreCaptured() {
+        final FilterEventImpl event = new FilterEventImpl();
+        final FilterEvent snapshot = EventSnapshots.snapshot(FilterEvent.class, event);
+        Assert.assertEquals(0, event.filtered);
+        try {
+            snapshot.filterNames();
+            Assert.fail("A method which isn't a getter was captured");
+        } catch (UnsupportedOperationException ignored) {
+        }
+    }
+
+    public interface FilterEvent extends NamesEvent {
+
+        List<String> filterNames();
+    }
+
+    public static class FilterEventImpl extends NamesEventImpl implements FilterEvent {
+
+        int filtered;
+
+        public FilterEventImpl() {
+            super(Lists.newArrayList("foo"));
+        }
+
+        @Override
+        public List<String> filterNames() {
+            this.filtered++;
+            return getNames();
+        }
+    }
+
+    public interface NamesEvent extends Event, Cancellable {
+
+        List<String> getNames();
+    }
+
+    public static class NamesEventImpl implements NamesEvent {
+
+        private final Cause cause = Cause.source(this).build();
+        private final List<String> names;
+        private boolean cancelled;
+
+        public NamesEventImpl(List<String> names) {
+            this.names = names;
+        }
+
+        @Override
+        public List<String> getNames() {
+            return this.names;
+        }
+
+        @Override
+        public Cause getCause() {
+            return this.cause;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return this.cancelled;
+        }
+
+        @Override
+        public void setCancelled(boolean cancel) {
+            this.cancelled = cancel;
+        }
+    }
+
+}
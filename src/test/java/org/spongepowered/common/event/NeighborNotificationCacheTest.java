@@ -0,0 +1,115 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static org.mockito.Mockito.mock;
+
+import net.minecraft.block.Block;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class NeighborNotificationCacheTest {
+
+    private static final int ALL_SIDES = 0b111111;
+
+    private final NeighborNotificationCache cache = new NeighborNotificationCache();
+    private final Block block = mock(Block.class);
+    private final Object cause = new Object();
+    private final Object notifier = new Object();
+
+    @Test
+    public void testMissingEntry() {
+        Assert.assertEquals(NeighborNotificationCache.NOT_CACHED, this.cache.get(0, 0, this.block, ALL_SIDES, null, null));
+    }
+
+    @Test
+    public void testSameTick() {
+        this.cache.put(5, 42, this.block, ALL_SIDES, this.cause, this.notifier, 0b000101);
+        Assert.assertEquals(0b000101, this.cache.get(5, 42, this.block, ALL_SIDES, this.cause, this.notifier));
+
+        this.cache.put(5, 42, this.block, ALL_SIDES, this.cause, this.notifier, 0);
+        Assert.assertEquals(0, this.cache.get(5, 42, this.block, ALL_SIDES, this.cause, this.notifier));
+    }
+
+    @Test
+    public void testNextTick() {
+        this.cache.put(5, 42, this.block, ALL_SIDES, this.cause, this.notifier, 0b000101);
+        Assert.assertEquals(NeighborNotificationCache.NOT_CACHED, this.cache.get(6, 42, this.block, ALL_SIDES, this.cause, this.notifier));
+        // Going back to the old tick must not revive the entry
+        Assert.assertEquals(NeighborNotificationCache.NOT_CACHED, this.cache.get(5, 42, this.block, ALL_SIDES, this.cause, this.notifier));
+    }
+
+    @Test
+    public void testKeyParts() {
+        this.cache.put(5, 42, this.block, ALL_SIDES, this.cause, this.notifier, ALL_SIDES);
+        Assert.assertEquals(NeighborNotificationCache.NOT_CACHED, this.cache.get(5, 43, this.block, ALL_SIDES, this.cause, this.notifier));
+        Assert.assertEquals(NeighborNotificationCache.NOT_CACHED, this.cache.get(5, 42, mock(Block.class), ALL_SIDES, this.cause, this.notifier));
+        Assert.assertEquals(NeighborNotificationCache.NOT_CACHED, this.cache.get(5, 42, this.block, 0b011111, this.cause, this.notifier));
+    }
+
+    @Test
+    public void testCauseAndNotifierAreKeys() {
+        final Object otherCause = new Object();
+        final Object otherNotifier = new Object();
+        this.cache.put(5, 42, this.block, ALL_SIDES, this.cause, this.notifier, 0);
+        Assert.assertEquals(NeighborNotificationCache.NOT_CACHED, this.cache.get(5, 42, this.block, ALL_SIDES, otherCause, this.notifier));
+        Assert.assertEquals(NeighborNotificationCache.NOT_CACHED, this.cache.get(5, 42, this.block, ALL_SIDES, this.cause, otherNotifier));
+        Assert.assertEquals(NeighborNotificationCache.NOT_CACHED, this.cache.get(5, 42, this.block, ALL_SIDES, this.cause, null));
+        Assert.assertEquals(NeighborNotificationCache.NOT_CACHED, this.cache.get(5, 42, this.block, ALL_SIDES, null, this.notifier));
+
+        this.cache.put(5, 42, this.block, ALL_SIDES, this.cause, otherNotifier, ALL_SIDES);
+        Assert.assertEquals(0, this.cache.get(5, 42, this.block, ALL_SIDES, this.cause, this.notifier));
+        Assert.assertEquals(ALL_SIDES, this.cache.get(5, 42, this.block, ALL_SIDES, this.cause, otherNotifier));
+
+        this.cache.put(5, 42, this.block, ALL_SIDES, null, null, 0b000001);
+        Assert.assertEquals(0b000001, this.cache.get(5, 42, this.block, ALL_SIDES, null, null));
+    }
+
+    @Test
+    public void testGrowKeepsEntries() {
+        for (int i = 0; i < 1000; i++) {
+            this.cache.put(5, i * 31L, this.block, ALL_SIDES, this.cause, this.notifier, i & ALL_SIDES);
+        }
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertEquals(i & ALL_SIDES, this.cache.get(5, i * 31L, this.block, ALL_SIDES, this.cause, this.notifier));
+        }
+        Assert.assertEquals(NeighborNotificationCache.NOT_CACHED, this.cache.get(6, 0, this.block, ALL_SIDES, this.cause, this.notifier));
+        Assert.assertEquals(NeighborNotificationCache.NOT_CACHED, this.cache.get(6, 31L, this.block, ALL_SIDES, this.cause, this.notifier));
+    }
+
+    @Test
+    public void testEntryLimit() {
+        final int entries = (1 << 15) + 10;
+        for (int i = 0; i < entries; i++) {
+            this.cache.put(5, i, this.block, ALL_SIDES, null, null, 1);
+        }
+        Assert.assertEquals(1, this.cache.get(5, 0, this.block, ALL_SIDES, null, null));
+        Assert.assertEquals(NeighborNotificationCache.NOT_CACHED, this.cache.get(5, entries - 1, this.block, ALL_SIDES, null, null));
+        // Overwriting an existing entry is still possible
+        this.cache.put(5, 0, this.block, ALL_SIDES, null, null, 2);
+        Assert.assertEquals(2, this.cache.get(5, 0, this.block, ALL_SIDES, null, null));
+    }
+
+}
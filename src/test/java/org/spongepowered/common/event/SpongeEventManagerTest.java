@@ -0,0 +1,93 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.api.plugin.PluginManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+public class SpongeEventManagerTest {
+
+    private final Object plugin = new Object();
+    private SpongeEventManager eventManager;
+
+    @Before
+    public void init() {
+        PluginManager pluginManager = mock(PluginManager.class);
+        when(pluginManager.fromInstance(this.plugin)).thenReturn(Optional.of(mock(PluginContainer.class)));
+        this.eventManager = new SpongeEventManager(pluginManager);
+    }
+
+    @Test
+    public void testHasListeners() {
+        Assert.assertFalse(this.eventManager.hasListeners(EventFilterTest.SubEvent.class));
+
+        this.eventManager.registerListener(this.plugin, EventFilterTest.TestEvent.class, event -> {});
+        Assert.assertTrue("Listener of a supertype was not found", this.eventManager.hasListeners(EventFilterTest.SubEvent.class));
+        Assert.assertTrue(this.eventManager.hasListeners(EventFilterTest.TestEvent.class));
+        Assert.assertFalse(this.eventManager.hasListeners(EventFilterTest.UncancellableEvent.class));
+
+        this.eventManager.unregisterPluginListeners(this.plugin);
+        Assert.assertFalse("Listener was found after being unregistered", this.eventManager.hasListeners(EventFilterTest.SubEvent.class));
+    }
+
+    @Test
+    public void testObserversShareSnapshot() {
+        final PluginContainer container = mock(PluginContainer.class);
+        final List<Event> observed = new ArrayList<>();
+        final RegisteredListener<?>[] observers = {
+                new RegisteredListener<>(container, EventSnapshotsTest.NamesEvent.class, Order.POST, observed::add, false),
+                new RegisteredListener<>(container, EventSnapshotsTest.NamesEvent.class, Order.POST, observed::add, false),
+                new RegisteredListener<>(container, EventSnapshotsTest.NamesEventImpl.class, Order.POST, observed::add, false)
+        };
+        final EventSnapshotsTest.NamesEventImpl event = new EventSnapshotsTest.NamesEventImpl(Lists.newArrayList("foo"));
+        SpongeEventManager.observe(event, observers);
+
+        Assert.assertEquals(3, observed.size());
+        Assert.assertTrue(EventSnapshots.isSnapshot(observed.get(0)));
+        Assert.assertSame("The event was copied for every observer", observed.get(0), observed.get(1));
+        Assert.assertSame(event, observed.get(2));
+    }
+
+    @Test
+    public void testHasListenersForAllEvents() {
+        Assert.assertFalse(this.eventManager.hasListeners(EventFilterTest.UncancellableEvent.class));
+        this.eventManager.registerListener(this.plugin, Event.class, event -> {});
+        Assert.assertTrue(this.eventManager.hasListeners(EventFilterTest.UncancellableEvent.class));
+    }
+
+}
@@ -0,0 +1,242 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.plugin.entitycollisions;
+
+import com.google.common.collect.Sets;
+import net.minecraft.entity.Entity;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.AxisAlignedBB;
+import org.junit.Assert;
+import org.junit.Test;
+import org.spongepowered.common.mixin.plugin.entitycollisions.interfaces.IMixinEntity_Collisions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+public class EntityGridTest {
+
+    private final EntityGrid grid = new EntityGrid();
+    private final List<TestEntity> entities = new ArrayList<>();
+
+    private TestEntity spawn(double x, double y, double z, double size) {
+        final TestEntity entity = new TestEntity();
+        entity.setEntityBoundingBox(new AxisAlignedBB(x, y, z, x + size, y + size, z + size));
+        entity.addedToChunk = true;
+        this.grid.add(entity);
+        this.entities.add(entity);
+        return entity;
+    }
+
+    private Set<Entity> scan(@Nullable Entity except, AxisAlignedBB aabb) {
+        final Set<Entity> found = Sets.newIdentityHashSet();
+        for (TestEntity entity : this.entities) {
+            if (entity != except && entity.addedToChunk && entity.getEntityBoundingBox().intersectsWith(aabb)) {
+                found.add(entity);
+            }
+        }
+        return found;
+    }
+
+    private Set<Entity> query(@Nullable Entity except, AxisAlignedBB aabb) {
+        final List<Entity> list = this.grid.getEntitiesInAABBexcluding(except, aabb, null, -1);
+        Assert.assertNotNull("The query was too large for the grid", list);
+        final Set<Entity> found = Sets.newIdentityHashSet();
+        found.addAll(list);
+        Assert.assertEquals("An entity was returned twice", list.size(), found.size());
+        return found;
+    }
+
+    @Test
+    public void testMatchesScan() {
+        final Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            // Mostly small entities, a few larger than the cells
+            final double size = random.nextInt(20) == 0 ? 4.0D + random.nextDouble() * 8.0D : 0.25D + random.nextDouble() * 2.0D;
+            spawn(random.nextDouble() * 128.0D - 64.0D, random.nextDouble() * 64.0D, random.nextDouble() * 128.0D - 64.0D, size);
+        }
+        for (int i = 0; i < 500; i++) {
+            final double x = random.nextDouble() * 140.0D - 70.0D;
+            final double y = random.nextDouble() * 70.0D - 3.0D;
+            final double z = random.nextDouble() * 140.0D - 70.0D;
+            final AxisAlignedBB aabb = new AxisAlignedBB(x, y, z, x + random.nextDouble() * 6.0D, y + random.nextDouble() * 6.0D,
+                    z + random.nextDouble() * 6.0D);
+            final Entity except = this.entities.get(random.nextInt(this.entities.size()));
+            Assert.assertEquals(scan(except, aabb), query(except, aabb));
+
+            final List<TestEntity> typed = this.grid.getEntitiesWithinAABB(TestEntity.class, aabb, null, -1);
+            Assert.assertNotNull(typed);
+            Assert.assertEquals(scan(null, aabb), Sets.newHashSet(typed));
+        }
+        Assert.assertEquals(this.entities.size(), this.grid.size());
+    }
+
+    @Test
+    public void testCellBoundaries() {
+        // Cells are four blocks wide, check entities right at and around their edges
+        final TestEntity negative = spawn(-0.5D, 0.0D, -0.5D, 0.25D);
+        final TestEntity below = spawn(3.99D, 0.0D, 3.99D, 0.25D);
+        final TestEntity edge = spawn(4.0D, 0.0D, 4.0D, 0.25D);
+        final TestEntity spanning = spawn(3.5D, 3.5D, 3.5D, 1.0D);
+        final TestEntity far = spawn(1.0E9D, 0.0D, -1.0E9D, 0.5D);
+
+        Assert.assertEquals(Sets.newHashSet(negative), query(null, new AxisAlignedBB(-0.4D, 0.0D, -0.4D, -0.3D, 1.0D, -0.3D)));
+        Assert.assertEquals(Sets.newHashSet(below, spanning, edge), query(null, new AxisAlignedBB(4.0D, 0.1D, 4.0D, 4.1D, 3.6D, 4.1D)));
+        Assert.assertEquals(Sets.newHashSet(spanning), query(null, new AxisAlignedBB(4.4D, 4.4D, 4.4D, 4.45D, 4.45D, 4.45D)));
+        // Coordinates past the limits of the grid end up in its outermost cells
+        Assert.assertEquals(Sets.newHashSet(far), query(null, new AxisAlignedBB(1.0E9D, 0.0D, -1.0E9D, 1.0E9D + 1.0D, 1.0D, -1.0E9D + 1.0D)));
+    }
+
+    @Test
+    public void testNotAddedToChunk() {
+        final TestEntity entity = spawn(0.0D, 0.0D, 0.0D, 1.0D);
+        entity.addedToChunk = false;
+        Assert.assertTrue(query(null, new AxisAlignedBB(0.0D, 0.0D, 0.0D, 1.0D, 1.0D, 1.0D)).isEmpty());
+    }
+
+    @Test
+    public void testLimit() {
+        for (int i = 0; i < 10; i++) {
+            spawn(i * 0.1D, 0.0D, 0.0D, 0.5D);
+        }
+        final List<Entity> list = this.grid.getEntitiesInAABBexcluding(null, new AxisAlignedBB(0.0D, 0.0D, 0.0D, 2.0D, 1.0D, 1.0D), null, 3);
+        Assert.assertNotNull(list);
+        Assert.assertEquals(3, list.size());
+    }
+
+    @Test
+    public void testLargeQuery() {
+        spawn(0.0D, 0.0D, 0.0D, 1.0D);
+        Assert.assertNull("Large queries should fall back to the chunks",
+                this.grid.getEntitiesInAABBexcluding(null, new AxisAlignedBB(-100.0D, 0.0D, -100.0D, 100.0D, 256.0D, 100.0D), null, -1));
+    }
+
+    @Test
+    public void testRemove() {
+        final Random random = new Random(7);
+        for (int i = 0; i < 200; i++) {
+            spawn(random.nextDouble() * 8.0D, 0.0D, random.nextDouble() * 8.0D, 0.5D);
+        }
+        // Removing from the middle of a cell moves its last entity into the gap
+        for (int i = 0; i < 100; i++) {
+            final TestEntity removed = this.entities.remove(random.nextInt(this.entities.size()));
+            this.grid.remove(removed);
+            Assert.assertNull(removed.getGridCell());
+        }
+        Assert.assertEquals(100, this.grid.size());
+        final AxisAlignedBB all = new AxisAlignedBB(0.0D, 0.0D, 0.0D, 9.0D, 1.0D, 9.0D);
+        Assert.assertEquals(scan(null, all), query(null, all));
+    }
+
+    @Test
+    public void testBoundingBoxUpdate() {
+        final Random random = new Random(13);
+        for (int i = 0; i < 500; i++) {
+            spawn(random.nextDouble() * 64.0D, random.nextDouble() * 16.0D, random.nextDouble() * 64.0D, 0.6D);
+        }
+        for (int step = 0; step < 20; step++) {
+            for (TestEntity entity : this.entities) {
+                // Setting the bounding box moves the entity to its new cell, like the mixin does
+                entity.setEntityBoundingBox(entity.getEntityBoundingBox().offset(random.nextDouble() * 6.0D - 3.0D, random.nextDouble() * 2.0D - 1.0D,
+                        random.nextDouble() * 6.0D - 3.0D));
+            }
+            for (int i = 0; i < 50; i++) {
+                final double x = random.nextDouble() * 80.0D - 8.0D;
+                final double z = random.nextDouble() * 80.0D - 8.0D;
+                final AxisAlignedBB aabb = new AxisAlignedBB(x, -20.0D, z, x + 4.0D, 40.0D, z + 4.0D);
+                Assert.assertEquals(scan(null, aabb), query(null, aabb));
+            }
+        }
+        Assert.assertEquals(this.entities.size(), this.grid.size());
+    }
+
+    @Test
+    public void testAddToOtherGrid() {
+        final TestEntity entity = spawn(0.0D, 0.0D, 0.0D, 1.0D);
+        final EntityGrid other = new EntityGrid();
+        other.add(entity);
+        Assert.assertEquals(0, this.grid.size());
+        Assert.assertEquals(1, other.size());
+        // Removing from a grid the entity isn't part of does nothing
+        this.grid.remove(entity);
+        Assert.assertEquals(1, other.size());
+    }
+
+    private static final class TestEntity extends Entity implements IMixinEntity_Collisions {
+
+        @Nullable private EntityGrid.Cell gridCell;
+        private int gridIndex;
+
+        TestEntity() {
+            super(null);
+        }
+
+        @Override
+        public void setEntityBoundingBox(AxisAlignedBB bb) {
+            super.setEntityBoundingBox(bb);
+            // Mirrors MixinEntity_Collisions#onSetEntityBoundingBox
+            if (this.gridCell != null) {
+                EntityGrid.update(this);
+            }
+        }
+
+        @Override
+        protected void entityInit() {
+        }
+
+        @Override
+        protected void readEntityFromNBT(NBTTagCompound tagCompund) {
+        }
+
+        @Override
+        protected void writeEntityToNBT(NBTTagCompound tagCompound) {
+        }
+
+        @Nullable
+        @Override
+        public EntityGrid.Cell getGridCell() {
+            return this.gridCell;
+        }
+
+        @Override
+        public void setGridCell(@Nullable EntityGrid.Cell cell) {
+            this.gridCell = cell;
+        }
+
+        @Override
+        public int getGridIndex() {
+            return this.gridIndex;
+        }
+
+        @Override
+        public void setGridIndex(int index) {
+            this.gridIndex = index;
+        }
+    }
+
+}
@@ -0,0 +1,215 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.plugin.optimization;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.collect.Sets;
+import net.minecraft.block.Block;
+import net.minecraft.block.material.Material;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.init.Blocks;
+import net.minecraft.init.Bootstrap;
+import net.minecraft.util.BlockPos;
+import net.minecraft.util.MathHelper;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+public class ExplosionTracerTest {
+
+    private static ForkJoinPool pool;
+    private static IBlockState[] palette;
+
+    @BeforeClass
+    public static void init() {
+        Bootstrap.register();
+        pool = new ForkJoinPool(4);
+        palette = new IBlockState[] {
+                Blocks.air.getDefaultState(),
+                Blocks.air.getDefaultState(),
+                Blocks.stone.getDefaultState(),
+                Blocks.dirt.getDefaultState(),
+                Blocks.water.getDefaultState(),
+                Blocks.obsidian.getDefaultState(),
+        };
+    }
+
+    @AfterClass
+    public static void shutdown() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void testMatchesSerialTrace() {
+        final Random random = new Random(42);
+        for (int i = 0; i < 20; i++) {
+            final TestWorld world = new TestWorld(random.nextLong());
+            final double x = random.nextDouble() * 64 - 32;
+            final double y = 40 + random.nextDouble() * 60;
+            final double z = random.nextDouble() * 64 - 32;
+            final float size = 1.0F + random.nextFloat() * 5.0F;
+            final float[] strengths = new float[ExplosionTracer.RAYS];
+            for (int ray = 0; ray < strengths.length; ray++) {
+                strengths[ray] = random.nextFloat();
+            }
+
+            final Set<BlockPos> expected = world.traceSerial(x, y, z, size, strengths);
+            final Set<BlockPos> actual = world.createTracer(x, y, z, size).trace(strengths, pool);
+            assertEquals(expected, actual);
+            // Same insertion order, so the affected block list is in the same order
+            assertEquals(new ArrayList<>(expected), new ArrayList<>(actual));
+        }
+    }
+
+    @Test
+    public void testWorldBorders() {
+        // Rays leaving the build height see air, as in vanilla
+        for (double y : new double[] {1.5, 254.5}) {
+            final TestWorld world = new TestWorld(7);
+            final float[] strengths = new float[ExplosionTracer.RAYS];
+            for (int ray = 0; ray < strengths.length; ray++) {
+                strengths[ray] = 1.0F;
+            }
+            assertEquals(world.traceSerial(0.5, y, 0.5, 4.0F, strengths), world.createTracer(0.5, y, 0.5, 4.0F).trace(strengths, pool));
+        }
+    }
+
+    @Test
+    public void testSingleThreadedPool() {
+        final TestWorld world = new TestWorld(3);
+        final float[] strengths = new float[ExplosionTracer.RAYS];
+        final Random random = new Random(3);
+        for (int ray = 0; ray < strengths.length; ray++) {
+            strengths[ray] = random.nextFloat();
+        }
+        final ForkJoinPool single = new ForkJoinPool(1);
+        try {
+            assertEquals(world.createTracer(4.5, 64.5, 4.5, 4.0F).trace(strengths, pool),
+                    world.createTracer(4.5, 64.5, 4.5, 4.0F).trace(strengths, single));
+        } finally {
+            single.shutdown();
+        }
+    }
+
+    /**
+     * A world of random blocks between y 16 and 128, empty sections above
+     * and below, generated per position from the seed.
+     */
+    private static final class TestWorld {
+
+        private final long seed;
+
+        TestWorld(long seed) {
+            this.seed = seed;
+        }
+
+        IBlockState getBlockState(int x, int y, int z) {
+            if (y < 16 || y >= 128) {
+                return Blocks.air.getDefaultState();
+            }
+            long h = (x * 3129871L) ^ (z * 116129781L) ^ y ^ this.seed;
+            h = h * h * 42317861L + h * 11L;
+            return palette[(int) ((h >>> 16) % palette.length)];
+        }
+
+        ExplosionTracer createTracer(double x, double y, double z, float size) {
+            final int maxSteps = MathHelper.ceiling_float_int(size * 1.3F / 0.22500001F) + 1;
+            final int reach = MathHelper.ceiling_double_int(maxSteps * 0.30000001192092896D) + 1;
+            final int minChunkX = MathHelper.floor_double(x - reach) >> 4;
+            final int minChunkZ = MathHelper.floor_double(z - reach) >> 4;
+            final int chunksX = (MathHelper.floor_double(x + reach) >> 4) - minChunkX + 1;
+            final int chunksZ = (MathHelper.floor_double(z + reach) >> 4) - minChunkZ + 1;
+            final char[][] sections = new char[chunksX * chunksZ * 16][];
+            for (int cx = 0; cx < chunksX; cx++) {
+                for (int cz = 0; cz < chunksZ; cz++) {
+                    for (int sy = 1; sy < 8; sy++) {
+                        final char[] data = new char[4096];
+                        for (int i = 0; i < data.length; i++) {
+                            final int bx = ((minChunkX + cx) << 4) | (i & 15);
+                            final int bz = ((minChunkZ + cz) << 4) | ((i >> 4) & 15);
+                            final int by = (sy << 4) | (i >> 8);
+                            data[i] = (char) Block.BLOCK_STATE_IDS.get(getBlockState(bx, by, bz));
+                        }
+                        sections[((cx * chunksZ + cz) << 4) | sy] = data;
+                    }
+                }
+            }
+            return new ExplosionTracer(x, y, z, size, null, minChunkX, minChunkZ, chunksZ, sections, maxSteps);
+        }
+
+        // The ray loop of Explosion.doExplosionA for a sourceless explosion
+        Set<BlockPos> traceSerial(double x, double y, double z, float size, float[] strengths) {
+            final Set<BlockPos> set = Sets.newHashSet();
+            int ray = 0;
+            for (int j = 0; j < 16; ++j) {
+                for (int k = 0; k < 16; ++k) {
+                    for (int l = 0; l < 16; ++l) {
+                        if (j == 0 || j == 15 || k == 0 || k == 15 || l == 0 || l == 15) {
+                            double d0 = (double) ((float) j / 15.0F * 2.0F - 1.0F);
+                            double d1 = (double) ((float) k / 15.0F * 2.0F - 1.0F);
+                            double d2 = (double) ((float) l / 15.0F * 2.0F - 1.0F);
+                            double d3 = Math.sqrt(d0 * d0 + d1 * d1 + d2 * d2);
+                            d0 = d0 / d3;
+                            d1 = d1 / d3;
+                            d2 = d2 / d3;
+                            float f = size * (0.7F + strengths[ray++] * 0.6F);
+                            double d4 = x;
+                            double d6 = y;
+                            double d8 = z;
+
+                            for (; f > 0.0F; f -= 0.22500001F) {
+                                final BlockPos blockpos = new BlockPos(d4, d6, d8);
+                                final IBlockState iblockstate = blockpos.getY() < 0 || blockpos.getY() >= 256
+                                        ? Blocks.air.getDefaultState() : getBlockState(blockpos.getX(), blockpos.getY(), blockpos.getZ());
+
+                                if (iblockstate.getBlock().getMaterial() != Material.air) {
+                                    final float f2 = iblockstate.getBlock().getExplosionResistance((Entity) null);
+                                    f -= (f2 + 0.3F) * 0.3F;
+                                }
+
+                                if (f > 0.0F) {
+                                    set.add(blockpos);
+                                }
+
+                                d4 += d0 * 0.30000001192092896D;
+                                d6 += d1 * 0.30000001192092896D;
+                                d8 += d2 * 0.30000001192092896D;
+                            }
+                        }
+                    }
+                }
+            }
+            return set;
+        }
+    }
+
+}
@@ -0,0 +1,163 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.common.config.category.SchedulerCategory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AsyncTaskExecutorTest {
+
+    private final List<Runnable> workers = new ArrayList<>();
+    private final AtomicInteger ran = new AtomicInteger();
+    private AsyncTaskExecutor executor;
+
+    @Before
+    public void init() {
+        final SchedulerCategory config = mock(SchedulerCategory.class);
+        when(config.getPluginConcurrency()).thenReturn(2);
+        when(config.getPluginQueueSize()).thenReturn(3);
+        when(config.getPluginConcurrencyOverrides()).thenReturn(Collections.singletonMap("big", 8));
+        this.executor = new AsyncTaskExecutor(() -> config, this.workers::add);
+    }
+
+    private static PluginContainer plugin(String id) {
+        final PluginContainer plugin = mock(PluginContainer.class);
+        when(plugin.getId()).thenReturn(id);
+        return plugin;
+    }
+
+    private AsyncTaskExecutor.LaneStats stats(String id) {
+        for (AsyncTaskExecutor.LaneStats stats : this.executor.getLaneStats()) {
+            if (stats.getPluginId().equals(id)) {
+                return stats;
+            }
+        }
+        throw new AssertionError("No lane for " + id);
+    }
+
+    private void runWorker() {
+        this.workers.remove(0).run();
+    }
+
+    @Test
+    public void testLaneSaturation() {
+        final PluginContainer plugin = plugin("test");
+        for (int i = 0; i < 5; i++) {
+            this.executor.execute(plugin, this.ran::incrementAndGet);
+        }
+        // Two tasks may run at once, the others wait in the lane
+        Assert.assertEquals(2, this.workers.size());
+        Assert.assertEquals(2, stats("test").getRunning());
+        Assert.assertEquals(3, stats("test").getQueued());
+
+        runWorker();
+        Assert.assertEquals(1, this.ran.get());
+        Assert.assertEquals("The free slot was not handed to a waiting task", 2, this.workers.size());
+        Assert.assertEquals(2, stats("test").getQueued());
+
+        while (!this.workers.isEmpty()) {
+            runWorker();
+        }
+        Assert.assertEquals(5, this.ran.get());
+        Assert.assertEquals(0, stats("test").getRunning());
+        Assert.assertEquals(0, stats("test").getQueued());
+        Assert.assertEquals(5, stats("test").getCompleted());
+    }
+
+    @Test
+    public void testRejection() {
+        final PluginContainer plugin = plugin("test");
+        for (int i = 0; i < 5; i++) {
+            this.executor.execute(plugin, this.ran::incrementAndGet);
+        }
+        try {
+            this.executor.execute(plugin, this.ran::incrementAndGet);
+            Assert.fail("A task was accepted by a full lane");
+        } catch (RejectedExecutionException expected) {
+        }
+        Assert.assertEquals(1, stats("test").getRejected());
+        Assert.assertEquals(5, stats("test").getSubmitted());
+
+        // Room again once a waiting task started
+        runWorker();
+        this.executor.execute(plugin, this.ran::incrementAndGet);
+        Assert.assertEquals(3, stats("test").getQueued());
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void testExecutorServiceRejection() {
+        final ExecutorService service = this.executor.forPlugin(plugin("test"));
+        for (int i = 0; i < 6; i++) {
+            service.execute(this.ran::incrementAndGet);
+        }
+    }
+
+    @Test
+    public void testLanesAreIndependent() {
+        final PluginContainer busy = plugin("busy");
+        for (int i = 0; i < 5; i++) {
+            this.executor.execute(busy, this.ran::incrementAndGet);
+        }
+        this.executor.execute(plugin("other"), this.ran::incrementAndGet);
+        Assert.assertEquals("A saturated lane held back another plugin", 3, this.workers.size());
+
+        final PluginContainer big = plugin("big");
+        for (int i = 0; i < 8; i++) {
+            this.executor.execute(big, this.ran::incrementAndGet);
+        }
+        Assert.assertEquals(8, stats("big").getConcurrency());
+        Assert.assertEquals(8, stats("big").getRunning());
+    }
+
+    @Test
+    public void testFailingTaskReleasesSlot() {
+        final PluginContainer plugin = plugin("test");
+        for (int i = 0; i < 2; i++) {
+            this.executor.execute(plugin, () -> {
+                throw new IllegalStateException();
+            });
+        }
+        this.executor.execute(plugin, this.ran::incrementAndGet);
+        runWorker();
+        runWorker();
+        runWorker();
+        Assert.assertEquals(1, this.ran.get());
+        Assert.assertEquals(0, stats("test").getRunning());
+    }
+
+}
@@ -0,0 +1,206 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import static org.mockito.Mockito.mock;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.api.scheduler.Task;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+public class SchedulerBaseTest {
+
+    private final TestScheduler scheduler = new TestScheduler();
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private ScheduledTask createTask(long delay, long interval) {
+        return new ScheduledTask(ScheduledTask.TaskSynchronicity.ASYNCHRONOUS, task -> this.executions.incrementAndGet(), "test", delay, false,
+                interval, false, mock(PluginContainer.class));
+    }
+
+    @Test
+    public void testWaitingTaskIsParked() {
+        final ScheduledTask task = createTask(0, 10);
+        this.scheduler.addTask(task);
+        this.scheduler.tickAt(0);
+        Assert.assertEquals(1, this.scheduler.pending.size());
+        Assert.assertEquals(ScheduledTask.ScheduledTaskState.SWITCHING, task.getState());
+
+        // Due again while the first execution still waits, it must not be polled until that one starts
+        this.scheduler.tickAt(10);
+        Assert.assertEquals(0, this.scheduler.wheel.size());
+        Assert.assertFalse(this.scheduler.hasAddedTasks());
+        this.scheduler.tickAt(20);
+        Assert.assertEquals(1, this.scheduler.pending.size());
+
+        this.scheduler.runPending();
+        Assert.assertEquals(1, this.executions.get());
+        Assert.assertTrue("The task was not resumed once it started", this.scheduler.hasAddedTasks());
+
+        this.scheduler.tickAt(20);
+        Assert.assertEquals("The resumed task was not started again", 1, this.scheduler.pending.size());
+        Assert.assertEquals(1, this.scheduler.wheel.size());
+    }
+
+    @Test
+    public void testRunningTaskIsRescheduled() {
+        final ScheduledTask task = createTask(0, 10);
+        this.scheduler.addTask(task);
+        this.scheduler.tickAt(0);
+        this.scheduler.runPending();
+        Assert.assertEquals(ScheduledTask.ScheduledTaskState.RUNNING, task.getState());
+
+        this.scheduler.tickAt(10);
+        Assert.assertEquals(1, this.scheduler.pending.size());
+        Assert.assertFalse(task.parked.get());
+    }
+
+    @Test
+    public void testOneShotTaskIsRemoved() {
+        final ScheduledTask task = createTask(5, 0);
+        this.scheduler.addTask(task);
+        this.scheduler.tickAt(4);
+        Assert.assertTrue(this.scheduler.pending.isEmpty());
+        this.scheduler.tickAt(5);
+        this.scheduler.runPending();
+        Assert.assertEquals(1, this.executions.get());
+        Assert.assertFalse(this.scheduler.getTask(task.getUniqueId()).isPresent());
+        Assert.assertEquals(0, this.scheduler.wheel.size());
+    }
+
+    @Test
+    public void testRejectedRepeatingTaskIsRetried() {
+        final ScheduledTask task = createTask(0, 10);
+        this.scheduler.reject = true;
+        this.scheduler.addTask(task);
+        this.scheduler.tickAt(0);
+        Assert.assertEquals(ScheduledTask.ScheduledTaskState.RUNNING, task.getState());
+        Assert.assertEquals(1, this.scheduler.wheel.size());
+
+        this.scheduler.reject = false;
+        this.scheduler.tickAt(10);
+        Assert.assertEquals("The rejected task was not retried", 1, this.scheduler.pending.size());
+    }
+
+    @Test
+    public void testRejectedOneShotTaskIsRemoved() {
+        final ScheduledTask task = createTask(0, 0);
+        this.scheduler.reject = true;
+        this.scheduler.addTask(task);
+        this.scheduler.tickAt(0);
+        Assert.assertEquals(ScheduledTask.ScheduledTaskState.CANCELED, task.getState());
+        Assert.assertFalse(this.scheduler.getTask(task.getUniqueId()).isPresent());
+        Assert.assertEquals(0, this.scheduler.wheel.size());
+    }
+
+    @Test
+    public void testCancellationListenerIsNotified() {
+        final AtomicInteger cancellations = new AtomicInteger();
+        final ScheduledTask task = new ScheduledTask(ScheduledTask.TaskSynchronicity.ASYNCHRONOUS, new CancellableConsumer(cancellations), "test",
+                0, false, 10, false, mock(PluginContainer.class));
+        this.scheduler.addTask(task);
+        this.scheduler.tickAt(0);
+        this.scheduler.runPending();
+        task.cancel();
+        Assert.assertEquals(0, cancellations.get());
+
+        this.scheduler.tickAt(10);
+        Assert.assertTrue(this.scheduler.pending.isEmpty());
+        Assert.assertEquals(1, cancellations.get());
+        Assert.assertEquals(0, this.scheduler.wheel.size());
+    }
+
+    private static final class CancellableConsumer implements Consumer<Task>, TaskCancellationListener {
+
+        private final AtomicInteger cancellations;
+
+        CancellableConsumer(AtomicInteger cancellations) {
+            this.cancellations = cancellations;
+        }
+
+        @Override
+        public void accept(Task task) {
+        }
+
+        @Override
+        public void onCancelled(Task task) {
+            this.cancellations.incrementAndGet();
+        }
+    }
+
+    private static final class TestScheduler extends SchedulerBase {
+
+        final TaskWheel wheel = new TaskWheel(1, 0);
+        final List<Runnable> pending = new ArrayList<>();
+        long time;
+        boolean reject;
+
+        TestScheduler() {
+            super(ScheduledTask.TaskSynchronicity.ASYNCHRONOUS);
+        }
+
+        void tickAt(long time) {
+            this.time = time;
+            this.runTick();
+        }
+
+        void runPending() {
+            final List<Runnable> runnables = new ArrayList<>(this.pending);
+            this.pending.clear();
+            runnables.forEach(Runnable::run);
+        }
+
+        @Override
+        protected long getTimestamp(ScheduledTask task) {
+            return this.time;
+        }
+
+        @Override
+        protected TaskWheel getWheel(ScheduledTask task) {
+            return this.wheel;
+        }
+
+        @Override
+        protected void advanceWheels(Consumer<ScheduledTask> consumer) {
+            this.wheel.advance(this.time, consumer);
+        }
+
+        @Override
+        protected void executeTaskRunnable(ScheduledTask task, Runnable runnable) {
+            if (this.reject) {
+                this.rejectTask(task);
+                return;
+            }
+            this.pending.add(runnable);
+        }
+    }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import static org.mockito.Mockito.mock;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.spongepowered.api.plugin.PluginContainer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class TaskWheelTest {
+
+    private final PluginContainer plugin = mock(PluginContainer.class);
+
+    private ScheduledTask createTask() {
+        return new ScheduledTask(ScheduledTask.TaskSynchronicity.SYNCHRONOUS, task -> {}, "test", 0, true, 0, true, this.plugin);
+    }
+
+    @Test
+    public void testDeadlines() {
+        final TaskWheel wheel = new TaskWheel(1, 0);
+        final ScheduledTask first = createTask();
+        final ScheduledTask second = createTask();
+        final ScheduledTask far = createTask();
+        wheel.add(first, 1);
+        wheel.add(second, 100);
+        wheel.add(far, 20000000);
+        Assert.assertEquals(3, wheel.size());
+        Assert.assertEquals(1, wheel.getNextTimestamp());
+
+        final List<ScheduledTask> due = new ArrayList<>();
+        wheel.advance(99, due::add);
+        Assert.assertEquals(1, due.size());
+        Assert.assertSame(first, due.get(0));
+
+        due.clear();
+        wheel.advance(100, due::add);
+        Assert.assertSame(second, due.get(0));
+
+        due.clear();
+        wheel.advance(19999999, due::add);
+        Assert.assertTrue(due.isEmpty());
+        wheel.advance(20000000, due::add);
+        Assert.assertSame(far, due.get(0));
+        Assert.assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testPassedDeadline() {
+        final TaskWheel wheel = new TaskWheel(1, 50);
+        final ScheduledTask task = createTask();
+        wheel.add(task, 10);
+        final List<ScheduledTask> due = new ArrayList<>();
+        wheel.advance(50, due::add);
+        Assert.assertSame("A task past its deadline was not returned", task, due.get(0));
+    }
+
+    @Test
+    public void testSweepCancelled() {
+        final TaskWheel wheel = new TaskWheel(1, 0);
+        final ScheduledTask live = createTask();
+        wheel.add(live, 1000000);
+        final List<ScheduledTask> cancelled = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            final ScheduledTask task = createTask();
+            wheel.add(task, 1000 + i * 100);
+            task.cancel();
+            cancelled.add(task);
+        }
+
+        final List<ScheduledTask> passed = new ArrayList<>();
+        wheel.advance(1, passed::add);
+        Assert.assertEquals("Cancelled tasks were not swept before their deadline", cancelled.size(), passed.size());
+        Assert.assertTrue(passed.containsAll(cancelled));
+        Assert.assertEquals(1, wheel.size());
+
+        passed.clear();
+        wheel.advance(1000000, passed::add);
+        Assert.assertEquals(1, passed.size());
+        Assert.assertSame(live, passed.get(0));
+    }
+
+    @Test
+    public void testNeverEarlyOrLate() {
+        final Random random = new Random(0);
+        final long resolution = 1000;
+        final TaskWheel wheel = new TaskWheel(resolution, -123456789L);
+        final Map<ScheduledTask, Long> deadlines = new HashMap<>();
+        long now = -123456789L;
+        for (int step = 0; step < 10000; step++) {
+            for (int i = random.nextInt(3); i > 0; i--) {
+                final ScheduledTask task = createTask();
+                final long deadline = now + (random.nextInt(10) == 0 ? random.nextInt(Integer.MAX_VALUE) : random.nextInt(300000));
+                deadlines.put(task, deadline);
+                wheel.add(task, deadline);
+            }
+            now += random.nextInt(3000);
+            final long timestamp = now;
+            wheel.advance(timestamp, task -> Assert.assertTrue("Task returned before its deadline", deadlines.remove(task) <= timestamp));
+            for (long deadline : deadlines.values()) {
+                Assert.assertTrue("Task not returned by its deadline", deadline > timestamp - resolution);
+                Assert.assertTrue(wheel.getNextTimestamp() <= deadline);
+            }
+            Assert.assertEquals(deadlines.size(), wheel.size());
+        }
+    }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.text;
+
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Test;
+import org.spongepowered.common.interfaces.text.IMixinChatComponent;
+
+public class SpongeTextsTest {
+
+    @Test
+    public void testSharedCopyIsFrozen() {
+        final IMixinChatComponent component = mock(IMixinChatComponent.class);
+        final IMixinChatComponent copy = mock(IMixinChatComponent.class);
+        when(component.createCopy()).thenReturn(copy);
+
+        assertSame(copy, SpongeTexts.createSharedCopy(component));
+        verify(copy).freeze();
+        verify(component, never()).freeze();
+    }
+
+    @Test
+    public void testFrozenComponentIsCopiedForAppend() {
+        final IMixinChatComponent component = mock(IMixinChatComponent.class);
+        final IMixinChatComponent copy = mock(IMixinChatComponent.class);
+        when(component.createCopy()).thenReturn(copy);
+
+        assertSame(component, SpongeTexts.copyIfFrozen(component));
+        when(component.isFrozen()).thenReturn(true);
+        assertSame(copy, SpongeTexts.copyIfFrozen(component));
+    }
+
+    @Test
+    public void testFreezeFormatArgs() {
+        final IMixinChatComponent arg = mock(IMixinChatComponent.class);
+        SpongeTexts.freezeFormatArgs(new Object[] {"player", arg, 3});
+        verify(arg).freeze();
+    }
+
+    @Test
+    public void testNotFrozen() {
+        SpongeTexts.checkNotFrozen(false);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testModifyFrozen() {
+        SpongeTexts.checkNotFrozen(true);
+    }
+
+}
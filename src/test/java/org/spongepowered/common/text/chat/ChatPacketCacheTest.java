@@ -0,0 +1,135 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.text.chat;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+
+import io.netty.buffer.Unpooled;
+import net.minecraft.event.ClickEvent;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.network.play.server.S02PacketChat;
+import net.minecraft.network.play.server.S45PacketTitle;
+import net.minecraft.util.ChatComponentText;
+import net.minecraft.util.ChatComponentTranslation;
+import net.minecraft.util.ChatStyle;
+import net.minecraft.util.EnumChatFormatting;
+import net.minecraft.util.IChatComponent;
+import org.junit.Test;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.chat.ChatType;
+
+import java.io.IOException;
+import java.util.function.BiFunction;
+
+public class ChatPacketCacheTest {
+
+    private static IChatComponent createComponent() {
+        final IChatComponent component = new ChatComponentText("Hello ");
+        component.setChatStyle(new ChatStyle().setColor(EnumChatFormatting.GOLD).setBold(true));
+        final IChatComponent link = new ChatComponentText("world é世");
+        link.setChatStyle(new ChatStyle().setChatClickEvent(new ClickEvent(ClickEvent.Action.OPEN_URL, "https://example.org")));
+        component.appendSibling(link);
+        component.appendSibling(new ChatComponentTranslation("chat.type.text", "player", new ChatComponentText("message")));
+        return component;
+    }
+
+    private static byte[] toBytes(PacketBuffer buf) {
+        final byte[] bytes = new byte[buf.readableBytes()];
+        buf.readBytes(bytes);
+        return bytes;
+    }
+
+    @Test
+    public void testChatPacketMatchesVanilla() throws IOException {
+        for (byte type = 0; type <= 2; type++) {
+            final IChatComponent component = createComponent();
+            final PacketBuffer vanilla = new PacketBuffer(Unpooled.buffer());
+            new S02PacketChat(component, type).writePacketData(vanilla);
+
+            final PacketBuffer shared = new PacketBuffer(Unpooled.buffer());
+            ChatPacketCache.writeChatPacket(shared, ChatPacketCache.encode(component), type);
+            assertArrayEquals(toBytes(vanilla), toBytes(shared));
+        }
+    }
+
+    @Test
+    public void testTitlePacketMatchesVanilla() throws IOException {
+        for (S45PacketTitle.Type type : new S45PacketTitle.Type[] {S45PacketTitle.Type.TITLE, S45PacketTitle.Type.SUBTITLE}) {
+            final IChatComponent component = createComponent();
+            final PacketBuffer vanilla = new PacketBuffer(Unpooled.buffer());
+            new S45PacketTitle(type, component).writePacketData(vanilla);
+
+            final PacketBuffer shared = new PacketBuffer(Unpooled.buffer());
+            ChatPacketCache.writeTitlePacket(shared, type, ChatPacketCache.encode(component));
+            assertArrayEquals(toBytes(vanilla), toBytes(shared));
+        }
+    }
+
+    @Test
+    public void testEncodedBytesCanBeWrittenRepeatedly() throws IOException {
+        final byte[] encoded = ChatPacketCache.encode(createComponent());
+        final PacketBuffer first = new PacketBuffer(Unpooled.buffer());
+        final PacketBuffer second = new PacketBuffer(Unpooled.buffer());
+        ChatPacketCache.writeChatPacket(first, encoded, (byte) 0);
+        ChatPacketCache.writeChatPacket(second, encoded, (byte) 0);
+        assertArrayEquals(toBytes(first), toBytes(second));
+    }
+
+    @Test
+    public void testReusesPacketForSameTextAndType() {
+        final int[] created = new int[1];
+        final BiFunction<Text, ChatType, S02PacketChat> factory = (text, type) -> {
+            created[0]++;
+            return new S02PacketChat();
+        };
+        final Text message = mock(Text.class);
+        final ChatType chat = mock(ChatType.class);
+        final ChatType system = mock(ChatType.class);
+
+        final S02PacketChat packet = ChatPacketCache.getPacket(message, chat, factory);
+        assertSame(packet, ChatPacketCache.getPacket(message, chat, factory));
+        assertSame(packet, ChatPacketCache.getPacket(message, chat, factory));
+        assertEquals(1, created[0]);
+
+        // Another chat type needs its own packet
+        final S02PacketChat systemPacket = ChatPacketCache.getPacket(message, system, factory);
+        assertNotSame(packet, systemPacket);
+        assertEquals(2, created[0]);
+
+        // Another text instance needs its own packet, even if it is equal
+        final Text other = mock(Text.class);
+        assertNotSame(systemPacket, ChatPacketCache.getPacket(other, system, factory));
+        assertEquals(3, created[0]);
+
+        // Only the last packet is kept
+        assertNotSame(packet, ChatPacketCache.getPacket(message, chat, factory));
+        assertEquals(4, created[0]);
+    }
+
+}
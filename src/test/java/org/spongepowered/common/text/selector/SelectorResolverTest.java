@@ -0,0 +1,172 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.text.selector;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.flowpowered.math.vector.Vector3d;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import net.minecraft.entity.passive.EntityPig;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.util.AxisAlignedBB;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.spongepowered.api.entity.Entity;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.util.Functional;
+import org.spongepowered.api.world.Location;
+import org.spongepowered.api.world.World;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+public class SelectorResolverTest {
+
+    private static final Vector3d ORIGIN = new Vector3d(0, 64, 0);
+
+    private final World world = mock(World.class);
+
+    private Entity createEntity(double x) {
+        final Entity entity = mock(Entity.class);
+        when(entity.getLocation()).thenReturn(new Location<>(this.world, new Vector3d(x, 64, 0)));
+        return entity;
+    }
+
+    @Test
+    public void testNearestFirst() {
+        final Entity far = createEntity(8);
+        final Entity near = createEntity(-2);
+        final Entity middle = createEntity(4);
+
+        assertEquals(ImmutableList.of(near, middle),
+                SelectorResolver.select(Lists.newArrayList(far, near, middle), ORIGIN, 2, false));
+    }
+
+    @Test
+    public void testFarthestFirstForNegativeCount() {
+        final Entity far = createEntity(8);
+        final Entity near = createEntity(-2);
+        final Entity middle = createEntity(4);
+
+        assertEquals(ImmutableList.of(far),
+                SelectorResolver.select(Lists.newArrayList(near, far, middle), ORIGIN, -1, false));
+    }
+
+    @Test
+    public void testUnlimitedCountKeepsAll() {
+        final List<Entity> entities = Lists.newArrayList(createEntity(8), createEntity(-2), createEntity(4));
+        assertEquals(ImmutableList.copyOf(entities), SelectorResolver.select(new ArrayList<>(entities), ORIGIN, 0, false));
+    }
+
+    @Test
+    public void testRandomSelectsCount() {
+        final List<Entity> entities = Lists.newArrayList(createEntity(8), createEntity(-2), createEntity(4));
+        final List<Entity> selected = SelectorResolver.select(new ArrayList<>(entities), ORIGIN, 2, true);
+        assertEquals(2, selected.size());
+        assertTrue(entities.containsAll(selected));
+    }
+
+    @Test
+    public void testRadiusFilters() {
+        final List<Predicate<Entity>> filters = new ArrayList<>();
+        SelectorResolver.addRadiusFilters(ORIGIN, 2, 5, filters);
+        final Predicate<Entity> filter = Functional.predicateAnd(filters);
+
+        assertFalse(filter.test(createEntity(1)));
+        assertTrue(filter.test(createEntity(2)));
+        assertTrue(filter.test(createEntity(-5)));
+        assertFalse(filter.test(createEntity(6)));
+    }
+
+    @Test
+    public void testRadiusSearchArea() {
+        final AxisAlignedBB area = SelectorResolver.getSearchArea(new Vector3d(10, 64, 10), 5, null, null, null);
+        assertEquals(4, area.minX, 0);
+        assertEquals(58, area.minY, 0);
+        assertEquals(4, area.minZ, 0);
+        assertEquals(16, area.maxX, 0);
+        assertEquals(70, area.maxY, 0);
+        assertEquals(16, area.maxZ, 0);
+    }
+
+    @Test
+    public void testVolumeSearchArea() {
+        final AxisAlignedBB area = SelectorResolver.getSearchArea(new Vector3d(10, 64, 10), 20, -4.0, null, 2.0);
+        assertEquals(5, area.minX, 0);
+        assertEquals(43, area.minY, 0);
+        assertEquals(9, area.minZ, 0);
+        assertEquals(11, area.maxX, 0);
+        assertEquals(85, area.maxY, 0);
+        assertEquals(13, area.maxZ, 0);
+    }
+
+    @Test
+    public void testUnboundedSearchArea() {
+        assertNull(SelectorResolver.getSearchArea(ORIGIN, null, null, 10.0, null));
+        assertNull(SelectorResolver.getSearchArea(ORIGIN, 10000, null, null, null));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSearchAreaIncludesSpectators() {
+        final net.minecraft.world.World world = mock(net.minecraft.world.World.class);
+        final AxisAlignedBB area = new AxisAlignedBB(-5, 59, -5, 5, 69, 5);
+        final EntityPlayerMP spectator = mock(EntityPlayerMP.class, withSettings().extraInterfaces(Player.class));
+        final ArgumentCaptor<com.google.common.base.Predicate> predicate = ArgumentCaptor.forClass(com.google.common.base.Predicate.class);
+        when(world.getEntitiesWithinAABB(eq(EntityPlayerMP.class), eq(area), predicate.capture()))
+                .thenReturn(ImmutableList.of(spectator));
+
+        final List<Entity> entities = new ArrayList<>();
+        SelectorResolver.addEntitiesWithin(world, EntityPlayerMP.class, area, entity -> true, entities);
+        assertEquals(ImmutableList.of(spectator), entities);
+        assertTrue(predicate.getValue().apply(spectator));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSearchAreaByType() {
+        final net.minecraft.world.World world = mock(net.minecraft.world.World.class);
+        final AxisAlignedBB area = new AxisAlignedBB(-5, 59, -5, 5, 69, 5);
+        final EntityPig pig = mock(EntityPig.class, withSettings().extraInterfaces(Entity.class));
+        final EntityPig filtered = mock(EntityPig.class, withSettings().extraInterfaces(Entity.class));
+        when(world.getEntitiesWithinAABB(eq(EntityPig.class), eq(area), any(com.google.common.base.Predicate.class)))
+                .thenReturn(ImmutableList.of(pig, filtered));
+
+        final List<Entity> entities = new ArrayList<>();
+        SelectorResolver.addEntitiesWithin(world, EntityPig.class, area, entity -> entity != filtered, entities);
+        assertEquals(ImmutableList.of(pig), entities);
+    }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.text.serializer;
+
+import static org.junit.Assert.assertEquals;
+
+import net.minecraft.util.IChatComponent;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.spongepowered.common.registry.type.text.TextColorRegistryModule;
+
+import java.io.IOException;
+
+public class JsonTextsTest {
+
+    @BeforeClass
+    public static void registerColors() {
+        new TextColorRegistryModule().registerDefaults();
+    }
+
+    private static void assertSameAsVanilla(String json) throws IOException {
+        final String expected = IChatComponent.Serializer.componentToJson(IChatComponent.Serializer.jsonToComponent(json));
+        assertEquals(expected, JsonTexts.toJson(JsonTexts.fromJson(json)));
+    }
+
+    @Test
+    public void testPlainText() throws IOException {
+        assertSameAsVanilla("\"Hello world\"");
+        assertSameAsVanilla("{\"text\":\"Hello world\"}");
+        assertSameAsVanilla("42");
+    }
+
+    @Test
+    public void testEscaping() throws IOException {
+        assertSameAsVanilla("\"It's <b> & \\\"quoted\\\" = \\n\\t\\u2028\"");
+    }
+
+    @Test
+    public void testFormatting() throws IOException {
+        assertSameAsVanilla("{\"text\":\"Hi\",\"color\":\"dark_red\",\"bold\":true,\"italic\":false}");
+        assertSameAsVanilla("{\"color\":\"invalid\",\"text\":\"Hi\",\"underlined\":\"true\"}");
+        // The insertion is dropped when it's the only style
+        assertSameAsVanilla("{\"text\":\"Hi\",\"insertion\":\"hi\"}");
+        assertSameAsVanilla("{\"text\":\"Hi\",\"insertion\":\"hi\",\"obfuscated\":true}");
+    }
+
+    @Test
+    public void testChildren() throws IOException {
+        assertSameAsVanilla("{\"extra\":[\"b\",{\"text\":\"c\",\"strikethrough\":true}],\"text\":\"a\",\"color\":\"gold\"}");
+        assertSameAsVanilla("[\"a\",{\"text\":\"b\",\"extra\":[\"c\"]},\"d\"]");
+        assertSameAsVanilla("[{\"text\":\"a\"}]");
+    }
+
+    @Test
+    public void testTranslation() throws IOException {
+        assertSameAsVanilla("{\"translate\":\"chat.type.text\"}");
+        assertSameAsVanilla("{\"translate\":\"chat.type.text\",\"with\":[\"a\",{\"text\":\"b\"},{\"text\":\"c\",\"color\":\"red\"},[\"d\",\"e\"],1]}");
+    }
+
+}
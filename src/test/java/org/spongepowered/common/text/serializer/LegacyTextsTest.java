@@ -0,0 +1,72 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.text.serializer;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.common.registry.type.text.TextColorRegistryModule;
+
+public class LegacyTextsTest {
+
+    @BeforeClass
+    public static void registerColors() {
+        new TextColorRegistryModule().registerDefaults();
+    }
+
+    private static String roundTrip(String legacy, char code) {
+        return LegacyTexts.serialize(LegacyTexts.parse(legacy, code), code);
+    }
+
+    @Test
+    public void testPlain() {
+        assertEquals("Hello", roundTrip("Hello", '§'));
+        assertEquals("A§zB", roundTrip("A§zB", '§'));
+        assertEquals("Trailing &", roundTrip("Trailing &", '&'));
+    }
+
+    @Test
+    public void testFormatting() {
+        assertEquals("Hi §cRed §lBold", roundTrip("Hi §cRed §lBold", '§'));
+        assertEquals("&lA&rB", roundTrip("&lA&rB", '&'));
+        assertEquals("&aA&bB", roundTrip("&aA&BB", '&'));
+    }
+
+    @Test
+    public void testColorClearsStyles() {
+        assertEquals("&cX", roundTrip("&l&cX", '&'));
+        assertEquals("X", roundTrip("&l&rX", '&'));
+    }
+
+    @Test
+    public void testMergesEqualFormats() {
+        Text text = LegacyTexts.parse("&cA&cB", '&');
+        assertEquals(1, text.getChildren().size());
+        assertEquals("&cAB", LegacyTexts.serialize(text, '&'));
+    }
+
+}
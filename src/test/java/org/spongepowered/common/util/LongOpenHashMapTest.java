@@ -0,0 +1,91 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import net.minecraft.world.ChunkCoordIntPair;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class LongOpenHashMapTest {
+
+    @Test
+    public void testAddGetRemove() {
+        LongOpenHashMap<String> map = new LongOpenHashMap<>();
+        long key = ChunkCoordIntPair.chunkXZ2Int(-5, 12);
+        assertNull(map.getValueByKey(key));
+        map.add(key, "a");
+        assertTrue(map.containsItem(key));
+        assertEquals("a", map.getValueByKey(key));
+        map.add(key, "b");
+        assertEquals("b", map.getValueByKey(key));
+        assertEquals(1, map.getNumHashElements());
+        assertEquals("b", map.remove(key));
+        assertFalse(map.containsItem(key));
+        assertNull(map.remove(key));
+        assertEquals(0, map.getNumHashElements());
+    }
+
+    @Test
+    public void testRecentCacheIsInvalidated() {
+        LongOpenHashMap<String> map = new LongOpenHashMap<>();
+        long key = ChunkCoordIntPair.chunkXZ2Int(0, 0);
+        map.add(key, "a");
+        assertEquals("a", map.getValueByKey(key));
+        map.add(key, "b");
+        assertEquals("b", map.getValueByKey(key));
+        map.remove(key);
+        assertNull(map.getValueByKey(key));
+    }
+
+    @Test
+    public void testMatchesHashMap() {
+        LongOpenHashMap<Integer> map = new LongOpenHashMap<>(4);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(0);
+        for (int i = 0; i < 200000; i++) {
+            long key = ChunkCoordIntPair.chunkXZ2Int(random.nextInt(64) - 32, random.nextInt(64) - 32);
+            switch (random.nextInt(3)) {
+                case 0:
+                    map.add(key, i);
+                    expected.put(key, i);
+                    break;
+                case 1:
+                    assertEquals(expected.remove(key), map.remove(key));
+                    break;
+                default:
+                    assertEquals(expected.get(key), map.getValueByKey(key));
+            }
+            assertEquals(expected.size(), map.getNumHashElements());
+        }
+    }
+}
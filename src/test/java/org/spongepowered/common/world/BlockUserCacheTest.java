@@ -0,0 +1,165 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.world.World;
+import net.minecraft.world.storage.WorldInfo;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.spongepowered.api.entity.living.player.User;
+import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+public class BlockUserCacheTest {
+
+    private final World world = mock(World.class);
+    private final Map<Integer, UUID> uniqueIds = new HashMap<>();
+    private final Map<UUID, Integer> lookups = new HashMap<>();
+    private BlockUserCache cache;
+
+    @Before
+    public void init() {
+        final WorldInfo worldInfo = mock(WorldInfo.class, withSettings().extraInterfaces(IMixinWorldInfo.class));
+        when(this.world.getWorldInfo()).thenReturn(worldInfo);
+        for (int index : new int[] {0, 1, 2, 256, 257}) {
+            final UUID uniqueId = UUID.randomUUID();
+            this.uniqueIds.put(index, uniqueId);
+            when(((IMixinWorldInfo) worldInfo).getUniqueIdForIndex(index)).thenReturn(Optional.of(uniqueId));
+        }
+        when(((IMixinWorldInfo) worldInfo).getUniqueIdForIndex(3)).thenReturn(Optional.empty());
+        this.cache = new BlockUserCache(this.world, this::createOfflineUser);
+    }
+
+    private User createOfflineUser(UUID uniqueId) {
+        this.lookups.merge(uniqueId, 1, Integer::sum);
+        final User user = mock(User.class);
+        when(user.getUniqueId()).thenReturn(uniqueId);
+        return user;
+    }
+
+    private int getLookups(int index) {
+        return this.lookups.getOrDefault(this.uniqueIds.get(index), 0);
+    }
+
+    private EntityPlayerMP login(int index) {
+        final UUID uniqueId = this.uniqueIds.get(index);
+        final EntityPlayerMP player = mock(EntityPlayerMP.class, withSettings().extraInterfaces(User.class));
+        when(((User) player).getUniqueId()).thenReturn(uniqueId);
+        player.worldObj = this.world;
+        when(this.world.getPlayerEntityByUUID(uniqueId)).thenReturn(player);
+        this.cache.invalidate(uniqueId);
+        return player;
+    }
+
+    private void logout(EntityPlayerMP player) {
+        final UUID uniqueId = ((User) player).getUniqueId();
+        when(this.world.getPlayerEntityByUUID(uniqueId)).thenReturn(null);
+        this.cache.invalidate(uniqueId);
+    }
+
+    @Test
+    public void testUnknownIndex() {
+        Assert.assertFalse(this.cache.getUser(-1).isPresent());
+        Assert.assertFalse(this.cache.getUser(3).isPresent());
+        Assert.assertFalse(this.cache.getUniqueId(-1).isPresent());
+        Assert.assertEquals(this.uniqueIds.get(1), this.cache.getUniqueId(1).get());
+    }
+
+    @Test
+    public void testUsersAreCached() {
+        final User user = this.cache.getUser(1).get();
+        Assert.assertEquals(this.uniqueIds.get(1), user.getUniqueId());
+        Assert.assertSame(user, this.cache.getUser(1).get());
+        Assert.assertSame(user, this.cache.getUser(1).get());
+        Assert.assertEquals(1, getLookups(1));
+    }
+
+    @Test
+    public void testCollidingIndexes() {
+        // 1 and 257 share a slot, the cache must never return the user of the other index
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals(this.uniqueIds.get(1), this.cache.getUser(1).get().getUniqueId());
+            Assert.assertEquals(this.uniqueIds.get(257), this.cache.getUser(257).get().getUniqueId());
+        }
+        Assert.assertEquals(3, getLookups(1));
+        Assert.assertEquals(3, getLookups(257));
+
+        // Other slots are unaffected
+        this.cache.getUser(2);
+        this.cache.getUser(2);
+        Assert.assertEquals(1, getLookups(2));
+    }
+
+    @Test
+    public void testLoginAndLogout() {
+        final User offline = this.cache.getUser(0).get();
+        Assert.assertFalse(offline instanceof EntityPlayerMP);
+
+        final EntityPlayerMP player = login(0);
+        Assert.assertSame("The offline user was returned after the player logged in", player, this.cache.getUser(0).get());
+        Assert.assertSame(player, this.cache.getUser(0).get());
+
+        logout(player);
+        final User user = this.cache.getUser(0).get();
+        Assert.assertNotSame("The player was returned after logging out", player, user);
+        Assert.assertEquals(2, getLookups(0));
+    }
+
+    @Test
+    public void testInvalidateOnlyDropsTheUser() {
+        final User first = this.cache.getUser(1).get();
+        final User second = this.cache.getUser(2).get();
+        this.cache.invalidate(this.uniqueIds.get(1));
+        Assert.assertNotSame(first, this.cache.getUser(1).get());
+        Assert.assertSame(second, this.cache.getUser(2).get());
+    }
+
+    @Test
+    public void testDeadOrMovedPlayersAreResolvedAgain() {
+        final EntityPlayerMP player = login(2);
+        Assert.assertSame(player, this.cache.getUser(2).get());
+
+        // Respawning replaces the player entity
+        player.isDead = true;
+        final EntityPlayerMP respawned = login(2);
+        Assert.assertSame(respawned, this.cache.getUser(2).get());
+
+        // Changing worlds leaves the cached entity in another world
+        respawned.worldObj = mock(World.class);
+        when(this.world.getPlayerEntityByUUID(this.uniqueIds.get(2))).thenReturn(null);
+        Assert.assertFalse(this.cache.getUser(2).get() instanceof EntityPlayerMP);
+    }
+
+}
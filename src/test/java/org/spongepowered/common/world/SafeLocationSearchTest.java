@@ -0,0 +1,120 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import com.flowpowered.math.vector.Vector3i;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+public class SafeLocationSearchTest {
+
+    @Test
+    public void testVisitsCandidatesInOldOrder() {
+        final Vector3i origin = new Vector3i(10, 64, -20);
+        for (int width = 0; width <= 4; width++) {
+            for (int height = 0; height <= 3; height++) {
+                final RecordingSearch search = new RecordingSearch(pos -> false);
+                assertNull(search.find(origin, height, width));
+                assertEquals("height " + height + ", width " + width, oldOrder(origin, height, width), search.visited);
+            }
+        }
+    }
+
+    @Test
+    public void testFindsFirstSafeCandidate() {
+        final Vector3i origin = new Vector3i(0, 70, 0);
+        final List<Vector3i> order = oldOrder(origin, 3, 4);
+        for (int i = 0; i < order.size(); i += 7) {
+            final Vector3i target = order.get(i);
+            final RecordingSearch search = new RecordingSearch(target::equals);
+            assertEquals(target, search.find(origin, 3, 4));
+            assertEquals(order.subList(0, order.indexOf(target) + 1), search.visited);
+        }
+    }
+
+    private static final class RecordingSearch extends SafeLocationSearch {
+
+        final List<Vector3i> visited = new ArrayList<>();
+        private final Predicate<Vector3i> safe;
+
+        RecordingSearch(Predicate<Vector3i> safe) {
+            super(null, null, 256, null);
+            this.safe = safe;
+        }
+
+        @Override
+        boolean isSafe(int x, int y, int z) {
+            final Vector3i pos = new Vector3i(x, y, z);
+            this.visited.add(pos);
+            return this.safe.test(pos);
+        }
+    }
+
+    // The candidate order of the expanding search SpongeTeleportHelper used to run against the world
+    private static List<Vector3i> oldOrder(Vector3i origin, int height, int width) {
+        final List<Vector3i> order = new ArrayList<>();
+        addAround(order, origin, width);
+        for (int currentLevel = 1; currentLevel <= height; currentLevel++) {
+            addAround(order, origin.add(0, currentLevel, 0), width);
+            addAround(order, origin.add(0, -currentLevel, 0), width);
+        }
+        return order;
+    }
+
+    private static void addAround(List<Vector3i> order, Vector3i location, int radius) {
+        order.add(location);
+        for (int currentRadius = 0; currentRadius <= radius; currentRadius++) {
+            Vector3i blockPos = location.add(currentRadius, 0, 0);
+            order.add(blockPos);
+            for (int i = 0; i < currentRadius; i++) {
+                blockPos = blockPos.add(0, 0, i);
+                order.add(blockPos);
+            }
+            for (int i = 0; i < currentRadius * 2; i++) {
+                blockPos = blockPos.add(-i, 0, 0);
+                order.add(blockPos);
+            }
+            for (int i = 0; i < currentRadius * 2; i++) {
+                blockPos = blockPos.add(0, 0, -i);
+                order.add(blockPos);
+            }
+            for (int i = 0; i < currentRadius * 2; i++) {
+                blockPos = blockPos.add(i, 0, 0);
+                order.add(blockPos);
+            }
+            for (int i = 0; i < currentRadius - 1; i++) {
+                blockPos = blockPos.add(0, 0, i);
+                order.add(blockPos);
+            }
+        }
+    }
+
+}
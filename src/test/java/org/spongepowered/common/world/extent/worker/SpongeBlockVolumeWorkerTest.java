@@ -0,0 +1,165 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.extent.worker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.flowpowered.math.vector.Vector3i;
+import com.google.common.collect.ImmutableSet;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import org.junit.Test;
+import org.spongepowered.api.world.Chunk;
+import org.spongepowered.api.world.extent.BlockVolume;
+import org.spongepowered.api.world.extent.UnmodifiableBlockVolume;
+import org.spongepowered.api.world.extent.worker.procedure.BlockVolumeReducer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+public class SpongeBlockVolumeWorkerTest {
+
+    private static final Vector3i MIN = new Vector3i(-2, 5, 7);
+    private static final Vector3i MAX = new Vector3i(1, 70, 9);
+
+    // Not commutative, so merging the sections out of order changes the result
+    private static final BlockVolumeReducer<String> DESCRIBE = (volume, x, y, z, reduction) -> reduction + x + "," + y + "," + z + ";";
+
+    @Test
+    public void testReduceWithoutSkipping() {
+        final TestWorker worker = new TestWorker(false, ImmutableSet.of());
+        final StringBuilder expected = new StringBuilder();
+        for (int z = MIN.getZ(); z <= MAX.getZ(); z++) {
+            for (int y = MIN.getY(); y <= MAX.getY(); y++) {
+                for (int x = MIN.getX(); x <= MAX.getX(); x++) {
+                    expected.append(x).append(',').append(y).append(',').append(z).append(';');
+                }
+            }
+        }
+        assertEquals(expected.toString(), worker.reduce(DESCRIBE, String::concat, ""));
+    }
+
+    @Test
+    public void testSkippedSections() {
+        final Set<Integer> skipped = ImmutableSet.of(1, 3);
+        final TestWorker worker = new TestWorker(true, skipped);
+
+        final List<Vector3i> visited = new ArrayList<>();
+        worker.iterate((volume, x, y, z) -> visited.add(new Vector3i(x, y, z)));
+        final List<Vector3i> expected = new ArrayList<>();
+        for (int section = MIN.getY() >> 4; section <= MAX.getY() >> 4; section++) {
+            if (skipped.contains(section)) {
+                continue;
+            }
+            for (int z = MIN.getZ(); z <= MAX.getZ(); z++) {
+                for (int y = Math.max(MIN.getY(), section << 4); y <= Math.min(MAX.getY(), (section << 4) | 15); y++) {
+                    for (int x = MIN.getX(); x <= MAX.getX(); x++) {
+                        expected.add(new Vector3i(x, y, z));
+                    }
+                }
+            }
+        }
+        assertEquals(expected, visited);
+
+        final int count = worker.reduce((volume, x, y, z, reduction) -> {
+            assertFalse(skipped.contains(y >> 4));
+            return reduction + 1;
+        }, Integer::sum, 0);
+        assertEquals(expected.size(), count);
+    }
+
+    @Test
+    public void testParallelReduceMatchesReduce() {
+        for (Set<Integer> skipped : ImmutableSet.<Set<Integer>>of(ImmutableSet.of(), ImmutableSet.of(0), ImmutableSet.of(2, 4), ImmutableSet.of(0, 1, 2, 3, 4))) {
+            final TestWorker worker = new TestWorker(true, skipped);
+            assertEquals(worker.reduce(DESCRIBE, String::concat, ""), worker.reduceSectionsInParallel(DESCRIBE, String::concat, ""));
+            assertEquals(worker.reduce((volume, x, y, z, sum) -> sum + x * 31L + y * 7L + z, Long::sum, 0L),
+                    worker.reduceSectionsInParallel((volume, x, y, z, sum) -> sum + x * 31L + y * 7L + z, Long::sum, 0L));
+        }
+    }
+
+    @Test
+    public void testChunkSkipsEmptySections() {
+        final ExtendedBlockStorage empty = mock(ExtendedBlockStorage.class);
+        when(empty.isEmpty()).thenReturn(true);
+        final ExtendedBlockStorage filled = mock(ExtendedBlockStorage.class);
+        final ExtendedBlockStorage[] storage = new ExtendedBlockStorage[16];
+        storage[0] = filled;
+        storage[1] = empty;
+        storage[3] = filled;
+        final net.minecraft.world.chunk.Chunk chunk = mock(net.minecraft.world.chunk.Chunk.class, withSettings().extraInterfaces(Chunk.class));
+        when(chunk.getBlockStorageArray()).thenReturn(storage);
+
+        final SpongeChunkBlockVolumeWorker worker = new SpongeChunkBlockVolumeWorker((Chunk) chunk);
+        assertFalse(worker.skipsSections());
+        assertFalse(worker.isSectionSkipped(1));
+
+        worker.skipEmptySections();
+        assertTrue(worker.skipsSections());
+        assertFalse(worker.isSectionSkipped(0));
+        assertTrue(worker.isSectionSkipped(1));
+        assertTrue(worker.isSectionSkipped(2));
+        assertFalse(worker.isSectionSkipped(3));
+        assertTrue(worker.isSectionSkipped(15));
+    }
+
+    private static final class TestWorker extends SpongeBlockVolumeWorker<BlockVolume> {
+
+        private final UnmodifiableBlockVolume view = mock(UnmodifiableBlockVolume.class);
+        private final boolean skipsSections;
+        private final Set<Integer> skipped;
+
+        TestWorker(boolean skipsSections, Set<Integer> skipped) {
+            super(mock(BlockVolume.class));
+            when(this.volume.getBlockMin()).thenReturn(MIN);
+            when(this.volume.getBlockMax()).thenReturn(MAX);
+            when(this.view.getBlockMin()).thenReturn(MIN);
+            when(this.view.getBlockMax()).thenReturn(MAX);
+            this.skipsSections = skipsSections;
+            this.skipped = skipped;
+        }
+
+        @Override
+        protected UnmodifiableBlockVolume getUnmodifiableVolume() {
+            return this.view;
+        }
+
+        @Override
+        protected boolean skipsSections() {
+            return this.skipsSections;
+        }
+
+        @Override
+        protected boolean isSectionSkipped(int sectionY) {
+            return this.skipped.contains(sectionY);
+        }
+    }
+
+}
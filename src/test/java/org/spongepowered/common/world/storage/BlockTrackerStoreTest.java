@@ -0,0 +1,106 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class BlockTrackerStoreTest {
+
+    @Test
+    public void testOwnerAndNotifier() {
+        BlockTrackerStore store = new BlockTrackerStore();
+        assertEquals(BlockTrackerStore.NONE, store.getOwner(3, 64, 7));
+        store.setOwner(3, 64, 7, 5);
+        assertTrue(store.isTracked(3, 64, 7));
+        assertEquals(5, store.getOwner(3, 64, 7));
+        assertEquals(BlockTrackerStore.NONE, store.getNotifier(3, 64, 7));
+        store.setNotifier(3, 64, 7, 9);
+        assertEquals(5, store.getOwner(3, 64, 7));
+        assertEquals(9, store.getNotifier(3, 64, 7));
+        assertEquals(1, store.size());
+
+        // Only the lowest four bits of x and z are used
+        assertEquals(5, store.getOwner(3 + 16, 64, 7 - 32));
+
+        store.set(3, 64, 7, BlockTrackerStore.NONE, BlockTrackerStore.NONE);
+        assertFalse(store.isTracked(3, 64, 7));
+        assertTrue(store.isEmpty());
+    }
+
+    @Test
+    public void testOutsideVanillaHeight() {
+        BlockTrackerStore store = new BlockTrackerStore();
+        store.set(1, 300, 2, 4, 6);
+        assertEquals(4, store.getOwner(1, 300, 2));
+        assertEquals(6, store.getNotifier(1, 300, 2));
+        assertFalse(store.isTracked(1, 300 - 256, 2));
+    }
+
+    @Test
+    public void testIntArrayRoundTrip() {
+        Random random = new Random(42);
+        BlockTrackerStore store = new BlockTrackerStore();
+        Map<Integer, int[]> expected = new HashMap<>();
+        // Enough positions in the lower sections to switch them to flat arrays
+        for (int i = 0; i < 20000; i++) {
+            int x = random.nextInt(16);
+            int y = random.nextInt(10) == 0 ? 256 + random.nextInt(64) : random.nextInt(48);
+            int z = random.nextInt(16);
+            int owner = random.nextInt(4) == 0 ? BlockTrackerStore.NONE : random.nextInt(100);
+            int notifier = random.nextInt(4) == 0 ? BlockTrackerStore.NONE : random.nextInt(100);
+            store.set(x, y, z, owner, notifier);
+            int pos = BlockTrackerStore.packPosition(x, y, z);
+            if (owner == BlockTrackerStore.NONE && notifier == BlockTrackerStore.NONE) {
+                expected.remove(pos);
+            } else {
+                expected.put(pos, new int[] {owner, notifier});
+            }
+        }
+        assertEquals(expected.size(), store.size());
+
+        int[] data = store.toIntArray();
+        assertEquals(expected.size() * 3, data.length);
+        BlockTrackerStore read = new BlockTrackerStore();
+        read.readIntArray(data);
+        assertEquals(expected.size(), read.size());
+        for (Map.Entry<Integer, int[]> entry : expected.entrySet()) {
+            int pos = entry.getKey();
+            int x = pos & 0xF;
+            int y = (pos >>> 4) & 0xFFFFFF;
+            int z = (pos >>> 28) & 0xF;
+            assertEquals(entry.getValue()[0], read.getOwner(x, y, z));
+            assertEquals(entry.getValue()[1], read.getNotifier(x, y, z));
+        }
+    }
+
+}